@@ -0,0 +1,164 @@
+package com.kaze.devicefp.util;
+
+import android.util.JsonReader;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 导出的 JSON 用 JsonReader 读回，检查结构和各类型的值（android.util.JsonWriter 在 JVM 单元测试中不可用）
+ */
+@RunWith(AndroidJUnit4.class)
+public class SnapshotJsonExporterTest {
+
+    @Test
+    public void exportParsesBack() throws IOException {
+        byte[] large = new byte[SnapshotJsonExporter.HEX_CHUNK_BYTES * 2 + 17];
+        new Random(3).nextBytes(large);
+        Map<String, FingerprintValue> nested = new LinkedHashMap<>();
+        nested.put("cpu0", FingerprintValue.ofLong(1804800, " kHz"));
+        nested.put("online", FingerprintValue.ofBoolean(true));
+
+        List<DeviceFingerprint> items = new ArrayList<>();
+        items.add(new DeviceFingerprint("设备信息", FingerprintKey.BRAND, FingerprintValue.text("Go\"og\\le\n"),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("硬件信息", FingerprintKey.BATTERY_VOLTAGE,
+                FingerprintValue.ofDouble(3.857, 2, "V"), FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("屏幕信息", FingerprintKey.SUPPORTED_REFRESH_RATES,
+                FingerprintValue.ofList(Arrays.asList("60 Hz", "120 Hz"), ", "), FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("其他信息", FingerprintKey.SYSTEM_FILE_HASH, FingerprintValue.ofBytes(large),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("硬件信息", FingerprintKey.CPU_FREQUENCY, FingerprintValue.ofMap(nested),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("其他信息", "其他信息", "收集超时（2000 ms）", FingerprintStatus.TIMED_OUT));
+
+        StringWriter out = new StringWriter();
+        SnapshotJsonExporter.export(new FingerprintSnapshot(1_700_000_000_123L, items), out);
+
+        Map<String, Map<String, Object>> parsed = new HashMap<>();
+        JsonReader reader = new JsonReader(new StringReader(out.toString()));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("version".equals(name)) {
+                assertEquals(SnapshotJsonExporter.VERSION, reader.nextInt());
+            } else if ("timestamp".equals(name)) {
+                assertEquals(1_700_000_000_123L, reader.nextLong());
+            } else {
+                assertEquals("sections", name);
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readSection(reader, parsed);
+                }
+                reader.endArray();
+            }
+        }
+        reader.endObject();
+        reader.close();
+
+        assertEquals(items.size(), parsed.size());
+        assertEquals("Go\"og\\le\n", parsed.get("设备品牌").get("value"));
+        assertEquals("BRAND", parsed.get("设备品牌").get("key"));
+        assertEquals(3.857, (Double) parsed.get(FingerprintKey.BATTERY_VOLTAGE.getDisplayName()).get("value"), 1e-9);
+        assertEquals(Arrays.asList("60 Hz", "120 Hz"),
+                parsed.get(FingerprintKey.SUPPORTED_REFRESH_RATES.getDisplayName()).get("value"));
+        Map<String, Object> bytes = parsed.get(FingerprintKey.SYSTEM_FILE_HASH.getDisplayName());
+        assertEquals("BYTES", bytes.get("type"));
+        List<?> chunks = (List<?>) bytes.get("value");
+        assertEquals(3, chunks.size());
+        StringBuilder hex = new StringBuilder();
+        for (Object chunk : chunks) {
+            hex.append(chunk);
+        }
+        assertEquals(DigestUtils.toHex(large), hex.toString());
+        Map<?, ?> map = (Map<?, ?>) parsed.get(FingerprintKey.CPU_FREQUENCY.getDisplayName()).get("value");
+        assertEquals(1804800L, map.get("cpu0"));
+        assertEquals(Boolean.TRUE, map.get("online"));
+        assertEquals("TIMED_OUT", parsed.get("其他信息").get("status"));
+    }
+
+    private static void readSection(JsonReader reader, Map<String, Map<String, Object>> parsed) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"items".equals(reader.nextName())) {
+                reader.nextString();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Map<String, Object> item = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    item.put(name, "value".equals(name) ? readValue(reader) : readScalar(reader));
+                }
+                reader.endObject();
+                parsed.put((String) item.get("name"), item);
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private static Object readScalar(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NUMBER:
+                return reader.nextLong();
+            default:
+                return reader.nextString();
+        }
+    }
+
+    private static Object readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY: {
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(reader));
+                }
+                reader.endArray();
+                return list;
+            }
+            case BEGIN_OBJECT: {
+                Map<String, Object> map = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    map.put(name, readValue(reader));
+                }
+                reader.endObject();
+                return map;
+            }
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER: {
+                String number = reader.nextString();
+                return number.contains(".") ? (Object) Double.parseDouble(number) : (Object) Long.parseLong(number);
+            }
+            default:
+                return reader.nextString();
+        }
+    }
+}
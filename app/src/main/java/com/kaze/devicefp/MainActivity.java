@@ -7,6 +7,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
 import android.animation.ValueAnimator;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -21,14 +22,27 @@ import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.button.MaterialButton;
 import com.kaze.devicefp.adapter.SectionAdapter;
 import com.kaze.devicefp.model.DeviceFingerprint;
-import com.kaze.devicefp.model.FingerprintSection;
 import com.kaze.devicefp.service.DeviceFingerprintService;
+import com.kaze.devicefp.service.collector.CollectionListener;
+import com.kaze.devicefp.service.collector.CollectorResult;
+import com.kaze.devicefp.util.DialogHelper;
 import com.kaze.devicefp.util.SectionGroupHelper;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 public class MainActivity extends AppCompatActivity {
 
+    /** 是否按板块延迟加载（默认 true），false 时每次收集全部板块，便于对比首屏耗时 */
+    public static final String EXTRA_LAZY_SECTIONS = "com.kaze.devicefp.extra.LAZY_SECTIONS";
+
+    private static final int SLOWEST_COLLECTOR_COUNT = 10;
+
     private RecyclerView recyclerView;
     private MaterialButton btnCollect;
     private ProgressBar progressBar;
@@ -42,21 +56,34 @@ public class MainActivity extends AppCompatActivity {
     private TextView tvSuccessCount;
     private TextView tvPendingCount;
 
+    // 流式收集：按收集器注册顺序保存每批结果（仅在主线程访问）
+    private final Map<Integer, List<DeviceFingerprint>> collectedBatches = new TreeMap<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // 板块延迟加载：首屏只收集快速板块，其余板块首次展开时再收集（由 EXTRA_LAZY_SECTIONS 关闭）
+    private boolean lazySectionMode;
+    private final Set<String> requestedSections = new HashSet<>(); // 已开始收集的板块
+    private final Set<String> loadedSections = new HashSet<>();    // 已收集完成的板块
+    private final Set<Integer> finishedCollectors = new HashSet<>(); // 已返回过结果的收集器序号
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        lazySectionMode = getIntent().getBooleanExtra(EXTRA_LAZY_SECTIONS, true);
 
         // 初始化组件
         initViews();
         
         // 初始化服务
         fingerprintService = new DeviceFingerprintService(this);
+        fingerprintService.warmUp(); // 后台预热，首次收集时等待完成
         
         // 可折叠板块适配器
         sectionAdapter = new SectionAdapter(this);
         recyclerView.setAdapter(sectionAdapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        sectionAdapter.setOnSectionLoadListener(this::loadSection);
         
         // 设置按钮点击事件
         btnCollect.setOnClickListener(new View.OnClickListener() {
@@ -82,6 +109,15 @@ public class MainActivity extends AppCompatActivity {
                 collectFingerprints();
             }
         });
+
+        // 调试版本：统计分配字节数，长按收集按钮查看耗时最长的收集器
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            fingerprintService.setAllocationTrackingEnabled(true);
+            btnCollect.setOnLongClickListener(v -> {
+                DialogHelper.showCollectorMetrics(this, fingerprintService.getSlowestCollectors(SLOWEST_COLLECTOR_COUNT));
+                return true;
+            });
+        }
     }
     
     @Override
@@ -91,6 +127,9 @@ public class MainActivity extends AppCompatActivity {
         if (sectionAdapter != null) {
             sectionAdapter.stopFrequencyUpdate();
         }
+        if (fingerprintService != null) {
+            fingerprintService.shutdown();
+        }
     }
 
     private void initViews() {
@@ -117,52 +156,129 @@ public class MainActivity extends AppCompatActivity {
         btnCollect.setEnabled(false);
         btnCollect.setText("收集中...");
         
+        // 延迟加载模式只收集快速板块和已展开过的板块，全量模式收集全部
+        Set<String> sections = null;
+        if (lazySectionMode) {
+            requestedSections.addAll(fingerprintService.getEagerSections());
+            sections = new HashSet<>(requestedSections);
+        }
+        Set<String> targetSections = sections;
+
         // 在新线程中执行收集操作（避免阻塞UI）
         new Thread(new Runnable() {
             @Override
             public void run() {
                 android.util.Log.d("MainActivity", "Collect thread started");
                 
-                // 重新加载属性
-                fingerprintService.reloadProperties();
-                
-                // 模拟收集延迟，让动画更流畅
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                
-                android.util.Log.d("MainActivity", "Getting all fingerprints");
-                // 获取所有指纹信息
-                List<DeviceFingerprint> fingerprints = fingerprintService.getAllFingerprints();
-                android.util.Log.d("MainActivity", "Got " + fingerprints.size() + " fingerprints");
-                
-                // 在主线程中更新UI
-                new Handler(Looper.getMainLooper()).post(new Runnable() {
+                android.util.Log.d("MainActivity", "Getting fingerprints for sections: " + targetSections);
+                // 每个收集器完成后立即推送到界面；结果未失效的收集器直接复用上一次的结果
+                fingerprintService.getSectionFingerprints(targetSections, new CollectionListener() {
                     @Override
-                    public void run() {
-                        List<FingerprintSection> sections = SectionGroupHelper.groupFingerprints(fingerprints);
-                        sectionAdapter.setSections(sections);
-                        sectionAdapter.startFrequencyUpdate();
-                        updateStatistics(fingerprints);
-                        showProgress(false);
-                        btnCollect.setEnabled(true);
-                        btnCollect.setText("重新收集");
-                        
-                        // 显示统计卡片动画
-                        if (cardStats.getVisibility() != View.VISIBLE) {
-                            showStatsCard();
-                        }
-                        
-                        Toast.makeText(MainActivity.this, 
-                                "已收集 " + fingerprints.size() + " 项设备指纹信息", 
-                                Toast.LENGTH_SHORT).show();
+                    public void onCollectorFinished(int index, CollectorResult result) {
+                        mainHandler.post(() -> onBatchCollected(index, result.getItems()));
+                    }
+
+                    @Override
+                    public void onCollectionFinished(List<DeviceFingerprint> fingerprints) {
+                        android.util.Log.d("MainActivity", "Got " + fingerprints.size() + " fingerprints");
+                        mainHandler.post(() -> MainActivity.this.onCollectionFinished(targetSections));
                     }
                 });
             }
         }).start();
     }
+
+    /**
+     * 延迟加载的板块首次展开：只运行该板块的收集器
+     */
+    private void loadSection(String title) {
+        if (!requestedSections.add(title)) {
+            return;
+        }
+        Set<String> sections = Collections.singleton(title);
+        new Thread(() -> fingerprintService.getSectionFingerprints(sections, new CollectionListener() {
+            @Override
+            public void onCollectorFinished(int index, CollectorResult result) {
+                mainHandler.post(() -> onBatchCollected(index, result.getItems()));
+            }
+
+            @Override
+            public void onCollectionFinished(List<DeviceFingerprint> fingerprints) {
+                mainHandler.post(() -> onSectionsLoaded(sections));
+            }
+        }), "fp-load-section").start();
+    }
+
+    /**
+     * 单个收集器的结果到达：替换该收集器上一次的结果后重新分组，板块增量刷新
+     * （重新收集时尚未完成的收集器继续显示上一次的结果）
+     */
+    private void onBatchCollected(int index, List<DeviceFingerprint> items) {
+        collectedBatches.put(index, items);
+        // 收集器可能同时覆盖其他板块，这些板块的收集器都已返回时不再等展开时重复收集
+        if (finishedCollectors.add(index)) {
+            Set<String> completed = fingerprintService.getCompletedSections(finishedCollectors);
+            requestedSections.addAll(completed);
+            loadedSections.addAll(completed);
+        }
+        refreshSections();
+    }
+
+    /**
+     * 按已收集的结果重新分组；延迟加载模式下未收集完成的板块显示为占位板块
+     */
+    private void refreshSections() {
+        Set<String> deferred = new HashSet<>();
+        if (lazySectionMode) {
+            deferred.addAll(SectionGroupHelper.SECTION_ORDER);
+            deferred.removeAll(loadedSections);
+        }
+        sectionAdapter.updateSections(SectionGroupHelper.groupFingerprints(mergedFingerprints(), deferred));
+    }
+
+    private List<DeviceFingerprint> mergedFingerprints() {
+        List<DeviceFingerprint> merged = new ArrayList<>();
+        for (List<DeviceFingerprint> batch : collectedBatches.values()) {
+            merged.addAll(batch);
+        }
+        return merged;
+    }
+
+    /**
+     * 延迟加载的板块收集完成
+     */
+    private void onSectionsLoaded(Set<String> sections) {
+        loadedSections.addAll(sections);
+        refreshSections();
+        sectionAdapter.startFrequencyUpdate();
+        updateStatistics(mergedFingerprints());
+    }
+
+    /**
+     * 本次收集完成
+     * @param sections 本次收集的板块，null 表示全部
+     */
+    private void onCollectionFinished(Set<String> sections) {
+        if (sections != null) {
+            loadedSections.addAll(sections);
+        }
+        refreshSections();
+        List<DeviceFingerprint> fingerprints = mergedFingerprints();
+        sectionAdapter.startFrequencyUpdate();
+        updateStatistics(fingerprints);
+        showProgress(false);
+        btnCollect.setEnabled(true);
+        btnCollect.setText("重新收集");
+        
+        // 显示统计卡片动画
+        if (cardStats.getVisibility() != View.VISIBLE) {
+            showStatsCard();
+        }
+        
+        Toast.makeText(MainActivity.this, 
+                "已收集 " + fingerprints.size() + " 项设备指纹信息", 
+                Toast.LENGTH_SHORT).show();
+    }
     
     /**
      * 显示/隐藏进度条
@@ -198,7 +314,7 @@ public class MainActivity extends AppCompatActivity {
         int pending = 0;
         
         for (DeviceFingerprint fp : fingerprints) {
-            if (fp.getStatus().contains("已获取")) {
+            if (fp.getStatus().isCollected()) {
                 success++;
             } else {
                 pending++;
@@ -16,8 +16,12 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.kaze.devicefp.R;
 import com.kaze.devicefp.model.BatteryInfo;
 import com.kaze.devicefp.model.BatteryInfoManager;
-import com.kaze.devicefp.model.CpuInfoReader;
+import com.kaze.devicefp.model.CpuFrequencyPoller;
+import com.kaze.devicefp.model.CpuLoadSampler;
 import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
 import com.kaze.devicefp.view.CpuFrequencyTableView;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +40,9 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     private Runnable updateRunnable;
     private boolean isUpdating = false;
     private TableViewHolder tableViewHolder; // 保存TableViewHolder引用用于更新
+    private CpuFrequencyPoller frequencyPoller; // 定时刷新期间保持 cpufreq 文件打开，停止更新时关闭
+    private CpuLoadSampler loadSampler; // 后台采样 /proc/stat，停止更新时关闭
+    private float[] loadData;
     private Context context;
     /** 在可折叠板块内使用时隐藏分类标题 */
     private boolean hideCategoryHeader;
@@ -64,7 +71,8 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     @Override
     public int getItemViewType(int position) {
         DeviceFingerprint fingerprint = fingerprints.get(position);
-        if ("CPU频率".equals(fingerprint.getName())) {
+        if (fingerprint.getKey() != null
+                && fingerprint.getKey().getDisplayHint() == FingerprintKey.DisplayHint.CPU_TABLE) {
             return VIEW_TYPE_CPU_CHART;
         }
         return VIEW_TYPE_NORMAL;
@@ -99,7 +107,7 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     
     private void bindTableViewHolder(TableViewHolder holder, DeviceFingerprint fingerprint, int position) {
         holder.nameText.setText(fingerprint.getName());
-        holder.statusText.setText(fingerprint.getStatus());
+        holder.statusText.setText(fingerprint.getStatusLabel());
         setStatusStyle(holder.statusText, fingerprint.getStatus());
         
         // 保存引用用于后续更新
@@ -116,9 +124,23 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
      * 更新表格数据
      */
     private void updateTableData(CpuFrequencyTableView tableView) {
-        CpuInfoReader reader = new CpuInfoReader();
-        List<CpuInfoReader.CpuFrequencyData> frequencyData = reader.getAllCpuFrequencyData();
-        tableView.setFrequencyData(frequencyData);
+        if (frequencyPoller == null) {
+            frequencyPoller = new CpuFrequencyPoller();
+        }
+        tableView.setFrequencyData(frequencyPoller.poll());
+        
+        if (loadSampler == null) {
+            loadSampler = new CpuLoadSampler(frequencyPoller.getCoreCount());
+            loadData = new float[loadSampler.getCoreCount()];
+            loadSampler.start(CpuLoadSampler.DEFAULT_INTERVAL_MS);
+        }
+        if (loadSampler.isAvailable()) {
+            loadSampler.copyLatest(loadData);
+            tableView.setLoadData(loadData);
+        } else {
+            // 无权读取 /proc/stat 时不显示负载行
+            tableView.setLoadData(null);
+        }
     }
     
     private void bindNormalViewHolder(ViewHolder holder, DeviceFingerprint fingerprint, int position) {
@@ -136,12 +158,12 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
 
         holder.nameText.setText(fingerprint.getName());
         holder.valueText.setText(fingerprint.getValue());
-        holder.statusText.setText(fingerprint.getStatus());
+        holder.statusText.setText(fingerprint.getStatusLabel());
 
         // 设置文本显示：内存信息、IP地址、硬件功能、摄像头详细信息等长文本允许全部展示不截断
         holder.valueText.setSingleLine(false);
-        String name = fingerprint.getName();
-        if ("APP路径".equals(name) || "NetName".equals(name) || "网关".equals(name) || "OpenGL".equals(name) || "KeyStoreAttestation".equals(name) || "Attestation".equals(name) || "硬件列表".equals(name) || "传感器".equals(name) || "应用签名".equals(name) || "服务列表".equals(name) || "物理输入设备".equals(name) || "DexClassLoader的路径列表".equals(name) || "设备模式信息".equals(name) || "输入法列表".equals(name) || "已安装辅助服务列表".equals(name) || "系统文件哈希".equals(name) || "铃声大小".equals(name) || "内存信息".equals(name) || "IP地址".equals(name) || "硬件功能".equals(name) || "摄像头详细信息".equals(name)) {
+        FingerprintKey key = fingerprint.getKey();
+        if (key != null && key.getDisplayHint() == FingerprintKey.DisplayHint.MULTILINE) {
             holder.valueText.setMaxLines(Integer.MAX_VALUE);
             holder.valueText.setEllipsize(null);
         } else {
@@ -153,19 +175,25 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         setAnimation(holder.itemView, position);
     }
     
-    private void setStatusStyle(TextView statusText, String status) {
+    private void setStatusStyle(TextView statusText, FingerprintStatus status) {
         int textColor = Color.WHITE;
         int backgroundRes;
         
-        if (status.contains("已获取")) {
-            backgroundRes = R.drawable.status_success;
-        } else if (status.contains("需要权限")) {
-            backgroundRes = R.drawable.status_warning;
-        } else if (status.contains("未获取")) {
-            backgroundRes = R.drawable.status_background;
-            textColor = ContextCompat.getColor(statusText.getContext(), R.color.text_secondary);
-        } else {
-            backgroundRes = R.drawable.status_info;
+        switch (status) {
+            case COLLECTED:
+                backgroundRes = R.drawable.status_success;
+                break;
+            case PERMISSION_REQUIRED:
+            case TIMED_OUT:
+                backgroundRes = R.drawable.status_warning;
+                break;
+            case MISSING:
+                backgroundRes = R.drawable.status_background;
+                textColor = ContextCompat.getColor(statusText.getContext(), R.color.text_secondary);
+                break;
+            default:
+                backgroundRes = R.drawable.status_info;
+                break;
         }
         
         statusText.setBackgroundResource(backgroundRes);
@@ -188,7 +216,7 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
                     updateTableData(tableViewHolder.tableView);
                 } else {
                     for (int i = 0; i < fingerprints.size(); i++) {
-                        if ("CPU频率".equals(fingerprints.get(i).getName())) {
+                        if (fingerprints.get(i).getKey() == FingerprintKey.CPU_FREQUENCY) {
                             notifyItemChanged(i);
                             break;
                         }
@@ -200,15 +228,16 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
                     try {
                         BatteryInfo batteryInfo = BatteryInfoManager.getBatteryInfo(context);
                         if (batteryInfo != null) {
-                            String voltageStr = String.format("%.2fV", batteryInfo.getVoltageVolts());
-                            String temperatureStr = String.format("%.1f°C", batteryInfo.getTemperatureCelsius());
+                            FingerprintValue voltage = FingerprintValue.ofDouble(batteryInfo.getVoltageVolts(), 2, "V");
+                            FingerprintValue temperature = FingerprintValue.ofDouble(batteryInfo.getTemperatureCelsius(), 1, "°C");
                             for (int i = 0; i < fingerprints.size(); i++) {
                                 DeviceFingerprint fp = fingerprints.get(i);
-                                if ("电压".equals(fp.getName())) {
-                                    fp.setValue(voltageStr);
+                                // 取值未变化时不刷新
+                                if (fp.getKey() == FingerprintKey.BATTERY_VOLTAGE && !voltage.equals(fp.getTypedValue())) {
+                                    fp.setValue(voltage);
                                     notifyItemChanged(i);
-                                } else if ("温度".equals(fp.getName())) {
-                                    fp.setValue(temperatureStr);
+                                } else if (fp.getKey() == FingerprintKey.BATTERY_TEMPERATURE && !temperature.equals(fp.getTypedValue())) {
+                                    fp.setValue(temperature);
                                     notifyItemChanged(i);
                                 }
                             }
@@ -232,6 +261,14 @@ public class FingerprintAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         if (updateRunnable != null) {
             updateHandler.removeCallbacks(updateRunnable);
         }
+        if (frequencyPoller != null) {
+            frequencyPoller.close();
+            frequencyPoller = null;
+        }
+        if (loadSampler != null) {
+            loadSampler.close();
+            loadSampler = null;
+        }
     }
     
     private void setAnimation(View viewToAnimate, int position) {
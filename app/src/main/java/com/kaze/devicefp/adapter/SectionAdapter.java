@@ -34,11 +34,23 @@ public class SectionAdapter extends RecyclerView.Adapter<SectionAdapter.SectionV
     private final List<FingerprintSection> sections = new ArrayList<>();
     private final Context context;
     private final List<FingerprintAdapter> cpuInnerAdapters = new ArrayList<>();
+    private OnSectionLoadListener sectionLoadListener;
+
+    /**
+     * 延迟加载的板块被展开时回调，由宿主开始收集该板块（可能重复回调，宿主需自行去重）
+     */
+    public interface OnSectionLoadListener {
+        void onLoadSection(String title);
+    }
 
     public SectionAdapter(Context context) {
         this.context = context != null ? context.getApplicationContext() : null;
     }
 
+    public void setOnSectionLoadListener(OnSectionLoadListener listener) {
+        this.sectionLoadListener = listener;
+    }
+
     public void setSections(List<FingerprintSection> newSections) {
         cpuInnerAdapters.clear();
         sections.clear();
@@ -48,6 +60,51 @@ public class SectionAdapter extends RecyclerView.Adapter<SectionAdapter.SectionV
         notifyDataSetChanged();
     }
 
+    /**
+     * 增量更新板块（用于流式收集）
+     * 按标题匹配已有板块：新板块插入到对应位置，已有板块仅在内容变化时刷新并保留展开状态
+     */
+    public void updateSections(List<FingerprintSection> newSections) {
+        if (newSections == null) {
+            newSections = new ArrayList<>();
+        }
+        for (int i = 0; i < newSections.size(); i++) {
+            FingerprintSection incoming = newSections.get(i);
+            int existingIndex = indexOfSection(incoming.getTitle());
+            if (existingIndex < 0) {
+                sections.add(i, incoming);
+                notifyItemInserted(i);
+                continue;
+            }
+            FingerprintSection current = sections.get(existingIndex);
+            incoming.setExpanded(current.isExpanded());
+            if (existingIndex != i) {
+                sections.remove(existingIndex);
+                sections.add(i, incoming);
+                notifyItemMoved(existingIndex, i);
+            } else {
+                sections.set(i, incoming);
+            }
+            if (!current.getItems().equals(incoming.getItems())) {
+                notifyItemChanged(i);
+            }
+        }
+        // 移除不再存在的板块
+        for (int i = sections.size() - 1; i >= newSections.size(); i--) {
+            sections.remove(i);
+            notifyItemRemoved(i);
+        }
+    }
+
+    private int indexOfSection(String title) {
+        for (int i = 0; i < sections.size(); i++) {
+            if (sections.get(i).getTitle().equals(title)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @NonNull
     @Override
     public SectionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -90,6 +147,10 @@ public class SectionAdapter extends RecyclerView.Adapter<SectionAdapter.SectionV
             boolean nowExpanded = section.isExpanded();
             holder.sectionExpandIcon.setText(nowExpanded ? ICON_EXPANDED : ICON_COLLAPSED);
             animateExpandCollapse(holder.contentContainer, nowExpanded);
+            // 占位板块首次展开：显示占位内容的同时开始收集
+            if (nowExpanded && !section.isLoaded() && sectionLoadListener != null) {
+                sectionLoadListener.onLoadSection(section.getTitle());
+            }
         });
     }
 
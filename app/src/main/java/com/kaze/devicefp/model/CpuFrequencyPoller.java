@@ -0,0 +1,108 @@
+package com.kaze.devicefp.model;
+
+import com.kaze.devicefp.util.SysfsReader;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CPU 频率轮询器
+ * 按 {@link CpuTopology} 的策略为每个簇保持 scaling_cur_freq 的句柄，每次 {@link #poll()}
+ * 每个策略只读取一次实时频率和 affected_cpus（策略中当前在线的核心），实时频率写入该簇所有在线核心，
+ * 离线核心的实时频率为 0；没有 affected_cpus 时视为全部在线。
+ * 最小/最大频率取自拓扑，不再重复读取。
+ * 结果原地更新到同一组 {@link CpuInfoReader.CpuFrequencyData}，稳定状态下不分配对象，
+ * 供界面每 500ms 刷新使用
+ *
+ * 非线程安全，不再使用时需要 {@link #close()}
+ */
+public final class CpuFrequencyPoller implements Closeable {
+
+    private final CpuTopology topology;
+    private final SysfsReader[] curReaders;      // 按策略：scaling_cur_freq
+    private final SysfsReader[] fallbackReaders; // 按策略：cpuinfo_cur_freq
+    private final SysfsReader[] affectedReaders; // 按策略：affected_cpus
+    private final boolean[] online;              // 按核心，每次轮询由 affected_cpus 重建
+    private final List<CpuInfoReader.CpuFrequencyData> data;
+
+    public CpuFrequencyPoller() {
+        this(CpuTopology.get());
+    }
+
+    public CpuFrequencyPoller(CpuTopology topology) {
+        this.topology = topology;
+        List<CpuTopology.Policy> policies = topology.getPolicies();
+        curReaders = new SysfsReader[policies.size()];
+        fallbackReaders = new SysfsReader[policies.size()];
+        affectedReaders = new SysfsReader[policies.size()];
+        for (int p = 0; p < policies.size(); p++) {
+            String base = policies.get(p).path + "/";
+            curReaders[p] = new SysfsReader(base + "scaling_cur_freq");
+            fallbackReaders[p] = new SysfsReader(base + "cpuinfo_cur_freq");
+            affectedReaders[p] = new SysfsReader(base + "affected_cpus");
+        }
+        int cores = topology.getCoreCount();
+        online = new boolean[cores];
+        List<CpuInfoReader.CpuFrequencyData> list = new ArrayList<>(cores);
+        for (int i = 0; i < cores; i++) {
+            CpuTopology.Policy policy = topology.getPolicyOfCore(i);
+            list.add(policy != null
+                    ? new CpuInfoReader.CpuFrequencyData(0, policy.maxFreq, policy.minFreq)
+                    : new CpuInfoReader.CpuFrequencyData(0, 0, 0));
+        }
+        data = Collections.unmodifiableList(list);
+    }
+
+    public CpuTopology getTopology() {
+        return topology;
+    }
+
+    public int getCoreCount() {
+        return data.size();
+    }
+
+    /**
+     * 重新读取所有策略的实时频率
+     * @return 与上次相同的列表（元素原地更新），索引对应核心编号；没有 cpufreq 的核心三项均为 0，
+     * 离线核心的实时频率为 0（同簇其他核心在线时策略的频率仍然有效）
+     */
+    public List<CpuInfoReader.CpuFrequencyData> poll() {
+        List<CpuTopology.Policy> policies = topology.getPolicies();
+        for (int p = 0; p < curReaders.length; p++) {
+            long cur = curReaders[p].readLong(0);
+            if (cur <= 0) {
+                cur = fallbackReaders[p].readLong(0);
+            }
+            cur = Math.max(0, cur);
+            int[] cpus = policies.get(p).cpus;
+            readOnline(p, cpus);
+            for (int cpu : cpus) {
+                data.get(cpu).curFreq = online[cpu] ? cur : 0;
+            }
+        }
+        return data;
+    }
+
+    // 按 affected_cpus 重建该策略核心的在线标记；整簇下线时文件为空，读取失败时视为全部在线
+    private void readOnline(int p, int[] cpus) {
+        SysfsReader reader = affectedReaders[p];
+        int length = reader.read();
+        for (int cpu : cpus) {
+            online[cpu] = length < 0;
+        }
+        if (length > 0) {
+            CpuTopology.markCpuList(reader.getBuffer(), length, online);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (int p = 0; p < curReaders.length; p++) {
+            curReaders[p].close();
+            fallbackReaders[p].close();
+            affectedReaders[p].close();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.kaze.devicefp.model;
+
+import com.kaze.devicefp.util.SysfsReader;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CPU 频率驻留统计
+ * 读取每个 cpufreq 策略的 stats/time_in_state（各频点累计时间）和 stats/total_trans（切换次数），
+ * 两次 {@link #sample()} 之间做差得到窗口内在每个频点（OPP）停留的时间。
+ * 内核记录了所有切换，比高频轮询 scaling_cur_freq 准确，开销只是每个簇两次读取
+ *
+ * 指定窗口长度时保留一圈带时间戳的基准（按窗口均匀间隔记录），每次采样与时间上最接近
+ * “窗口长度之前”的基准做差，窗口不再取决于调用频率；不指定时与上一次采样做差
+ *
+ * 内核未开启 CONFIG_CPU_FREQ_STAT 或无权读取时该策略不出现在结果中
+ */
+public final class CpuFrequencyResidency implements Closeable {
+
+    private static final int MAX_STATES = 64;
+    private static final int TIME_IN_STATE_CAPACITY = 32 * MAX_STATES;
+    private static final long USER_HZ_MS = 10; // time_in_state 的单位是 USER_HZ（10ms）
+    public static final int DEFAULT_BASELINES = 8;
+
+    /**
+     * 单个策略在一个窗口内的频点驻留分布
+     */
+    public static final class Histogram {
+        private final CpuTopology.Policy policy;
+        private final long[] frequencies;
+        private final long[] timesMs;
+        private final long totalTimeMs;
+        private final long transitions;
+        private final long windowMs;
+
+        Histogram(CpuTopology.Policy policy, long[] frequencies, long[] timesMs, long transitions, long windowMs) {
+            this.policy = policy;
+            this.frequencies = frequencies;
+            this.timesMs = timesMs;
+            long total = 0;
+            for (long time : timesMs) {
+                total += time;
+            }
+            this.totalTimeMs = total;
+            this.transitions = transitions;
+            this.windowMs = windowMs;
+        }
+
+        public CpuTopology.Policy getPolicy() {
+            return policy;
+        }
+
+        public int getStateCount() {
+            return frequencies.length;
+        }
+
+        /** 频点 (kHz)，顺序与 time_in_state 一致 */
+        public long getFrequency(int state) {
+            return frequencies[state];
+        }
+
+        /** 窗口内在该频点的时间（毫秒） */
+        public long getTimeMs(int state) {
+            return timesMs[state];
+        }
+
+        public long getTotalTimeMs() {
+            return totalTimeMs;
+        }
+
+        /**
+         * 在该频点的时间占比（0-1），总时间为 0 时返回 0
+         */
+        public double getFraction(int state) {
+            return totalTimeMs > 0 ? (double) timesMs[state] / totalTimeMs : 0;
+        }
+
+        /**
+         * 窗口内的频率切换次数，内核未提供 total_trans 时返回 -1
+         */
+        public long getTransitions() {
+            return transitions;
+        }
+
+        /**
+         * 窗口长度（毫秒），-1 表示首次采样、统计自开机以来
+         */
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public boolean isSinceBoot() {
+            return windowMs < 0;
+        }
+
+        /**
+         * 窗口内到达过的最高频点 (kHz)，没有数据时返回 0
+         */
+        public long getPeakFrequency() {
+            long peak = 0;
+            for (int i = 0; i < frequencies.length; i++) {
+                if (timesMs[i] > 0 && frequencies[i] > peak) {
+                    peak = frequencies[i];
+                }
+            }
+            return peak;
+        }
+    }
+
+    private final CpuTopology topology;
+    private final SysfsReader[] timeReaders;
+    private final SysfsReader[] transReaders;
+    private final long windowNanos;
+    private final long baselineSpacingNanos;
+    // 基准环：[槽位][策略]，baseHead 为下一次写入的槽位
+    private final long[][][] baseFrequencies;
+    private final long[][][] baseTimes;
+    private final int[][] baseCounts;
+    private final long[][] baseTransitions;
+    private final long[] baseNanos;
+    private int baseHead;
+    private int baseCount;
+    private final long[] parseFrequencies = new long[MAX_STATES];
+    private final long[] parseTimes = new long[MAX_STATES];
+
+    public CpuFrequencyResidency() {
+        this(CpuTopology.get());
+    }
+
+    /**
+     * 与上一次采样做差
+     */
+    public CpuFrequencyResidency(CpuTopology topology) {
+        this(topology, 0, 1);
+    }
+
+    /**
+     * @param windowMs 统计窗口（毫秒），0 表示与上一次采样做差
+     * @param baselines 保留的基准数，窗口内按 windowMs / (baselines - 1) 的间隔记录
+     */
+    public CpuFrequencyResidency(CpuTopology topology, long windowMs, int baselines) {
+        if (windowMs < 0) {
+            throw new IllegalArgumentException("windowMs < 0: " + windowMs);
+        }
+        this.topology = topology;
+        int slots = windowMs > 0 ? Math.max(2, baselines) : 1;
+        windowNanos = windowMs * 1_000_000;
+        baselineSpacingNanos = windowNanos / Math.max(1, slots - 1);
+        List<CpuTopology.Policy> policies = topology.getPolicies();
+        int n = policies.size();
+        timeReaders = new SysfsReader[n];
+        transReaders = new SysfsReader[n];
+        baseFrequencies = new long[slots][n][MAX_STATES];
+        baseTimes = new long[slots][n][MAX_STATES];
+        baseCounts = new int[slots][n];
+        baseTransitions = new long[slots][n];
+        baseNanos = new long[slots];
+        for (int p = 0; p < n; p++) {
+            String base = policies.get(p).getPath() + "/stats/";
+            timeReaders[p] = new SysfsReader(base + "time_in_state", TIME_IN_STATE_CAPACITY);
+            transReaders[p] = new SysfsReader(base + "total_trans");
+        }
+    }
+
+    public CpuTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * 窗口长度（毫秒），0 表示与上一次采样做差
+     */
+    public long getWindowMs() {
+        return windowNanos / 1_000_000;
+    }
+
+    /**
+     * 读取所有策略的统计，返回与基准之间的差值；没有基准时返回开机以来的累计值
+     * @return 按策略顺序的分布，不可读的策略被跳过
+     */
+    public List<Histogram> sample() {
+        return sample(System.nanoTime());
+    }
+
+    synchronized List<Histogram> sample(long now) {
+        int base = closestBaseline(now);
+        long windowMs = base >= 0 ? (now - baseNanos[base]) / 1_000_000 : -1;
+        // 距最新基准不足一个间隔时不记录，保证基准环覆盖整个窗口
+        int newest = (baseHead - 1 + baseNanos.length) % baseNanos.length;
+        int store = baseCount == 0 || now - baseNanos[newest] >= baselineSpacingNanos ? baseHead : -1;
+        List<CpuTopology.Policy> policies = topology.getPolicies();
+        List<Histogram> result = new ArrayList<>(policies.size());
+        for (int p = 0; p < policies.size(); p++) {
+            int count = readTimeInState(timeReaders[p]);
+            if (count <= 0) {
+                if (store >= 0) {
+                    baseCounts[store][p] = 0;
+                }
+                continue;
+            }
+            long trans = transReaders[p].readLong(-1);
+
+            // 频点表与基准一致时做差；没有基准或频点表变化（如热插拔后重建策略）时取累计值
+            boolean comparable = base >= 0 && count == baseCounts[base][p];
+            for (int i = 0; comparable && i < count; i++) {
+                comparable = parseFrequencies[i] == baseFrequencies[base][p][i];
+            }
+            long[] frequencies = new long[count];
+            long[] timesMs = new long[count];
+            for (int i = 0; i < count; i++) {
+                frequencies[i] = parseFrequencies[i];
+                long delta = comparable ? parseTimes[i] - baseTimes[base][p][i] : parseTimes[i];
+                timesMs[i] = Math.max(0, delta) * USER_HZ_MS;
+            }
+            long lastTrans = comparable ? baseTransitions[base][p] : -1;
+            long transitions = trans < 0 ? -1 : lastTrans >= 0 ? Math.max(0, trans - lastTrans) : trans;
+            result.add(new Histogram(policies.get(p), frequencies, timesMs, transitions,
+                    comparable ? windowMs : -1));
+
+            // 写入的槽位可能就是本次做差的基准，该策略已用完后再覆盖
+            if (store >= 0) {
+                System.arraycopy(parseFrequencies, 0, baseFrequencies[store][p], 0, count);
+                System.arraycopy(parseTimes, 0, baseTimes[store][p], 0, count);
+                baseCounts[store][p] = count;
+                baseTransitions[store][p] = trans;
+            }
+        }
+        if (store >= 0) {
+            baseNanos[store] = now;
+            baseHead = (baseHead + 1) % baseNanos.length;
+            if (baseCount < baseNanos.length) {
+                baseCount++;
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // 距今最接近窗口长度的基准槽位，没有基准时返回 -1
+    private int closestBaseline(long now) {
+        int best = -1;
+        long bestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < baseCount; i++) {
+            int slot = (baseHead - 1 - i + baseNanos.length) % baseNanos.length;
+            long distance = Math.abs(now - baseNanos[slot] - windowNanos);
+            if (distance < bestDistance) {
+                best = slot;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    // 解析 "频率 时间" 行到 parseFrequencies / parseTimes，返回行数
+    private int readTimeInState(SysfsReader reader) {
+        int length = reader.read();
+        if (length <= 0) {
+            return 0;
+        }
+        ByteBuffer buf = reader.getBuffer();
+        int count = 0;
+        int pos = 0;
+        while (pos < length && count < MAX_STATES) {
+            int lineEnd = pos;
+            while (lineEnd < length && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            // 缓冲区截断的最后一行不完整，丢弃
+            if (lineEnd == length && length == buf.capacity()) {
+                break;
+            }
+            int split = pos;
+            while (split < lineEnd && buf.get(split) != ' ') {
+                split++;
+            }
+            long freq = SysfsReader.parseLong(buf, pos, split, -1);
+            long time = SysfsReader.parseLong(buf, split, lineEnd, -1);
+            if (freq > 0 && time >= 0) {
+                parseFrequencies[count] = freq;
+                parseTimes[count] = time;
+                count++;
+            }
+            pos = lineEnd + 1;
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (int p = 0; p < timeReaders.length; p++) {
+            timeReaders[p].close();
+            transReaders[p].close();
+        }
+    }
+}
@@ -14,11 +14,25 @@ public class CpuInfoReader {
     private static final String CPU_INFO_PATH = "/proc/cpuinfo";
     private static final String TAG = "CpuInfoReader";
     
+    private static volatile int cachedCoreCount; // 0 表示尚未获取
+    
     /**
-     * 获取CPU核心数
+     * 获取CPU核心数，成功获取后缓存（进程内不变）
      * @return CPU核心数，如果获取失败返回-1
      */
     public int getCpuCoreCount() {
+        int cores = cachedCoreCount;
+        if (cores > 0) {
+            return cores;
+        }
+        cores = readCpuCoreCount();
+        if (cores > 0) {
+            cachedCoreCount = cores;
+        }
+        return cores;
+    }
+    
+    private int readCpuCoreCount() {
         try {
             // 方法1: 使用 Runtime.availableProcessors()
             int cores = Runtime.getRuntime().availableProcessors();
@@ -133,35 +147,20 @@ public class CpuInfoReader {
      */
     public CpuFrequencyData getCpuCoreFrequencyData(int coreIndex) {
         try {
-            String basePath = "/sys/devices/system/cpu/cpu" + coreIndex + "/cpufreq";
-            File cpufreqDir = new File(basePath);
-            
-            if (!cpufreqDir.exists() || !cpufreqDir.isDirectory()) {
+            // 最大/最小频率不变，取自缓存的拓扑；没有 cpufreq 的核心不在任何策略中
+            CpuTopology.Policy policy = CpuTopology.get().getPolicyOfCore(coreIndex);
+            if (policy == null) {
                 return null;
             }
             
-            // 读取频率文件（原始数值，单位kHz）
-            // 实时频率：优先尝试 scaling_cur_freq，如果不存在再尝试 cpuinfo_cur_freq
+            // 实时频率（原始数值，单位kHz）：优先尝试 scaling_cur_freq，如果不存在再尝试 cpuinfo_cur_freq
+            String basePath = policy.getPath();
             long curFreq = readFrequencyValue(new File(basePath, "scaling_cur_freq"));
             if (curFreq == 0) {
                 curFreq = readFrequencyValue(new File(basePath, "cpuinfo_cur_freq"));
             }
             
-            long maxFreq = readFrequencyValue(new File(basePath, "cpuinfo_max_freq"));
-            if (maxFreq == 0) {
-                maxFreq = readFrequencyValue(new File(basePath, "scaling_max_freq"));
-            }
-            
-            long minFreq = readFrequencyValue(new File(basePath, "cpuinfo_min_freq"));
-            if (minFreq == 0) {
-                minFreq = readFrequencyValue(new File(basePath, "scaling_min_freq"));
-            }
-            
-            if (maxFreq > 0 && minFreq > 0) {
-                return new CpuFrequencyData(curFreq, maxFreq, minFreq);
-            }
-            
-            return null;
+            return new CpuFrequencyData(curFreq, policy.getMaxFreq(), policy.getMinFreq());
             
         } catch (Exception e) {
             Log.e(TAG, "获取CPU核心 " + coreIndex + " 频率失败", e);
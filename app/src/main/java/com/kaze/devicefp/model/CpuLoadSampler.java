@@ -0,0 +1,277 @@
+package com.kaze.devicefp.model;
+
+import com.kaze.devicefp.util.SysfsReader;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 每核心 CPU 负载采样器
+ * 在后台线程按固定间隔读取 /proc/stat 的 cpuN 行，直接从字节解析到 long 数组，
+ * 用两次采样之间的忙碌 / 总时间差计算负载，并保存固定长度的环形历史。
+ * 所有缓冲区在构造时分配，采样过程不产生对象
+ *
+ * Android 8.0 起普通应用通常无权读取 /proc/stat，此时 {@link #isAvailable()} 为 false，
+ * 负载均为 -1（未知）；文件能打开但第一次读取失败时同样视为不可用，采样线程随即退出。
+ * 离线核心不出现在 /proc/stat 中，同样为 -1
+ */
+public final class CpuLoadSampler implements Closeable {
+
+    public static final String PROC_STAT = "/proc/stat";
+    public static final long DEFAULT_INTERVAL_MS = 1000;
+    public static final int DEFAULT_HISTORY_SIZE = 60;
+
+    // user nice system idle iowait irq softirq steal；guest / guest_nice 已计入 user / nice
+    private static final int FIELD_COUNT = 8;
+    private static final int FIELD_IDLE = 3;
+    private static final int FIELD_IOWAIT = 4;
+    private static final int BYTES_PER_LINE = 160;
+
+    private final SysfsReader reader;
+    private final int coreCount;
+    private final long[] fields = new long[FIELD_COUNT];
+    private final long[] lastTotal;
+    private final long[] lastIdle;
+    private final long[] total;
+    private final long[] idle;
+    private final boolean[] seen;
+    private final boolean[] lastSeen; // 上一次采样中是否出现
+
+    // 环形历史：history[slot * coreCount + core]，负载百分比（0-100），-1 表示未知
+    private final float[] history;
+    private final long[] timestamps;
+    private final int historySize;
+    private int head; // 下一次写入的位置
+    private int count;
+    private boolean primed;
+    private volatile boolean failed; // 第一次读取失败
+
+    private volatile Thread thread;
+    private volatile long intervalMs = DEFAULT_INTERVAL_MS;
+
+    public CpuLoadSampler(int coreCount) {
+        this(PROC_STAT, coreCount, DEFAULT_HISTORY_SIZE);
+    }
+
+    /**
+     * @param statPath /proc/stat 路径
+     * @param historySize 保留的采样数
+     */
+    public CpuLoadSampler(String statPath, int coreCount, int historySize) {
+        this.coreCount = Math.max(0, coreCount);
+        this.historySize = Math.max(1, historySize);
+        // 只需要开头的 cpu 行，不读取后面很长的 intr 行
+        this.reader = new SysfsReader(statPath, BYTES_PER_LINE * (this.coreCount + 1));
+        lastTotal = new long[this.coreCount];
+        lastIdle = new long[this.coreCount];
+        total = new long[this.coreCount];
+        idle = new long[this.coreCount];
+        seen = new boolean[this.coreCount];
+        lastSeen = new boolean[this.coreCount];
+        history = new float[this.historySize * this.coreCount];
+        timestamps = new long[this.historySize];
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * /proc/stat 是否可读（第一次采样前只检查能否打开）
+     */
+    public boolean isAvailable() {
+        return reader.isOpen() && !failed;
+    }
+
+    /**
+     * 启动后台采样线程（已启动时只更新间隔）
+     * @param intervalMs 采样间隔（毫秒）
+     */
+    public synchronized void start(long intervalMs) {
+        this.intervalMs = Math.max(10, intervalMs);
+        if (thread != null || !reader.isOpen()) {
+            return;
+        }
+        Thread t = new Thread(this::run, "fp-cpu-load");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        thread = t;
+        t.start();
+    }
+
+    /**
+     * 停止后台采样线程，历史保留
+     */
+    public void stop() {
+        Thread t;
+        synchronized (this) {
+            t = thread;
+            thread = null;
+        }
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    private void run() {
+        Thread self = Thread.currentThread();
+        while (thread == self) {
+            sample();
+            if (failed) {
+                break;
+            }
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 立即采样一次；第一次只记录基准，不写入历史
+     * @return 是否写入了一条历史
+     */
+    public synchronized boolean sample() {
+        int length = reader.read();
+        if (length <= 0) {
+            if (!primed) {
+                failed = true;
+            }
+            return false;
+        }
+        Arrays.fill(seen, false);
+        parse(reader.getBuffer(), length);
+
+        long now = System.currentTimeMillis();
+        int base = head * coreCount;
+        for (int core = 0; core < coreCount; core++) {
+            float load = -1f;
+            if (seen[core]) {
+                long deltaTotal = total[core] - lastTotal[core];
+                long deltaIdle = idle[core] - lastIdle[core];
+                // 离线期间计数保留但基准已过期，核心重新上线后的第一次只记录基准，本次视为未知
+                if (primed && lastSeen[core] && deltaTotal > 0 && deltaIdle >= 0 && deltaIdle <= deltaTotal) {
+                    load = (deltaTotal - deltaIdle) * 100f / deltaTotal;
+                }
+                lastTotal[core] = total[core];
+                lastIdle[core] = idle[core];
+            }
+            lastSeen[core] = seen[core];
+            history[base + core] = load;
+        }
+        if (!primed) {
+            primed = true;
+            return false;
+        }
+        timestamps[head] = now;
+        head = (head + 1) % historySize;
+        if (count < historySize) {
+            count++;
+        }
+        return true;
+    }
+
+    // 逐行解析 "cpuN f0 f1 ..."，遇到第一行非 cpu 行结束；汇总行 "cpu " 跳过
+    private void parse(ByteBuffer buf, int end) {
+        int pos = 0;
+        while (pos + 3 < end && buf.get(pos) == 'c' && buf.get(pos + 1) == 'p' && buf.get(pos + 2) == 'u') {
+            pos += 3;
+            int core = -1;
+            if (isDigit(buf.get(pos))) {
+                core = 0;
+                while (pos < end && isDigit(buf.get(pos))) {
+                    core = core * 10 + (buf.get(pos) - '0');
+                    pos++;
+                }
+            }
+            int n = 0;
+            while (pos < end && buf.get(pos) != '\n') {
+                byte b = buf.get(pos);
+                if (isDigit(b)) {
+                    long value = 0;
+                    while (pos < end && isDigit(buf.get(pos))) {
+                        value = value * 10 + (buf.get(pos) - '0');
+                        pos++;
+                    }
+                    if (n < FIELD_COUNT) {
+                        fields[n] = value;
+                    }
+                    n++;
+                } else {
+                    pos++;
+                }
+            }
+            // 行被缓冲区截断时字段不全，丢弃
+            if (pos >= end) {
+                break;
+            }
+            pos++;
+            if (core >= 0 && core < coreCount && n >= FIELD_COUNT - 1) {
+                long sum = 0;
+                for (int i = 0; i < Math.min(n, FIELD_COUNT); i++) {
+                    sum += fields[i];
+                }
+                total[core] = sum;
+                idle[core] = fields[FIELD_IDLE] + fields[FIELD_IOWAIT];
+                seen[core] = true;
+            }
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * 历史中的采样数
+     */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    /**
+     * 复制最新一次的每核心负载
+     * @param out 长度不小于核心数
+     * @return 最新采样的时间戳，没有采样时返回 0（out 填充 -1）
+     */
+    public synchronized long copyLatest(float[] out) {
+        if (count == 0) {
+            Arrays.fill(out, 0, coreCount, -1f);
+            return 0;
+        }
+        int slot = (head - 1 + historySize) % historySize;
+        System.arraycopy(history, slot * coreCount, out, 0, coreCount);
+        return timestamps[slot];
+    }
+
+    /**
+     * 复制单个核心的历史，从旧到新
+     * @param out 长度不小于 {@link #getHistorySize()}
+     * @return 复制的采样数
+     */
+    public synchronized int copyHistory(int core, float[] out) {
+        int start = (head - count + historySize) % historySize;
+        for (int i = 0; i < count; i++) {
+            out[i] = history[((start + i) % historySize) * coreCount + core];
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        synchronized (this) {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.kaze.devicefp.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CPU 拓扑
+ * 核心数、cpufreq 策略（按 related_cpus 分组的簇）及其硬件最小/最大频率、可选频率表。
+ * 这些信息在进程生命周期内不变，只在构建时读取一次；实时频率由 {@link CpuFrequencyPoller}
+ * 按策略读取（同一策略内的核心共享频率）
+ */
+public final class CpuTopology {
+
+    public static final String CPU_ROOT = "/sys/devices/system/cpu";
+
+    private static volatile CpuTopology instance;
+
+    /**
+     * cpufreq 策略（一个簇）
+     */
+    public static final class Policy {
+        final int index;
+        final String path;
+        final int[] cpus;
+        final long minFreq;
+        final long maxFreq;
+        final long[] availableFrequencies;
+
+        Policy(int index, String path, int[] cpus, long minFreq, long maxFreq, long[] availableFrequencies) {
+            this.index = index;
+            this.path = path;
+            this.cpus = cpus;
+            this.minFreq = minFreq;
+            this.maxFreq = maxFreq;
+            this.availableFrequencies = availableFrequencies;
+        }
+
+        /**
+         * 在 {@link #getPolicies()} 中的位置（按首个核心编号排序）
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * cpufreq 目录（首个核心的 cpuN/cpufreq）
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * 共享该策略的核心编号（升序）
+         */
+        public int[] getCpus() {
+            return cpus.clone();
+        }
+
+        public int getCpuCount() {
+            return cpus.length;
+        }
+
+        public int getFirstCpu() {
+            return cpus[0];
+        }
+
+        /** 硬件最小频率 (kHz) */
+        public long getMinFreq() {
+            return minFreq;
+        }
+
+        /** 硬件最大频率 (kHz) */
+        public long getMaxFreq() {
+            return maxFreq;
+        }
+
+        /**
+         * scaling_available_frequencies 中的频率 (kHz，升序)，内核未提供时为空数组
+         */
+        public long[] getAvailableFrequencies() {
+            return availableFrequencies.clone();
+        }
+    }
+
+    private final String root;
+    private final int coreCount;
+    private final List<Policy> policies;
+    private final int[] policyOfCore;
+
+    private CpuTopology(String root, int coreCount, List<Policy> policies, int[] policyOfCore) {
+        this.root = root;
+        this.coreCount = coreCount;
+        this.policies = policies;
+        this.policyOfCore = policyOfCore;
+    }
+
+    /**
+     * 本机拓扑，首次调用时读取
+     */
+    public static CpuTopology get() {
+        CpuTopology topology = instance;
+        if (topology == null) {
+            synchronized (CpuTopology.class) {
+                topology = instance;
+                if (topology == null) {
+                    topology = read(CPU_ROOT, new CpuInfoReader().getCpuCoreCount());
+                    instance = topology;
+                }
+            }
+        }
+        return topology;
+    }
+
+    /**
+     * 从指定目录读取拓扑
+     * @param root CPU 目录（包含 cpuN/cpufreq 子目录）
+     * @param coreCount 核心数
+     */
+    public static CpuTopology read(String root, int coreCount) {
+        int cores = Math.max(0, coreCount);
+        int[] policyOfCore = new int[cores];
+        Arrays.fill(policyOfCore, -1);
+        List<Policy> policies = new ArrayList<>();
+        for (int cpu = 0; cpu < cores; cpu++) {
+            if (policyOfCore[cpu] >= 0) {
+                continue;
+            }
+            File dir = new File(root + "/cpu" + cpu + "/cpufreq");
+            if (!dir.isDirectory()) {
+                continue;
+            }
+            long max = readLong(dir, "cpuinfo_max_freq", "scaling_max_freq");
+            long min = readLong(dir, "cpuinfo_min_freq", "scaling_min_freq");
+            if (max <= 0 || min <= 0) {
+                continue;
+            }
+            int[] related = parseCpuList(readText(new File(dir, "related_cpus")));
+            int[] cpus = filterCpus(related, cpu, cores, policyOfCore);
+            int index = policies.size();
+            for (int c : cpus) {
+                policyOfCore[c] = index;
+            }
+            long[] available = parseLongs(readText(new File(dir, "scaling_available_frequencies")));
+            Arrays.sort(available);
+            policies.add(new Policy(index, dir.getPath(), cpus, min, max, available));
+        }
+        return new CpuTopology(root, cores, Collections.unmodifiableList(policies), policyOfCore);
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    public List<Policy> getPolicies() {
+        return policies;
+    }
+
+    /**
+     * @return 核心所属策略，没有 cpufreq 的核心返回 null
+     */
+    public Policy getPolicyOfCore(int cpu) {
+        if (cpu < 0 || cpu >= coreCount || policyOfCore[cpu] < 0) {
+            return null;
+        }
+        return policies.get(policyOfCore[cpu]);
+    }
+
+    // 只保留范围内、尚未归属其他策略的核心；当前核心总是包含在内
+    private static int[] filterCpus(int[] related, int cpu, int cores, int[] policyOfCore) {
+        int[] result = new int[related.length + 1];
+        int n = 0;
+        result[n++] = cpu;
+        for (int c : related) {
+            if (c > cpu && c < cores && policyOfCore[c] < 0) {
+                result[n++] = c;
+            }
+        }
+        int[] cpus = Arrays.copyOf(result, n);
+        Arrays.sort(cpus);
+        // related_cpus 可能重复列出同一核心
+        int m = 0;
+        for (int i = 0; i < cpus.length; i++) {
+            if (i == 0 || cpus[i] != cpus[i - 1]) {
+                cpus[m++] = cpus[i];
+            }
+        }
+        return Arrays.copyOf(cpus, m);
+    }
+
+    /**
+     * 解析 CPU 列表，支持 "0 1 2 3"（related_cpus）和 "0-3,6"（present / possible）两种格式
+     */
+    static int[] parseCpuList(String text) {
+        if (text == null || text.isEmpty()) {
+            return new int[0];
+        }
+        int[] result = new int[8];
+        int n = 0;
+        for (String part : text.trim().split("[\\s,]+")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            try {
+                int dash = part.indexOf('-');
+                int from = Integer.parseInt(dash < 0 ? part : part.substring(0, dash));
+                int to = dash < 0 ? from : Integer.parseInt(part.substring(dash + 1));
+                for (int c = from; c <= to; c++) {
+                    if (n == result.length) {
+                        result = Arrays.copyOf(result, n * 2);
+                    }
+                    result[n++] = c;
+                }
+            } catch (NumberFormatException e) {
+                // 忽略无法解析的片段
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 把 buf[0, end) 中的 CPU 列表（两种格式同 {@link #parseCpuList}）标记到 mask，不分配对象；
+     * 超出 mask 范围的核心忽略，mask 中原有的标记保留
+     */
+    static void markCpuList(ByteBuffer buf, int end, boolean[] mask) {
+        int rangeStart = -1;
+        int i = 0;
+        while (i < end) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) {
+                i++;
+                continue;
+            }
+            int value = 0;
+            while (i < end && (d = buf.get(i) - '0') >= 0 && d <= 9) {
+                value = value * 10 + d;
+                i++;
+            }
+            for (int c = rangeStart >= 0 ? rangeStart : value; c <= value && c < mask.length; c++) {
+                mask[c] = true;
+            }
+            rangeStart = -1;
+            if (i < end && buf.get(i) == '-') {
+                rangeStart = value;
+                i++;
+            }
+        }
+    }
+
+    private static long[] parseLongs(String text) {
+        if (text == null || text.isEmpty()) {
+            return new long[0];
+        }
+        String[] parts = text.trim().split("\\s+");
+        long[] values = new long[parts.length];
+        int n = 0;
+        for (String part : parts) {
+            try {
+                long value = Long.parseLong(part);
+                if (value > 0) {
+                    values[n++] = value;
+                }
+            } catch (NumberFormatException e) {
+                // 忽略
+            }
+        }
+        return Arrays.copyOf(values, n);
+    }
+
+    // 首选文件的值不大于 0 时读取备选文件，与 CpuInfoReader 的优先级一致
+    private static long readLong(File dir, String primary, String fallback) {
+        long value = parseLong(readText(new File(dir, primary)));
+        if (value <= 0) {
+            value = parseLong(readText(new File(dir, fallback)));
+        }
+        return Math.max(0, value);
+    }
+
+    private static long parseLong(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String readText(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            return line != null ? line.trim() : null;
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+}
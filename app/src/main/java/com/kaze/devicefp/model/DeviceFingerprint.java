@@ -2,18 +2,47 @@ package com.kaze.devicefp.model;
 
 /**
  * 设备指纹数据模型
+ * 取值为类型化的 {@link FingerprintValue}，状态为 {@link FingerprintStatus}，显示文字在界面绑定时才生成；
+ * 名称在构造时解析为 {@link FingerprintKey}，板块、易变性和显示方式从注册表读取
  */
 public class DeviceFingerprint {
-    private String category;  // 分类（如：设备信息、系统信息等）
-    private String name;      // 属性名称
-    private String value;     // 属性值
-    private String status;    // 状态（如：已获取、未获取、需要权限等）
+    private String category;            // 分类（如：设备信息、系统信息等）
+    private String name;                // 属性名称
+    private FingerprintKey key;         // 注册的字段，未注册的名称为 null
+    private FingerprintValue value;     // 属性值
+    private FingerprintStatus status;   // 状态（如：已获取、未获取、需要权限等）
+    private SectionType section;        // 未注册字段所属的板块，为 null 时归入系统信息
 
-    public DeviceFingerprint(String category, String name, String value, String status) {
+    public DeviceFingerprint(String category, String name, FingerprintValue value, FingerprintStatus status) {
         this.category = category;
         this.name = name;
-        this.value = value;
-        this.status = status;
+        this.key = FingerprintKey.byName(name);
+        this.value = value != null ? value : FingerprintValue.EMPTY;
+        this.status = status != null ? status : FingerprintStatus.MISSING;
+    }
+
+    /**
+     * 未注册字段（如超时占位项）指定所属板块，注册字段仍以注册表为准
+     */
+    public DeviceFingerprint(String category, String name, FingerprintValue value, FingerprintStatus status,
+                             SectionType section) {
+        this(category, name, value, status);
+        this.section = section;
+    }
+
+    public DeviceFingerprint(String category, FingerprintKey key, FingerprintValue value, FingerprintStatus status) {
+        this(category, key.getDisplayName(), value, status);
+    }
+
+    public DeviceFingerprint(String category, String name, String value, FingerprintStatus status) {
+        this(category, name, FingerprintValue.text(value), status);
+    }
+
+    /**
+     * 兼容字符串状态，构造时解析一次
+     */
+    public DeviceFingerprint(String category, String name, String value, String status) {
+        this(category, name, FingerprintValue.text(value), FingerprintStatus.fromLabel(status));
     }
 
     public String getCategory() {
@@ -30,21 +59,61 @@ public class DeviceFingerprint {
 
     public void setName(String name) {
         this.name = name;
+        this.key = FingerprintKey.byName(name);
+    }
+
+    /**
+     * 注册的字段，未注册的名称返回 null
+     */
+    public FingerprintKey getKey() {
+        return key;
+    }
+
+    /**
+     * 所属板块，未注册且未指定板块的字段归入系统信息
+     */
+    public SectionType getSection() {
+        if (key != null) {
+            return key.getSection();
+        }
+        return section != null ? section : SectionType.OTHER;
     }
 
+    /**
+     * 易变性，未注册的字段按 LIVE 处理
+     */
+    public Volatility getVolatility() {
+        return key != null ? key.getVolatility() : Volatility.LIVE;
+    }
+
+    /**
+     * 显示文字（首次调用时生成）
+     */
     public String getValue() {
+        return value.format();
+    }
+
+    public FingerprintValue getTypedValue() {
         return value;
     }
 
     public void setValue(String value) {
-        this.value = value;
+        this.value = FingerprintValue.text(value);
+    }
+
+    public void setValue(FingerprintValue value) {
+        this.value = value != null ? value : FingerprintValue.EMPTY;
     }
 
-    public String getStatus() {
+    public FingerprintStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
-        this.status = status;
+    public String getStatusLabel() {
+        return status.getLabel();
+    }
+
+    public void setStatus(FingerprintStatus status) {
+        this.status = status != null ? status : FingerprintStatus.MISSING;
     }
 }
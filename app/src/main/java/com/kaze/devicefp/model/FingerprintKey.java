@@ -0,0 +1,238 @@
+package com.kaze.devicefp.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.kaze.devicefp.model.SectionType.APP;
+import static com.kaze.devicefp.model.SectionType.BATTERY;
+import static com.kaze.devicefp.model.SectionType.CAMERA;
+import static com.kaze.devicefp.model.SectionType.CPU;
+import static com.kaze.devicefp.model.SectionType.DEVICE;
+import static com.kaze.devicefp.model.SectionType.MEMORY;
+import static com.kaze.devicefp.model.SectionType.NETWORK;
+import static com.kaze.devicefp.model.SectionType.OTHER;
+import static com.kaze.devicefp.model.SectionType.SCREEN;
+import static com.kaze.devicefp.model.SectionType.STORAGE;
+import static com.kaze.devicefp.model.SectionType.SYSTEM_MONITOR;
+import static com.kaze.devicefp.model.Volatility.LIVE;
+import static com.kaze.devicefp.model.Volatility.SESSION;
+import static com.kaze.devicefp.model.Volatility.STATIC_PER_BOOT;
+import static com.kaze.devicefp.model.Volatility.STATIC_PER_BUILD;
+
+/**
+ * 指纹字段注册表
+ * 每个字段有稳定的数字 id（用于序列化，发布后不可修改或复用）、所属板块、易变性和显示提示；
+ * 分组、缓存、导出和比较都通过这里的元数据完成，不再匹配显示名称
+ */
+public enum FingerprintKey {
+    // 设备信息 1xx
+    BRAND(101, "设备品牌", DEVICE, STATIC_PER_BUILD),
+    MODEL(102, "设备型号", DEVICE, STATIC_PER_BUILD),
+    MANUFACTURER(103, "制造商", DEVICE, STATIC_PER_BUILD),
+    PRODUCT_NAME(104, "产品名称", DEVICE, STATIC_PER_BUILD),
+    DEVICE_NAME(105, "设备名称", DEVICE, STATIC_PER_BUILD),
+    HARDWARE(106, "硬件", DEVICE, STATIC_PER_BUILD),
+    RADIO_VERSION(107, "基带", DEVICE, STATIC_PER_BUILD),
+    ANDROID_VERSION(108, "Android版本", DEVICE, STATIC_PER_BUILD),
+    API_LEVEL(109, "API级别", DEVICE, STATIC_PER_BUILD),
+    BUILD_VERSION(110, "构建版本", DEVICE, STATIC_PER_BUILD),
+    SECURITY_PATCH(111, "安全补丁级别", DEVICE, STATIC_PER_BUILD),
+    KERNEL_VERSION(112, "内核版本", DEVICE, STATIC_PER_BUILD),
+    LANGUAGE(113, "系统语言", DEVICE, SESSION),
+    TIME_ZONE(114, "时区", DEVICE, SESSION),
+
+    // CPU / 内存 / 存储 2xx
+    CPU_ABI(201, "CPU架构", CPU, STATIC_PER_BUILD),
+    CPU_CORES(202, "CPU核心数", CPU, STATIC_PER_BUILD),
+    CPU_FREQUENCY(203, "CPU频率", CPU, LIVE, DisplayHint.CPU_TABLE),
+    CPU_RESIDENCY(204, "CPU频率分布", CPU, LIVE, DisplayHint.MULTILINE),
+    MEMORY_INFO(211, "内存信息", MEMORY, LIVE, DisplayHint.MULTILINE),
+    STORAGE_INFO(221, "存储信息", STORAGE, LIVE),
+
+    // 电池 3xx
+    BATTERY_LEVEL(301, "电量", BATTERY, LIVE),
+    BATTERY_HEALTH(302, "健康状态", BATTERY, LIVE),
+    BATTERY_VOLTAGE(303, "电压", BATTERY, LIVE),
+    BATTERY_TEMPERATURE(304, "温度", BATTERY, LIVE),
+    BATTERY_CAPACITY(305, "容量", BATTERY, STATIC_PER_BUILD),
+    CHARGING_METHOD(306, "充电方式", BATTERY, LIVE),
+
+    // 屏幕 4xx
+    RESOLUTION(401, "分辨率", SCREEN, SESSION),
+    COMPUTED_SIZE(402, "屏幕计算尺寸", SCREEN, SESSION),
+    SCREEN_WIDTH(403, "屏幕宽度", SCREEN, SESSION),
+    SCREEN_HEIGHT(404, "屏幕高度", SCREEN, SESSION),
+    ASPECT_RATIO(405, "宽高比", SCREEN, SESSION),
+    DIAGONAL_INCHES(406, "屏幕尺寸", SCREEN, STATIC_PER_BUILD),
+    SIZE_CATEGORY(407, "屏幕类别", SCREEN, SESSION),
+    DENSITY(408, "屏幕密度", SCREEN, SESSION),
+    DENSITY_CATEGORY(409, "密度类别", SCREEN, SESSION),
+    PPI(410, "PPI", SCREEN, SESSION),
+    XDPI_YDPI(411, "XDPI / YDPI", SCREEN, STATIC_PER_BUILD),
+    STATUS_BAR_HEIGHT(412, "状态栏高度", SCREEN, SESSION),
+    NAVIGATION_BAR_HEIGHT(413, "导航栏高度", SCREEN, SESSION),
+    REFRESH_RATE(414, "刷新率", SCREEN, LIVE),
+    SUPPORTED_REFRESH_RATES(415, "支持刷新率", SCREEN, STATIC_PER_BUILD),
+    BRIGHTNESS(416, "当前亮度", SCREEN, LIVE),
+    SCREEN_TIMEOUT(417, "屏幕超时", SCREEN, LIVE),
+    SCREEN_MANUFACTURER(418, "屏幕制造商", SCREEN, STATIC_PER_BUILD),
+    SCREEN_MODEL(419, "屏幕型号", SCREEN, STATIC_PER_BUILD),
+    BRIGHTNESS_MODE(420, "亮度模式", SCREEN, LIVE),
+    BRIGHTNESS_LEVEL(421, "亮度大小", SCREEN, LIVE),
+    ROTATION_MODE(422, "旋转模式", SCREEN, LIVE),
+
+    // 摄像头 5xx
+    CAMERA_COUNT(501, "总摄像头数量", CAMERA, STATIC_PER_BUILD),
+    FRONT_CAMERA_COUNT(502, "前置数量", CAMERA, STATIC_PER_BUILD),
+    BACK_CAMERA_COUNT(503, "后置数量", CAMERA, STATIC_PER_BUILD),
+    CAMERA_DETAILS(504, "摄像头详细信息", CAMERA, STATIC_PER_BUILD, DisplayHint.MULTILINE),
+    MAIN_CAMERA(505, "主摄像头", CAMERA, STATIC_PER_BUILD),
+
+    // 网络 6xx
+    WIFI_ENABLED(601, "WiFi是否开启", NETWORK, LIVE),
+    MOBILE_DATA(602, "移动数据状态", NETWORK, LIVE),
+    CONNECTION_TYPE(603, "连接类型", NETWORK, LIVE),
+    IP_ADDRESS(604, "IP地址", NETWORK, LIVE, DisplayHint.MULTILINE),
+    GATEWAY(605, "网关", NETWORK, LIVE, DisplayHint.MULTILINE),
+    SIM_SLOT_COUNT(606, "卡槽数量", NETWORK, STATIC_PER_BUILD),
+    MAX_SUBSCRIPTIONS(607, "卡最大订阅数量", NETWORK, STATIC_PER_BUILD),
+    SIM_INSERTED(608, "是否插卡", NETWORK, LIVE),
+    OPERATOR_NAME(609, "运营商名字", NETWORK, LIVE),
+    SIM_COUNTRY(610, "sim国家", NETWORK, LIVE),
+    MNC_MCC(611, "mnc|mcc", NETWORK, LIVE),
+    NET_NAME(612, "NetName", NETWORK, LIVE, DisplayHint.MULTILINE),
+    HTTP_AGENT(613, "HttpAgent", NETWORK, STATIC_PER_BUILD),
+
+    // 应用信息（随应用更新变化，不跨启动缓存）7xx
+    PACKAGE_NAME(701, "应用包名", APP, SESSION),
+    APP_SIGNATURE(702, "应用签名", APP, SESSION, DisplayHint.MULTILINE),
+    APP_VERSION(703, "应用版本", APP, SESSION),
+    INSTALL_TIME(704, "安装时间", APP, SESSION),
+    SYSTEM_APP(705, "是否为系统预装应用", APP, SESSION),
+    ANDROID_ID(706, "Android ID", APP, SESSION),
+    APP_PATH(707, "APP路径", APP, SESSION, DisplayHint.MULTILINE),
+
+    // 系统监测 8xx
+    ADB_CONNECTED(801, "是否连接adb", SYSTEM_MONITOR, LIVE),
+    PROXY_ENABLED(802, "是否开启代理", SYSTEM_MONITOR, LIVE),
+    ROOTED(803, "是否已Root", SYSTEM_MONITOR, LIVE),
+    HOOK_DETECTED(804, "是否检测到Hook", SYSTEM_MONITOR, LIVE),
+
+    // 系统信息 9xx
+    SCREEN_INFO(901, "屏幕信息", OTHER, SESSION),
+    SYSTEM_SIGNATURE(902, "android包签名", OTHER, STATIC_PER_BUILD),
+    FONT_LIST(903, "字体列表", OTHER, STATIC_PER_BUILD),
+    FONT_HASH(904, "字体数量和哈希", OTHER, STATIC_PER_BUILD), // SHA-1，已由 929 取代，保留用于读取历史记录
+    HARDWARE_FEATURES(905, "硬件功能", OTHER, STATIC_PER_BUILD, DisplayHint.MULTILINE),
+    SENSOR_HASH(906, "传感器哈希", OTHER, STATIC_PER_BUILD),
+    FEATURE_LIST_HASH(907, "硬件软件列表哈希", OTHER, STATIC_PER_BUILD),
+    MEDIA_CODEC_HASH(908, "媒体解码器数量和哈希", OTHER, STATIC_PER_BUILD), // SHA-1，已由 930 取代，保留用于读取历史记录
+    SYSTEM_FILE_HASH(909, "系统文件哈希", OTHER, STATIC_PER_BUILD, DisplayHint.MULTILINE),
+    OPENGL(910, "OpenGL", OTHER, STATIC_PER_BUILD, DisplayHint.MULTILINE),
+    BOOT_ID(911, "boot id", OTHER, STATIC_PER_BOOT),
+    BOOT_TIME(912, "系统启动时间", OTHER, STATIC_PER_BOOT),
+    BOOT_COUNT(913, "开机计数(两种获取)", OTHER, STATIC_PER_BOOT),
+    SERVICE_LIST_HASH(914, "服务列表哈希", OTHER, STATIC_PER_BOOT),
+    ATTESTATION(915, "Attestation", OTHER, STATIC_PER_BOOT, DisplayHint.MULTILINE),
+    KEYSTORE_ATTESTATION(916, "KeyStoreAttestation", OTHER, STATIC_PER_BOOT, DisplayHint.MULTILINE),
+    KEY_PIN_TIME(917, "锁屏密码和编辑时间", OTHER, SESSION),
+    OVERLAY_GRANTED(918, "是否被授予悬浮窗", OTHER, SESSION),
+    ACCESSIBILITY_SERVICES(919, "已安装辅助服务列表", OTHER, SESSION, DisplayHint.MULTILINE),
+    INPUT_METHODS(920, "输入法列表", OTHER, SESSION, DisplayHint.MULTILINE),
+    INPUT_DEVICES(921, "物理输入设备", OTHER, SESSION, DisplayHint.MULTILINE),
+    PHONE_MODE(922, "设备模式信息", OTHER, SESSION, DisplayHint.MULTILINE),
+    DEX_CLASS_LOADER_PATH(923, "DexClassLoader的路径列表", OTHER, SESSION, DisplayHint.MULTILINE),
+    UPTIME(924, "CPU运行时间", OTHER, LIVE),
+    ELAPSED_REALTIME(925, "开机运行时间", OTHER, LIVE),
+    RINGER_MODE(926, "铃声模式", OTHER, LIVE),
+    AUDIO_VOLUMES(927, "铃声大小", OTHER, LIVE, DisplayHint.MULTILINE),
+    KEYGUARD_LOCKED(928, "是否处于锁屏", OTHER, LIVE),
+    // 哈希算法不同的值使用新字段，不与历史记录中的 SHA-1 值比较
+    FONT_HASH_MURMUR3(929, "字体数量和Murmur3哈希", OTHER, STATIC_PER_BUILD),
+    MEDIA_CODEC_HASH_MURMUR3(930, "媒体解码器数量和Murmur3哈希", OTHER, STATIC_PER_BUILD);
+
+    /**
+     * 界面显示方式
+     */
+    public enum DisplayHint {
+        NORMAL,     // 最多 3 行，超出省略
+        MULTILINE,  // 长文本，全部展示
+        CPU_TABLE   // CPU 频率表格
+    }
+
+    private static final Map<String, FingerprintKey> BY_NAME = new HashMap<>();
+    private static final FingerprintKey[] BY_ID;
+
+    static {
+        int maxId = 0;
+        for (FingerprintKey key : values()) {
+            if (BY_NAME.put(key.displayName, key) != null) {
+                throw new IllegalStateException("Duplicate fingerprint name " + key.displayName);
+            }
+            maxId = Math.max(maxId, key.id);
+        }
+        BY_ID = new FingerprintKey[maxId + 1];
+        for (FingerprintKey key : values()) {
+            if (BY_ID[key.id] != null) {
+                throw new IllegalStateException("Duplicate fingerprint id " + key.id);
+            }
+            BY_ID[key.id] = key;
+        }
+    }
+
+    private final int id;
+    private final String displayName;
+    private final SectionType section;
+    private final Volatility volatility;
+    private final DisplayHint displayHint;
+
+    FingerprintKey(int id, String displayName, SectionType section, Volatility volatility) {
+        this(id, displayName, section, volatility, DisplayHint.NORMAL);
+    }
+
+    FingerprintKey(int id, String displayName, SectionType section, Volatility volatility,
+                   DisplayHint displayHint) {
+        this.id = id;
+        this.displayName = displayName;
+        this.section = section;
+        this.volatility = volatility;
+        this.displayHint = displayHint;
+    }
+
+    /**
+     * 稳定的数字 id
+     */
+    public int getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public SectionType getSection() {
+        return section;
+    }
+
+    public Volatility getVolatility() {
+        return volatility;
+    }
+
+    public DisplayHint getDisplayHint() {
+        return displayHint;
+    }
+
+    /**
+     * 按显示名称查找，未注册的名称返回 null
+     */
+    public static FingerprintKey byName(String name) {
+        return name != null ? BY_NAME.get(name) : null;
+    }
+
+    /**
+     * 按数字 id 查找，未知 id 返回 null
+     */
+    public static FingerprintKey byId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+}
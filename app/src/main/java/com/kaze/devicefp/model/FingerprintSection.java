@@ -11,15 +11,30 @@ public class FingerprintSection {
     private final String title;
     private final String summary;
     private final List<DeviceFingerprint> items;
+    private final boolean loaded;
     private boolean expanded;
 
     public FingerprintSection(String title, String summary, List<DeviceFingerprint> items) {
+        this(title, summary, items, true);
+    }
+
+    private FingerprintSection(String title, String summary, List<DeviceFingerprint> items, boolean loaded) {
         this.title = title;
         this.summary = summary != null ? summary : "";
         this.items = items != null ? new ArrayList<>(items) : new ArrayList<DeviceFingerprint>();
+        this.loaded = loaded;
         this.expanded = false;
     }
 
+    /**
+     * 延迟加载的占位板块：只有标题，内容为一条"加载中"占位项，首次展开时再收集
+     */
+    public static FingerprintSection placeholder(String title) {
+        List<DeviceFingerprint> items = new ArrayList<>();
+        items.add(new DeviceFingerprint(title, "正在收集…", "", FingerprintStatus.LOADING));
+        return new FingerprintSection(title, "展开后加载", items, false);
+    }
+
     public String getTitle() {
         return title;
     }
@@ -32,6 +47,13 @@ public class FingerprintSection {
         return items;
     }
 
+    /**
+     * 内容是否已收集（占位板块返回 false）
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
     public boolean isExpanded() {
         return expanded;
     }
@@ -0,0 +1,79 @@
+package com.kaze.devicefp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 一次完整收集的快照：收集时间和全部指纹项
+ */
+public final class FingerprintSnapshot {
+
+    /**
+     * 按字段排序：注册字段按 id，未注册字段排在最后并按名称排序
+     */
+    public static final Comparator<DeviceFingerprint> KEY_ORDER = new Comparator<DeviceFingerprint>() {
+        @Override
+        public int compare(DeviceFingerprint a, DeviceFingerprint b) {
+            int c = Integer.compare(sortId(a), sortId(b));
+            if (c != 0 || a.getKey() != null) {
+                return c;
+            }
+            return compareNames(a.getName(), b.getName());
+        }
+    };
+
+    private final long timestampMs;
+    private final List<DeviceFingerprint> items;
+    private volatile DeviceFingerprint[] itemsByKey; // 延迟生成的按字段排序副本
+
+    public FingerprintSnapshot(long timestampMs, List<DeviceFingerprint> items) {
+        this.timestampMs = timestampMs;
+        this.items = items != null ? Collections.unmodifiableList(new ArrayList<>(items))
+                : Collections.<DeviceFingerprint>emptyList();
+    }
+
+    /**
+     * 收集完成时的墙钟时间（System.currentTimeMillis）
+     */
+    public long getTimestampMs() {
+        return timestampMs;
+    }
+
+    public List<DeviceFingerprint> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * 按 {@link #KEY_ORDER} 排序的全部指纹项（首次调用时排序并缓存，返回的数组不要修改）
+     */
+    public DeviceFingerprint[] getItemsByKey() {
+        DeviceFingerprint[] sorted = itemsByKey;
+        if (sorted == null) {
+            sorted = items.toArray(new DeviceFingerprint[0]);
+            Arrays.sort(sorted, KEY_ORDER);
+            itemsByKey = sorted;
+        }
+        return sorted;
+    }
+
+    /**
+     * 排序用的字段 id，未注册字段为 Integer.MAX_VALUE
+     */
+    static int sortId(DeviceFingerprint item) {
+        return item.getKey() != null ? item.getKey().getId() : Integer.MAX_VALUE;
+    }
+
+    static int compareNames(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kaze.devicefp.model;
+
+/**
+ * 指纹项的获取状态
+ * 界面显示的文字只在绑定时通过 {@link #getLabel()} 取得，统计和配色直接比较枚举
+ */
+public enum FingerprintStatus {
+    COLLECTED("已获取"),
+    MISSING("未获取"),
+    PERMISSION_REQUIRED("需要权限"),
+    TIMED_OUT("超时"),
+    LOADING("加载中");
+
+    private final String label;
+
+    FingerprintStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isCollected() {
+        return this == COLLECTED;
+    }
+
+    /**
+     * 由显示文字还原状态（兼容旧的字符串状态，如 "未获取/无内容"），无法识别时返回 MISSING
+     */
+    public static FingerprintStatus fromLabel(String label) {
+        if (label == null) {
+            return MISSING;
+        }
+        for (FingerprintStatus status : values()) {
+            if (status.label.equals(label)) {
+                return status;
+            }
+        }
+        if (label.contains(COLLECTED.label)) {
+            return COLLECTED;
+        }
+        if (label.contains(PERMISSION_REQUIRED.label)) {
+            return PERMISSION_REQUIRED;
+        }
+        if (label.contains(TIMED_OUT.label)) {
+            return TIMED_OUT;
+        }
+        return MISSING;
+    }
+
+    /**
+     * 按条件返回 COLLECTED 或 MISSING
+     */
+    public static FingerprintStatus of(boolean collected) {
+        return collected ? COLLECTED : MISSING;
+    }
+}
@@ -0,0 +1,268 @@
+package com.kaze.devicefp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 指纹项的类型化取值
+ * 收集时只保存原始数据（整数、浮点、布尔、字符串列表、字节、嵌套表）和显示提示（单位、小数位、布尔文字），
+ * 显示文字在首次 {@link #format()} 时才生成并缓存；比较和哈希基于原始数据，不需要把字符串解析回来
+ */
+public final class FingerprintValue {
+
+    public enum Type {
+        TEXT,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        STRING_LIST,
+        BYTES,
+        MAP
+    }
+
+    public static final FingerprintValue EMPTY = text("");
+
+    private static final String[] DOUBLE_FORMATS = {"%.0f", "%.1f", "%.2f", "%.3f", "%.4f"};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Type type;
+    private final long bits;        // LONG 的值、DOUBLE 的位模式、BOOLEAN 的 0/1
+    private final Object ref;       // TEXT / STRING_LIST / BYTES / MAP 的数据
+    private final String unit;      // 数值的单位后缀，或列表的分隔符
+    private final int decimals;     // DOUBLE 的小数位
+    private final String trueLabel;
+    private final String falseLabel;
+    private String display;         // 延迟生成的显示文字（重复生成结果相同，不需要同步）
+
+    private FingerprintValue(Type type, long bits, Object ref, String unit, int decimals,
+                             String trueLabel, String falseLabel) {
+        this.type = type;
+        this.bits = bits;
+        this.ref = ref;
+        this.unit = unit != null ? unit : "";
+        this.decimals = decimals;
+        this.trueLabel = trueLabel;
+        this.falseLabel = falseLabel;
+    }
+
+    public static FingerprintValue text(String value) {
+        return new FingerprintValue(Type.TEXT, 0, value != null ? value : "", null, 0, null, null);
+    }
+
+    public static FingerprintValue ofLong(long value) {
+        return ofLong(value, null);
+    }
+
+    /**
+     * @param unit 显示时追加的单位，如 " px"、"mAh"、"%"
+     */
+    public static FingerprintValue ofLong(long value, String unit) {
+        return new FingerprintValue(Type.LONG, value, null, unit, 0, null, null);
+    }
+
+    /**
+     * @param decimals 显示的小数位（0-4）
+     * @param unit 显示时追加的单位，如 "V"、" Hz"
+     */
+    public static FingerprintValue ofDouble(double value, int decimals, String unit) {
+        int clamped = Math.max(0, Math.min(decimals, DOUBLE_FORMATS.length - 1));
+        return new FingerprintValue(Type.DOUBLE, Double.doubleToLongBits(value), null, unit, clamped, null, null);
+    }
+
+    public static FingerprintValue ofBoolean(boolean value) {
+        return ofBoolean(value, "是", "否");
+    }
+
+    public static FingerprintValue ofBoolean(boolean value, String trueLabel, String falseLabel) {
+        return new FingerprintValue(Type.BOOLEAN, value ? 1 : 0, null, null, 0, trueLabel, falseLabel);
+    }
+
+    public static FingerprintValue ofList(List<String> values) {
+        return ofList(values, "\n");
+    }
+
+    /**
+     * @param separator 显示时各项之间的分隔符
+     */
+    public static FingerprintValue ofList(List<String> values, String separator) {
+        List<String> copy = values != null ? Collections.unmodifiableList(new ArrayList<>(values))
+                : Collections.<String>emptyList();
+        return new FingerprintValue(Type.STRING_LIST, 0, copy, separator, 0, null, null);
+    }
+
+    /**
+     * 字节数据（哈希、签名等），显示为十六进制；数组不复制，调用方之后不应再修改
+     */
+    public static FingerprintValue ofBytes(byte[] value) {
+        return new FingerprintValue(Type.BYTES, 0, value != null ? value : new byte[0], null, 0, null, null);
+    }
+
+    /**
+     * 嵌套表，按插入顺序显示为 "键: 值" 行
+     */
+    public static FingerprintValue ofMap(Map<String, FingerprintValue> values) {
+        Map<String, FingerprintValue> copy = values != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(values))
+                : Collections.<String, FingerprintValue>emptyMap();
+        return new FingerprintValue(Type.MAP, 0, copy, null, 0, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long asLong() {
+        if (type == Type.DOUBLE) {
+            return (long) asDouble();
+        }
+        return bits;
+    }
+
+    public double asDouble() {
+        return type == Type.DOUBLE ? Double.longBitsToDouble(bits) : bits;
+    }
+
+    public boolean asBoolean() {
+        return bits != 0;
+    }
+
+    /**
+     * TEXT 返回原文，其他类型返回显示文字
+     */
+    public String asText() {
+        return type == Type.TEXT ? (String) ref : format();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> asList() {
+        return type == Type.STRING_LIST ? (List<String>) ref : Collections.singletonList(asText());
+    }
+
+    /**
+     * BYTES 的原始数组（不复制，不要修改），其他类型返回 null
+     */
+    public byte[] asBytes() {
+        return type == Type.BYTES ? (byte[]) ref : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, FingerprintValue> asMap() {
+        return type == Type.MAP ? (Map<String, FingerprintValue>) ref
+                : Collections.<String, FingerprintValue>emptyMap();
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+
+    public String getTrueLabel() {
+        return trueLabel;
+    }
+
+    public String getFalseLabel() {
+        return falseLabel;
+    }
+
+    /**
+     * 显示文字，首次调用时生成
+     */
+    public String format() {
+        String result = display;
+        if (result == null) {
+            result = buildDisplay();
+            display = result;
+        }
+        return result;
+    }
+
+    private String buildDisplay() {
+        switch (type) {
+            case TEXT:
+                return (String) ref;
+            case LONG:
+                return unit.isEmpty() ? Long.toString(bits) : bits + unit;
+            case DOUBLE:
+                return String.format(Locale.US, DOUBLE_FORMATS[decimals], Double.longBitsToDouble(bits)) + unit;
+            case BOOLEAN:
+                return bits != 0 ? trueLabel : falseLabel;
+            case STRING_LIST: {
+                StringBuilder sb = new StringBuilder();
+                for (String item : asList()) {
+                    if (sb.length() > 0) {
+                        sb.append(unit);
+                    }
+                    sb.append(item);
+                }
+                return sb.toString();
+            }
+            case BYTES:
+                return toHex((byte[]) ref);
+            case MAP: {
+                StringBuilder sb = new StringBuilder();
+                for (Map.Entry<String, FingerprintValue> e : asMap().entrySet()) {
+                    if (sb.length() > 0) {
+                        sb.append('\n');
+                    }
+                    sb.append(e.getKey()).append(": ").append(e.getValue().format());
+                }
+                return sb.toString();
+            }
+            default:
+                return "";
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 按类型和原始数据比较，单位、小数位等显示提示不参与比较
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FingerprintValue)) {
+            return false;
+        }
+        FingerprintValue that = (FingerprintValue) o;
+        if (type != that.type || bits != that.bits) {
+            return false;
+        }
+        if (type == Type.BYTES) {
+            return Arrays.equals((byte[]) ref, (byte[]) that.ref);
+        }
+        return Objects.equals(ref, that.ref);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type.hashCode() * 31 + Long.hashCode(bits);
+        if (type == Type.BYTES) {
+            return result * 31 + Arrays.hashCode((byte[]) ref);
+        }
+        return result * 31 + Objects.hashCode(ref);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
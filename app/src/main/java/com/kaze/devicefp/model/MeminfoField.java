@@ -0,0 +1,112 @@
+package com.kaze.devicefp.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * /proc/meminfo 中关心的字段，ordinal 即 {@link MemoryInfoReader} 数值数组的下标
+ * 按键名的字节直接查找（哈希 + 逐字节比较），不为键名创建字符串
+ */
+public enum MeminfoField {
+    MEM_TOTAL("MemTotal"),
+    MEM_FREE("MemFree"),
+    MEM_AVAILABLE("MemAvailable"),
+    BUFFERS("Buffers"),
+    CACHED("Cached"),
+    SWAP_CACHED("SwapCached"),
+    ACTIVE("Active"),
+    INACTIVE("Inactive"),
+    ACTIVE_ANON("Active(anon)"),
+    INACTIVE_ANON("Inactive(anon)"),
+    ACTIVE_FILE("Active(file)"),
+    INACTIVE_FILE("Inactive(file)"),
+    UNEVICTABLE("Unevictable"),
+    MLOCKED("Mlocked"),
+    SWAP_TOTAL("SwapTotal"),
+    SWAP_FREE("SwapFree"),
+    DIRTY("Dirty"),
+    WRITEBACK("Writeback"),
+    ANON_PAGES("AnonPages"),
+    MAPPED("Mapped"),
+    SHMEM("Shmem"),
+    K_RECLAIMABLE("KReclaimable"),
+    SLAB("Slab"),
+    S_RECLAIMABLE("SReclaimable"),
+    S_UNRECLAIM("SUnreclaim"),
+    KERNEL_STACK("KernelStack"),
+    SHADOW_CALL_STACK("ShadowCallStack"),
+    PAGE_TABLES("PageTables"),
+    COMMIT_LIMIT("CommitLimit"),
+    COMMITTED_AS("Committed_AS"),
+    VMALLOC_USED("VmallocUsed"),
+    CMA_TOTAL("CmaTotal"),
+    CMA_FREE("CmaFree"),
+    ION_TOTAL_CACHE("IonTotalCache"),
+    ION_TOTAL_USED("IonTotalUsed"),
+    GPU_TOTAL_USED("GPUTotalUsed");
+
+    public static final int COUNT = values().length;
+
+    private static final MeminfoField[] VALUES = values();
+    // 开放寻址表：槽位存 ordinal + 1，0 表示空
+    private static final int[] TABLE = new int[128];
+
+    static {
+        for (MeminfoField field : VALUES) {
+            int slot = field.hash & (TABLE.length - 1);
+            while (TABLE[slot] != 0) {
+                slot = (slot + 1) & (TABLE.length - 1);
+            }
+            TABLE[slot] = field.ordinal() + 1;
+        }
+    }
+
+    private final String key;
+    private final byte[] keyBytes;
+    private final int hash;
+
+    MeminfoField(String key) {
+        this.key = key;
+        this.keyBytes = key.getBytes(StandardCharsets.US_ASCII);
+        this.hash = key.hashCode(); // 键名为 ASCII，与按字节计算的 31 进制哈希一致
+    }
+
+    /**
+     * /proc/meminfo 中的键名（不含冒号）
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 查找 buf[start, end) 对应的字段
+     * @return 不关心的键返回 null
+     */
+    public static MeminfoField lookup(ByteBuffer buf, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + buf.get(i);
+        }
+        int slot = h & (TABLE.length - 1);
+        while (TABLE[slot] != 0) {
+            MeminfoField field = VALUES[TABLE[slot] - 1];
+            if (field.hash == h && field.matches(buf, start, end)) {
+                return field;
+            }
+            slot = (slot + 1) & (TABLE.length - 1);
+        }
+        return null;
+    }
+
+    private boolean matches(ByteBuffer buf, int start, int end) {
+        if (end - start != keyBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buf.get(start + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
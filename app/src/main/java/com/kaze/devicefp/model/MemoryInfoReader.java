@@ -1,74 +1,121 @@
 package com.kaze.devicefp.model;
 
 import android.util.Log;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
-public class MemoryInfoReader {
+import com.kaze.devicefp.util.SysfsReader;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * /proc/meminfo 读取器
+ * 文件保持打开，每次读取到复用的缓冲区后单遍扫描字节，数值写入按 {@link MeminfoField} 下标的 long 数组，
+ * 不关心的键直接跳过，读取过程不产生对象。用完需要 {@link #close()}
+ */
+public class MemoryInfoReader implements Closeable {
     private static final String TAG = "MemoryInfoReader";
     private static final String MEMINFO_PATH = "/proc/meminfo";
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final MeminfoField[] FIELDS = MeminfoField.values();
+
+    private final SysfsReader reader;
+    private final long[] memoryData = new long[MeminfoField.COUNT];
+
+    public MemoryInfoReader() {
+        this(MEMINFO_PATH);
+    }
 
-    private Map<String, Long> memoryData = new HashMap<>();
+    MemoryInfoReader(String path) {
+        this.reader = new SysfsReader(path, BUFFER_CAPACITY);
+    }
 
     public boolean readMemoryInfo() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(MEMINFO_PATH))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                parseMemoryLine(line);
-            }
-            return true;
-        } catch (IOException e) {
-            Log.e(TAG, "读取内存信息失败", e);
+        return readInto(memoryData);
+    }
+
+    /**
+     * 读取到调用方的数组（长度不小于 {@link MeminfoField#COUNT}），文件中没有的字段为 0
+     */
+    public boolean readInto(long[] values) {
+        int length = reader.read();
+        if (length <= 0) {
+            Log.e(TAG, "读取内存信息失败");
             return false;
         }
+        parse(reader.getBuffer(), length, values);
+        return true;
     }
 
-    private void parseMemoryLine(String line) {
-        // 格式: "MemTotal:       15538492 kB"
-        String[] parts = line.split("\\s+");
-        if (parts.length >= 2) {
-            String key = parts[0].replace(":", "");
-            String value = parts[1];
-            try {
-                memoryData.put(key, Long.parseLong(value));
-            } catch (NumberFormatException e) {
-                Log.w(TAG, "无法解析数值: " + line);
+    /**
+     * 解析 buf[0, end) 中 "MemTotal:       15538492 kB" 格式的行
+     * @return 识别出的字段数
+     */
+    static int parse(ByteBuffer buf, int end, long[] values) {
+        Arrays.fill(values, 0, MeminfoField.COUNT, 0);
+        int found = 0;
+        int pos = 0;
+        while (pos < end) {
+            int colon = pos;
+            while (colon < end && buf.get(colon) != ':' && buf.get(colon) != '\n') {
+                colon++;
+            }
+            int lineEnd = colon;
+            while (lineEnd < end && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            // 缓冲区截断的最后一行不完整，丢弃
+            if (lineEnd == end && end == buf.capacity()) {
+                break;
             }
+            if (colon < lineEnd) {
+                MeminfoField field = MeminfoField.lookup(buf, pos, colon);
+                if (field != null) {
+                    values[field.ordinal()] = SysfsReader.parseLong(buf, colon + 1, lineEnd, 0);
+                    found++;
+                }
+            }
+            pos = lineEnd + 1;
         }
+        return found;
+    }
+
+    /**
+     * 最近一次 {@link #readMemoryInfo()} 的字段值（kB）
+     */
+    public long getValue(MeminfoField field) {
+        return memoryData[field.ordinal()];
     }
 
     // 获取各种内存信息
     public long getTotalMemory() {
-        return memoryData.getOrDefault("MemTotal", 0L);
+        return getValue(MeminfoField.MEM_TOTAL);
     }
 
     public long getAvailableMemory() {
-        return memoryData.getOrDefault("MemAvailable", 0L);
+        return getValue(MeminfoField.MEM_AVAILABLE);
     }
 
     public long getFreeMemory() {
-        return memoryData.getOrDefault("MemFree", 0L);
+        return getValue(MeminfoField.MEM_FREE);
     }
 
     public long getCachedMemory() {
-        return memoryData.getOrDefault("Cached", 0L);
+        return getValue(MeminfoField.CACHED);
     }
 
     public long getSwapTotal() {
-        return memoryData.getOrDefault("SwapTotal", 0L);
+        return getValue(MeminfoField.SWAP_TOTAL);
     }
 
     public long getSwapFree() {
-        return memoryData.getOrDefault("SwapFree", 0L);
+        return getValue(MeminfoField.SWAP_FREE);
     }
 
     public long getUsedMemory() {
         long total = getTotalMemory();
         long free = getFreeMemory();
-        long buffers = memoryData.getOrDefault("Buffers", 0L);
+        long buffers = getValue(MeminfoField.BUFFERS);
         long cached = getCachedMemory();
 
         return total - free - buffers - cached;
@@ -131,9 +178,9 @@ public class MemoryInfoReader {
         }
 
         // 详细缓存信息
-        long buffersKB = memoryData.getOrDefault("Buffers", 0L);
-        long sReclaimableKB = memoryData.getOrDefault("SReclaimable", 0L);
-        long slabKB = memoryData.getOrDefault("Slab", 0L);
+        long buffersKB = getValue(MeminfoField.BUFFERS);
+        long sReclaimableKB = getValue(MeminfoField.S_RECLAIMABLE);
+        long slabKB = getValue(MeminfoField.SLAB);
 
         report.append("缓存详情:\n");
         report.append(String.format("  Buffers: %.2f MB\n", kbToMB(buffersKB)));
@@ -142,16 +189,16 @@ public class MemoryInfoReader {
         report.append(String.format("  可回收Slab: %.2f MB\n\n", kbToMB(sReclaimableKB)));
 
         // 内核内存
-        long kernelStackKB = memoryData.getOrDefault("KernelStack", 0L);
-        long pageTablesKB = memoryData.getOrDefault("PageTables", 0L);
+        long kernelStackKB = getValue(MeminfoField.KERNEL_STACK);
+        long pageTablesKB = getValue(MeminfoField.PAGE_TABLES);
 
         report.append("内核内存:\n");
         report.append(String.format("  内核栈: %.2f MB\n", kbToMB(kernelStackKB)));
         report.append(String.format("  页表: %.2f MB\n\n", kbToMB(pageTablesKB)));
 
         // Android特定内存
-        long ionUsedKB = memoryData.getOrDefault("IonTotalUsed", 0L);
-        long gpuUsedKB = memoryData.getOrDefault("GPUTotalUsed", 0L);
+        long ionUsedKB = getValue(MeminfoField.ION_TOTAL_USED);
+        long gpuUsedKB = getValue(MeminfoField.GPU_TOTAL_USED);
 
         if (ionUsedKB > 0 || gpuUsedKB > 0) {
             report.append("Android专用内存:\n");
@@ -210,7 +257,7 @@ public class MemoryInfoReader {
         }
         
         // GPUTotalUsed
-        long gpuUsedKB = memoryData.getOrDefault("GPUTotalUsed", 0L);
+        long gpuUsedKB = getValue(MeminfoField.GPU_TOTAL_USED);
         if (gpuUsedKB > 0) {
             info.append("\nGPUTotalUsed: ").append(gpuUsedKB).append(" KB");
         } else {
@@ -237,37 +284,58 @@ public class MemoryInfoReader {
         );
     }
 
-    // 监控内存变化
-    public static class MemoryMonitor {
-        private MemoryInfoReader reader;
-        private Map<String, Long> lastValues = new HashMap<>();
+    @Override
+    public void close() {
+        reader.close();
+    }
+
+    // 监控内存变化：两个复用的数组交替保存本次和上次的值，检查过程不产生对象（有变化时的日志除外）
+    public static class MemoryMonitor implements Closeable {
+        private final MemoryInfoReader reader;
+        private long[] lastValues = new long[MeminfoField.COUNT];
+        private long[] currentValues = new long[MeminfoField.COUNT];
 
         public MemoryMonitor() {
-            this.reader = new MemoryInfoReader();
+            this(new MemoryInfoReader());
+        }
+
+        MemoryMonitor(MemoryInfoReader reader) {
+            this.reader = reader;
         }
 
         public boolean checkMemoryChanges() {
-            if (!reader.readMemoryInfo()) {
+            if (!reader.readInto(currentValues)) {
                 return false;
             }
 
-            Map<String, Long> currentValues = reader.memoryData;
             boolean hasChanges = false;
-
-            for (Map.Entry<String, Long> entry : currentValues.entrySet()) {
-                String key = entry.getKey();
-                long current = entry.getValue();
-                long last = lastValues.getOrDefault(key, 0L);
+            for (int i = 0; i < MeminfoField.COUNT; i++) {
+                long current = currentValues[i];
+                long last = lastValues[i];
 
                 if (Math.abs(current - last) > 1024) { // 变化超过1MB
                     Log.d(TAG, String.format("%s: %d kB -> %d kB (变化: %d kB)",
-                            key, last, current, current - last));
+                            FIELDS[i].getKey(), last, current, current - last));
                     hasChanges = true;
                 }
             }
 
-            lastValues = new HashMap<>(currentValues);
+            long[] swap = lastValues;
+            lastValues = currentValues;
+            currentValues = swap;
             return hasChanges;
         }
+
+        /**
+         * 最近一次检查读到的字段值（kB）
+         */
+        public long getValue(MeminfoField field) {
+            return lastValues[field.ordinal()];
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
     }
 }
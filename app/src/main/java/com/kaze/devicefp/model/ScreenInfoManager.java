@@ -27,11 +27,21 @@ public class ScreenInfoManager {
      * 获取完整的屏幕信息（整合所有功能）
      */
     public static ScreenInfo getCompleteScreenInfo(Context context) {
+        return getCompleteScreenInfo(context, null);
+    }
+
+    /**
+     * 获取完整的屏幕信息，复用调用方已获取的 DisplayMetrics
+     * @param metrics 为 null 时从 context 中获取
+     */
+    public static ScreenInfo getCompleteScreenInfo(Context context, DisplayMetrics metrics) {
         ScreenInfo info = new ScreenInfo();
 
         try {
             // 1. 获取DisplayMetrics信息（对应cz.l.C()的功能）
-            DisplayMetrics metrics = getDisplayMetrics(context);
+            if (metrics == null) {
+                metrics = getDisplayMetrics(context);
+            }
             populateDisplayMetrics(info, metrics);
 
             // 2. 计算额外信息
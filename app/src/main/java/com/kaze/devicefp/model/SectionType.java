@@ -0,0 +1,40 @@
+package com.kaze.devicefp.model;
+
+/**
+ * 指纹板块，声明顺序即界面显示顺序
+ */
+public enum SectionType {
+    DEVICE("设备信息"),
+    CPU("CPU信息"),
+    MEMORY("内存信息"),
+    STORAGE("存储信息"),
+    BATTERY("电池信息"),
+    SCREEN("屏幕信息"),
+    CAMERA("摄像头信息"),
+    NETWORK("网络信息"),
+    APP("APP信息"),
+    SYSTEM_MONITOR("系统监测"),
+    OTHER("系统信息");
+
+    private final String title;
+
+    SectionType(String title) {
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * 按标题查找板块，未知标题返回 null
+     */
+    public static SectionType fromTitle(String title) {
+        for (SectionType type : values()) {
+            if (type.title.equals(title)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
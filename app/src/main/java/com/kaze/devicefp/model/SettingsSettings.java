@@ -51,6 +51,7 @@ import android.nfc.NfcAdapter;
 import android.os.Binder;
 import android.os.Build;
 import android.os.PowerManager;
+import android.os.Trace;
 import android.provider.Settings;
 import android.text.TextUtils;
 import android.util.Log;
@@ -61,24 +62,28 @@ import android.view.inputmethod.InputMethodManager;
 
 import androidx.annotation.RequiresApi;
 
+import com.kaze.devicefp.util.DigestUtils;
+import com.kaze.devicefp.util.FileHasher;
+import com.kaze.devicefp.util.StreamingDigest;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.BufferedReader;
 import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -96,13 +101,20 @@ public class SettingsSettings {
     }
     // 视频解码器信息
     public static Set getMediaCodec(){
-        int codecCount = MediaCodecList.getCodecCount();
-        HashSet hashSet = new HashSet();
-        for (int i = 0; i < codecCount; i = i + 1) {
-            hashSet.add(MediaCodecList.getCodecInfoAt(i).getName());
+        Trace.beginSection("SettingsSettings.getMediaCodec");
+        try {
+            int codecCount = MediaCodecList.getCodecCount();
+            HashSet hashSet = new HashSet();
+            for (int i = 0; i < codecCount; i = i + 1) {
+                hashSet.add(MediaCodecList.getCodecInfoAt(i).getName());
+            }
+            return hashSet;
+        } finally {
+            Trace.endSection();
         }
-        return hashSet;
     }
+    private static final String SENSOR_SEPARATOR = "-".repeat(50);
+
     public static String list2String(List<String> list){
         if (list.isEmpty()){
             return "";
@@ -114,27 +126,7 @@ public class SettingsSettings {
         return sb.toString();
     }
     public static String calculateSHA1(String input) {
-        if (input == null || input.isEmpty()) {
-            return "";
-        }
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            byte[] hashBytes = digest.digest(input.getBytes("UTF-8"));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            return Integer.toHexString(input.hashCode());
-        } catch (Exception e) {
-            // 其他异常情况
-            return "";
-        }
+        return DigestUtils.sha1Hex(input);
     }
     /**
      * 获取系统字体文件路径列表
@@ -142,20 +134,25 @@ public class SettingsSettings {
      * @return 字体文件绝对路径列表
      */
     public static List<String> getSystemFontPaths() {
-        List<String> fontPaths = new ArrayList<>();
-        File fontsDir = new File("/system/fonts/");
-        if (!fontsDir.exists()) {
-            return fontPaths;
-        }
-        File[] fontFiles = fontsDir.listFiles();
-        if (fontFiles != null) {
-            for (File fontFile : fontFiles) {
-                if (fontFile != null && fontFile.isFile()) {
-                    fontPaths.add(fontFile.getAbsolutePath());
+        Trace.beginSection("SettingsSettings.getSystemFontPaths");
+        try {
+            List<String> fontPaths = new ArrayList<>();
+            File fontsDir = new File("/system/fonts/");
+            if (!fontsDir.exists()) {
+                return fontPaths;
+            }
+            File[] fontFiles = fontsDir.listFiles();
+            if (fontFiles != null) {
+                for (File fontFile : fontFiles) {
+                    if (fontFile != null && fontFile.isFile()) {
+                        fontPaths.add(fontFile.getAbsolutePath());
+                    }
                 }
             }
+            return fontPaths;
+        } finally {
+            Trace.endSection();
         }
-        return fontPaths;
     }
 
     public static String getAndroidId(Context context) {
@@ -200,63 +197,68 @@ public class SettingsSettings {
         return "";
     }
     public static String getHardwareFeaturesString(Context context) {
-        if (context == null) {
-            return "Context为空，无法检测硬件功能";
-        }
-
-        StringBuilder result = new StringBuilder();
+        Trace.beginSection("SettingsSettings.getHardwareFeaturesString");
         try {
-            PackageManager packageManager = context.getPackageManager();
-
-            // 硬件功能列表与对应的中文描述
-            String[][] features = {
-                    {"android.hardware.camera", "后置摄像头"},
-                    {"android.hardware.camera.autofocus", "自动对焦"},
-                    {"android.hardware.camera.flash", "闪光灯"},
-                    {"android.hardware.location", "位置服务"},
-                    {"android.hardware.location.gps", "GPS"},
-                    {"android.hardware.location.network", "网络定位"},
-                    {"android.hardware.microphone", "麦克风"},
-                    {"android.hardware.sensor.compass", "指南针"},
-                    {"android.hardware.sensor.accelerometer", "加速度计"},
-                    {"android.hardware.sensor.light", "光线传感器"},
-                    {"android.hardware.sensor.proximity", "距离传感器"},
-                    {"android.hardware.telephony", "电话功能"},
-                    {"android.hardware.telephony.cdma", "CDMA网络"},
-                    {"android.hardware.telephony.gsm", "GSM网络"},
-                    {"android.hardware.touchscreen", "触摸屏"},
-                    {"android.hardware.touchscreen.multitouch", "多点触控"},
-                    {"android.hardware.touchscreen.multitouch.distinct", "多点触控区分"},
-                    {"android.hardware.camera.front", "前置摄像头"},
-                    {"android.hardware.wifi", "WiFi"},
-                    {"android.hardware.bluetooth", "蓝牙"},
-                    {"android.hardware.nfc", "NFC"},
-                    {"android.hardware.fingerprint", "指纹识别"},
-                    {"android.hardware.biometrics.face", "面部识别"},
-                    {"android.hardware.screen.portrait", "竖屏支持"},
-                    {"android.hardware.screen.landscape", "横屏支持"},
-                    {"android.hardware.faketouch", "模拟触控"},
-                    {"android.hardware.audio.output", "音频输出"}
-            };
-
-            // 遍历所有功能，检测并格式化输出
-            for (String[] feature : features) {
-                String featureKey = feature[0];
-                String featureName = feature[1];
-                boolean hasFeature = packageManager.hasSystemFeature(featureKey);
-
-                // 格式化输出：功能名称 + 支持状态
-                result.append(featureName)
-                        .append(":")
-                        .append(hasFeature ? "支持" : "不支持")
-                        .append("\n");
+            if (context == null) {
+                return "Context为空，无法检测硬件功能";
             }
 
-            return result.toString();
+            StringBuilder result = new StringBuilder();
+            try {
+                PackageManager packageManager = context.getPackageManager();
+
+                // 硬件功能列表与对应的中文描述
+                String[][] features = {
+                        {"android.hardware.camera", "后置摄像头"},
+                        {"android.hardware.camera.autofocus", "自动对焦"},
+                        {"android.hardware.camera.flash", "闪光灯"},
+                        {"android.hardware.location", "位置服务"},
+                        {"android.hardware.location.gps", "GPS"},
+                        {"android.hardware.location.network", "网络定位"},
+                        {"android.hardware.microphone", "麦克风"},
+                        {"android.hardware.sensor.compass", "指南针"},
+                        {"android.hardware.sensor.accelerometer", "加速度计"},
+                        {"android.hardware.sensor.light", "光线传感器"},
+                        {"android.hardware.sensor.proximity", "距离传感器"},
+                        {"android.hardware.telephony", "电话功能"},
+                        {"android.hardware.telephony.cdma", "CDMA网络"},
+                        {"android.hardware.telephony.gsm", "GSM网络"},
+                        {"android.hardware.touchscreen", "触摸屏"},
+                        {"android.hardware.touchscreen.multitouch", "多点触控"},
+                        {"android.hardware.touchscreen.multitouch.distinct", "多点触控区分"},
+                        {"android.hardware.camera.front", "前置摄像头"},
+                        {"android.hardware.wifi", "WiFi"},
+                        {"android.hardware.bluetooth", "蓝牙"},
+                        {"android.hardware.nfc", "NFC"},
+                        {"android.hardware.fingerprint", "指纹识别"},
+                        {"android.hardware.biometrics.face", "面部识别"},
+                        {"android.hardware.screen.portrait", "竖屏支持"},
+                        {"android.hardware.screen.landscape", "横屏支持"},
+                        {"android.hardware.faketouch", "模拟触控"},
+                        {"android.hardware.audio.output", "音频输出"}
+                };
+
+                // 遍历所有功能，检测并格式化输出
+                for (String[] feature : features) {
+                    String featureKey = feature[0];
+                    String featureName = feature[1];
+                    boolean hasFeature = packageManager.hasSystemFeature(featureKey);
+
+                    // 格式化输出：功能名称 + 支持状态
+                    result.append(featureName)
+                            .append(":")
+                            .append(hasFeature ? "支持" : "不支持")
+                            .append("\n");
+                }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "检测硬件功能时发生异常：" + e.getMessage();
+                return result.toString();
+
+            } catch (Exception e) {
+                e.printStackTrace();
+                return "检测硬件功能时发生异常：" + e.getMessage();
+            }
+        } finally {
+            Trace.endSection();
         }
     }
     public static int getRingerMode(Context context0) {
@@ -269,10 +271,15 @@ public class SettingsSettings {
     }
 
     public static long getAndroidUptime() {
-        double uptimeSeconds = parseUptimeFromProc();
-        long currentTime = System.currentTimeMillis();
-        long uptimeMillis = (long) (uptimeSeconds * 1000.0f);
-        return currentTime - uptimeMillis;
+        Trace.beginSection("SettingsSettings.getAndroidUptime");
+        try {
+            double uptimeSeconds = parseUptimeFromProc();
+            long currentTime = System.currentTimeMillis();
+            long uptimeMillis = (long) (uptimeSeconds * 1000.0f);
+            return currentTime - uptimeMillis;
+        } finally {
+            Trace.endSection();
+        }
     }
     private static double parseUptimeFromProc() {
         double uptime = 0;
@@ -360,74 +367,42 @@ public class SettingsSettings {
     }
 
 
-    private static String calculateFileSHA1(File file) {
-        if (file == null || !file.exists() || !file.isFile()) {
-            return null;
-        }
-
-        FileInputStream fis = null;
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            fis = new FileInputStream(file);
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-
-            while ((bytesRead = fis.read(buffer)) != -1) {
-                digest.update(buffer, 0, bytesRead);
-            }
+    /**
+     *  "/system/lib64/libc.so","/system/lib64/libandroid_runtime.so","/system/lib64/libart.so","/apex/com.android.art/lib64/libart.so","/system/bin/linker64","/system/bin/app_process64";
+     *  "/system/lib/libc.so","/system/lib/libandroid_runtime.so","/system/lib/libart.so","/apex/com.android.art/lib/libart.so","/system/bin/linker","/system/bin/app_process32";
+     *
+     */
+    public static final List<String> SYSTEM_FILES = Collections.unmodifiableList(Arrays.asList(
+            "/system/bin/app_process",
+            "/system/bin/servicemanager",
+            "/system/framework/framework.jar",
+            "/system/lib64/libc.so",
+            "/system/lib64/libandroid_runtime.so",
+            "/system/lib64/libart.so",
+            "/apex/com.android.art/lib64/libart.so",
+            "/system/bin/linker64",
+            "/system/bin/app_process64"));
 
-            byte[] hashBytes = digest.digest();
+    public static String getFileHash(){
+        return getFileHash(SYSTEM_FILES, new FileHasher("SHA-1"), null);
+    }
 
-            // 将字节数组转换为十六进制字符串
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+    /**
+     * 并行计算文件列表的哈希，每行 "路径:哈希"（读取失败时为 null），顺序与列表一致
+     * @param cache 摘要缓存，文件没有变化时不再读取，可为 null
+     */
+    public static String getFileHash(List<String> files, FileHasher hasher, FileHasher.Cache cache){
+        Trace.beginSection("SettingsSettings.getFileHash");
+        try {
+            StringBuilder stringBuilder = new StringBuilder();
+            for (Map.Entry<String, String> entry : hasher.hashAll(files, cache).entrySet()) {
+                stringBuilder.append(entry.getKey()).append(":").append(entry.getValue()).append("\n");
             }
-
-            return hexString.toString();
-
-        } catch (NoSuchAlgorithmException e) {
-            // SHA-1算法不存在，这通常不会发生
-            return null;
-        } catch (IOException e) {
-            // 文件读取失败
-            return null;
+            return stringBuilder.toString();
         } finally {
-            if (fis != null) {
-                try {
-                    fis.close();
-                } catch (IOException e) {
-                    // 忽略关闭异常
-                }
-            }
+            Trace.endSection();
         }
     }
-    public static String getFileHash(){
-        StringBuilder stringBuilder = new StringBuilder();
-        /**
-         *  "/system/lib64/libc.so","/system/lib64/libandroid_runtime.so","/system/lib64/libart.so","/apex/com.android.art/lib64/libart.so","/system/bin/linker64","/system/bin/app_process64";
-         *  "/system/lib/libc.so","/system/lib/libandroid_runtime.so","/system/lib/libart.so","/apex/com.android.art/lib/libart.so","/system/bin/linker","/system/bin/app_process32";
-         *
-         */
-        String[] files = new String[]{
-                "/system/bin/app_process",
-                "/system/bin/servicemanager",
-                "/system/framework/framework.jar",
-                "/system/lib64/libc.so",
-                "/system/lib64/libandroid_runtime.so",
-                "/system/lib64/libart.so",
-                "/apex/com.android.art/lib64/libart.so",
-                "/system/bin/linker64",
-                "/system/bin/app_process64"};
-        for(String filePath: files){
-            stringBuilder.append(filePath).append(":").append(calculateFileSHA1(new File(filePath))).append("\n");
-        }
-        return stringBuilder.toString();
-    }
 
     public static int getAppOP(Context context0) {
         try {
@@ -748,103 +723,134 @@ public class SettingsSettings {
             return null;
         }
     }
+    /**
+     * 从已获取的 PackageInfo（需包含 GET_SIGNING_CERTIFICATES）中读取签名
+     */
+    public static String getAppSignature(PackageInfo packageInfo) {
+        try {
+            Signature signature = packageInfo.signingInfo.getApkContentsSigners()[0];
+            return bytesToHexString(signature.toByteArray());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
     private static String bytesToHexString(byte[] bytes) {
         if (bytes == null || bytes.length == 0) {
             return "";
         }
-
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xFF & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
+        return DigestUtils.toHex(bytes);
     }
 
 
     public static List<String> getServerList() {
-        List<String> serviceList = new ArrayList<>();
-
+        Trace.beginSection("SettingsSettings.getServerList");
         try {
-            // 执行"service list"命令获取系统服务列表
-            Process process = Runtime.getRuntime().exec("service list");
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()));
+            List<String> serviceList = new ArrayList<>();
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // 跳过"Found"开头的行（这是命令的标题行）
-                if (line.startsWith("Found")) {
-                    continue;
-                }
+            try {
+                // 执行"service list"命令获取系统服务列表
+                Process process = Runtime.getRuntime().exec("service list");
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream()));
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // 跳过"Found"开头的行（这是命令的标题行）
+                    if (line.startsWith("Found")) {
+                        continue;
+                    }
 
-                // 提取服务名（去掉前面的制表符）
-                int tabIndex = line.indexOf("\t");
-                if (tabIndex >= 0) {
-                    line = line.substring(tabIndex).trim();
-                } else {
-                    line = line.trim();
-                }
+                    // 提取服务名（去掉前面的制表符）
+                    int tabIndex = line.indexOf("\t");
+                    if (tabIndex >= 0) {
+                        line = line.substring(tabIndex).trim();
+                    } else {
+                        line = line.trim();
+                    }
 
-                // 只添加非空行
-                if (!line.isEmpty()) {
-                    serviceList.add(line+"\n");
+                    // 只添加非空行
+                    if (!line.isEmpty()) {
+                        serviceList.add(line+"\n");
+                    }
                 }
-            }
 
-            reader.close();
-            process.destroy();
+                reader.close();
+                process.destroy();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            // 异常时返回空列表
-            return new ArrayList<>();
-        }
+            } catch (Exception e) {
+                e.printStackTrace();
+                // 异常时返回空列表
+                return new ArrayList<>();
+            }
 
-        return serviceList;
+            return serviceList;
+        } finally {
+            Trace.endSection();
+        }
     }
     public static String getSensorDetails(Context context) {
-        if (context != null) {
-            try {
-                SensorManager sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
-                if (sensorManager != null) {
-                    List<Sensor> sensorList = sensorManager.getSensorList(Sensor.TYPE_ALL);
-                    if (sensorList != null && sensorList.size() > 0) {
-                        StringBuilder sensorDetails = new StringBuilder();
-
-                        for (Sensor sensor : sensorList) {
-                            sensorDetails.append("Sensor: ")
-                                    .append(sensor.getName())
-                                    .append("\nVersion: ")
-                                    .append(sensor.getVersion())
-                                    .append("\nVendor: ")
-                                    .append(sensor.getVendor())
-                                    .append("\nType: ")
-                                    .append(getSensorTypeString(sensor.getType()))
-                                    .append("\nPower: ")
-                                    .append(sensor.getPower())
-                                    .append(" mA\nResolution: ")
-                                    .append(sensor.getResolution())
-                                    .append("\nMaximum Range: ")
-                                    .append(sensor.getMaximumRange())
-                                    .append("\nMin Delay: ")
-                                    .append(sensor.getMinDelay())
-                                    .append(" μs\n")
-                                    .append("-".repeat(50))
-                                    .append("\n");
-                        }
+        Trace.beginSection("SettingsSettings.getSensorDetails");
+        try {
+            StringBuilder sensorDetails = new StringBuilder();
+            return appendSensorDetails(context, sensorDetails) ? sensorDetails.toString() : "";
+        } finally {
+            Trace.endSection();
+        }
+    }
 
-                        return sensorDetails.toString();
-                    }
-                }
-            } catch (Exception e) {
-                return "";
+    /**
+     * 传感器详情的 SHA-1，与 calculateSHA1(getSensorDetails(context)) 相同，但直接流式写入摘要，不生成完整文本
+     */
+    public static String getSensorDetailsHash(Context context) {
+        Trace.beginSection("SettingsSettings.getSensorDetailsHash");
+        try {
+            StreamingDigest digest = StreamingDigest.sha1();
+            return appendSensorDetails(context, digest) ? digest.digestHex() : "";
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    // 逐个传感器写入详情文本，获取失败时返回 false（已写入的内容应丢弃）
+    private static boolean appendSensorDetails(Context context, Appendable out) {
+        if (context == null) {
+            return false;
+        }
+        try {
+            SensorManager sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
+            if (sensorManager == null) {
+                return false;
+            }
+            List<Sensor> sensorList = sensorManager.getSensorList(Sensor.TYPE_ALL);
+            if (sensorList == null || sensorList.isEmpty()) {
+                return false;
+            }
+            for (Sensor sensor : sensorList) {
+                out.append("Sensor: ")
+                        .append(sensor.getName())
+                        .append("\nVersion: ")
+                        .append(String.valueOf(sensor.getVersion()))
+                        .append("\nVendor: ")
+                        .append(sensor.getVendor())
+                        .append("\nType: ")
+                        .append(getSensorTypeString(sensor.getType()))
+                        .append("\nPower: ")
+                        .append(String.valueOf(sensor.getPower()))
+                        .append(" mA\nResolution: ")
+                        .append(String.valueOf(sensor.getResolution()))
+                        .append("\nMaximum Range: ")
+                        .append(String.valueOf(sensor.getMaximumRange()))
+                        .append("\nMin Delay: ")
+                        .append(String.valueOf(sensor.getMinDelay()))
+                        .append(" μs\n")
+                        .append(SENSOR_SEPARATOR)
+                        .append("\n");
             }
+            return true;
+        } catch (Exception e) {
+            return false;
         }
-        return "";
     }
 
     // 辅助方法：将传感器类型转换为可读字符串
@@ -871,27 +877,32 @@ public class SettingsSettings {
     }
 
     public static String getAndroidSystemSignatureHash(Context context) {
-        if (context == null) {
-            return "";
-        }
-
+        Trace.beginSection("SettingsSettings.getAndroidSystemSignatureHash");
         try {
-            // 获取Android系统包的签名信息
-            Signature[] signatures = context.getPackageManager()
-                    .getPackageInfo("android", PackageManager.GET_SIGNATURES).signatures;
-
-            if (signatures != null && signatures.length > 0) {
-                // 获取第一个签名的字符表示
-                String signatureString = signatures[0].toCharsString();
-                // 使用g.a方法计算哈希值（假设g.a是哈希方法）
-                return calculateSHA1(signatureString);
+            if (context == null) {
+                return "";
             }
-        } catch (Exception e) {
-            // 异常时返回空字符串
+
+            try {
+                // 获取Android系统包的签名信息
+                Signature[] signatures = context.getPackageManager()
+                        .getPackageInfo("android", PackageManager.GET_SIGNATURES).signatures;
+
+                if (signatures != null && signatures.length > 0) {
+                    // 获取第一个签名的字符表示
+                    String signatureString = signatures[0].toCharsString();
+                    // 使用g.a方法计算哈希值（假设g.a是哈希方法）
+                    return calculateSHA1(signatureString);
+                }
+            } catch (Exception e) {
+                // 异常时返回空字符串
+                return "";
+            }
+
             return "";
+        } finally {
+            Trace.endSection();
         }
-
-        return "";
     }
     public static FeatureInfo[] getSystemFeatures(Context context) {
         try {
@@ -913,87 +924,92 @@ public class SettingsSettings {
     }
 
     public static String collectAttestationInfo(Context context) {
-        // 检查API版本，低于28直接返回null
-        if (Build.VERSION.SDK_INT < 28) {
-            return null;
-        }
-
-        KeyStore keyStore = null;
-        String alias = null;
-        String result = null;
-
+        Trace.beginSection("SettingsSettings.collectAttestationInfo");
         try {
-            // 生成8字节随机挑战值
-            byte[] challenge = new byte[8];
-            new SecureRandom().nextBytes(challenge);
-
-            // 密钥别名
-            alias = "no506b3822wb";
-
-            // 初始化AndroidKeyStore
-            keyStore = KeyStore.getInstance("AndroidKeyStore");
-            keyStore.load(null);
-
-            // 如果已存在同名密钥，先删除
-            if (keyStore.containsAlias(alias)) {
-                keyStore.deleteEntry(alias);
+            // 检查API版本，低于28直接返回null
+            if (Build.VERSION.SDK_INT < 28) {
+                return null;
             }
 
-            // 创建密钥生成参数
-            KeyGenParameterSpec.Builder keySpecBuilder = new KeyGenParameterSpec.Builder(
-                    alias,
-                    KeyProperties.PURPOSE_SIGN | KeyProperties.PURPOSE_VERIFY)
-                    .setAttestationChallenge(challenge)
-                    .setDigests(KeyProperties.DIGEST_SHA256)
-                    .setSignaturePaddings(KeyProperties.SIGNATURE_PADDING_RSA_PKCS1);
+            KeyStore keyStore = null;
+            String alias = null;
+            String result = null;
 
-            // 生成密钥对
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(
-                    KeyProperties.KEY_ALGORITHM_RSA, "AndroidKeyStore");
-            keyPairGenerator.initialize(keySpecBuilder.build());
-            keyPairGenerator.generateKeyPair();
+            try {
+                // 生成8字节随机挑战值
+                byte[] challenge = new byte[8];
+                new SecureRandom().nextBytes(challenge);
 
-            // 获取证书链
-            Certificate[] certificateChain = keyStore.getCertificateChain(alias);
+                // 密钥别名
+                alias = "no506b3822wb";
 
-            // 检查证书链长度
-            if (certificateChain.length < 2) {
-                return "0f|";
-            }
+                // 初始化AndroidKeyStore
+                keyStore = KeyStore.getInstance("AndroidKeyStore");
+                keyStore.load(null);
 
-            // 提取认证扩展值
-            try {
-                X509Certificate firstCert = (X509Certificate) certificateChain[0];
-                byte[] extensionValue = firstCert.getExtensionValue("1.3.6.1.4.1.11129.2.1.17");
-                if (extensionValue != null) {
-                    String extensionBase64 = Base64.encodeToString(extensionValue, Base64.NO_WRAP);
-                    result = "1|" + extensionBase64;
-                } else {
-                    result = "1|";
+                // 如果已存在同名密钥，先删除
+                if (keyStore.containsAlias(alias)) {
+                    keyStore.deleteEntry(alias);
                 }
-            } catch (Exception e) {
-                result = "1|";
-            }
 
-        } catch (Throwable e) {
-            result = "0e|";
-        } finally {
-            // 清理：删除临时密钥
-            if (alias != null && keyStore != null) {
+                // 创建密钥生成参数
+                KeyGenParameterSpec.Builder keySpecBuilder = new KeyGenParameterSpec.Builder(
+                        alias,
+                        KeyProperties.PURPOSE_SIGN | KeyProperties.PURPOSE_VERIFY)
+                        .setAttestationChallenge(challenge)
+                        .setDigests(KeyProperties.DIGEST_SHA256)
+                        .setSignaturePaddings(KeyProperties.SIGNATURE_PADDING_RSA_PKCS1);
+
+                // 生成密钥对
+                KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(
+                        KeyProperties.KEY_ALGORITHM_RSA, "AndroidKeyStore");
+                keyPairGenerator.initialize(keySpecBuilder.build());
+                keyPairGenerator.generateKeyPair();
+
+                // 获取证书链
+                Certificate[] certificateChain = keyStore.getCertificateChain(alias);
+
+                // 检查证书链长度
+                if (certificateChain.length < 2) {
+                    return "0f|";
+                }
+
+                // 提取认证扩展值
                 try {
-                    keyStore.deleteEntry(alias);
+                    X509Certificate firstCert = (X509Certificate) certificateChain[0];
+                    byte[] extensionValue = firstCert.getExtensionValue("1.3.6.1.4.1.11129.2.1.17");
+                    if (extensionValue != null) {
+                        String extensionBase64 = Base64.encodeToString(extensionValue, Base64.NO_WRAP);
+                        result = "1|" + extensionBase64;
+                    } else {
+                        result = "1|";
+                    }
                 } catch (Exception e) {
-                    // 忽略清理异常
+                    result = "1|";
+                }
+
+            } catch (Throwable e) {
+                result = "0e|";
+            } finally {
+                // 清理：删除临时密钥
+                if (alias != null && keyStore != null) {
+                    try {
+                        keyStore.deleteEntry(alias);
+                    } catch (Exception e) {
+                        // 忽略清理异常
+                    }
                 }
             }
-        }
 
-        // 检查结果长度，超过400字符则截断
-        if (result != null && result.length() > 400) {
-            return "0a|" + result.length();
-        }
+            // 检查结果长度，超过400字符则截断
+            if (result != null && result.length() > 400) {
+                return "0a|" + result.length();
+            }
 
-        return result;
+            return result;
+        } finally {
+            Trace.endSection();
+        }
     }
     public static String collectAttestationInfoJson(Context context) {
         JSONObject resultJson = new JSONObject();
@@ -1153,206 +1169,216 @@ public class SettingsSettings {
      * 使用备用别名尝试获取认证信息
      */
     public static String tryBackupAttestation(Context context) {
-        JSONObject resultJson = new JSONObject();
-        KeyStore keyStore = null;
-        String alias = "no506b3822wb";
-
+        Trace.beginSection("SettingsSettings.tryBackupAttestation");
         try {
-            // 初始化AndroidKeyStore
-            keyStore = KeyStore.getInstance("AndroidKeyStore");
-            keyStore.load(null);
+            JSONObject resultJson = new JSONObject();
+            KeyStore keyStore = null;
+            String alias = "no506b3822wb";
 
-            // 如果已存在同名密钥，先删除
-            if (keyStore.containsAlias(alias)) {
-                keyStore.deleteEntry(alias);
-            }
+            try {
+                // 初始化AndroidKeyStore
+                keyStore = KeyStore.getInstance("AndroidKeyStore");
+                keyStore.load(null);
 
-            // 生成挑战值
-            byte[] challenge = new byte[8];
-            new SecureRandom().nextBytes(challenge);
+                // 如果已存在同名密钥，先删除
+                if (keyStore.containsAlias(alias)) {
+                    keyStore.deleteEntry(alias);
+                }
 
-            // 创建密钥生成参数
-            KeyGenParameterSpec.Builder keySpecBuilder = new KeyGenParameterSpec.Builder(
-                    alias,
-                    KeyProperties.PURPOSE_SIGN | KeyProperties.PURPOSE_VERIFY)
-                    .setAttestationChallenge(challenge);
+                // 生成挑战值
+                byte[] challenge = new byte[8];
+                new SecureRandom().nextBytes(challenge);
 
-            // 生成密钥对
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(
-                    KeyProperties.KEY_ALGORITHM_EC, "AndroidKeyStore");
-            keyPairGenerator.initialize(keySpecBuilder.build());
-            keyPairGenerator.generateKeyPair();
+                // 创建密钥生成参数
+                KeyGenParameterSpec.Builder keySpecBuilder = new KeyGenParameterSpec.Builder(
+                        alias,
+                        KeyProperties.PURPOSE_SIGN | KeyProperties.PURPOSE_VERIFY)
+                        .setAttestationChallenge(challenge);
 
-            // 获取证书链
-            Certificate[] certificateChain = keyStore.getCertificateChain(alias);
+                // 生成密钥对
+                KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(
+                        KeyProperties.KEY_ALGORITHM_EC, "AndroidKeyStore");
+                keyPairGenerator.initialize(keySpecBuilder.build());
+                keyPairGenerator.generateKeyPair();
 
-            if (certificateChain == null) {
-                resultJson.put("e", -7);
-                return resultJson.toString();
-            }
+                // 获取证书链
+                Certificate[] certificateChain = keyStore.getCertificateChain(alias);
 
-            // 记录证书链长度
-            resultJson.put("s", certificateChain.length);
+                if (certificateChain == null) {
+                    resultJson.put("e", -7);
+                    return resultJson.toString();
+                }
 
-            // 记录证书链验证状态
-            if (certificateChain.length > 1) {
-                for (int i = 1; i < certificateChain.length; i++) {
-                    try {
-                        ((X509Certificate) certificateChain[i - 1]).checkValidity();
-                        certificateChain[i - 1].verify(certificateChain[i].getPublicKey());
-                        resultJson.put("v", true);
-                    } catch (Throwable t) {
-                        resultJson.put("v", false);
-                        resultJson.put("v_exp", t.getMessage());
-                        break;
+                // 记录证书链长度
+                resultJson.put("s", certificateChain.length);
+
+                // 记录证书链验证状态
+                if (certificateChain.length > 1) {
+                    for (int i = 1; i < certificateChain.length; i++) {
+                        try {
+                            ((X509Certificate) certificateChain[i - 1]).checkValidity();
+                            certificateChain[i - 1].verify(certificateChain[i].getPublicKey());
+                            resultJson.put("v", true);
+                        } catch (Throwable t) {
+                            resultJson.put("v", false);
+                            resultJson.put("v_exp", t.getMessage());
+                            break;
+                        }
                     }
                 }
-            }
 
-            // 记录第一个证书的完整编码
-            try {
-                String cert0Base64 = Base64.encodeToString(certificateChain[0].getEncoded(), Base64.NO_WRAP);
-                resultJson.put("c0t", cert0Base64);
-            } catch (Exception e) {
-                resultJson.put("c0t_e", -8);
-                resultJson.put("c0t_exp", e.getMessage());
-            }
+                // 记录第一个证书的完整编码
+                try {
+                    String cert0Base64 = Base64.encodeToString(certificateChain[0].getEncoded(), Base64.NO_WRAP);
+                    resultJson.put("c0t", cert0Base64);
+                } catch (Exception e) {
+                    resultJson.put("c0t_e", -8);
+                    resultJson.put("c0t_exp", e.getMessage());
+                }
 
-            // 记录第二个证书的公钥
-            try {
-                String publicKeyBase64 = Base64.encodeToString(certificateChain[1].getPublicKey().getEncoded(), Base64.NO_WRAP);
-                resultJson.put("c1pk", publicKeyBase64);
-            } catch (Exception e) {
-                resultJson.put("c1pk_e", -9);
-                resultJson.put("c1pk_exp", e.getMessage());
-            }
+                // 记录第二个证书的公钥
+                try {
+                    String publicKeyBase64 = Base64.encodeToString(certificateChain[1].getPublicKey().getEncoded(), Base64.NO_WRAP);
+                    resultJson.put("c1pk", publicKeyBase64);
+                } catch (Exception e) {
+                    resultJson.put("c1pk_e", -9);
+                    resultJson.put("c1pk_exp", e.getMessage());
+                }
 
-            // 标记成功
-            resultJson.put("ret", true);
-            resultJson.put("t", "1");
+                // 标记成功
+                resultJson.put("ret", true);
+                resultJson.put("t", "1");
 
-        } catch (Exception e) {
-            try {
-                resultJson.put("e", -3);
-                resultJson.put("exp", e.getMessage());
-            } catch (Exception ex) {
-                // 忽略
-            }
-        } finally {
-            // 清理：删除临时密钥
-            if (keyStore != null) {
+            } catch (Exception e) {
                 try {
-                    keyStore.deleteEntry(alias);
-                } catch (Exception e) {
-                    // 忽略清理异常
+                    resultJson.put("e", -3);
+                    resultJson.put("exp", e.getMessage());
+                } catch (Exception ex) {
+                    // 忽略
+                }
+            } finally {
+                // 清理：删除临时密钥
+                if (keyStore != null) {
+                    try {
+                        keyStore.deleteEntry(alias);
+                    } catch (Exception e) {
+                        // 忽略清理异常
+                    }
                 }
             }
-        }
 
-        return resultJson.toString();
+            return resultJson.toString();
+        } finally {
+            Trace.endSection();
+        }
     }
     public static String getOpenGLInfo(Context context) {
-        JSONObject resultJson = new JSONObject();
-
-        // 检查API版本，低于24返回null
-        if (Build.VERSION.SDK_INT < 24) {
-            return null;
-        }
-
+        Trace.beginSection("SettingsSettings.getOpenGLInfo");
         try {
-            // 检查Vulkan支持
-            boolean hasVulkanSupport = context.getPackageManager().hasSystemFeature("android.hardware.vulkan.level");
-            resultJson.put("is_vulkan_support", hasVulkanSupport ? 1 : 0);
+            JSONObject resultJson = new JSONObject();
 
-            // 检查API版本，低于17返回null（EGL14需要API 17）
-            if (Build.VERSION.SDK_INT < 17) {
+            // 检查API版本，低于24返回null
+            if (Build.VERSION.SDK_INT < 24) {
                 return null;
             }
 
-            // 获取EGL显示
-            EGLDisplay eglDisplay = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
-            if (eglDisplay == EGL14.EGL_NO_DISPLAY) {
-                return null;
-            }
+            try {
+                // 检查Vulkan支持
+                boolean hasVulkanSupport = context.getPackageManager().hasSystemFeature("android.hardware.vulkan.level");
+                resultJson.put("is_vulkan_support", hasVulkanSupport ? 1 : 0);
 
-            // 初始化EGL
-            int[] version = new int[2];
-            if (!EGL14.eglInitialize(eglDisplay, version, 0, version, 1)) {
-                return null;
-            }
+                // 检查API版本，低于17返回null（EGL14需要API 17）
+                if (Build.VERSION.SDK_INT < 17) {
+                    return null;
+                }
 
-            // 配置属性
-            int[] configAttribs = {
-                    EGL14.EGL_RED_SIZE, 8,
-                    EGL14.EGL_GREEN_SIZE, 8,
-                    EGL14.EGL_BLUE_SIZE, 8,
-                    EGL14.EGL_ALPHA_SIZE, 8,
-                    EGL14.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_ES2_BIT,
-                    EGL14.EGL_NONE
-            };
-
-            // 选择配置
-            EGLConfig[] configs = new EGLConfig[1];
-            int[] numConfigs = new int[1];
-            if (!EGL14.eglChooseConfig(eglDisplay, configAttribs, 0, configs, 0, 1, numConfigs, 0)) {
-                EGL14.eglTerminate(eglDisplay);
-                return null;
-            }
+                // 获取EGL显示
+                EGLDisplay eglDisplay = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
+                if (eglDisplay == EGL14.EGL_NO_DISPLAY) {
+                    return null;
+                }
 
-            // 创建OpenGL ES上下文
-            int[] contextAttribs = {
-                    EGL14.EGL_CONTEXT_CLIENT_VERSION, 2,
-                    EGL14.EGL_NONE
-            };
+                // 初始化EGL
+                int[] version = new int[2];
+                if (!EGL14.eglInitialize(eglDisplay, version, 0, version, 1)) {
+                    return null;
+                }
 
-            EGLContext eglContext = EGL14.eglCreateContext(eglDisplay, configs[0], EGL14.EGL_NO_CONTEXT, contextAttribs, 0);
-            if (eglContext == EGL14.EGL_NO_CONTEXT) {
-                EGL14.eglTerminate(eglDisplay);
-                return null;
-            }
+                // 配置属性
+                int[] configAttribs = {
+                        EGL14.EGL_RED_SIZE, 8,
+                        EGL14.EGL_GREEN_SIZE, 8,
+                        EGL14.EGL_BLUE_SIZE, 8,
+                        EGL14.EGL_ALPHA_SIZE, 8,
+                        EGL14.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_ES2_BIT,
+                        EGL14.EGL_NONE
+                };
+
+                // 选择配置
+                EGLConfig[] configs = new EGLConfig[1];
+                int[] numConfigs = new int[1];
+                if (!EGL14.eglChooseConfig(eglDisplay, configAttribs, 0, configs, 0, 1, numConfigs, 0)) {
+                    EGL14.eglTerminate(eglDisplay);
+                    return null;
+                }
 
-            // 创建EGL表面
-            int[] surfaceAttribs = {
-                    EGL14.EGL_WIDTH, 1,
-                    EGL14.EGL_HEIGHT, 1,
-                    EGL14.EGL_NONE
-            };
+                // 创建OpenGL ES上下文
+                int[] contextAttribs = {
+                        EGL14.EGL_CONTEXT_CLIENT_VERSION, 2,
+                        EGL14.EGL_NONE
+                };
 
-            EGLSurface eglSurface = EGL14.eglCreatePbufferSurface(eglDisplay, configs[0], surfaceAttribs, 0);
-            if (eglSurface == EGL14.EGL_NO_SURFACE) {
-                EGL14.eglDestroyContext(eglDisplay, eglContext);
-                EGL14.eglTerminate(eglDisplay);
-                return null;
-            }
+                EGLContext eglContext = EGL14.eglCreateContext(eglDisplay, configs[0], EGL14.EGL_NO_CONTEXT, contextAttribs, 0);
+                if (eglContext == EGL14.EGL_NO_CONTEXT) {
+                    EGL14.eglTerminate(eglDisplay);
+                    return null;
+                }
 
-            // 设置当前上下文
-            if (!EGL14.eglMakeCurrent(eglDisplay, eglSurface, eglSurface, eglContext)) {
-                EGL14.eglDestroySurface(eglDisplay, eglSurface);
-                EGL14.eglDestroyContext(eglDisplay, eglContext);
-                EGL14.eglTerminate(eglDisplay);
-                return null;
-            }
+                // 创建EGL表面
+                int[] surfaceAttribs = {
+                        EGL14.EGL_WIDTH, 1,
+                        EGL14.EGL_HEIGHT, 1,
+                        EGL14.EGL_NONE
+                };
+
+                EGLSurface eglSurface = EGL14.eglCreatePbufferSurface(eglDisplay, configs[0], surfaceAttribs, 0);
+                if (eglSurface == EGL14.EGL_NO_SURFACE) {
+                    EGL14.eglDestroyContext(eglDisplay, eglContext);
+                    EGL14.eglTerminate(eglDisplay);
+                    return null;
+                }
 
-            // 获取OpenGL信息
-            String renderer = GLES20.glGetString(GLES20.GL_RENDERER);
-            String vendor = GLES20.glGetString(GLES20.GL_VENDOR);
-            String versionStr = GLES20.glGetString(GLES20.GL_VERSION);
+                // 设置当前上下文
+                if (!EGL14.eglMakeCurrent(eglDisplay, eglSurface, eglSurface, eglContext)) {
+                    EGL14.eglDestroySurface(eglDisplay, eglSurface);
+                    EGL14.eglDestroyContext(eglDisplay, eglContext);
+                    EGL14.eglTerminate(eglDisplay);
+                    return null;
+                }
 
-            // 将信息放入JSON
-            resultJson.put("opengl_version", versionStr != null ? versionStr : "");
-            resultJson.put("gpu_renderer", renderer != null ? renderer : "");
-            resultJson.put("gpu_vendor", vendor != null ? vendor : "");
+                // 获取OpenGL信息
+                String renderer = GLES20.glGetString(GLES20.GL_RENDERER);
+                String vendor = GLES20.glGetString(GLES20.GL_VENDOR);
+                String versionStr = GLES20.glGetString(GLES20.GL_VERSION);
 
-            // 清理资源
-            EGL14.eglMakeCurrent(eglDisplay, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_CONTEXT);
-            EGL14.eglDestroySurface(eglDisplay, eglSurface);
-            EGL14.eglDestroyContext(eglDisplay, eglContext);
-            EGL14.eglTerminate(eglDisplay);
+                // 将信息放入JSON
+                resultJson.put("opengl_version", versionStr != null ? versionStr : "");
+                resultJson.put("gpu_renderer", renderer != null ? renderer : "");
+                resultJson.put("gpu_vendor", vendor != null ? vendor : "");
 
-            return resultJson.toString();
+                // 清理资源
+                EGL14.eglMakeCurrent(eglDisplay, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_CONTEXT);
+                EGL14.eglDestroySurface(eglDisplay, eglSurface);
+                EGL14.eglDestroyContext(eglDisplay, eglContext);
+                EGL14.eglTerminate(eglDisplay);
 
-        } catch (Throwable e) {
-            return null;
+                return resultJson.toString();
+
+            } catch (Throwable e) {
+                return null;
+            }
+        } finally {
+            Trace.endSection();
         }
     }
     /**
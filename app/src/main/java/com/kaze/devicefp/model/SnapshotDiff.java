@@ -0,0 +1,125 @@
+package com.kaze.devicefp.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 两个快照之间的差异：新增、移除和变化的字段，按字段顺序排列
+ */
+public final class SnapshotDiff {
+
+    public enum ChangeType {
+        ADDED,      // 只在新快照中出现
+        REMOVED,    // 只在旧快照中出现
+        CHANGED     // 取值或状态变化
+    }
+
+    /**
+     * 单个字段的变化，新增时 oldItem 为 null，移除时 newItem 为 null
+     */
+    public static final class FieldChange {
+        private final ChangeType type;
+        private final DeviceFingerprint oldItem;
+        private final DeviceFingerprint newItem;
+
+        public FieldChange(ChangeType type, DeviceFingerprint oldItem, DeviceFingerprint newItem) {
+            this.type = type;
+            this.oldItem = oldItem;
+            this.newItem = newItem;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        public DeviceFingerprint getOldItem() {
+            return oldItem;
+        }
+
+        public DeviceFingerprint getNewItem() {
+            return newItem;
+        }
+
+        /**
+         * 注册的字段，未注册的字段返回 null
+         */
+        public FingerprintKey getKey() {
+            return newItem != null ? newItem.getKey() : oldItem.getKey();
+        }
+
+        public String getName() {
+            return newItem != null ? newItem.getName() : oldItem.getName();
+        }
+
+        public FingerprintValue getOldValue() {
+            return oldItem != null ? oldItem.getTypedValue() : null;
+        }
+
+        public FingerprintValue getNewValue() {
+            return newItem != null ? newItem.getTypedValue() : null;
+        }
+
+        @Override
+        public String toString() {
+            switch (type) {
+                case ADDED:
+                    return "+ " + getName() + ": " + newItem.getValue();
+                case REMOVED:
+                    return "- " + getName() + ": " + oldItem.getValue();
+                default:
+                    return "~ " + getName() + ": " + oldItem.getValue() + " -> " + newItem.getValue();
+            }
+        }
+    }
+
+    public static final SnapshotDiff EMPTY = new SnapshotDiff(Collections.<FieldChange>emptyList());
+
+    private final List<FieldChange> changes;
+
+    public SnapshotDiff(List<FieldChange> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    public List<FieldChange> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public List<FieldChange> getAdded() {
+        return ofType(ChangeType.ADDED);
+    }
+
+    public List<FieldChange> getRemoved() {
+        return ofType(ChangeType.REMOVED);
+    }
+
+    public List<FieldChange> getChanged() {
+        return ofType(ChangeType.CHANGED);
+    }
+
+    private List<FieldChange> ofType(ChangeType type) {
+        List<FieldChange> result = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            if (changes.get(i).type == type) {
+                result.add(changes.get(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (FieldChange change : changes) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(change);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.kaze.devicefp.model;
+
+/**
+ * 指纹字段的易变性分级
+ * 决定字段能否跨启动缓存：构建级和开机级的字段持久化到应用存储，下次启动直接读取
+ * 各字段的等级登记在 {@link FingerprintKey} 中
+ */
+public enum Volatility {
+    STATIC_PER_BUILD,   // 系统升级（Build.FINGERPRINT 变化）前不变：Build 属性、摄像头参数、解码器、字体、系统文件哈希
+    STATIC_PER_BOOT,    // 重启前不变：boot id、开机时间、服务列表
+    SESSION,            // 用户设置可能改变：语言、时区、输入法、分辨率
+    LIVE;               // 随时变化：电量、频率、内存、网络状态
+
+    /**
+     * 是否可以持久化并在下次启动时复用
+     */
+    public boolean isPersistable() {
+        return this == STATIC_PER_BUILD || this == STATIC_PER_BOOT;
+    }
+
+    /**
+     * 取两者中更易变的一个
+     */
+    public static Volatility mostVolatile(Volatility a, Volatility b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
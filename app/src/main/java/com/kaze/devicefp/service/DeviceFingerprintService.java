@@ -1,56 +1,67 @@
 package com.kaze.devicefp.service;
 
-import android.app.Activity;
-import android.app.KeyguardManager;
-import android.content.ContentResolver;
 import android.content.Context;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.FeatureInfo;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
-import android.content.pm.Signature;
-import android.database.Cursor;
-import android.net.Uri;
 import android.os.Build;
 import android.os.SystemClock;
-import android.provider.Settings;
-import android.text.TextUtils;
+import android.os.Trace;
 import android.util.Log;
-import android.util.Size;
 
-import com.kaze.devicefp.model.BatteryInfo;
-import com.kaze.devicefp.model.BatteryInfoManager;
-import com.kaze.devicefp.model.CameraInfoManager;
-import com.kaze.devicefp.model.CpuInfoReader;
 import com.kaze.devicefp.model.DeviceFingerprint;
-import com.kaze.devicefp.model.MemoryInfoReader;
-import com.kaze.devicefp.model.ScreenInfo;
-import com.kaze.devicefp.model.ScreenInfoManager;
-import com.kaze.devicefp.model.SettingsSettings;
-import com.kaze.devicefp.model.SimCardUtil;
-import com.kaze.devicefp.model.StorageInfoManager;
-import com.kaze.devicefp.model.WifiInfo;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.service.collector.AppInfoCollector;
+import com.kaze.devicefp.service.collector.AttestationCollector;
+import com.kaze.devicefp.service.collector.BatteryInfoCollector;
+import com.kaze.devicefp.service.collector.CameraInfoCollector;
+import com.kaze.devicefp.service.collector.CollectionListener;
+import com.kaze.devicefp.service.collector.CollectionReport;
+import com.kaze.devicefp.service.collector.Collector;
+import com.kaze.devicefp.service.collector.CollectorCache;
+import com.kaze.devicefp.service.collector.CollectorContext;
+import com.kaze.devicefp.service.collector.CollectorMetrics;
+import com.kaze.devicefp.service.collector.CollectorResult;
+import com.kaze.devicefp.service.collector.CollectorScheduler;
+import com.kaze.devicefp.service.collector.CollectorTier;
+import com.kaze.devicefp.service.collector.CpuResidencyCollector;
+import com.kaze.devicefp.service.collector.DeviceInfoCollector;
+import com.kaze.devicefp.service.collector.DisplayInfoCollector;
+import com.kaze.devicefp.service.collector.HardwareInfoCollector;
+import com.kaze.devicefp.service.collector.IdentifierCollector;
+import com.kaze.devicefp.service.collector.InvalidationTracker;
+import com.kaze.devicefp.service.collector.MediaCodecCollector;
+import com.kaze.devicefp.service.collector.NetworkInfoCollector;
+import com.kaze.devicefp.service.collector.OpenGLCollector;
+import com.kaze.devicefp.service.collector.SharedInput;
+import com.kaze.devicefp.service.collector.SystemFeatureCollector;
+import com.kaze.devicefp.service.collector.SystemFileHashCollector;
+import com.kaze.devicefp.service.collector.SystemInfoCollector;
+import com.kaze.devicefp.service.collector.SystemMonitorCollector;
+import com.kaze.devicefp.util.CompositeDeviceHash;
+import com.kaze.devicefp.util.FileHashCache;
 import com.kaze.devicefp.util.FileHelper;
-import com.kaze.devicefp.util.ShellExecutor;
+import com.kaze.devicefp.util.SnapshotHistoryStore;
+import com.kaze.devicefp.util.SnapshotJsonExporter;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Method;
-import java.net.SocketException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 设备指纹收集服务
@@ -61,7 +72,16 @@ public class DeviceFingerprintService {
     private static final String TAG = "DeviceFingerprintService";
 
     // ========== Native 方法声明（暂时不使用，保留代码） ==========
-    static {
+    private static boolean nativeLibraryLoaded;
+
+    /**
+     * 加载 native 库（SettingsSettings 的 Root / Hook / 代理检测依赖它），在预热线程中调用
+     */
+    private static synchronized void loadNativeLibrary() {
+        if (nativeLibraryLoaded) {
+            return;
+        }
+        nativeLibraryLoaded = true;
         try {
             System.loadLibrary("devicefp");
             Log.d(TAG, "Native library loaded successfully");
@@ -81,14 +101,145 @@ public class DeviceFingerprintService {
     public native static String[] getAllProperties();
     // ========== Native 代码结束 ==========
     
+    /** 并行收集线程数上限，避免在低端机上同时发起过多 binder 调用 */
+    private static final int MAX_COLLECT_THREADS = 4;
+    /** 高耗时层级的线程数，以低优先级运行，避免与界面渲染争抢 CPU */
+    private static final int EXPENSIVE_COLLECT_THREADS = 2;
+    private static final String COLLECTOR_CACHE_FILE = "collector_cache.bin";
+    private static final String SNAPSHOT_JSON_FILE = "fingerprint_snapshot.json";
+    private static final String HISTORY_DIR = "fingerprint_history";
+    public static final String FILE_HASH_CACHE_FILE = "file_hash_cache.bin";
+
     private Context context;
     private Map<String, String> propertyCache; // 缓存属性（使用 Java API 获取）
-    
+    private final ExecutorService collectExecutor; // 各分类并行收集的线程池
+    private final ExecutorService expensiveExecutor; // 高耗时层级的低优先级线程池
+    private final CollectorScheduler scheduler;
+    private final List<Collector> collectors = new CopyOnWriteArrayList<>();
+    private volatile CollectorCache collectorCache; // 构建级 / 开机级字段的跨启动缓存（预热时创建）
+    private final InvalidationTracker invalidationTracker; // 广播 / Settings 变化驱动的增量收集
+    private final Map<String, CollectorMetrics> latestMetrics = new ConcurrentHashMap<>(); // 每个收集器最近一次执行的指标
+    private final Map<Collector, Set<String>> observedSections = new ConcurrentHashMap<>(); // 收集结果实际落入的板块
+    private volatile FileHashCache fileHashCache; // 系统文件摘要缓存（预热时读取）
+    private volatile SnapshotHistoryStore historyStore; // 每次收集的快照历史（预热时打开，打开失败时为 null）
+    // 历史快照按收集器合并：每个收集器最近一次成功结果的不可变副本（只含已获取的字段）；
+    // 启动时从最后一条历史还原的字段按名称保留，直到产出同名字段的收集器再次成功。两者都由 historyItems 加锁
+    private final Map<Collector, List<DeviceFingerprint>> historyItems = new LinkedHashMap<>();
+    private final Map<String, DeviceFingerprint> restoredHistoryItems = new LinkedHashMap<>();
+    private final CompositeDeviceHash compositeHash = CompositeDeviceHash.defaultFields();
+    private CompletableFuture<Void> ready; // 预热完成（native 库、属性缓存、跨启动缓存、失效监听）
+
+    /**
+     * 只创建对象，不做 I/O 和 binder 调用，可以在主线程中调用；
+     * 耗时的初始化由 {@link #warmUp()} 在后台线程完成
+     */
     public DeviceFingerprintService(Context context) {
         this.context = context;
-        this.propertyCache = new HashMap<>();
+        this.propertyCache = new ConcurrentHashMap<>();
+        int threads = Math.max(2, Math.min(MAX_COLLECT_THREADS, Runtime.getRuntime().availableProcessors()));
+        this.collectExecutor = createCollectExecutor("fp-collector", threads, android.os.Process.THREAD_PRIORITY_DEFAULT);
+        this.expensiveExecutor = createCollectExecutor("fp-collector-bg", EXPENSIVE_COLLECT_THREADS,
+                android.os.Process.THREAD_PRIORITY_BACKGROUND);
+        this.scheduler = new CollectorScheduler(collectExecutor, expensiveExecutor);
+        registerDefaultCollectors();
+        this.invalidationTracker = new InvalidationTracker(context);
         Log.d(TAG, "DeviceFingerprintService constructor called");
-        loadProperties();
+    }
+
+    /**
+     * 在后台线程中预热：加载 native 库、填充属性缓存、读取跨启动缓存、注册失效监听
+     * 可重复调用，返回同一个 future；收集前会自动等待预热完成
+     * @return 预热完成时完成的 future
+     */
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (ready == null) {
+            ready = CompletableFuture.runAsync(this::doWarmUp, collectExecutor);
+        }
+        return ready;
+    }
+
+    private void doWarmUp() {
+        long start = SystemClock.elapsedRealtime();
+        Trace.beginSection("fp:warmUp");
+        // 每一步单独容错：某一步失败只少了对应的缓存或监听，不影响收集
+        try {
+            loadNativeLibrary();
+            loadProperties();
+            openCollectorCache();
+            openFileHashCache();
+            startInvalidationTracker();
+            openHistoryStore();
+        } finally {
+            Trace.endSection();
+        }
+        Log.d(TAG, "Warm-up finished in " + (SystemClock.elapsedRealtime() - start) + " ms");
+    }
+
+    private void openCollectorCache() {
+        try {
+            CollectorCache cache = new CollectorCache(new File(context.getFilesDir(), COLLECTOR_CACHE_FILE),
+                    Build.FINGERPRINT, FileHelper.readFileAsString("/proc/sys/kernel/random/boot_id"));
+            cache.load();
+            collectorCache = cache;
+            scheduler.setCache(cache);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Collector cache unavailable", e);
+        }
+    }
+
+    private void openFileHashCache() {
+        try {
+            FileHashCache hashCache = new FileHashCache(new File(context.getFilesDir(), FILE_HASH_CACHE_FILE));
+            hashCache.load();
+            fileHashCache = hashCache;
+        } catch (RuntimeException e) {
+            Log.w(TAG, "File hash cache unavailable", e);
+        }
+    }
+
+    private void startInvalidationTracker() {
+        try {
+            invalidationTracker.start(collectors);
+            scheduler.setInvalidationTracker(invalidationTracker);
+        } catch (RuntimeException e) {
+            // 没有失效跟踪时每次都全部重新收集
+            Log.w(TAG, "Invalidation tracking unavailable", e);
+        }
+    }
+
+    private void openHistoryStore() {
+        SnapshotHistoryStore store = new SnapshotHistoryStore(new File(context.getFilesDir(), HISTORY_DIR));
+        try {
+            store.open();
+            synchronized (historyItems) {
+                if (store.size() > 0) {
+                    for (DeviceFingerprint item : store.get(store.getLastSequence()).getItems()) {
+                        // 旧版本历史中可能含超时 / 失败占位项，不再带入
+                        if (item.getStatus() == FingerprintStatus.COLLECTED) {
+                            restoredHistoryItems.put(item.getName(), item);
+                        }
+                    }
+                }
+            }
+            historyStore = store;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Snapshot history unavailable", e);
+            try {
+                store.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * 是否已预热完成
+     */
+    public boolean isReady() {
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            future = ready;
+        }
+        return future != null && future.isDone();
     }
     
     /**
@@ -102,7 +253,6 @@ public class DeviceFingerprintService {
             Log.d(TAG, "Loaded " + propertyCache.size() + " properties into cache");
         } catch (Exception e) {
             Log.e(TAG, "Exception in loadProperties()", e);
-            e.printStackTrace();
         }
     }
     public static String getKernelVersionFromUname() {
@@ -123,7 +273,7 @@ public class DeviceFingerprintService {
                 }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.w(TAG, "Failed to run uname", e);
         }
         return null;
     }
@@ -131,6 +281,15 @@ public class DeviceFingerprintService {
      * 使用 Java API 加载属性
      */
     private void loadPropertiesFromJava() {
+        propertyCache.putAll(readSystemProperties());
+    }
+
+    /**
+     * 使用 Java API 读取系统属性（Build 字段 + SystemProperties 反射）
+     * @return 属性名到属性值的映射
+     */
+    public static Map<String, String> readSystemProperties() {
+        Map<String, String> propertyCache = new HashMap<>();
         // 使用 Build 类获取设备信息
         propertyCache.put("ro.product.brand", Build.BRAND);
         propertyCache.put("ro.product.model", Build.MODEL);
@@ -179,7 +338,7 @@ public class DeviceFingerprintService {
                         }
                     }
                 } catch (Exception e) {
-                    e.printStackTrace();
+                    Log.w(TAG, "Failed to read property " + prop, e);
                     // 可以考虑缓存一个错误标记
                     if ("ro.kernel.version".equals(prop)) {
                         propertyCache.put(prop, "error");
@@ -189,6 +348,7 @@ public class DeviceFingerprintService {
         } catch (Exception e) {
             Log.d(TAG, "SystemProperties not available, using Build class only");
         }
+        return propertyCache;
     }
     
     /**
@@ -201,14 +361,60 @@ public class DeviceFingerprintService {
     }
     
     /**
-     * 从属性缓存中获取值
+     * 注册默认收集器（顺序即结果合并顺序）
      */
-    private String getPropertyValue(String key) {
-        String value = propertyCache.get(key);
-        if (value == null || value.isEmpty()) {
-            return "未获取";
-        }
-        return value;
+    private void registerDefaultCollectors() {
+        collectors.add(new DeviceInfoCollector());        // 设备基本信息
+        collectors.add(new SystemInfoCollector());        // 系统信息
+        collectors.add(new HardwareInfoCollector());      // 硬件信息
+        collectors.add(new CpuResidencyCollector());      // CPU频率分布（两次收集之间的驻留统计）
+        collectors.add(new BatteryInfoCollector());       // 电池信息
+        collectors.add(new DisplayInfoCollector());       // 屏幕信息
+        collectors.add(new CameraInfoCollector());        // 摄像头信息
+        collectors.add(new NetworkInfoCollector());       // 网络信息
+        collectors.add(new AppInfoCollector());           // 应用信息
+        collectors.add(new SystemMonitorCollector());     // 系统监测（adb、代理、Root、Hook）
+        collectors.add(new IdentifierCollector());        // 其他标识符
+        collectors.add(new SystemFeatureCollector());     // 系统特征（可跨启动缓存）
+        collectors.add(new MediaCodecCollector());        // 媒体解码器（高耗时）
+        collectors.add(new SystemFileHashCollector());    // 系统文件哈希（高耗时）
+        collectors.add(new AttestationCollector());       // 密钥证明（高耗时）
+        collectors.add(new OpenGLCollector());            // OpenGL（高耗时）
+    }
+
+    /**
+     * 注册自定义收集器，结果追加在已注册收集器之后
+     */
+    public void registerCollector(Collector collector) {
+        collectors.add(collector);
+        restartInvalidationTracker();
+    }
+
+    /**
+     * 移除收集器
+     */
+    public void unregisterCollector(Collector collector) {
+        collectors.remove(collector);
+        restartInvalidationTracker();
+    }
+
+    // 预热完成后按新的收集器列表重新注册失效监听（预热未完成时由预热统一注册）
+    private void restartInvalidationTracker() {
+        warmUp().thenRun(() -> invalidationTracker.start(collectors));
+    }
+
+    /**
+     * 作废所有收集器上一次的结果，下次收集时全部重新执行（跨启动缓存不受影响）
+     */
+    public void invalidateCollectedResults() {
+        invalidationTracker.invalidateAll();
+    }
+
+    /**
+     * 获取当前已注册的收集器
+     */
+    public List<Collector> getCollectors() {
+        return Collections.unmodifiableList(collectors);
     }
     
     /**
@@ -216,554 +422,346 @@ public class DeviceFingerprintService {
      * @return 设备指纹信息列表
      */
     public List<DeviceFingerprint> getAllFingerprints() {
-        Log.d(TAG, "getAllFingerprints() called, cache size: " + propertyCache.size());
+        return getAllFingerprints(null);
+    }
+
+    /**
+     * 获取所有设备指纹信息，并在每个收集器完成时通过 listener 流式推送结果
+     * （阻塞调用，需在后台线程执行；回调发生在收集线程）
+     * @param listener 流式回调，可为 null
+     * @return 按注册顺序合并的完整列表
+     */
+    public List<DeviceFingerprint> getAllFingerprints(CollectionListener listener) {
+        return getSectionFingerprints(null, listener);
+    }
+
+    /**
+     * 只运行结果属于指定板块的收集器（用于板块延迟加载）
+     * 回调中的 index 仍为收集器在全部收集器中的注册顺序，便于与全量收集的结果合并
+     * @param sections 板块标题，null 表示全部
+     * @param listener 流式回调，可为 null
+     * @return 这些收集器按注册顺序合并的列表
+     */
+    public List<DeviceFingerprint> getSectionFingerprints(Set<String> sections, CollectionListener listener) {
+        return collect(sections, listener).getFingerprints();
+    }
+
+    /**
+     * 只运行结果属于指定板块的收集器，返回指纹列表以及每个收集器的耗时指标
+     * @param sections 板块标题，null 表示全部
+     * @param listener 流式回调，可为 null
+     */
+    public CollectionReport collect(Set<String> sections, CollectionListener listener) {
+        Log.d(TAG, "collect(" + sections + ") called, cache size: " + propertyCache.size());
         
+        // 等待预热完成（尚未开始时在这里触发）
+        warmUp().join();
+
         // 如果缓存为空，尝试重新加载
         if (propertyCache.isEmpty()) {
             Log.d(TAG, "Cache is empty, reloading properties");
             reloadProperties();
         }
-        
-        List<DeviceFingerprint> fingerprints = new ArrayList<>();
-        
-        // 设备基本信息
-        fingerprints.addAll(getDeviceInfo());
-        
-        // 系统信息
-        fingerprints.addAll(getSystemInfo());
-        
-        // 硬件信息
-        fingerprints.addAll(getHardwareInfo());
-        
-        // 屏幕信息
-        fingerprints.addAll(getDisplayInfo());
 
-        //摄像头信息
-        fingerprints.addAll(getCameraInfo());
-        
-        // 网络信息
-        fingerprints.addAll(getNetworkInfo());
-        
-        // 应用信息
-        fingerprints.addAll(getAppInfo());
+        // 属性缓存已加载，直接作为共享输入提供给收集器
+        CollectorContext collectorContext = new CollectorContext(context);
+        collectorContext.put(SharedInput.PROPERTIES, Collections.unmodifiableMap(new HashMap<>(propertyCache)));
+        collectorContext.put(SharedInput.FILE_HASH_CACHE, fileHashCache);
+
+        List<Collector> registered = new ArrayList<>(collectors);
+        List<Collector> selected = new ArrayList<>();
+        List<Integer> registeredIndexes = new ArrayList<>();
+        for (int i = 0; i < registered.size(); i++) {
+            Collector collector = registered.get(i);
+            if (sections == null || !Collections.disjoint(sections, sectionsOf(collector))) {
+                selected.add(collector);
+                registeredIndexes.add(i);
+            }
+        }
 
-        // 系统监测（adb、代理、Root、Hook）
-        fingerprints.addAll(getSystemMonitorCheck());
+        // 回调中的序号换算回注册顺序，同时记录每个收集器结果实际落入的板块；
+        // 历史用的副本在结果交给界面之前生成，界面之后对指纹项的原地刷新不会进入历史
+        Map<Collector, List<DeviceFingerprint>> historyUpdates = Collections.synchronizedMap(new LinkedHashMap<>());
+        CollectionListener indexedListener = new CollectionListener() {
+            @Override
+            public void onCollectorFinished(int index, CollectorResult result) {
+                recordSections(result);
+                List<DeviceFingerprint> copies = historyCopies(result);
+                if (copies != null) {
+                    historyUpdates.put(result.getCollector(), copies);
+                }
+                if (listener != null) {
+                    listener.onCollectorFinished(registeredIndexes.get(index), result);
+                }
+            }
 
-        // 其他标识符
-        fingerprints.addAll(getIdentifiers());
+            @Override
+            public void onCollectionFinished(List<DeviceFingerprint> fingerprints) {
+                if (listener != null) {
+                    listener.onCollectionFinished(fingerprints);
+                }
+            }
+        };
 
-        return fingerprints;
-    }
-    
-    /**
-     * 获取设备基本信息
-     */
-    private List<DeviceFingerprint> getDeviceInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "设备信息";
-        
-        // 使用 PropertyParser 解析的属性
-        String brand = getPropertyValue("ro.product.brand");
-        String model = getPropertyValue("ro.product.model");
-        String manufacturer = getPropertyValue("ro.product.manufacturer");
-        String productName = getPropertyValue("ro.product.name");
-        String deviceName = getPropertyValue("ro.product.device");
-        String hardware = getPropertyValue("ro.hardware");
-        String radioV = Build.getRadioVersion();
-        
-        list.add(new DeviceFingerprint(category, "设备品牌", brand, 
-                brand.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "设备型号", model, 
-                model.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "制造商", manufacturer, 
-                manufacturer.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "产品名称", productName, 
-                productName.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "设备名称", deviceName, 
-                deviceName.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "硬件", hardware, 
-                hardware.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "基带", radioV, radioV.isEmpty()?"未获取":"已获取"));
-        
-        return list;
+        CollectionReport report;
+        Trace.beginSection("fp:collect");
+        try {
+            report = scheduler.collect(selected, collectorContext, indexedListener);
+        } finally {
+            Trace.endSection();
+        }
+        for (CollectorMetrics metrics : report.getMetrics()) {
+            // 缓存命中和跳过的收集器没有实际执行，保留上一次真实执行的指标
+            if (metrics.getStatus() != CollectorResult.Status.CACHED
+                    && metrics.getStatus() != CollectorResult.Status.SKIPPED) {
+                latestMetrics.put(metrics.getCollectorName(), metrics);
+            }
+        }
+        Log.d(TAG, "Collected " + report.getFingerprints().size() + " fingerprints from " + selected.size()
+                + " collectors in " + report.getWallMs() + " ms");
+
+        appendHistory(historyUpdates);
+        return report;
     }
-    
+
     /**
-     * 获取系统信息
+     * 成功（或命中缓存）的收集器结果中已获取字段的副本，其他状态返回 null。
+     * 取值是不可变的 FingerprintValue，只需复制外层对象
      */
-    private List<DeviceFingerprint> getSystemInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "系统信息";
-        
-        // 使用 Java API 获取系统信息
-        String androidVersion = getPropertyValue("ro.build.version.release");
-        String apiLevel = getPropertyValue("ro.build.version.sdk");
-        String buildVersion = getPropertyValue("ro.build.version.incremental");
-        String securityPatch = getPropertyValue("ro.build.version.security_patch");
-        String kernelVersion = getPropertyValue("ro.kernel.version");
-        
-        // 使用 Java API 获取语言和时区
-        String language = Locale.getDefault().getLanguage();
-        String timezone = TimeZone.getDefault().getID();
-        
-        list.add(new DeviceFingerprint(category, "Android版本", androidVersion, 
-                androidVersion.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "API级别", apiLevel, 
-                apiLevel.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "构建版本", buildVersion, 
-                buildVersion.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "安全补丁级别", securityPatch, 
-                securityPatch.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "内核版本", kernelVersion, 
-                kernelVersion.equals("未获取") ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "系统语言", language, 
-                language.isEmpty() ? "未获取" : "已获取"));
-        list.add(new DeviceFingerprint(category, "时区", timezone, 
-                timezone.isEmpty() ? "未获取" : "已获取"));
-        
-        return list;
+    private static List<DeviceFingerprint> historyCopies(CollectorResult result) {
+        if (result.getStatus() != CollectorResult.Status.SUCCESS
+                && result.getStatus() != CollectorResult.Status.CACHED) {
+            return null;
+        }
+        List<DeviceFingerprint> copies = new ArrayList<>(result.getItems().size());
+        for (DeviceFingerprint item : result.getItems()) {
+            if (item.getStatus() == FingerprintStatus.COLLECTED) {
+                copies.add(new DeviceFingerprint(item.getCategory(), item.getName(), item.getTypedValue(),
+                        item.getStatus()));
+            }
+        }
+        return Collections.unmodifiableList(copies);
     }
 
     /**
-     * 获取硬件信息
+     * 用本次成功的收集器结果替换它们上一次的结果，合并后追加到历史（按板块收集时其余收集器沿用上一次的值；
+     * 超时、失败的收集器保留上一次成功的值）
      */
-    private List<DeviceFingerprint> getHardwareInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "硬件信息";
-        
-        // 使用 CpuInfoReader 获取CPU相关信息
-        CpuInfoReader cpuInfoReader = new CpuInfoReader();
-        
-        // CPU架构
-        String cpuAbi = getPropertyValue("ro.product.cpu.abi");
-        list.add(new DeviceFingerprint(category, "CPU架构", cpuAbi, 
-                cpuAbi.equals("未获取") ? "未获取" : "已获取"));
-        
-        // CPU核心数
-        int cpuCoreCount = cpuInfoReader.getCpuCoreCount();
-        String coreCountStr = cpuCoreCount > 0 ? String.valueOf(cpuCoreCount) : "未获取";
-        list.add(new DeviceFingerprint(category, "CPU核心数", coreCountStr, 
-                cpuCoreCount > 0 ? "已获取" : "未获取"));
-        
-        // CPU频率（根据核心数展示）
-        String cpuFreq = cpuInfoReader.getCpuFrequencyInfo();
-        list.add(new DeviceFingerprint(category, "CPU频率", cpuFreq, 
-                cpuFreq.equals("未获取") ? "未获取" : "已获取"));
-        
-        // 内存信息
-        MemoryInfoReader memoryInfoReader = new MemoryInfoReader();
-        String memoryInfo = memoryInfoReader.getFormattedMemoryInfo();
-        list.add(new DeviceFingerprint(category, "内存信息", memoryInfo, 
-                memoryInfo.equals("未获取") ? "未获取" : "已获取"));
-        
-        // 存储信息（合并总存储空间和可用存储空间）
-        try {
-            long totalStorage = StorageInfoManager.getTotalStorageCapacity(context);
-            long availableStorage = StorageInfoManager.getTotalAvailableStorage(context);
-            String storageInfo = totalStorage + "/" + availableStorage;
-            list.add(new DeviceFingerprint(category, "存储信息", storageInfo, "已获取"));
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting storage info", e);
-            list.add(new DeviceFingerprint(category, "存储信息", "获取失败", "未获取"));
+    private void appendHistory(Map<Collector, List<DeviceFingerprint>> updates) {
+        SnapshotHistoryStore store = historyStore;
+        if (store == null || updates.isEmpty()) {
+            return;
         }
-        
-        // 电池信息（拆分为多个条目）
+        Trace.beginSection("fp:appendHistory");
         try {
-            BatteryInfo batteryInfo = BatteryInfoManager.getBatteryInfo(context);
-            if (batteryInfo != null) {
-                // 1. 电量
-                String levelStr = batteryInfo.getLevel() + "%";
-                list.add(new DeviceFingerprint(category, "电量", levelStr, "已获取"));
-                
-                // 2. 健康状态
-                String healthStr = batteryInfo.getHealthDescription();
-                list.add(new DeviceFingerprint(category, "健康状态", healthStr, "已获取"));
-                
-                // 3. 电压（动态变化展示）
-                String voltageStr = String.format("%.2fV", batteryInfo.getVoltageVolts());
-                list.add(new DeviceFingerprint(category, "电压", voltageStr, "已获取"));
-                
-                // 4. 温度（动态变化展示）
-                String temperatureStr = String.format("%.1f°C", batteryInfo.getTemperatureCelsius());
-                list.add(new DeviceFingerprint(category, "温度", temperatureStr, "已获取"));
-                
-                // 5. 容量
-                if (batteryInfo.getCapacity() > 0) {
-                    String capacityStr = batteryInfo.getCapacity() + "mAh";
-                    list.add(new DeviceFingerprint(category, "容量", capacityStr, "已获取"));
-                } else {
-                    list.add(new DeviceFingerprint(category, "容量", "未获取", "未获取"));
-                }
-                
-                // 6. 充电方式
-                String chargingMethod;
-                if (batteryInfo.getPlugged() == 0) {
-                    // 没有连接充电器
-                    chargingMethod = "没充电";
-                } else {
-                    // 根据充电类型显示
-                    if (batteryInfo.isAcCharging()) {
-                        chargingMethod = "交流电充电";
-                    } else if (batteryInfo.isUsbCharging()) {
-                        chargingMethod = "USB充电";
-                    } else if (batteryInfo.isWirelessCharging()) {
-                        chargingMethod = "无线充电";
-                    } else {
-                        // 其他充电方式，使用描述
-                        chargingMethod = batteryInfo.getPluggedDescription();
+            synchronized (historyItems) {
+                synchronized (updates) {
+                    for (Map.Entry<Collector, List<DeviceFingerprint>> entry : updates.entrySet()) {
+                        for (DeviceFingerprint item : entry.getValue()) {
+                            restoredHistoryItems.remove(item.getName());
+                        }
+                        historyItems.put(entry.getKey(), entry.getValue());
                     }
                 }
-                list.add(new DeviceFingerprint(category, "充电方式", chargingMethod, "已获取"));
-            } else {
-                list.add(new DeviceFingerprint(category, "电量", "获取失败", "未获取"));
-                list.add(new DeviceFingerprint(category, "健康状态", "获取失败", "未获取"));
-                list.add(new DeviceFingerprint(category, "电压", "获取失败", "未获取"));
-                list.add(new DeviceFingerprint(category, "温度", "获取失败", "未获取"));
-                list.add(new DeviceFingerprint(category, "容量", "获取失败", "未获取"));
-                list.add(new DeviceFingerprint(category, "充电方式", "获取失败", "未获取"));
+                List<DeviceFingerprint> merged = new ArrayList<>(restoredHistoryItems.values());
+                for (List<DeviceFingerprint> items : historyItems.values()) {
+                    merged.addAll(items);
+                }
+                store.append(new FingerprintSnapshot(System.currentTimeMillis(), merged));
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting battery info", e);
-            list.add(new DeviceFingerprint(category, "电量", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "健康状态", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "电压", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "温度", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "容量", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "充电方式", "获取失败", "未获取"));
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Failed to append snapshot history", e);
+        } finally {
+            Trace.endSection();
         }
-        
-        return list;
     }
-    
+
     /**
-     * 获取屏幕信息（使用 ScreenInfoManager / ScreenInfo）
+     * 快照历史，用于按序号 / 时间读取历史快照或查询单个字段随时间的变化；
+     * 预热未完成或打开失败时返回 null
      */
-    private List<DeviceFingerprint> getDisplayInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "屏幕信息";
+    public SnapshotHistoryStore getHistoryStore() {
+        return historyStore;
+    }
 
+    /**
+     * 设备综合哈希（默认字段集合：全部构建级字段），字段按注册顺序流式写入摘要，与收集顺序无关
+     */
+    public CompositeDeviceHash.Result computeCompositeHash(List<DeviceFingerprint> fingerprints) {
+        Trace.beginSection("fp:compositeHash");
         try {
-            String screenPhysicalSize = ScreenInfoManager.getScreenPhysicalSize(context);
-
-            ScreenInfo info = ScreenInfoManager.getCompleteScreenInfo(context);
-
-            // 分辨率（宽x高）
-            String resolution = info.getResolution();
-            list.add(new DeviceFingerprint(category, "分辨率", resolution, "已获取"));
-            list.add(new DeviceFingerprint(category, "屏幕计算尺寸", screenPhysicalSize, (TextUtils.isEmpty(screenPhysicalSize))?"为获取":"已获取"));
-
-            // 屏幕宽度/高度（像素）
-            list.add(new DeviceFingerprint(category, "屏幕宽度", String.valueOf(info.getWidthPixels()) + " px", "已获取"));
-            list.add(new DeviceFingerprint(category, "屏幕高度", String.valueOf(info.getHeightPixels()) + " px", "已获取"));
-
-            // 宽高比
-            String aspectRatio = info.getAspectRatio();
-            list.add(new DeviceFingerprint(category, "宽高比", aspectRatio != null ? aspectRatio : "未知", "已获取"));
-
-            // 屏幕尺寸与类别
-            list.add(new DeviceFingerprint(category, "屏幕尺寸", String.format("%.1f 英寸", info.getDiagonalInches()), "已获取"));
-            list.add(new DeviceFingerprint(category, "屏幕类别", info.getSizeCategory(), "已获取"));
-
-            // 密度相关
-            list.add(new DeviceFingerprint(category, "屏幕密度", String.valueOf(info.getDensity()), "已获取"));
-            list.add(new DeviceFingerprint(category, "密度类别", info.getDensityCategory(), "已获取"));
-            list.add(new DeviceFingerprint(category, "PPI", String.valueOf(info.getPpi()), "已获取"));
-            list.add(new DeviceFingerprint(category, "XDPI / YDPI", String.format("%.1f / %.1f", info.getXdpi(), info.getYdpi()), "已获取"));
-
-            // 系统 UI 高度
-            list.add(new DeviceFingerprint(category, "状态栏高度", info.getStatusBarHeight() + " px", "已获取"));
-            list.add(new DeviceFingerprint(category, "导航栏高度", info.getNavigationBarHeight() + " px", "已获取"));
-
-            // 刷新率
-            list.add(new DeviceFingerprint(category, "刷新率", String.format("%.1f Hz", info.getRefreshRate()), "已获取"));
-            if (info.getSupportedRefreshRates() != null && info.getSupportedRefreshRates().length > 0) {
-                StringBuilder rates = new StringBuilder();
-                for (float r : info.getSupportedRefreshRates()) {
-                    if (rates.length() > 0) rates.append(", ");
-                    rates.append(String.format("%.0f Hz", r));
-                }
-                list.add(new DeviceFingerprint(category, "支持刷新率", rates.toString(), "已获取"));
-            }
-
-            // 亮度
-            list.add(new DeviceFingerprint(category, "当前亮度", String.format("%d (%.0f%%)", info.getBrightness(), info.getBrightnessPercent()), "已获取"));
-
-            // 屏幕超时
-            list.add(new DeviceFingerprint(category, "屏幕超时", info.getScreenTimeoutFormatted(), "已获取"));
-
-            // 设备信息（与屏幕相关）
-            String manufacturer = info.getManufacturer();
-            String model = info.getModel();
-            list.add(new DeviceFingerprint(category, "屏幕制造商", manufacturer != null ? manufacturer : "未知", "已获取"));
-            list.add(new DeviceFingerprint(category, "屏幕型号", model != null ? model : "未知", "已获取"));
-
-            int screenBrightnessMode = Settings.System.getInt(context.getContentResolver(), "screen_brightness_mode");
-            list.add(new DeviceFingerprint(category, "亮度模式", screenBrightnessMode == 0 ? "手动":"自动", "已获取"));
-            int screenBright = ScreenInfoManager.getScreenBright(context);
-            list.add(new DeviceFingerprint(category, "亮度大小", String.valueOf(screenBright), "已获取"));
-
-            int accelerometer_rotationMode = Settings.System.getInt(context.getContentResolver(), "accelerometer_rotation");
-            list.add(new DeviceFingerprint(category, "旋转模式", accelerometer_rotationMode == 0 ? "锁定":"自动", "已获取"));
-
-
-
-        } catch (Exception e) {
-            Log.e(TAG, "获取屏幕信息失败", e);
-            list.add(new DeviceFingerprint(category, "屏幕信息", "获取失败", "未获取"));
+            return compositeHash.hash(fingerprints);
+        } finally {
+            Trace.endSection();
         }
+    }
 
-        return list;
-    }
-    private List<DeviceFingerprint> getCameraInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "摄像头信息";
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            CameraInfoManager cameraHelper = new CameraInfoManager (context);
-            // 获取摄像头总数
-            int totalCameras = cameraHelper.getCameraCount();
-            Log.d("Camera", "Total cameras: " + totalCameras);
-            list.add(new DeviceFingerprint(category, "总摄像头数量", String.valueOf(totalCameras), "已获取"));
-
-            // 获取前后置摄像头数量
-            int frontCount = cameraHelper.getFrontCameraCount();
-            int backCount = cameraHelper.getBackCameraCount();
-            list.add(new DeviceFingerprint(category, "前置数量", String.valueOf(frontCount), "已获取"));
-            list.add(new DeviceFingerprint(category, "后置数量", String.valueOf(backCount), "已获取"));
-
-            // 获取所有摄像头详细信息
-            List<CameraInfoManager .CameraInfo> allCameras = cameraHelper.getAllCameras();
-            StringBuilder stringBuilder = new StringBuilder();
-            for (CameraInfoManager .CameraInfo camera : allCameras) {
-                stringBuilder.append(camera.toString()).append("\n");
-                List<Size> previewSizes = camera.getPreviewSizes();
-                if (!previewSizes.isEmpty()) {
-                    stringBuilder.append("Max preview: ").append(previewSizes.get(0).getWidth()).append("x").append(previewSizes.get(0).getHeight()).append("\n");
-                }
-            }
-            list.add(new DeviceFingerprint(category, "摄像头详细信息", stringBuilder.toString(), (TextUtils.isEmpty(stringBuilder))?"未获取":"已获取"));
-
-            // 获取主摄像头
-            CameraInfoManager .CameraInfo mainCamera = cameraHelper.getMainCamera();
-            if (mainCamera != null) {
-                list.add(new DeviceFingerprint(category, "主摄像头", mainCamera.getCameraId() + "号", "已获取"));
-            } else {
-                list.add(new DeviceFingerprint(category, "主摄像头", "没有获取到主摄像头", "未获取"));
-            }
-        }
+    /**
+     * 最近一次真实执行中墙钟时间最长的收集器（用于调试界面定位耗时回归）
+     */
+    public List<CollectorMetrics> getSlowestCollectors(int limit) {
+        List<CollectorMetrics> metrics = new ArrayList<>(latestMetrics.values());
+        Collections.sort(metrics, (a, b) -> Long.compare(b.getWallMs(), a.getWallMs()));
+        return metrics.subList(0, Math.min(limit, metrics.size()));
+    }
 
-        return list;
+    /**
+     * 是否统计每个收集器的分配字节数（会拖慢整个进程，只在调试时开启）
+     */
+    public void setAllocationTrackingEnabled(boolean enabled) {
+        scheduler.setAllocationTrackingEnabled(enabled);
     }
-    
+
     /**
-     * 获取网络信息
-     */
-    private List<DeviceFingerprint> getNetworkInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "网络信息";
-        WifiInfo wifiInfo = new WifiInfo(this.context);
-        boolean wifiStatus = wifiInfo.getWifiEnabled();
-        String connectType = wifiInfo.getConnectionState();
-        String ipinfo = wifiInfo.getIpInfo();
-        String gatway = wifiInfo.getGateway();
-        wifiInfo.setSimInfo(context);
-        int simCount = WifiInfo.simCount(context);
-        int maxSub = WifiInfo.getMaxActiveSubscriptionCount(context);
-        int mobileNetStatus = WifiInfo.mobileNetStatus(context);
-
-        list.add(new DeviceFingerprint(category, "WiFi是否开启", String.valueOf(wifiStatus), "已获取"));
-        list.add(new DeviceFingerprint(category, "移动数据状态", mobileNetStatus == 0?"开启":"关闭/异常", "已获取"));
-        list.add(new DeviceFingerprint(category, "连接类型", connectType, "已获取"));
-        list.add(new DeviceFingerprint(category, "IP地址", ipinfo, "已获取"));
-        list.add(new DeviceFingerprint(category, "网关", gatway, "已获取"));
-        list.add(new DeviceFingerprint(category, "卡槽数量", String.valueOf(simCount), (simCount > 0) ? "已获取":"未获取"));
-        list.add(new DeviceFingerprint(category, "卡最大订阅数量", String.valueOf(maxSub), (maxSub > 0) ? "已获取":"未获取"));
-        list.add(new DeviceFingerprint(category, "是否插卡", wifiInfo.getSimCard(), "已获取"));
-        if ("插卡".equals(wifiInfo.getSimCard())){
-            String simOperatorName = SimCardUtil.getSimOperatorName(context);
-            list.add(new DeviceFingerprint(category, "运营商名字", simOperatorName, "已获取"));
-            list.add(new DeviceFingerprint(category, "sim国家", wifiInfo.getSimCountry(), "已获取"));
-            list.add(new DeviceFingerprint(category, "mnc|mcc", wifiInfo.getMncMcc(), "已获取"));
+     * 清除跨启动缓存和文件摘要缓存，下次收集时重新收集全部字段
+     */
+    public void clearCollectorCache() {
+        warmUp().join();
+        CollectorCache cache = collectorCache;
+        if (cache != null) {
+            cache.clear();
+            cache.saveIfDirty();
         }
-        try {
-            String netName = WifiInfo.netWorkName();
-            list.add(new DeviceFingerprint(category, "NetName", netName, (TextUtils.isEmpty(netName))?"未获取":"已获取"));
-        } catch (Exception e){
-
+        FileHashCache hashCache = fileHashCache;
+        if (hashCache != null) {
+            hashCache.clear();
+            hashCache.saveIfDirty();
         }
-        String httpAgent = WifiInfo.get_httpAgent();
-        list.add(new DeviceFingerprint(category, "HttpAgent", httpAgent, (TextUtils.isEmpty(httpAgent))?"未获取/无内容":"已获取"));
-        return list;
     }
-    
+
     /**
-     * 获取应用信息
+     * 将指纹列表以 JSON 流式导出到应用缓存目录（在工作线程中调用）
+     * @return 导出的文件
      */
-    private List<DeviceFingerprint> getAppInfo() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "应用信息";
-        
-        // 使用 Java API 获取应用信息
+    public File exportSnapshotJson(List<DeviceFingerprint> fingerprints) throws IOException {
+        File file = new File(context.getCacheDir(), SNAPSHOT_JSON_FILE);
+        Trace.beginSection("fp:exportJson");
         try {
-            String packageName = context.getPackageName();
-            PackageManager pm = context.getPackageManager();
-            PackageInfo packageInfo = pm.getPackageInfo(packageName, 0);
-            String signature = SettingsSettings.getAppSignature(context);
-
-            
-            // 应用包名
-            list.add(new DeviceFingerprint(category, "应用包名", packageName, "已获取"));
-            // 签名
-            list.add(new DeviceFingerprint(category, "应用签名", signature, "已获取"));
-            
-            // 应用版本
-            String versionName = packageInfo.versionName != null ? packageInfo.versionName : "未知";
-            int versionCode = packageInfo.versionCode;
-            String version = versionName + " (" + versionCode + ")";
-            list.add(new DeviceFingerprint(category, "应用版本", version, "已获取"));
-            
-            // 安装时间
-            long installTime = packageInfo.firstInstallTime;
-            String installTimeStr = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", 
-                    Locale.getDefault()).format(new Date(installTime));
-            list.add(new DeviceFingerprint(category, "安装时间", installTimeStr, "已获取"));
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting app info", e);
-            list.add(new DeviceFingerprint(category, "应用包名", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "应用版本", "获取失败", "未获取"));
-            list.add(new DeviceFingerprint(category, "安装时间", "获取失败", "未获取"));
+            SnapshotJsonExporter.export(new FingerprintSnapshot(System.currentTimeMillis(), fingerprints), file);
+        } finally {
+            Trace.endSection();
         }
-        
-        // 是否为系统预装应用
-        boolean isSystemApp = SettingsSettings.isSystemPreInstalledApp(context);
-        String systemAppValue = isSystemApp ? "是" : "否";
-        String systemAppStatus = "已获取";
-        list.add(new DeviceFingerprint(category, "是否为系统预装应用", systemAppValue, systemAppStatus));
-        String android_id = SettingsSettings.getAndroidId(this.context);
-        list.add(new DeviceFingerprint(category, "Android ID", android_id, (!(TextUtils.isEmpty(android_id))) ? "已获取":"未获取"));
-        String path = this.context.getPackageResourcePath().replace("/data/app/", "").replace("/base.apk", "");
-        list.add(new DeviceFingerprint(category, "APP路径", path, (!(TextUtils.isEmpty(path))) ? "已获取":"未获取"));
-        return list;
-    }
-
-    /**
-     * 系统监测：adb、代理、Root、Hook 等
-     */
-    private List<DeviceFingerprint> getSystemMonitorCheck() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "系统监测";
-
-        int adbEnabled = Settings.Secure.getInt(context.getContentResolver(), "adb_enabled", 0);
-        boolean proxyStatus = SettingsSettings.checkVpnStatus((Activity) context);
-        boolean rootStatus = SettingsSettings.checkRootStatus(this.context);
-        boolean hookStatus = SettingsSettings.checkHookStatus();
-
-        list.add(new DeviceFingerprint(category, "是否连接adb", adbEnabled == 1 ? "是" : "否", "已获取"));
-        list.add(new DeviceFingerprint(category, "是否开启代理", proxyStatus ? "是" : "否", "已获取"));
-        list.add(new DeviceFingerprint(category, "是否已Root", rootStatus ? "是" : "否", "已获取"));
-        list.add(new DeviceFingerprint(category, "是否检测到Hook", hookStatus ? "是" : "否", "已获取"));
-
-        return list;
-    }
-
-    /**
-     * 获取设备标识符
-     */
-    private List<DeviceFingerprint> getIdentifiers() {
-        List<DeviceFingerprint> list = new ArrayList<>();
-        String category = "其他信息";
-        long cpuTime = SystemClock.uptimeMillis();
-        long bootime = SystemClock.elapsedRealtime();
-        List<String> systemFontPaths1 = SettingsSettings.getSystemFontPaths();
-        String systemFontPaths = SettingsSettings.list2String(systemFontPaths1);
-        String fontHash = SettingsSettings.calculateSHA1(systemFontPaths);
-        String boot_id = FileHelper.readFileAsString("/proc/sys/kernel/random/boot_id");
-        Set mediaCodecList = SettingsSettings.getMediaCodec();
-        String mediaCodecSha1 = SettingsSettings.calculateSHA1(mediaCodecList.toString());
-        String hardwareFeaturesString = SettingsSettings.getHardwareFeaturesString(this.context);
-        long androidUptime = SettingsSettings.getAndroidUptime();
-        String androidSystemSignatureHash = SettingsSettings.getAndroidSystemSignatureHash(context);
-
-        list.add(new DeviceFingerprint(category, "android包签名", androidSystemSignatureHash, "已获取"));
-        list.add(new DeviceFingerprint(category, "系统启动时间", String.valueOf(androidUptime), "已获取"));
-        list.add(new DeviceFingerprint(category, "CPU运行时间", String.valueOf(cpuTime), ((TextUtils.isEmpty(String.valueOf(cpuTime)))) ? "未获取":"已获取"));
-        list.add(new DeviceFingerprint(category, "开机运行时间", String.valueOf(bootime), ((TextUtils.isEmpty(String.valueOf(bootime)))) ? "未获取":"已获取"));
-//        list.add(new DeviceFingerprint(category, "字体列表", systemFontPaths, (systemFontPaths.isEmpty()) ? "未获取":"已获取"));
-        list.add(new DeviceFingerprint(category, "字体数量和哈希", systemFontPaths1.size() + "个/" + fontHash, (systemFontPaths1.isEmpty()) ? "未获取":"已获取"));
-        list.add(new DeviceFingerprint(category, "媒体解码器数量和哈希", mediaCodecList.size() + "个/" + mediaCodecSha1, (mediaCodecList.isEmpty()) ? "未获取":"已获取"));
-        list.add(new DeviceFingerprint(category, "硬件功能", hardwareFeaturesString, "已获取"));
-
-
-        list.add(new DeviceFingerprint(category, "boot id", boot_id, (boot_id.isEmpty()) ? "未获取":"已获取"));
-
-        String bootCount = SettingsSettings.getBootCount(this.context);
-        list.add(new DeviceFingerprint(category, "开机计数(两种获取)", bootCount, ("/".equals(bootCount)) ? "未获取":"已获取"));
-
-        int ringerMode = SettingsSettings.getRingerMode(context);
-        String ringerModeS = "";
-        if (ringerMode == 0){
-            ringerModeS = "静音";
+        return file;
+    }
+
+    /**
+     * 收集器的结果所属的板块：声明的板块加上结果中字段（{@link com.kaze.devicefp.model.FingerprintKey}）实际所属的板块
+     */
+    private Set<String> sectionsOf(Collector collector) {
+        Set<String> observed = observedSections.get(collector);
+        if (observed == null || collector.getSections().containsAll(observed)) {
+            return collector.getSections();
         }
-        if (ringerMode == 1){
-            ringerModeS = "震动";
+        Set<String> sections = new HashSet<>(collector.getSections());
+        sections.addAll(observed);
+        return sections;
+    }
+
+    private void recordSections(CollectorResult result) {
+        if (result.getStatus() != CollectorResult.Status.SUCCESS
+                && result.getStatus() != CollectorResult.Status.CACHED) {
+            return; // 失败 / 超时的占位项不属于任何板块
         }
-        if (ringerMode == 2){
-            ringerModeS = "初音";
+        Set<String> sections = new HashSet<>();
+        for (DeviceFingerprint item : result.getItems()) {
+            if (item.getKey() != null) {
+                sections.add(item.getSection().getTitle());
+            }
         }
-        list.add(new DeviceFingerprint(category, "铃声模式", ringerModeS, ("".equals(ringerModeS)) ? "未获取":"已获取"));
-        StringBuilder audioInfo = SettingsSettings.getAudioInfo(context);
-        list.add(new DeviceFingerprint(category, "铃声大小", audioInfo.toString(),"已获取"));
-
-        boolean keyguard = ((KeyguardManager) context.getSystemService("keyguard")).inKeyguardRestrictedInputMode();
-        list.add(new DeviceFingerprint(category, "是否处于锁屏", keyguard?"是":"否", "已获取"));
-
-        String keyPinTime = SettingsSettings.getKeyPinTime(context);
-        list.add(new DeviceFingerprint(category, "锁屏密码和编辑时间", keyPinTime, "已获取"));
-
-        String fileHash = SettingsSettings.getFileHash();
-        list.add(new DeviceFingerprint(category, "系统文件哈希", fileHash, "已获取"));
-        int appOP = SettingsSettings.getAppOP(context);
-        list.add(new DeviceFingerprint(category, "是否被授予悬浮窗", appOP == 1?"是":"否/检查异常", "已获取"));
-
-        String installedAccessibilityServices = SettingsSettings.getInstalledAccessibilityServices(context);
-        list.add(new DeviceFingerprint(category, "已安装辅助服务列表", installedAccessibilityServices, "已获取"));
-
-        String inputMethod = SettingsSettings.getInputMethod(context);
-        list.add(new DeviceFingerprint(category, "输入法列表", inputMethod, "已获取"));
-
-        String inputDeviceInfo = SettingsSettings.getInputDeviceInfo(context);
-        list.add(new DeviceFingerprint(category, "物理输入设备", inputDeviceInfo, "已获取"));
-
-        String phoneMode = SettingsSettings.phoneMode(context);
-        list.add(new DeviceFingerprint(category, "设备模式信息", phoneMode, "已获取"));
-
-        String dexClassLoaderPath = SettingsSettings.getDexClassLoaderPath(context);
-        list.add(new DeviceFingerprint(category, "DexClassLoader的路径列表", dexClassLoaderPath, "已获取"));
-
-        List<String> serverList1 = SettingsSettings.getServerList();
-        String serverList = SettingsSettings.calculateSHA1(serverList1.toString());
-        list.add(new DeviceFingerprint(category,  "服务列表哈希", serverList1.size() + "项/" + serverList, "已获取"));
+        observedSections.put(result.getCollector(), Collections.unmodifiableSet(sections));
+    }
 
-        String sensorDetails = SettingsSettings.getSensorDetails(context);
-        list.add(new DeviceFingerprint(category,  "传感器哈希", SettingsSettings.calculateSHA1(sensorDetails), "已获取"));
+    /**
+     * 已收集完成的板块：所有结果属于该板块的收集器都已返回
+     * 一个收集器可能覆盖多个板块，它返回后其余板块也可能随之完成
+     * @param finished 已返回结果的收集器序号（注册顺序，与 {@link CollectionListener} 回调中的序号一致）
+     */
+    public Set<String> getCompletedSections(Set<Integer> finished) {
+        Set<String> completed = new HashSet<>();
+        Set<String> incomplete = new HashSet<>();
+        List<Collector> registered = new ArrayList<>(collectors);
+        for (int i = 0; i < registered.size(); i++) {
+            if (finished.contains(i)) {
+                completed.addAll(sectionsOf(registered.get(i)));
+            } else {
+                incomplete.addAll(sectionsOf(registered.get(i)));
+            }
+        }
+        completed.removeAll(incomplete);
+        return completed;
+    }
 
-        FeatureInfo[] systemFeatures = SettingsSettings.getSystemFeatures(context);
-        StringBuilder result = new StringBuilder();
-        assert systemFeatures != null;
-        for (FeatureInfo feature : systemFeatures) {
-            if (feature.name != null && !feature.name.isEmpty()) {
-                result.append(feature.name).append("\n");
+    /**
+     * 可以立即收集的板块：所有相关收集器都属于 FAST 层，
+     * 延迟加载模式下这些板块在首屏直接收集，其余板块等首次展开再收集
+     */
+    public Set<String> getEagerSections() {
+        Set<String> eager = new HashSet<>();
+        Set<String> deferred = new HashSet<>();
+        for (Collector collector : collectors) {
+            if (collector.getTier() == CollectorTier.FAST) {
+                eager.addAll(sectionsOf(collector));
+            } else {
+                deferred.addAll(sectionsOf(collector));
             }
         }
-        list.add(new DeviceFingerprint(category,  "硬件软件列表哈希", SettingsSettings.calculateSHA1(result.toString()), "已获取"));
-        list.add(new DeviceFingerprint(category, "Attestation", SettingsSettings.collectAttestationInfo(context), "已获取"));
-        list.add(new DeviceFingerprint(category, "KeyStoreAttestation", SettingsSettings.tryBackupAttestation(context), "已获取"));
+        eager.removeAll(deferred);
+        return eager;
+    }
 
-        String openGLInfo = SettingsSettings.getOpenGLInfo(context);
-        list.add(new DeviceFingerprint(category, "OpenGL", openGLInfo, "已获取"));
+    /**
+     * 释放收集线程池（在宿主销毁时调用）
+     */
+    public void shutdown() {
+        invalidationTracker.stop();
+        scheduler.shutdown();
+        collectExecutor.shutdownNow();
+        expensiveExecutor.shutdownNow();
+        SnapshotHistoryStore store = historyStore;
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to close snapshot history", e);
+            }
+        }
+    }
 
+    /**
+     * 是否收集高耗时层级（密钥证明、OpenGL、系统文件哈希、解码器列表等）
+     * 关闭后这些收集器直接跳过，只返回快速和常规层级的结果
+     */
+    public void setExpensiveTierEnabled(boolean enabled) {
+        scheduler.setExpensiveTierEnabled(enabled);
+    }
 
-        return list;
+    /**
+     * 设置收集器默认截止时间，超时的收集器以"超时"状态返回，不阻塞其余结果
+     * @param deadlineMs 毫秒，小于等于 0 表示不限时
+     */
+    public void setCollectorDeadlineMs(long deadlineMs) {
+        scheduler.setDefaultDeadlineMs(deadlineMs);
     }
 
+    /**
+     * 创建有界的收集线程池
+     * @param priority 线程优先级（android.os.Process.THREAD_PRIORITY_*）
+     */
+    private static ExecutorService createCollectExecutor(String name, int threads, int priority) {
+        ThreadFactory factory = new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Runnable prioritized = () -> {
+                    android.os.Process.setThreadPriority(priority);
+                    r.run();
+                };
+                Thread thread = new Thread(prioritized, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
 }
@@ -0,0 +1,42 @@
+package com.kaze.devicefp.service.collector;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 收集器基类，保存分类、预估耗时和依赖声明
+ */
+public abstract class AbstractCollector implements Collector {
+
+    private final String category;
+    private final long estimatedCostMs;
+    private final Set<SharedInput<?>> requiredInputs;
+
+    protected AbstractCollector(String category, long estimatedCostMs, SharedInput<?>... requiredInputs) {
+        this.category = category;
+        this.estimatedCostMs = estimatedCostMs;
+        this.requiredInputs = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(requiredInputs)));
+    }
+
+    @Override
+    public String getCategory() {
+        return category;
+    }
+
+    @Override
+    public long getEstimatedCostMs() {
+        return estimatedCostMs;
+    }
+
+    @Override
+    public Set<SharedInput<?>> getRequiredInputs() {
+        return requiredInputs;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + category + ")";
+    }
+}
@@ -0,0 +1,94 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SettingsSettings;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 应用信息收集器（包名、签名、版本、安装时间等）
+ */
+public class AppInfoCollector extends AbstractCollector {
+
+    private static final String TAG = "AppInfoCollector";
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_APP);
+
+    public AppInfoCollector() {
+        super("应用信息", 20, SharedInput.PACKAGE_INFO);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        
+        // 使用 Java API 获取应用信息
+        try {
+            String packageName = context.getPackageName();
+            PackageInfo packageInfo = collectorContext.get(SharedInput.PACKAGE_INFO);
+            if (packageInfo == null) {
+                throw new PackageManager.NameNotFoundException(packageName);
+            }
+            String signature = SettingsSettings.getAppSignature(packageInfo);
+
+            
+            // 应用包名
+            list.add(new DeviceFingerprint(category, "应用包名", packageName, FingerprintStatus.COLLECTED));
+            // 签名
+            list.add(new DeviceFingerprint(category, "应用签名", signature, FingerprintStatus.COLLECTED));
+            
+            // 应用版本
+            String versionName = packageInfo.versionName != null ? packageInfo.versionName : "未知";
+            int versionCode = packageInfo.versionCode;
+            String version = versionName + " (" + versionCode + ")";
+            list.add(new DeviceFingerprint(category, "应用版本", version, FingerprintStatus.COLLECTED));
+            
+            // 安装时间
+            long installTime = packageInfo.firstInstallTime;
+            String installTimeStr = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", 
+                    Locale.getDefault()).format(new Date(installTime));
+            list.add(new DeviceFingerprint(category, "安装时间", installTimeStr, FingerprintStatus.COLLECTED));
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting app info", e);
+            list.add(new DeviceFingerprint(category, "应用包名", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "应用版本", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "安装时间", "获取失败", FingerprintStatus.MISSING));
+        }
+        
+        // 是否为系统预装应用
+        boolean isSystemApp = SettingsSettings.isSystemPreInstalledApp(context);
+        list.add(new DeviceFingerprint(category, "是否为系统预装应用", FingerprintValue.ofBoolean(isSystemApp),
+                FingerprintStatus.COLLECTED));
+        String android_id = SettingsSettings.getAndroidId(context);
+        list.add(new DeviceFingerprint(category, "Android ID", android_id, (!(TextUtils.isEmpty(android_id))) ? FingerprintStatus.COLLECTED : FingerprintStatus.MISSING));
+        String path = context.getPackageResourcePath().replace("/data/app/", "").replace("/base.apk", "");
+        list.add(new DeviceFingerprint(category, "APP路径", path, (!(TextUtils.isEmpty(path))) ? FingerprintStatus.COLLECTED : FingerprintStatus.MISSING));
+        return list;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.SettingsSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 密钥证明收集器（需要在 AndroidKeyStore 中生成 RSA 密钥）
+ */
+public class AttestationCollector extends AbstractCollector {
+
+    public AttestationCollector() {
+        super("其他信息", 800);
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public long getDeadlineMs() {
+        // 密钥生成在部分设备上需要数秒
+        return 10000;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        list.add(new DeviceFingerprint(category, "Attestation", SettingsSettings.collectAttestationInfo(context), FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "KeyStoreAttestation", SettingsSettings.tryBackupAttestation(context), FingerprintStatus.COLLECTED));
+        return list;
+    }
+}
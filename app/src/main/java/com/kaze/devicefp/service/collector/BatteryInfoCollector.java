@@ -0,0 +1,114 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.kaze.devicefp.model.BatteryInfo;
+import com.kaze.devicefp.model.BatteryInfoManager;
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 电池信息收集器（电量、健康状态、电压、温度、容量、充电方式）
+ * 只在电池状态广播到达后重新收集
+ */
+public class BatteryInfoCollector extends AbstractCollector {
+
+    private static final String TAG = "BatteryInfoCollector";
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_BATTERY);
+    private static final Set<InvalidationSource> INVALIDATION_SOURCES = Set.of(InvalidationSource.BATTERY_CHANGED);
+
+    public BatteryInfoCollector() {
+        super("硬件信息", 5);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return INVALIDATION_SOURCES;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        
+        // 电池信息（拆分为多个条目）
+        try {
+            BatteryInfo batteryInfo = BatteryInfoManager.getBatteryInfo(context);
+            if (batteryInfo != null) {
+                // 1. 电量
+                list.add(new DeviceFingerprint(category, "电量", FingerprintValue.ofLong(batteryInfo.getLevel(), "%"),
+                        FingerprintStatus.COLLECTED));
+                
+                // 2. 健康状态
+                String healthStr = batteryInfo.getHealthDescription();
+                list.add(new DeviceFingerprint(category, "健康状态", healthStr, FingerprintStatus.COLLECTED));
+                
+                // 3. 电压（动态变化展示）
+                list.add(new DeviceFingerprint(category, "电压", FingerprintValue.ofDouble(batteryInfo.getVoltageVolts(), 2, "V"),
+                        FingerprintStatus.COLLECTED));
+                
+                // 4. 温度（动态变化展示）
+                list.add(new DeviceFingerprint(category, "温度",
+                        FingerprintValue.ofDouble(batteryInfo.getTemperatureCelsius(), 1, "°C"), FingerprintStatus.COLLECTED));
+                
+                // 5. 容量
+                if (batteryInfo.getCapacity() > 0) {
+                    list.add(new DeviceFingerprint(category, "容量", FingerprintValue.ofLong(batteryInfo.getCapacity(), "mAh"),
+                            FingerprintStatus.COLLECTED));
+                } else {
+                    list.add(new DeviceFingerprint(category, "容量", "未获取", FingerprintStatus.MISSING));
+                }
+                
+                // 6. 充电方式
+                String chargingMethod;
+                if (batteryInfo.getPlugged() == 0) {
+                    // 没有连接充电器
+                    chargingMethod = "没充电";
+                } else {
+                    // 根据充电类型显示
+                    if (batteryInfo.isAcCharging()) {
+                        chargingMethod = "交流电充电";
+                    } else if (batteryInfo.isUsbCharging()) {
+                        chargingMethod = "USB充电";
+                    } else if (batteryInfo.isWirelessCharging()) {
+                        chargingMethod = "无线充电";
+                    } else {
+                        // 其他充电方式，使用描述
+                        chargingMethod = batteryInfo.getPluggedDescription();
+                    }
+                }
+                list.add(new DeviceFingerprint(category, "充电方式", chargingMethod, FingerprintStatus.COLLECTED));
+            } else {
+                list.add(new DeviceFingerprint(category, "电量", "获取失败", FingerprintStatus.MISSING));
+                list.add(new DeviceFingerprint(category, "健康状态", "获取失败", FingerprintStatus.MISSING));
+                list.add(new DeviceFingerprint(category, "电压", "获取失败", FingerprintStatus.MISSING));
+                list.add(new DeviceFingerprint(category, "温度", "获取失败", FingerprintStatus.MISSING));
+                list.add(new DeviceFingerprint(category, "容量", "获取失败", FingerprintStatus.MISSING));
+                list.add(new DeviceFingerprint(category, "充电方式", "获取失败", FingerprintStatus.MISSING));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting battery info", e);
+            list.add(new DeviceFingerprint(category, "电量", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "健康状态", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "电压", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "温度", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "容量", "获取失败", FingerprintStatus.MISSING));
+            list.add(new DeviceFingerprint(category, "充电方式", "获取失败", FingerprintStatus.MISSING));
+        }
+        
+        return list;
+    }
+}
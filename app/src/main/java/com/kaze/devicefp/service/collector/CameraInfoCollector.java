@@ -0,0 +1,82 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.os.Build;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.Size;
+
+import com.kaze.devicefp.model.CameraInfoManager;
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 摄像头信息收集器
+ */
+public class CameraInfoCollector extends AbstractCollector {
+
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_CAMERA);
+
+    public CameraInfoCollector() {
+        super("摄像头信息", 150);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            CameraInfoManager cameraHelper = new CameraInfoManager (context);
+            // 获取摄像头总数
+            int totalCameras = cameraHelper.getCameraCount();
+            Log.d("Camera", "Total cameras: " + totalCameras);
+            list.add(new DeviceFingerprint(category, "总摄像头数量", FingerprintValue.ofLong(totalCameras), FingerprintStatus.COLLECTED));
+
+            // 获取前后置摄像头数量
+            int frontCount = cameraHelper.getFrontCameraCount();
+            int backCount = cameraHelper.getBackCameraCount();
+            list.add(new DeviceFingerprint(category, "前置数量", FingerprintValue.ofLong(frontCount), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "后置数量", FingerprintValue.ofLong(backCount), FingerprintStatus.COLLECTED));
+
+            // 获取所有摄像头详细信息
+            List<CameraInfoManager .CameraInfo> allCameras = cameraHelper.getAllCameras();
+            StringBuilder stringBuilder = new StringBuilder();
+            for (CameraInfoManager .CameraInfo camera : allCameras) {
+                stringBuilder.append(camera.toString()).append("\n");
+                List<Size> previewSizes = camera.getPreviewSizes();
+                if (!previewSizes.isEmpty()) {
+                    stringBuilder.append("Max preview: ").append(previewSizes.get(0).getWidth()).append("x").append(previewSizes.get(0).getHeight()).append("\n");
+                }
+            }
+            list.add(new DeviceFingerprint(category, "摄像头详细信息", stringBuilder.toString(), (TextUtils.isEmpty(stringBuilder)) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+
+            // 获取主摄像头
+            CameraInfoManager .CameraInfo mainCamera = cameraHelper.getMainCamera();
+            if (mainCamera != null) {
+                list.add(new DeviceFingerprint(category, "主摄像头", mainCamera.getCameraId() + "号", FingerprintStatus.COLLECTED));
+            } else {
+                list.add(new DeviceFingerprint(category, "主摄像头", "没有获取到主摄像头", FingerprintStatus.MISSING));
+            }
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+
+import java.util.List;
+
+/**
+ * 流式收集回调
+ * 每个收集器完成后立即回调其结果，无需等待最慢的收集器；回调发生在工作线程
+ */
+public interface CollectionListener {
+
+    /**
+     * 单个收集器完成
+     * @param index 收集器的注册顺序，可用于按原顺序合并
+     * @param result 收集结果（超时的收集器以占位指纹和超时状态返回）
+     */
+    void onCollectorFinished(int index, CollectorResult result);
+
+    /**
+     * 全部收集器完成
+     * @param fingerprints 按注册顺序合并后的完整列表
+     */
+    void onCollectionFinished(List<DeviceFingerprint> fingerprints);
+}
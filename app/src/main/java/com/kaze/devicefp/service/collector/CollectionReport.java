@@ -0,0 +1,50 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一次收集的结果：合并后的指纹列表以及每个收集器的耗时指标
+ */
+public final class CollectionReport {
+
+    private final List<DeviceFingerprint> fingerprints;
+    private final List<CollectorMetrics> metrics;
+    private final long wallMs;
+
+    public CollectionReport(List<DeviceFingerprint> fingerprints, List<CollectorMetrics> metrics, long wallMs) {
+        this.fingerprints = fingerprints;
+        this.metrics = Collections.unmodifiableList(new ArrayList<>(metrics));
+        this.wallMs = wallMs;
+    }
+
+    public List<DeviceFingerprint> getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * 按注册顺序排列的收集器指标
+     */
+    public List<CollectorMetrics> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 整次收集的墙钟时间
+     */
+    public long getWallMs() {
+        return wallMs;
+    }
+
+    /**
+     * 墙钟时间最长的若干个收集器
+     */
+    public List<CollectorMetrics> getSlowest(int limit) {
+        List<CollectorMetrics> sorted = new ArrayList<>(metrics);
+        Collections.sort(sorted, (a, b) -> Long.compare(b.getWallMs(), a.getWallMs()));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+}
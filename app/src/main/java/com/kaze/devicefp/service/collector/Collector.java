@@ -0,0 +1,85 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 指纹收集器
+ * 每个收集器负责一个分类，声明预估耗时和依赖的共享输入，
+ * 由 {@link CollectorScheduler} 在依赖就绪后调度执行
+ */
+public interface Collector {
+
+    /**
+     * 分类名称（如：设备信息、网络信息）
+     */
+    String getCategory();
+
+    /**
+     * 预估耗时（毫秒），调度器会优先启动耗时长的收集器
+     */
+    long getEstimatedCostMs();
+
+    /**
+     * 依赖的共享输入，全部就绪后才会调用 {@link #collect}
+     */
+    Set<SharedInput<?>> getRequiredInputs();
+
+    /**
+     * 结果所属的界面板块（{@link SectionGroupHelper} 中的板块标题），
+     * 延迟加载模式下板块首次展开时只运行声明了该板块的收集器；默认归入"系统信息"
+     */
+    default Set<String> getSections() {
+        return Collections.singleton(SectionGroupHelper.SECTION_OTHER);
+    }
+
+    /**
+     * 使结果失效的来源（广播、Settings 变化），重新收集时只执行结果已失效的收集器；
+     * 默认 {@link InvalidationSource#ALWAYS} 表示每次都重新收集，空集合表示进程内结果不变
+     */
+    default Set<InvalidationSource> getInvalidationSources() {
+        return Collections.singleton(InvalidationSource.ALWAYS);
+    }
+
+    /**
+     * 结果能否写入跨启动的 {@link CollectorCache}；
+     * 自己维护更细粒度缓存（如按文件校验的摘要缓存）的收集器返回 false，每次进程启动都会执行
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * 区分同一收集器类不同配置的键（如参与计算的文件列表、算法），与类名一起作为 {@link CollectorCache} 的键；
+     * 结果只取决于类本身时返回空字符串
+     */
+    default String getConfigKey() {
+        return "";
+    }
+
+    /**
+     * 耗时层级，默认根据预估耗时划分
+     */
+    default CollectorTier getTier() {
+        return CollectorTier.fromCost(getEstimatedCostMs());
+    }
+
+    /**
+     * 截止时间（毫秒），超时后收集器被取消并以超时状态返回；
+     * 返回 0 表示使用调度器的默认截止时间
+     */
+    default long getDeadlineMs() {
+        return 0;
+    }
+
+    /**
+     * 执行收集（在工作线程中调用）
+     * @param context 收集上下文，可从中读取已就绪的共享输入
+     * @return 该分类的指纹列表
+     */
+    List<DeviceFingerprint> collect(CollectorContext context) throws Exception;
+}
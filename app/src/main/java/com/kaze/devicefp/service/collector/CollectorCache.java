@@ -0,0 +1,318 @@
+package com.kaze.devicefp.service.collector;
+
+import android.util.Log;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.Volatility;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 跨启动的收集结果缓存
+ * 只缓存全部字段都是构建级 / 开机级（{@link Volatility#isPersistable()}）的收集结果，
+ * 以 Build.FINGERPRINT 和 boot_id 为键：系统升级后全部失效，重启后开机级的条目失效
+ */
+public final class CollectorCache {
+
+    private static final String TAG = "CollectorCache";
+    private static final int FORMAT_VERSION = 6; // 5: 键追加配置键，不再缓存含占位值的结果；6: 屏幕 DPI、亮度改为映射值
+
+    private final File file;
+    private final String buildFingerprint;
+    private final String bootId;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private static final class Entry {
+        final Volatility volatility;
+        final List<DeviceFingerprint> items;
+
+        Entry(Volatility volatility, List<DeviceFingerprint> items) {
+            this.volatility = volatility;
+            this.items = items;
+        }
+    }
+
+    /**
+     * @param file 缓存文件（位于应用私有目录）
+     * @param buildFingerprint 当前 Build.FINGERPRINT
+     * @param bootId 当前 /proc/sys/kernel/random/boot_id
+     */
+    public CollectorCache(File file, String buildFingerprint, String bootId) {
+        this.file = file;
+        this.buildFingerprint = buildFingerprint != null ? buildFingerprint : "";
+        this.bootId = bootId != null ? bootId.trim() : "";
+    }
+
+    /**
+     * 缓存键：收集器类名，有配置键时追加配置键
+     */
+    private static String keyOf(Collector collector) {
+        String config = collector.getConfigKey();
+        String name = collector.getClass().getName();
+        return config == null || config.isEmpty() ? name : name + '#' + config;
+    }
+
+    /**
+     * 获取收集器的缓存结果，未命中返回 null
+     */
+    public List<DeviceFingerprint> get(Collector collector) {
+        if (!collector.isCacheable()) {
+            return null;
+        }
+        Entry entry = entries.get(keyOf(collector));
+        return entry != null ? entry.items : null;
+    }
+
+    /**
+     * 保存一次成功的收集结果；含有会话级或实时字段、或有字段未成功获取（占位值）时不缓存（并清除旧条目）
+     */
+    public void put(Collector collector, List<DeviceFingerprint> items) {
+        Volatility volatility = volatilityOf(items);
+        if (!collector.isCacheable() || !volatility.isPersistable() || !allCollected(items)) {
+            if (entries.remove(keyOf(collector)) != null) {
+                dirty = true;
+            }
+            return;
+        }
+        entries.put(keyOf(collector), new Entry(volatility, Collections.unmodifiableList(new ArrayList<>(items))));
+        dirty = true;
+    }
+
+    // 获取失败的占位值（"获取失败"、MISSING 等）下次启动应重新尝试
+    private static boolean allCollected(List<DeviceFingerprint> items) {
+        for (DeviceFingerprint item : items) {
+            if (item.getStatus() != FingerprintStatus.COLLECTED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 一组字段中最易变的等级，空列表视为 LIVE（不缓存）
+     */
+    static Volatility volatilityOf(List<DeviceFingerprint> items) {
+        if (items == null || items.isEmpty()) {
+            return Volatility.LIVE;
+        }
+        Volatility result = Volatility.STATIC_PER_BUILD;
+        for (DeviceFingerprint item : items) {
+            result = Volatility.mostVolatile(result, item.getVolatility());
+        }
+        return result;
+    }
+
+    public void clear() {
+        entries.clear();
+        dirty = true;
+    }
+
+    /**
+     * 从磁盘读取；构建指纹不同的整个文件丢弃，boot_id 不同时丢弃开机级条目
+     */
+    public synchronized void load() {
+        entries.clear();
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            String cachedBuild = readString(in);
+            String cachedBoot = readString(in);
+            if (!buildFingerprint.equals(cachedBuild)) {
+                Log.d(TAG, "Build fingerprint changed, cache discarded");
+                dirty = true;
+                return;
+            }
+            boolean sameBoot = bootId.equals(cachedBoot);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(in);
+                Volatility volatility = Volatility.values()[in.readUnsignedByte()];
+                int size = in.readInt();
+                List<DeviceFingerprint> items = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    String category = readString(in);
+                    String name = readString(in);
+                    FingerprintValue value = readValue(in);
+                    items.add(new DeviceFingerprint(category, name, value,
+                            FingerprintStatus.values()[in.readUnsignedByte()]));
+                }
+                if (volatility == Volatility.STATIC_PER_BUILD || sameBoot) {
+                    entries.put(key, new Entry(volatility, Collections.unmodifiableList(items)));
+                } else {
+                    dirty = true;
+                }
+            }
+            Log.d(TAG, "Loaded " + entries.size() + " cached collectors");
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Failed to read cache, ignored", e);
+            entries.clear();
+            dirty = true;
+        }
+    }
+
+    /**
+     * 有变化时写回磁盘（先写临时文件再重命名，避免写入中断留下损坏的缓存）
+     */
+    public synchronized void saveIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, buildFingerprint);
+            writeString(out, bootId);
+            // 先取快照，避免写入数量与遍历时的条目不一致
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> e : snapshot) {
+                writeString(out, e.getKey());
+                out.writeByte(e.getValue().volatility.ordinal());
+                out.writeInt(e.getValue().items.size());
+                for (DeviceFingerprint item : e.getValue().items) {
+                    writeString(out, item.getCategory());
+                    writeString(out, item.getName());
+                    writeValue(out, item.getTypedValue());
+                    out.writeByte(item.getStatus().ordinal());
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write cache", e);
+            tmp.delete();
+            dirty = true;
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.w(TAG, "Failed to replace cache file");
+            tmp.delete();
+            dirty = true;
+        }
+    }
+
+    // 类型 + 原始数据 + 显示提示，读回后显示文字与收集时一致
+    private static void writeValue(DataOutputStream out, FingerprintValue value) throws IOException {
+        out.writeByte(value.getType().ordinal());
+        switch (value.getType()) {
+            case TEXT:
+                writeString(out, value.asText());
+                break;
+            case LONG:
+                out.writeLong(value.asLong());
+                writeString(out, value.getUnit());
+                break;
+            case DOUBLE:
+                out.writeDouble(value.asDouble());
+                out.writeByte(value.getDecimals());
+                writeString(out, value.getUnit());
+                break;
+            case BOOLEAN:
+                out.writeBoolean(value.asBoolean());
+                writeString(out, value.getTrueLabel());
+                writeString(out, value.getFalseLabel());
+                break;
+            case STRING_LIST:
+                out.writeInt(value.asList().size());
+                for (String item : value.asList()) {
+                    writeString(out, item);
+                }
+                writeString(out, value.getUnit());
+                break;
+            case BYTES:
+                out.writeInt(value.asBytes().length);
+                out.write(value.asBytes());
+                break;
+            case MAP:
+                out.writeInt(value.asMap().size());
+                for (Map.Entry<String, FingerprintValue> e : value.asMap().entrySet()) {
+                    writeString(out, e.getKey());
+                    writeValue(out, e.getValue());
+                }
+                break;
+        }
+    }
+
+    private static FingerprintValue readValue(DataInputStream in) throws IOException {
+        FingerprintValue.Type type = FingerprintValue.Type.values()[in.readUnsignedByte()];
+        switch (type) {
+            case LONG:
+                return FingerprintValue.ofLong(in.readLong(), readString(in));
+            case DOUBLE: {
+                double value = in.readDouble();
+                int decimals = in.readUnsignedByte();
+                return FingerprintValue.ofDouble(value, decimals, readString(in));
+            }
+            case BOOLEAN: {
+                boolean value = in.readBoolean();
+                String trueLabel = readString(in);
+                return FingerprintValue.ofBoolean(value, trueLabel, readString(in));
+            }
+            case STRING_LIST: {
+                int size = in.readInt();
+                List<String> items = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(readString(in));
+                }
+                return FingerprintValue.ofList(items, readString(in));
+            }
+            case BYTES: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return FingerprintValue.ofBytes(bytes);
+            }
+            case MAP: {
+                int size = in.readInt();
+                Map<String, FingerprintValue> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in);
+                    map.put(key, readValue(in));
+                }
+                return FingerprintValue.ofMap(map);
+            }
+            default:
+                return FingerprintValue.text(readString(in));
+        }
+    }
+
+    // DataOutputStream.writeUTF 限制 64KB，这里使用长度前缀的 UTF-8
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 一次收集的上下文
+ * 持有 Android Context 以及已就绪的共享输入，可在多个工作线程间共享
+ */
+public final class CollectorContext {
+
+    /** ConcurrentHashMap 不允许 null，用占位对象表示加载结果为空 */
+    private static final Object NULL_VALUE = new Object();
+
+    private final Context context;
+    private final Map<SharedInput<?>, Object> values = new ConcurrentHashMap<>();
+
+    public CollectorContext(Context context) {
+        this.context = context;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    /**
+     * 预先提供某个共享输入的值，调度器将不再加载它
+     */
+    public <T> void put(SharedInput<T> input, T value) {
+        values.put(input, value != null ? value : NULL_VALUE);
+    }
+
+    public boolean has(SharedInput<?> input) {
+        return values.containsKey(input);
+    }
+
+    /**
+     * 获取共享输入的值，未就绪或加载失败时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(SharedInput<T> input) {
+        Object value = values.get(input);
+        return value == NULL_VALUE ? null : (T) value;
+    }
+
+    /**
+     * 从属性缓存中获取值，为空时返回"未获取"
+     */
+    public String getProperty(String key) {
+        Map<String, String> properties = get(SharedInput.PROPERTIES);
+        String value = properties != null ? properties.get(key) : null;
+        if (value == null || value.isEmpty()) {
+            return "未获取";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kaze.devicefp.service.collector;
+
+import java.util.Locale;
+
+/**
+ * 单个收集器一次执行的耗时指标
+ * 墙钟时间、线程 CPU 时间和分配字节数；无法统计的项为 -1
+ */
+public final class CollectorMetrics {
+
+    public static final long UNKNOWN = -1;
+
+    private final String collectorName;
+    private final CollectorTier tier;
+    private final CollectorResult.Status status;
+    private final long wallMs;
+    private final long threadCpuMs;
+    private final long allocatedBytes;
+
+    public CollectorMetrics(String collectorName, CollectorTier tier, CollectorResult.Status status,
+                            long wallMs, long threadCpuMs, long allocatedBytes) {
+        this.collectorName = collectorName;
+        this.tier = tier;
+        this.status = status;
+        this.wallMs = wallMs;
+        this.threadCpuMs = threadCpuMs;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * 只有墙钟时间的指标（缓存命中、超时、跳过）
+     */
+    static CollectorMetrics wallOnly(Collector collector, CollectorResult.Status status, long wallMs) {
+        return new CollectorMetrics(collector.toString(), collector.getTier(), status, wallMs, UNKNOWN, UNKNOWN);
+    }
+
+    public String getCollectorName() {
+        return collectorName;
+    }
+
+    public CollectorTier getTier() {
+        return tier;
+    }
+
+    public CollectorResult.Status getStatus() {
+        return status;
+    }
+
+    public long getWallMs() {
+        return wallMs;
+    }
+
+    public long getThreadCpuMs() {
+        return threadCpuMs;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * 耗时摘要，如 "152ms cpu 40ms alloc 512KB SUCCESS"
+     */
+    public String formatCost() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(wallMs).append("ms");
+        if (threadCpuMs != UNKNOWN) {
+            sb.append(" cpu ").append(threadCpuMs).append("ms");
+        }
+        if (allocatedBytes != UNKNOWN) {
+            sb.append(" alloc ").append(formatBytes(allocatedBytes));
+        }
+        sb.append(' ').append(status);
+        return sb.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "B";
+        }
+        if (bytes < 1024 * 1024) {
+            return (bytes / 1024) + "KB";
+        }
+        return String.format(Locale.US, "%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+
+    @Override
+    public String toString() {
+        return collectorName + " " + formatCost();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SectionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 单个收集器的执行结果（状态、耗时、产出的指纹）
+ */
+public final class CollectorResult {
+
+    public enum Status {
+        SUCCESS,    // 正常完成
+        FAILED,     // 抛出异常
+        TIMED_OUT,  // 超过截止时间被取消
+        SKIPPED,    // 所在层级被跳过
+        CACHED      // 直接使用跨启动缓存或上一次仍有效的结果
+    }
+
+    private final Collector collector;
+    private final Status status;
+    private final long elapsedMs;
+    private final List<DeviceFingerprint> items;
+    private final CollectorMetrics metrics;
+
+    private CollectorResult(Collector collector, Status status, long elapsedMs, List<DeviceFingerprint> items,
+                            CollectorMetrics metrics) {
+        this.collector = collector;
+        this.status = status;
+        this.elapsedMs = elapsedMs;
+        this.items = items;
+        this.metrics = metrics != null ? metrics : CollectorMetrics.wallOnly(collector, status, elapsedMs);
+    }
+
+    /**
+     * @param threadCpuMs 线程 CPU 时间，无法统计时为 {@link CollectorMetrics#UNKNOWN}
+     * @param allocatedBytes 分配字节数，无法统计时为 {@link CollectorMetrics#UNKNOWN}
+     */
+    static CollectorResult success(Collector collector, long elapsedMs, long threadCpuMs, long allocatedBytes,
+                                   List<DeviceFingerprint> items) {
+        return new CollectorResult(collector, Status.SUCCESS, elapsedMs,
+                items != null ? items : Collections.<DeviceFingerprint>emptyList(),
+                new CollectorMetrics(collector.toString(), collector.getTier(), Status.SUCCESS,
+                        elapsedMs, threadCpuMs, allocatedBytes));
+    }
+
+    static CollectorResult failed(Collector collector, long elapsedMs) {
+        return new CollectorResult(collector, Status.FAILED, elapsedMs, Collections.<DeviceFingerprint>emptyList(),
+                null);
+    }
+
+    static CollectorResult skipped(Collector collector) {
+        return new CollectorResult(collector, Status.SKIPPED, 0, Collections.<DeviceFingerprint>emptyList(), null);
+    }
+
+    static CollectorResult cached(Collector collector, List<DeviceFingerprint> items) {
+        return new CollectorResult(collector, Status.CACHED, 0, items, null);
+    }
+
+    /**
+     * 超时结果：在收集器声明的每个板块放一条占位指纹，告知界面该分类未在截止时间内完成。
+     * 占位项名称带有“（收集超时）”后缀，不会与注册字段重名
+     */
+    static CollectorResult timedOut(Collector collector, long elapsedMs) {
+        String name = collector.getCategory() + "（收集超时）";
+        FingerprintValue value = FingerprintValue.text("收集超时（" + elapsedMs + " ms）");
+        List<DeviceFingerprint> placeholders = new ArrayList<>();
+        Set<String> sections = collector.getSections();
+        for (String title : sections.isEmpty() ? Collections.singleton(SectionType.OTHER.getTitle()) : sections) {
+            SectionType section = SectionType.fromTitle(title);
+            placeholders.add(new DeviceFingerprint(collector.getCategory(), name, value, FingerprintStatus.TIMED_OUT,
+                    section != null ? section : SectionType.OTHER));
+        }
+        return new CollectorResult(collector, Status.TIMED_OUT, elapsedMs,
+                Collections.unmodifiableList(placeholders), null);
+    }
+
+    public Collector getCollector() {
+        return collector;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isTimedOut() {
+        return status == Status.TIMED_OUT;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public List<DeviceFingerprint> getItems() {
+        return items;
+    }
+
+    public CollectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return collector + " " + status + " " + elapsedMs + "ms, " + items.size() + " items";
+    }
+}
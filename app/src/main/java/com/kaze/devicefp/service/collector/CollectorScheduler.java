@@ -0,0 +1,568 @@
+package com.kaze.devicefp.service.collector;
+
+import android.os.Debug;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 基于依赖关系的收集调度器
+ * 共享输入和收集器构成一张 DAG：每个共享输入只加载一次，
+ * 收集器在其依赖的输入全部就绪后立即在线程池中启动，结果按注册顺序合并。
+ * 每个收集器在截止时间内未完成时会被取消并以超时状态返回，其余结果照常返回；
+ * 共享输入的加载同样受默认截止时间约束，超时后依赖它的收集器以超时状态返回。
+ * 收集器按 {@link CollectorTier} 分层：FAST 层先执行，其余层级在 FAST 层完成后启动，
+ * EXPENSIVE 层在低优先级线程池中执行，也可以整体跳过。
+ * 设置了 {@link CollectorCache} 时，命中缓存的收集器直接返回上次的结果；
+ * 设置了 {@link InvalidationTracker} 时，失效来源未触发过的收集器复用上一次的结果。
+ * 多次调度并发请求同一个收集器时只执行一次，后来的调度共享正在进行的那次结果；
+ * 超时被放弃的收集器在真正结束前不会再次启动
+ */
+public class CollectorScheduler {
+
+    private static final String TAG = "CollectorScheduler";
+
+    /** 默认截止时间（毫秒） */
+    public static final long DEFAULT_DEADLINE_MS = 5000;
+    /** 每个线程池为被放弃的任务最多补充的线程数 */
+    private static final int MAX_EXTRA_THREADS = 4;
+
+    private final ExecutorService executor;
+    private final ExecutorService backgroundExecutor;
+    private final ScheduledExecutorService deadlineTimer;
+    private volatile long defaultDeadlineMs = DEFAULT_DEADLINE_MS;
+    private volatile boolean expensiveTierEnabled = true;
+    private volatile CollectorCache cache;
+    private volatile InvalidationTracker invalidationTracker;
+    private volatile boolean allocationTrackingEnabled;
+    // 正在执行的收集器（按对象身份），工作线程真正结束后才移除，超时返回不算结束
+    private final Map<Collector, CompletableFuture<CollectorResult>> inFlight =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+    // 每个线程池当前补充的线程数，同时作为调整线程池大小的锁
+    private final Map<ExecutorService, Integer> extraThreads = new IdentityHashMap<>();
+
+    public CollectorScheduler(ExecutorService executor) {
+        this(executor, executor);
+    }
+
+    /**
+     * @param executor 执行 FAST / STANDARD 层收集器和共享输入加载
+     * @param backgroundExecutor 执行 EXPENSIVE 层收集器（建议使用低优先级线程）
+     */
+    public CollectorScheduler(ExecutorService executor, ExecutorService backgroundExecutor) {
+        this.executor = executor;
+        this.backgroundExecutor = backgroundExecutor;
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "fp-collector-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        this.deadlineTimer = timer;
+    }
+
+    /**
+     * 设置默认截止时间，收集器未声明自己的截止时间时使用
+     * @param deadlineMs 毫秒，小于等于 0 表示不限时
+     */
+    public void setDefaultDeadlineMs(long deadlineMs) {
+        this.defaultDeadlineMs = deadlineMs;
+    }
+
+    public long getDefaultDeadlineMs() {
+        return defaultDeadlineMs;
+    }
+
+    /**
+     * 是否执行 EXPENSIVE 层，关闭后这些收集器以 SKIPPED 状态返回
+     */
+    public void setExpensiveTierEnabled(boolean enabled) {
+        this.expensiveTierEnabled = enabled;
+    }
+
+    public boolean isExpensiveTierEnabled() {
+        return expensiveTierEnabled;
+    }
+
+    /**
+     * 设置跨启动缓存，命中的收集器不再执行；null 表示不使用缓存
+     */
+    public void setCache(CollectorCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * 设置失效跟踪器，结果未失效的收集器直接复用上一次的结果；null 表示每次全部重新收集
+     */
+    public void setInvalidationTracker(InvalidationTracker tracker) {
+        this.invalidationTracker = tracker;
+    }
+
+    /**
+     * 是否统计每个收集器的分配字节数
+     * 依赖 Debug.startAllocCounting()，会拖慢整个进程的分配，只在调试时开启
+     */
+    @SuppressWarnings("deprecation")
+    public synchronized void setAllocationTrackingEnabled(boolean enabled) {
+        if (enabled == allocationTrackingEnabled) {
+            return;
+        }
+        if (enabled) {
+            Debug.startAllocCounting();
+        } else {
+            Debug.stopAllocCounting();
+        }
+        allocationTrackingEnabled = enabled;
+    }
+
+    /**
+     * 停止截止时间计时器
+     */
+    public void shutdown() {
+        deadlineTimer.shutdownNow();
+    }
+
+    /**
+     * 调度执行所有收集器并等待完成
+     * @param collectors 收集器列表（结果按此顺序合并）
+     * @param context 收集上下文，已 put 的共享输入不会重复加载
+     * @return 合并后的指纹列表
+     */
+    public List<DeviceFingerprint> run(List<Collector> collectors, CollectorContext context) {
+        return run(collectors, context, null);
+    }
+
+    /**
+     * 调度执行所有收集器，每个收集器完成后立即通过 listener 推送结果
+     * @param listener 流式回调，可为 null
+     */
+    public List<DeviceFingerprint> run(List<Collector> collectors, CollectorContext context,
+                                       CollectionListener listener) {
+        return collect(collectors, context, listener).getFingerprints();
+    }
+
+    /**
+     * 调度执行所有收集器，返回合并后的指纹列表以及每个收集器的耗时指标
+     * @param listener 流式回调，可为 null
+     */
+    public CollectionReport collect(List<Collector> collectors, CollectorContext context,
+                                    CollectionListener listener) {
+        long start = SystemClock.elapsedRealtime();
+        List<DeviceFingerprint> fingerprints = new ArrayList<>();
+        List<CollectorMetrics> metrics = new ArrayList<>();
+        for (CollectorResult result : execute(collectors, context, listener)) {
+            fingerprints.addAll(result.getItems());
+            metrics.add(result.getMetrics());
+        }
+        if (listener != null) {
+            listener.onCollectionFinished(fingerprints);
+        }
+        return new CollectionReport(fingerprints, metrics, SystemClock.elapsedRealtime() - start);
+    }
+
+    /**
+     * 调度执行所有收集器并返回每个收集器的结果（含状态和耗时）
+     * @return 按注册顺序排列的结果
+     */
+    public List<CollectorResult> execute(List<Collector> collectors, CollectorContext context,
+                                         CollectionListener listener) {
+        Map<Collector, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < collectors.size(); i++) {
+            indexes.put(collectors.get(i), i);
+        }
+
+        // 命中跨启动缓存或上一次结果仍有效的收集器直接返回，不再加载它们依赖的共享输入
+        CollectorCache cache = this.cache;
+        InvalidationTracker tracker = this.invalidationTracker;
+        Map<Collector, CompletableFuture<CollectorResult>> results = new IdentityHashMap<>();
+        Map<Collector, CompletableFuture<CollectorResult>> owned = new IdentityHashMap<>();
+        List<Collector> pending = new ArrayList<>();
+        for (Collector collector : collectors) {
+            List<DeviceFingerprint> cached = cache != null ? cache.get(collector) : null;
+            if (cached == null && tracker != null) {
+                CollectorResult previous = tracker.getValidResult(collector);
+                cached = previous != null ? previous.getItems() : null;
+            }
+            if (cached != null) {
+                results.put(collector, withListener(
+                        CompletableFuture.completedFuture(CollectorResult.cached(collector, cached)),
+                        listener, indexes.get(collector)));
+                continue;
+            }
+            // 跳过的收集器不执行，也不加载它依赖的共享输入
+            if (collector.getTier() == CollectorTier.EXPENSIVE && !expensiveTierEnabled) {
+                results.put(collector, withListener(
+                        CompletableFuture.completedFuture(CollectorResult.skipped(collector)),
+                        listener, indexes.get(collector)));
+                continue;
+            }
+            // 另一次调度正在执行同一个收集器（或超时后仍未结束）时共享它的结果，避免并发执行有状态的收集器
+            CompletableFuture<CollectorResult> own = new CompletableFuture<>();
+            CompletableFuture<CollectorResult> running = inFlight.putIfAbsent(collector, own);
+            if (running != null) {
+                results.put(collector, withListener(running, listener, indexes.get(collector)));
+            } else {
+                owned.put(collector, own);
+                pending.add(collector);
+            }
+        }
+
+        Map<SharedInput<?>, CompletableFuture<Void>> inputs = scheduleInputs(pending, context);
+
+        // 按预估耗时从高到低启动，耗时长的收集器尽早开始
+        List<Collector> launchOrder = new ArrayList<>(pending);
+        Collections.sort(launchOrder, (a, b) -> Long.compare(b.getEstimatedCostMs(), a.getEstimatedCostMs()));
+
+        // FAST 层没有前置条件，其余层级等待 FAST 层全部完成（并已推送）后再启动
+        List<CompletableFuture<CollectorResult>> fastTier = new ArrayList<>();
+        for (Collector collector : launchOrder) {
+            if (collector.getTier() == CollectorTier.FAST) {
+                CompletableFuture<CollectorResult> future = withListener(
+                        scheduleCollector(collector, inputs, context, null, executor, owned.get(collector)),
+                        listener, indexes.get(collector));
+                fastTier.add(future);
+                results.put(collector, future);
+            }
+        }
+        CompletableFuture<Void> fastTierDone = CompletableFuture.allOf(fastTier.toArray(new CompletableFuture[0]));
+        for (Collector collector : launchOrder) {
+            CollectorTier tier = collector.getTier();
+            CompletableFuture<CollectorResult> future = owned.get(collector);
+            if (tier == CollectorTier.FAST) {
+                continue;
+            }
+            ExecutorService target = tier == CollectorTier.EXPENSIVE ? backgroundExecutor : executor;
+            scheduleCollector(collector, inputs, context, fastTierDone, target, future);
+            results.put(collector, withListener(future, listener, indexes.get(collector)));
+        }
+
+        List<CollectorResult> ordered = new ArrayList<>();
+        for (Collector collector : collectors) {
+            CollectorResult result = results.get(collector).join();
+            if (result.getStatus() == CollectorResult.Status.FAILED
+                    || result.getStatus() == CollectorResult.Status.TIMED_OUT) {
+                Log.w(TAG, "Partial result: " + result);
+            }
+            if (cache != null && result.getStatus() == CollectorResult.Status.SUCCESS) {
+                cache.put(collector, result.getItems());
+            }
+            ordered.add(result);
+        }
+        if (cache != null) {
+            cache.saveIfDirty();
+        }
+        return ordered;
+    }
+
+    /**
+     * 为所有收集器依赖的共享输入创建加载任务（每个输入只加载一次）
+     */
+    private Map<SharedInput<?>, CompletableFuture<Void>> scheduleInputs(List<Collector> collectors,
+                                                                       CollectorContext context) {
+        Map<SharedInput<?>, CompletableFuture<Void>> inputs = new HashMap<>();
+        for (Collector collector : collectors) {
+            for (SharedInput<?> input : collector.getRequiredInputs()) {
+                if (inputs.containsKey(input)) {
+                    continue;
+                }
+                if (context.has(input)) {
+                    inputs.put(input, CompletableFuture.completedFuture(null));
+                } else {
+                    inputs.put(input, scheduleInput(input, context));
+                }
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * 在线程池中加载共享输入；超过默认截止时间仍未完成时以 TimeoutException 结束，
+     * 被放弃的加载按收集器超时的方式处理
+     */
+    private CompletableFuture<Void> scheduleInput(SharedInput<?> input, CollectorContext context) {
+        CompletableFuture<Void> loaded = new CompletableFuture<>();
+        long deadlineMs = defaultDeadlineMs;
+        try {
+            executor.execute(() -> {
+                long start = SystemClock.elapsedRealtime();
+                Attempt attempt = new Attempt();
+                ScheduledFuture<?> timeout = scheduleDeadline(attempt, deadlineMs, executor, () -> {
+                    long elapsed = SystemClock.elapsedRealtime() - start;
+                    if (!loaded.completeExceptionally(new TimeoutException(
+                            "Shared input " + input + " timed out after " + elapsed + " ms"))) {
+                        return false;
+                    }
+                    Log.w(TAG, "Shared input timed out after " + elapsed + " ms: " + input);
+                    return true;
+                });
+                loadInput(input, context);
+                if (!finishAttempt(attempt, timeout, executor)) {
+                    loaded.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loaded.completeExceptionally(e);
+        }
+        return loaded;
+    }
+
+    private static <T> void loadInput(SharedInput<T> input, CollectorContext context) {
+        T value = null;
+        Trace.beginSection("fp:input:" + input.getName());
+        try {
+            value = input.load(context.getContext());
+        } catch (Exception e) {
+            // 加载失败时放入 null，由收集器自行处理缺失的输入
+            Log.e(TAG, "Failed to load shared input: " + input, e);
+        } finally {
+            Trace.endSection();
+        }
+        context.put(input, value);
+    }
+
+    /**
+     * 在收集器依赖的输入（以及所在层级的前置条件）全部就绪后启动它
+     * @param gate 层级前置条件，可为 null
+     * @param target 执行该收集器的线程池
+     * @param result 收集器结束时完成的 future
+     * @return result
+     */
+    private CompletableFuture<CollectorResult> scheduleCollector(
+            Collector collector, Map<SharedInput<?>, CompletableFuture<Void>> inputs, CollectorContext context,
+            CompletableFuture<Void> gate, ExecutorService target, CompletableFuture<CollectorResult> result) {
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (SharedInput<?> input : collector.getRequiredInputs()) {
+            dependencies.add(inputs.get(input));
+        }
+        if (gate != null) {
+            dependencies.add(gate);
+        }
+        long scheduledAt = SystemClock.elapsedRealtime();
+        CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        // 依赖的输入超时或前置层级异常结束，不再执行该收集器
+                        inFlight.remove(collector, result);
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof TimeoutException) {
+                            Log.w(TAG, "Shared input timed out for " + collector);
+                            result.complete(CollectorResult.timedOut(collector,
+                                    SystemClock.elapsedRealtime() - scheduledAt));
+                        } else {
+                            Log.e(TAG, "Dependencies failed for " + collector, error);
+                            result.complete(CollectorResult.failed(collector, 0));
+                        }
+                        return;
+                    }
+                    try {
+                        target.execute(() -> runWithDeadline(collector, context, result, target));
+                    } catch (RejectedExecutionException e) {
+                        Log.w(TAG, "Collector rejected (executor shut down): " + collector);
+                        inFlight.remove(collector, result);
+                        result.complete(CollectorResult.failed(collector, 0));
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * 在工作线程中执行收集器；截止时间从真正开始执行时计算，排队时间不计入
+     */
+    private void runWithDeadline(Collector collector, CollectorContext context,
+                                 CompletableFuture<CollectorResult> result, ExecutorService pool) {
+        long start = SystemClock.elapsedRealtime();
+        long deadlineMs = collector.getDeadlineMs() > 0 ? collector.getDeadlineMs() : defaultDeadlineMs;
+        InvalidationTracker tracker = this.invalidationTracker;
+        int generation = tracker != null ? tracker.begin(collector) : 0;
+        Attempt attempt = new Attempt();
+        ScheduledFuture<?> timeout = scheduleDeadline(attempt, deadlineMs, pool, () -> {
+            long elapsed = SystemClock.elapsedRealtime() - start;
+            if (!result.complete(CollectorResult.timedOut(collector, elapsed))) {
+                return false;
+            }
+            Log.w(TAG, "Collector timed out after " + elapsed + " ms: " + collector);
+            return true;
+        });
+
+        CollectorResult collected = runCollector(collector, context, start);
+        boolean abandoned = finishAttempt(attempt, timeout, pool);
+        if (!abandoned) {
+            result.complete(collected);
+            if (tracker != null) {
+                tracker.record(collector, generation, collected);
+            }
+        } else {
+            Log.w(TAG, "Abandoned collector finished after " + collected.getElapsedMs() + " ms: " + collector);
+        }
+        // 真正结束后才允许下一次调度重新执行该收集器
+        inFlight.remove(collector, result);
+    }
+
+    /**
+     * 为当前线程上的一次执行安排截止时间：到期时仍在执行且 expire 成功交付了超时结果，
+     * 则放弃该执行——中断可中断的阻塞调用；不可中断的调用会继续占用线程，先补一个线程顶替
+     * @param expire 交付超时结果，结果已交付时返回 false
+     * @return 计时任务，不限时时为 null
+     */
+    private ScheduledFuture<?> scheduleDeadline(Attempt attempt, long deadlineMs, ExecutorService pool,
+                                                BooleanSupplier expire) {
+        if (deadlineMs <= 0) {
+            return null;
+        }
+        Thread worker = Thread.currentThread();
+        return deadlineTimer.schedule(() -> {
+            synchronized (attempt) {
+                if (attempt.state != Attempt.RUNNING || !expire.getAsBoolean()) {
+                    return;
+                }
+                attempt.state = Attempt.ABANDONED;
+                attempt.grown = growPool(pool);
+                worker.interrupt();
+            }
+        }, deadlineMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 执行结束时调用：取消计时；若已被放弃，清除计时器的中断并归还补充的线程，
+     * 避免中断带入下一个任务（可中断通道上的读取会因此被永久关闭）
+     * @return 是否已被放弃（超时结果已交付）
+     */
+    private boolean finishAttempt(Attempt attempt, ScheduledFuture<?> timeout, ExecutorService pool) {
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        boolean abandoned;
+        boolean grown;
+        synchronized (attempt) {
+            // 之后计时器不再动作；若已放弃，中断和扩容都已在锁内完成
+            abandoned = attempt.state == Attempt.ABANDONED;
+            grown = attempt.grown;
+            attempt.state = Attempt.FINISHED;
+        }
+        if (abandoned) {
+            Thread.interrupted();
+            if (grown) {
+                shrinkPool(pool);
+            }
+        }
+        return abandoned;
+    }
+
+    /**
+     * 一次执行的放弃状态，计时器和工作线程在同一把锁下读写
+     */
+    private static final class Attempt {
+        static final int RUNNING = 0;
+        static final int ABANDONED = 1;
+        static final int FINISHED = 2;
+
+        int state = RUNNING;
+        boolean grown; // 放弃时是否扩大了线程池
+    }
+
+    /**
+     * 执行收集器并记录墙钟时间、线程 CPU 时间和分配字节数（在 systrace / Perfetto 中显示为 fp:类名）
+     */
+    @SuppressWarnings("deprecation")
+    private CollectorResult runCollector(Collector collector, CollectorContext context, long start) {
+        Trace.beginSection("fp:" + collector.getClass().getSimpleName());
+        long cpuStart = Debug.threadCpuTimeNanos();
+        boolean countAllocations = allocationTrackingEnabled;
+        long allocStart = countAllocations ? Debug.getThreadAllocSize() : 0;
+        try {
+            List<DeviceFingerprint> items = collector.collect(context);
+            long cpuEnd = Debug.threadCpuTimeNanos();
+            long threadCpuMs = cpuStart >= 0 && cpuEnd >= 0
+                    ? TimeUnit.NANOSECONDS.toMillis(cpuEnd - cpuStart) : CollectorMetrics.UNKNOWN;
+            long allocatedBytes = countAllocations
+                    ? Debug.getThreadAllocSize() - allocStart : CollectorMetrics.UNKNOWN;
+            return CollectorResult.success(collector, SystemClock.elapsedRealtime() - start,
+                    threadCpuMs, allocatedBytes, items);
+        } catch (Exception e) {
+            // 单个收集器失败不影响其他收集器
+            Log.e(TAG, "Collector failed: " + collector, e);
+            return CollectorResult.failed(collector, SystemClock.elapsedRealtime() - start);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * 收集器完成后立即推送结果
+     */
+    private static CompletableFuture<CollectorResult> withListener(CompletableFuture<CollectorResult> future,
+                                                                  CollectionListener listener, int index) {
+        if (listener == null) {
+            return future;
+        }
+        return future.thenApply(result -> {
+            notifyCollectorFinished(listener, index, result);
+            return result;
+        });
+    }
+
+    private static void notifyCollectorFinished(CollectionListener listener, int index, CollectorResult result) {
+        try {
+            listener.onCollectorFinished(index, result);
+        } catch (Exception e) {
+            // 回调异常不能影响合并结果
+            Log.e(TAG, "CollectionListener failed for " + result.getCollector(), e);
+        }
+    }
+
+    /**
+     * 被放弃的任务仍占着线程时临时扩大线程池，避免后续收集被饿死；每个线程池最多补充
+     * {@link #MAX_EXTRA_THREADS} 个线程，达到上限后不再扩大
+     * @return 是否扩大了线程池
+     */
+    private boolean growPool(ExecutorService executor) {
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            return false;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        synchronized (extraThreads) {
+            int extra = extraThreads.getOrDefault(executor, 0);
+            if (extra >= MAX_EXTRA_THREADS) {
+                Log.w(TAG, "Thread pool already grown by " + extra + " threads, not growing further");
+                return false;
+            }
+            pool.setMaximumPoolSize(pool.getMaximumPoolSize() + 1);
+            pool.setCorePoolSize(pool.getCorePoolSize() + 1);
+            extraThreads.put(executor, extra + 1);
+        }
+        return true;
+    }
+
+    /**
+     * 只在对应的 {@link #growPool} 成功后调用
+     */
+    private void shrinkPool(ExecutorService executor) {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        synchronized (extraThreads) {
+            pool.setCorePoolSize(pool.getCorePoolSize() - 1);
+            pool.setMaximumPoolSize(pool.getMaximumPoolSize() - 1);
+            extraThreads.put(executor, extraThreads.get(executor) - 1);
+        }
+    }
+}
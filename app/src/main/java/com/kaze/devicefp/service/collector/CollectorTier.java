@@ -0,0 +1,27 @@
+package com.kaze.devicefp.service.collector;
+
+/**
+ * 收集器耗时层级
+ * FAST 层最先执行并渲染；其余层级在 FAST 层完成后启动，EXPENSIVE 层使用低优先级线程且可整体跳过
+ */
+public enum CollectorTier {
+    FAST,       // 微秒到几毫秒：Build 字段、Settings 值
+    STANDARD,   // 几十毫秒：binder 查询、sysfs 读取
+    EXPENSIVE;  // 数百毫秒：密钥生成、EGL 上下文、大文件哈希、MediaCodecList 枚举
+
+    private static final long FAST_MAX_COST_MS = 10;
+    private static final long STANDARD_MAX_COST_MS = 100;
+
+    /**
+     * 根据预估耗时划分层级
+     */
+    public static CollectorTier fromCost(long estimatedCostMs) {
+        if (estimatedCostMs <= FAST_MAX_COST_MS) {
+            return FAST;
+        }
+        if (estimatedCostMs <= STANDARD_MAX_COST_MS) {
+            return STANDARD;
+        }
+        return EXPENSIVE;
+    }
+}
@@ -0,0 +1,105 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.CpuFrequencyResidency;
+import com.kaze.devicefp.model.CpuTopology;
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CPU 频率分布收集器
+ * 每个簇一段直方图：各频点的停留时间占比、切换次数、峰值频率与硬件上限。
+ * 统计窗口固定为近 {@link #WINDOW_MS} 毫秒：与时间上最接近该长度之前的一次收集做差，
+ * 标签显示实际窗口长度（首次为开机以来），不随刷新频率变化，可看出调频行为和温控限频
+ */
+public class CpuResidencyCollector extends AbstractCollector {
+
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_CPU);
+    private static final int BAR_WIDTH = 10;
+    static final long WINDOW_MS = 60_000;
+
+    // 进程内共享，窗口跨越多次收集
+    private static CpuFrequencyResidency residency;
+
+    public CpuResidencyCollector() {
+        super("CPU频率分布", 5);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    private static synchronized CpuFrequencyResidency getResidency() {
+        if (residency == null) {
+            residency = new CpuFrequencyResidency(CpuTopology.get(), WINDOW_MS,
+                    CpuFrequencyResidency.DEFAULT_BASELINES);
+        }
+        return residency;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        List<CpuFrequencyResidency.Histogram> histograms = getResidency().sample();
+        String category = getCategory();
+        if (histograms.isEmpty()) {
+            return List.of(new DeviceFingerprint(category, "CPU频率分布", "未获取", FingerprintStatus.MISSING));
+        }
+        StringBuilder sb = new StringBuilder();
+        for (CpuFrequencyResidency.Histogram histogram : histograms) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            appendHistogram(sb, histogram);
+        }
+        return List.of(new DeviceFingerprint(category, "CPU频率分布", sb.toString(), FingerprintStatus.COLLECTED));
+    }
+
+    static void appendHistogram(StringBuilder sb, CpuFrequencyResidency.Histogram histogram) {
+        CpuTopology.Policy policy = histogram.getPolicy();
+        int[] cpus = policy.getCpus();
+        sb.append("簇").append(policy.getIndex()).append(" (CPU").append(cpus[0]);
+        if (cpus.length > 1) {
+            sb.append('-').append(cpus[cpus.length - 1]);
+        }
+        sb.append(") ");
+        if (histogram.isSinceBoot()) {
+            sb.append("开机以来");
+        } else {
+            sb.append("近").append((histogram.getWindowMs() + 500) / 1000).append("秒");
+        }
+        if (histogram.getTransitions() >= 0) {
+            sb.append("，切换").append(histogram.getTransitions()).append("次");
+        }
+        sb.append("\n峰值 ").append(formatFrequency(histogram.getPeakFrequency()))
+                .append(" / 上限 ").append(formatFrequency(policy.getMaxFreq()));
+        if (histogram.getTotalTimeMs() == 0) {
+            sb.append("\n  无数据");
+            return;
+        }
+        // 只列出停留过的频点
+        for (int i = 0; i < histogram.getStateCount(); i++) {
+            if (histogram.getTimeMs(i) == 0) {
+                continue;
+            }
+            double fraction = histogram.getFraction(i);
+            int filled = (int) Math.round(fraction * BAR_WIDTH);
+            sb.append("\n  ").append(String.format(Locale.US, "%9s ", formatFrequency(histogram.getFrequency(i))));
+            for (int b = 0; b < BAR_WIDTH; b++) {
+                sb.append(b < filled ? '█' : '░');
+            }
+            sb.append(String.format(Locale.US, " %5.1f%%", fraction * 100));
+        }
+    }
+
+    private static String formatFrequency(long freqKhz) {
+        if (freqKhz >= 1000000) {
+            return String.format(Locale.US, "%.2f GHz", freqKhz / 1000000.0);
+        }
+        return String.format(Locale.US, "%.0f MHz", freqKhz / 1000.0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kaze.devicefp.service.collector;
+
+import android.os.Build;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 设备基本信息收集器（品牌、型号、基带等）
+ */
+public class DeviceInfoCollector extends AbstractCollector {
+
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_DEVICE);
+
+    public DeviceInfoCollector() {
+        super("设备信息", 1, SharedInput.PROPERTIES);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        
+        // 使用 PropertyParser 解析的属性
+        String brand = collectorContext.getProperty("ro.product.brand");
+        String model = collectorContext.getProperty("ro.product.model");
+        String manufacturer = collectorContext.getProperty("ro.product.manufacturer");
+        String productName = collectorContext.getProperty("ro.product.name");
+        String deviceName = collectorContext.getProperty("ro.product.device");
+        String hardware = collectorContext.getProperty("ro.hardware");
+        String radioV = Build.getRadioVersion();
+        
+        list.add(new DeviceFingerprint(category, "设备品牌", brand, 
+                brand.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "设备型号", model, 
+                model.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "制造商", manufacturer, 
+                manufacturer.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "产品名称", productName, 
+                productName.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "设备名称", deviceName, 
+                deviceName.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "硬件", hardware, 
+                hardware.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "基带", radioV, radioV.isEmpty() ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        
+        return list;
+    }
+}
@@ -0,0 +1,132 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.provider.Settings;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.ScreenInfo;
+import com.kaze.devicefp.model.ScreenInfoManager;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 屏幕信息收集器（使用 ScreenInfoManager / ScreenInfo）
+ */
+public class DisplayInfoCollector extends AbstractCollector {
+
+    private static final String TAG = "DisplayInfoCollector";
+    // "屏幕信息"汇总项不在屏幕板块的键集合中，归入系统信息板块
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_SCREEN,
+            SectionGroupHelper.SECTION_OTHER);
+    private static final Set<InvalidationSource> INVALIDATION_SOURCES = Set.of(InvalidationSource.CONFIGURATION_CHANGED,
+            InvalidationSource.SCREEN_SETTINGS_CHANGED);
+
+    public DisplayInfoCollector() {
+        super("屏幕信息", 20, SharedInput.DISPLAY_METRICS);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return INVALIDATION_SOURCES;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+
+        try {
+            String screenPhysicalSize = ScreenInfoManager.getScreenPhysicalSize(context);
+
+            ScreenInfo info = ScreenInfoManager.getCompleteScreenInfo(context,
+                    collectorContext.get(SharedInput.DISPLAY_METRICS));
+
+            // 分辨率（宽x高）
+            String resolution = info.getResolution();
+            list.add(new DeviceFingerprint(category, "分辨率", resolution, FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "屏幕计算尺寸", screenPhysicalSize, (TextUtils.isEmpty(screenPhysicalSize)) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+
+            // 屏幕宽度/高度（像素）
+            list.add(new DeviceFingerprint(category, "屏幕宽度", FingerprintValue.ofLong(info.getWidthPixels(), " px"), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "屏幕高度", FingerprintValue.ofLong(info.getHeightPixels(), " px"), FingerprintStatus.COLLECTED));
+
+            // 宽高比
+            String aspectRatio = info.getAspectRatio();
+            list.add(new DeviceFingerprint(category, "宽高比", aspectRatio != null ? aspectRatio : "未知", FingerprintStatus.COLLECTED));
+
+            // 屏幕尺寸与类别
+            list.add(new DeviceFingerprint(category, "屏幕尺寸", FingerprintValue.ofDouble(info.getDiagonalInches(), 1, " 英寸"), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "屏幕类别", info.getSizeCategory(), FingerprintStatus.COLLECTED));
+
+            // 密度相关
+            list.add(new DeviceFingerprint(category, "屏幕密度", String.valueOf(info.getDensity()), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "密度类别", info.getDensityCategory(), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "PPI", FingerprintValue.ofLong(info.getPpi()), FingerprintStatus.COLLECTED));
+            Map<String, FingerprintValue> dpi = new LinkedHashMap<>();
+            dpi.put("XDPI", FingerprintValue.ofDouble(info.getXdpi(), 1, null));
+            dpi.put("YDPI", FingerprintValue.ofDouble(info.getYdpi(), 1, null));
+            list.add(new DeviceFingerprint(category, "XDPI / YDPI", FingerprintValue.ofMap(dpi), FingerprintStatus.COLLECTED));
+
+            // 系统 UI 高度
+            list.add(new DeviceFingerprint(category, "状态栏高度", FingerprintValue.ofLong(info.getStatusBarHeight(), " px"), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "导航栏高度", FingerprintValue.ofLong(info.getNavigationBarHeight(), " px"), FingerprintStatus.COLLECTED));
+
+            // 刷新率
+            list.add(new DeviceFingerprint(category, "刷新率", FingerprintValue.ofDouble(info.getRefreshRate(), 1, " Hz"), FingerprintStatus.COLLECTED));
+            if (info.getSupportedRefreshRates() != null && info.getSupportedRefreshRates().length > 0) {
+                List<String> labels = new ArrayList<>();
+                for (float r : info.getSupportedRefreshRates()) {
+                    labels.add(Math.round(r) + " Hz");
+                }
+                list.add(new DeviceFingerprint(category, "支持刷新率", FingerprintValue.ofList(labels, ", "),
+                        FingerprintStatus.COLLECTED));
+            }
+
+            // 亮度
+            Map<String, FingerprintValue> brightness = new LinkedHashMap<>();
+            brightness.put("亮度", FingerprintValue.ofLong(info.getBrightness()));
+            brightness.put("百分比", FingerprintValue.ofDouble(info.getBrightnessPercent(), 0, "%"));
+            list.add(new DeviceFingerprint(category, "当前亮度", FingerprintValue.ofMap(brightness), FingerprintStatus.COLLECTED));
+
+            // 屏幕超时
+            list.add(new DeviceFingerprint(category, "屏幕超时", info.getScreenTimeoutFormatted(), FingerprintStatus.COLLECTED));
+
+            // 设备信息（与屏幕相关）
+            String manufacturer = info.getManufacturer();
+            String model = info.getModel();
+            list.add(new DeviceFingerprint(category, "屏幕制造商", manufacturer != null ? manufacturer : "未知", FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "屏幕型号", model != null ? model : "未知", FingerprintStatus.COLLECTED));
+
+            int screenBrightnessMode = Settings.System.getInt(context.getContentResolver(), "screen_brightness_mode");
+            list.add(new DeviceFingerprint(category, "亮度模式", FingerprintValue.ofBoolean(screenBrightnessMode == 0, "手动", "自动"), FingerprintStatus.COLLECTED));
+            int screenBright = ScreenInfoManager.getScreenBright(context);
+            list.add(new DeviceFingerprint(category, "亮度大小", FingerprintValue.ofLong(screenBright), FingerprintStatus.COLLECTED));
+
+            int accelerometer_rotationMode = Settings.System.getInt(context.getContentResolver(), "accelerometer_rotation");
+            list.add(new DeviceFingerprint(category, "旋转模式", FingerprintValue.ofBoolean(accelerometer_rotationMode == 0, "锁定", "自动"), FingerprintStatus.COLLECTED));
+
+
+
+        } catch (Exception e) {
+            Log.e(TAG, "获取屏幕信息失败", e);
+            list.add(new DeviceFingerprint(category, "屏幕信息", "获取失败", FingerprintStatus.MISSING));
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,83 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.kaze.devicefp.model.CpuInfoReader;
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.MemoryInfoReader;
+import com.kaze.devicefp.model.StorageInfoManager;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 硬件信息收集器（CPU、内存、存储），电池信息见 {@link BatteryInfoCollector}
+ */
+public class HardwareInfoCollector extends AbstractCollector {
+
+    private static final String TAG = "HardwareInfoCollector";
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_CPU,
+            SectionGroupHelper.SECTION_MEMORY, SectionGroupHelper.SECTION_STORAGE);
+
+    public HardwareInfoCollector() {
+        super("硬件信息", 35, SharedInput.PROPERTIES);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        
+        // 使用 CpuInfoReader 获取CPU相关信息
+        CpuInfoReader cpuInfoReader = new CpuInfoReader();
+        
+        // CPU架构
+        String cpuAbi = collectorContext.getProperty("ro.product.cpu.abi");
+        list.add(new DeviceFingerprint(category, "CPU架构", cpuAbi, 
+                cpuAbi.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        
+        // CPU核心数
+        int cpuCoreCount = cpuInfoReader.getCpuCoreCount();
+        FingerprintValue coreCount = cpuCoreCount > 0 ? FingerprintValue.ofLong(cpuCoreCount)
+                : FingerprintValue.text("未获取");
+        list.add(new DeviceFingerprint(category, "CPU核心数", coreCount, 
+                cpuCoreCount > 0 ? FingerprintStatus.COLLECTED : FingerprintStatus.MISSING));
+        
+        // CPU频率（根据核心数展示）
+        String cpuFreq = cpuInfoReader.getCpuFrequencyInfo();
+        list.add(new DeviceFingerprint(category, "CPU频率", cpuFreq, 
+                cpuFreq.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        
+        // 内存信息
+        String memoryInfo;
+        try (MemoryInfoReader memoryInfoReader = new MemoryInfoReader()) {
+            memoryInfo = memoryInfoReader.getFormattedMemoryInfo();
+        }
+        list.add(new DeviceFingerprint(category, "内存信息", memoryInfo, 
+                memoryInfo.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        
+        // 存储信息（合并总存储空间和可用存储空间）
+        try {
+            long totalStorage = StorageInfoManager.getTotalStorageCapacity(context);
+            long availableStorage = StorageInfoManager.getTotalAvailableStorage(context);
+            String storageInfo = totalStorage + "/" + availableStorage;
+            list.add(new DeviceFingerprint(category, "存储信息", storageInfo, FingerprintStatus.COLLECTED));
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting storage info", e);
+            list.add(new DeviceFingerprint(category, "存储信息", "获取失败", FingerprintStatus.MISSING));
+        }
+        
+        return list;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kaze.devicefp.service.collector;
+
+import android.app.KeyguardManager;
+import android.content.Context;
+import android.os.SystemClock;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SettingsSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 设备标识符收集器（运行时间、铃声、锁屏、输入法、辅助服务等随设置变化的信息）
+ * 重启或升级前不变的标识已拆分到 {@link SystemFeatureCollector}，
+ * 耗时较大的解码器、系统文件哈希、Attestation、OpenGL 也已拆分为独立的收集器
+ */
+public class IdentifierCollector extends AbstractCollector {
+
+    public IdentifierCollector() {
+        super("其他信息", 60);
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        long cpuTime = SystemClock.uptimeMillis();
+        long bootime = SystemClock.elapsedRealtime();
+
+        list.add(new DeviceFingerprint(category, "CPU运行时间", FingerprintValue.ofLong(cpuTime), FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "开机运行时间", FingerprintValue.ofLong(bootime), FingerprintStatus.COLLECTED));
+
+        int ringerMode = SettingsSettings.getRingerMode(context);
+        String ringerModeS = "";
+        if (ringerMode == 0){
+            ringerModeS = "静音";
+        }
+        if (ringerMode == 1){
+            ringerModeS = "震动";
+        }
+        if (ringerMode == 2){
+            ringerModeS = "初音";
+        }
+        list.add(new DeviceFingerprint(category, "铃声模式", ringerModeS, ("".equals(ringerModeS)) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        StringBuilder audioInfo = SettingsSettings.getAudioInfo(context);
+        list.add(new DeviceFingerprint(category, "铃声大小", audioInfo.toString(),FingerprintStatus.COLLECTED));
+
+        boolean keyguard = ((KeyguardManager) context.getSystemService("keyguard")).inKeyguardRestrictedInputMode();
+        list.add(new DeviceFingerprint(category, "是否处于锁屏", FingerprintValue.ofBoolean(keyguard), FingerprintStatus.COLLECTED));
+
+        String keyPinTime = SettingsSettings.getKeyPinTime(context);
+        list.add(new DeviceFingerprint(category, "锁屏密码和编辑时间", keyPinTime, FingerprintStatus.COLLECTED));
+
+        int appOP = SettingsSettings.getAppOP(context);
+        list.add(new DeviceFingerprint(category, "是否被授予悬浮窗", FingerprintValue.ofBoolean(appOP == 1, "是", "否/检查异常"), FingerprintStatus.COLLECTED));
+
+        String installedAccessibilityServices = SettingsSettings.getInstalledAccessibilityServices(context);
+        list.add(new DeviceFingerprint(category, "已安装辅助服务列表", installedAccessibilityServices, FingerprintStatus.COLLECTED));
+
+        String inputMethod = SettingsSettings.getInputMethod(context);
+        list.add(new DeviceFingerprint(category, "输入法列表", inputMethod, FingerprintStatus.COLLECTED));
+
+        String inputDeviceInfo = SettingsSettings.getInputDeviceInfo(context);
+        list.add(new DeviceFingerprint(category, "物理输入设备", inputDeviceInfo, FingerprintStatus.COLLECTED));
+
+        String phoneMode = SettingsSettings.phoneMode(context);
+        list.add(new DeviceFingerprint(category, "设备模式信息", phoneMode, FingerprintStatus.COLLECTED));
+
+        String dexClassLoaderPath = SettingsSettings.getDexClassLoaderPath(context);
+        list.add(new DeviceFingerprint(category, "DexClassLoader的路径列表", dexClassLoaderPath, FingerprintStatus.COLLECTED));
+
+        return list;
+    }
+}
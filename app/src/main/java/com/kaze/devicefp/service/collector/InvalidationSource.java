@@ -0,0 +1,115 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Intent;
+import android.net.Uri;
+import android.provider.Settings;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 收集结果的失效来源：系统广播或 Settings 项变化
+ * 收集器声明自己依赖的失效来源，{@link InvalidationTracker} 在来源触发时把收集器标记为需要重新收集，
+ * 未被标记的收集器在重新收集时直接复用上一次的结果
+ */
+public final class InvalidationSource {
+
+    /** 结果随时变化（CPU 频率、运行时间等），每次都重新收集 */
+    public static final InvalidationSource ALWAYS = new InvalidationSource("always", null, null,
+            Collections.<String>emptyList());
+
+    public static final InvalidationSource BATTERY_CHANGED = broadcast("battery", Intent.ACTION_BATTERY_CHANGED);
+    public static final InvalidationSource LOCALE_CHANGED = broadcast("locale",
+            Intent.ACTION_LOCALE_CHANGED, Intent.ACTION_TIMEZONE_CHANGED);
+    public static final InvalidationSource CONFIGURATION_CHANGED = broadcast("configuration",
+            Intent.ACTION_CONFIGURATION_CHANGED);
+    public static final InvalidationSource CONNECTIVITY_CHANGED = broadcast("connectivity",
+            "android.net.conn.CONNECTIVITY_CHANGE", "android.net.wifi.WIFI_STATE_CHANGED",
+            "android.intent.action.AIRPLANE_MODE");
+    public static final InvalidationSource SIM_STATE_CHANGED = broadcast("simState",
+            "android.intent.action.SIM_STATE_CHANGED");
+    public static final InvalidationSource RINGER_CHANGED = broadcast("ringer",
+            "android.media.RINGER_MODE_CHANGED", "android.media.VOLUME_CHANGED_ACTION");
+    public static final InvalidationSource SCREEN_STATE_CHANGED = broadcast("screenState",
+            Intent.ACTION_SCREEN_ON, Intent.ACTION_SCREEN_OFF, Intent.ACTION_USER_PRESENT);
+    /** 安装 / 卸载 / 更新应用（Root 管理器、Hook 框架、辅助服务、输入法等） */
+    public static final InvalidationSource PACKAGES_CHANGED = new InvalidationSource("packages", null, "package",
+            Arrays.asList(Intent.ACTION_PACKAGE_ADDED, Intent.ACTION_PACKAGE_REMOVED,
+                    Intent.ACTION_PACKAGE_REPLACED, Intent.ACTION_PACKAGE_CHANGED));
+
+    public static final InvalidationSource SCREEN_SETTINGS_CHANGED = setting("screenSettings",
+            Settings.System.getUriFor(Settings.System.SCREEN_BRIGHTNESS),
+            Settings.System.getUriFor(Settings.System.SCREEN_BRIGHTNESS_MODE),
+            Settings.System.getUriFor(Settings.System.ACCELEROMETER_ROTATION),
+            Settings.System.getUriFor(Settings.System.SCREEN_OFF_TIMEOUT));
+    public static final InvalidationSource NETWORK_SETTINGS_CHANGED = setting("networkSettings",
+            Settings.Global.getUriFor("mobile_data"),
+            Settings.Global.getUriFor(Settings.Global.HTTP_PROXY));
+    public static final InvalidationSource ADB_SETTINGS_CHANGED = setting("adbSettings",
+            Settings.Global.getUriFor(Settings.Global.ADB_ENABLED),
+            Settings.Secure.getUriFor("adb_enabled"));
+    public static final InvalidationSource SECURE_SETTINGS_CHANGED = setting("secureSettings",
+            Settings.Secure.getUriFor(Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES),
+            Settings.Secure.getUriFor(Settings.Secure.DEFAULT_INPUT_METHOD),
+            Settings.Secure.getUriFor("enabled_input_methods"));
+
+    private final String name;
+    private final List<Uri> settingUris;   // Settings 项（ContentObserver）
+    private final String dataScheme;       // 广播的 data scheme（如 package），可为 null
+    private final List<String> actions;    // 广播 action
+
+    private InvalidationSource(String name, List<Uri> settingUris, String dataScheme, List<String> actions) {
+        this.name = name;
+        this.settingUris = settingUris != null ? settingUris : Collections.<Uri>emptyList();
+        this.dataScheme = dataScheme;
+        this.actions = actions;
+    }
+
+    public static InvalidationSource broadcast(String name, String... actions) {
+        return new InvalidationSource(name, null, null, Arrays.asList(actions));
+    }
+
+    public static InvalidationSource setting(String name, Uri... uris) {
+        return new InvalidationSource(name, Arrays.asList(uris), null, Collections.<String>emptyList());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Uri> getSettingUris() {
+        return settingUris;
+    }
+
+    public String getDataScheme() {
+        return dataScheme;
+    }
+
+    public List<String> getActions() {
+        return actions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvalidationSource)) {
+            return false;
+        }
+        InvalidationSource that = (InvalidationSource) o;
+        return name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
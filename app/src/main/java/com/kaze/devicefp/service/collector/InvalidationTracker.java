@@ -0,0 +1,204 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 跟踪收集器结果是否仍然有效
+ * 为所有收集器声明的 {@link InvalidationSource} 注册广播接收器和 ContentObserver，
+ * 来源触发时作废相关收集器的上一次结果；重新收集时只执行结果已作废的收集器
+ */
+public final class InvalidationTracker {
+
+    private static final String TAG = "InvalidationTracker";
+
+    private final Context context;
+    private final Map<InvalidationSource, List<Collector>> collectorsBySource = new HashMap<>();
+    // 上一次的有效结果（作废时移除）和作废代数，访问需持有 this 锁
+    private final Map<Collector, CollectorResult> snapshot = new IdentityHashMap<>();
+    private final Map<Collector, Integer> generations = new IdentityHashMap<>();
+    private final Set<InvalidationSource> failedSources = new HashSet<>();
+    private final List<BroadcastReceiver> receivers = new ArrayList<>();
+    private final List<ContentObserver> observers = new ArrayList<>();
+    private HandlerThread thread;
+
+    public InvalidationTracker(Context context) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+    }
+
+    /**
+     * 为收集器的失效来源注册监听（回调在独立线程中执行）
+     */
+    public synchronized void start(List<Collector> collectors) {
+        stop();
+        collectorsBySource.clear();
+        failedSources.clear();
+        for (Collector collector : collectors) {
+            for (InvalidationSource source : collector.getInvalidationSources()) {
+                if (source == InvalidationSource.ALWAYS) {
+                    continue;
+                }
+                List<Collector> list = collectorsBySource.get(source);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    collectorsBySource.put(source, list);
+                }
+                list.add(collector);
+            }
+        }
+
+        thread = new HandlerThread("fp-invalidation");
+        thread.start();
+        Handler handler = new Handler(thread.getLooper());
+        for (InvalidationSource source : collectorsBySource.keySet()) {
+            try {
+                register(source, handler);
+            } catch (RuntimeException e) {
+                // 个别来源注册失败（如权限限制）时，相关收集器退化为每次都重新收集
+                Log.w(TAG, "Failed to register " + source, e);
+                failedSources.add(source);
+            }
+        }
+        Log.d(TAG, "Tracking " + collectorsBySource.size() + " invalidation sources");
+    }
+
+    private void register(InvalidationSource source, Handler handler) {
+        if (!source.getActions().isEmpty()) {
+            IntentFilter filter = new IntentFilter();
+            for (String action : source.getActions()) {
+                filter.addAction(action);
+            }
+            if (source.getDataScheme() != null) {
+                filter.addDataScheme(source.getDataScheme());
+            }
+            BroadcastReceiver receiver = new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    invalidate(source);
+                }
+            };
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                context.registerReceiver(receiver, filter, null, handler, Context.RECEIVER_NOT_EXPORTED);
+            } else {
+                context.registerReceiver(receiver, filter, null, handler);
+            }
+            receivers.add(receiver);
+        }
+        for (Uri uri : source.getSettingUris()) {
+            ContentObserver observer = new ContentObserver(handler) {
+                @Override
+                public void onChange(boolean selfChange) {
+                    invalidate(source);
+                }
+            };
+            context.getContentResolver().registerContentObserver(uri, false, observer);
+            observers.add(observer);
+        }
+    }
+
+    /**
+     * 注销全部监听并清空结果
+     */
+    public synchronized void stop() {
+        for (BroadcastReceiver receiver : receivers) {
+            try {
+                context.unregisterReceiver(receiver);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        receivers.clear();
+        for (ContentObserver observer : observers) {
+            context.getContentResolver().unregisterContentObserver(observer);
+        }
+        observers.clear();
+        if (thread != null) {
+            thread.quitSafely();
+            thread = null;
+        }
+        snapshot.clear();
+    }
+
+    private synchronized void invalidate(InvalidationSource source) {
+        List<Collector> affected = collectorsBySource.get(source);
+        if (affected == null) {
+            return;
+        }
+        for (Collector collector : affected) {
+            generations.put(collector, generationOf(collector) + 1);
+            if (snapshot.remove(collector) != null) {
+                Log.d(TAG, source + " invalidated " + collector);
+            }
+        }
+    }
+
+    private int generationOf(Collector collector) {
+        Integer generation = generations.get(collector);
+        return generation != null ? generation : 0;
+    }
+
+    /**
+     * 收集器上一次的结果，已作废、从未收集或每次都需重新收集时返回 null
+     */
+    public synchronized CollectorResult getValidResult(Collector collector) {
+        return snapshot.get(collector);
+    }
+
+    /**
+     * 收集器开始执行
+     * @return 当前作废代数，完成时传给 {@link #record}
+     */
+    public synchronized int begin(Collector collector) {
+        snapshot.remove(collector);
+        return generationOf(collector);
+    }
+
+    /**
+     * 收集器执行完成：只保存成功且可跟踪的结果
+     * @param generation {@link #begin} 返回的代数，执行期间来源触发过则丢弃该结果
+     */
+    public synchronized void record(Collector collector, int generation, CollectorResult result) {
+        if (result.getStatus() != CollectorResult.Status.SUCCESS
+                || generation != generationOf(collector) || !isTracked(collector)) {
+            return;
+        }
+        snapshot.put(collector, result);
+    }
+
+    /**
+     * 是否能知道收集器的结果何时作废：未声明 ALWAYS，且所有来源都已注册成功
+     */
+    private boolean isTracked(Collector collector) {
+        if (thread == null) {
+            return false;
+        }
+        for (InvalidationSource source : collector.getInvalidationSources()) {
+            if (source == InvalidationSource.ALWAYS || failedSources.contains(source)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 作废全部结果，下次收集时全部重新执行
+     */
+    public synchronized void invalidateAll() {
+        snapshot.clear();
+    }
+}
@@ -0,0 +1,38 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.SettingsSettings;
+import com.kaze.devicefp.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 媒体解码器收集器（MediaCodecList 枚举较慢，归入高耗时层级）
+ */
+public class MediaCodecCollector extends AbstractCollector {
+
+    public MediaCodecCollector() {
+        super("其他信息", 200);
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        Set mediaCodecList = SettingsSettings.getMediaCodec();
+        // 解码器列表只用于比较，使用非加密哈希
+        String mediaCodecHash = DigestUtils.newStreamingDigest(DigestUtils.Algorithm.MURMUR3_128)
+                .updateCollection(mediaCodecList).digestHex();
+        list.add(new DeviceFingerprint(category, "媒体解码器数量和Murmur3哈希", mediaCodecList.size() + "个/" + mediaCodecHash, (mediaCodecList.isEmpty()) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        return list;
+    }
+}
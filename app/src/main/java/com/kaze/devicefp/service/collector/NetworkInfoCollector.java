@@ -0,0 +1,79 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.text.TextUtils;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SimCardUtil;
+import com.kaze.devicefp.model.WifiInfo;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 网络信息收集器（WiFi、移动数据、SIM 卡）
+ */
+public class NetworkInfoCollector extends AbstractCollector {
+
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_NETWORK);
+    private static final Set<InvalidationSource> INVALIDATION_SOURCES = Set.of(InvalidationSource.CONNECTIVITY_CHANGED,
+            InvalidationSource.SIM_STATE_CHANGED, InvalidationSource.NETWORK_SETTINGS_CHANGED);
+
+    public NetworkInfoCollector() {
+        super("网络信息", 50);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return INVALIDATION_SOURCES;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        WifiInfo wifiInfo = new WifiInfo(context);
+        boolean wifiStatus = wifiInfo.getWifiEnabled();
+        String connectType = wifiInfo.getConnectionState();
+        String ipinfo = wifiInfo.getIpInfo();
+        String gatway = wifiInfo.getGateway();
+        wifiInfo.setSimInfo(context);
+        int simCount = WifiInfo.simCount(context);
+        int maxSub = WifiInfo.getMaxActiveSubscriptionCount(context);
+        int mobileNetStatus = WifiInfo.mobileNetStatus(context);
+
+        list.add(new DeviceFingerprint(category, "WiFi是否开启", String.valueOf(wifiStatus), FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "移动数据状态", FingerprintValue.ofBoolean(mobileNetStatus == 0, "开启", "关闭/异常"), FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "连接类型", connectType, FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "IP地址", ipinfo, FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "网关", gatway, FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "卡槽数量", FingerprintValue.ofLong(simCount), (simCount > 0) ? FingerprintStatus.COLLECTED : FingerprintStatus.MISSING));
+        list.add(new DeviceFingerprint(category, "卡最大订阅数量", FingerprintValue.ofLong(maxSub), (maxSub > 0) ? FingerprintStatus.COLLECTED : FingerprintStatus.MISSING));
+        list.add(new DeviceFingerprint(category, "是否插卡", wifiInfo.getSimCard(), FingerprintStatus.COLLECTED));
+        if ("插卡".equals(wifiInfo.getSimCard())){
+            String simOperatorName = SimCardUtil.getSimOperatorName(context);
+            list.add(new DeviceFingerprint(category, "运营商名字", simOperatorName, FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "sim国家", wifiInfo.getSimCountry(), FingerprintStatus.COLLECTED));
+            list.add(new DeviceFingerprint(category, "mnc|mcc", wifiInfo.getMncMcc(), FingerprintStatus.COLLECTED));
+        }
+        try {
+            String netName = WifiInfo.netWorkName();
+            list.add(new DeviceFingerprint(category, "NetName", netName, (TextUtils.isEmpty(netName)) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        } catch (Exception e){
+
+        }
+        String httpAgent = WifiInfo.get_httpAgent();
+        list.add(new DeviceFingerprint(category, "HttpAgent", httpAgent, (TextUtils.isEmpty(httpAgent)) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        return list;
+    }
+}
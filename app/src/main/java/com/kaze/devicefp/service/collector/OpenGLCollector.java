@@ -0,0 +1,33 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.SettingsSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * OpenGL 信息收集器（需要创建 EGL 上下文）
+ */
+public class OpenGLCollector extends AbstractCollector {
+
+    public OpenGLCollector() {
+        super("其他信息", 300);
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String openGLInfo = SettingsSettings.getOpenGLInfo(collectorContext.getContext());
+        list.add(new DeviceFingerprint(getCategory(), "OpenGL", openGLInfo, FingerprintStatus.COLLECTED));
+        return list;
+    }
+}
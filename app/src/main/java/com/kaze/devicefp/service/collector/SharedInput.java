@@ -0,0 +1,69 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.util.DisplayMetrics;
+
+import com.kaze.devicefp.service.DeviceFingerprintService;
+import com.kaze.devicefp.util.FileHashCache;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * 收集器之间共享的输入（如属性缓存、PackageInfo、DisplayMetrics）
+ * 每个输入在一次收集中只加载一次，供所有声明依赖它的收集器使用
+ */
+public final class SharedInput<T> {
+
+    /** 系统属性缓存（ro.product.* 等） */
+    public static final SharedInput<Map<String, String>> PROPERTIES =
+            new SharedInput<>("properties", context -> DeviceFingerprintService.readSystemProperties());
+
+    /** 本应用的 PackageInfo（包含签名信息） */
+    public static final SharedInput<PackageInfo> PACKAGE_INFO =
+            new SharedInput<>("packageInfo", context -> context.getPackageManager()
+                    .getPackageInfo(context.getPackageName(), PackageManager.GET_SIGNING_CERTIFICATES));
+
+    /** 当前屏幕的 DisplayMetrics */
+    public static final SharedInput<DisplayMetrics> DISPLAY_METRICS =
+            new SharedInput<>("displayMetrics", context -> context.getResources().getDisplayMetrics());
+
+    /** 系统文件摘要缓存（服务预热时加载并预先提供，未提供时从应用私有目录读取） */
+    public static final SharedInput<FileHashCache> FILE_HASH_CACHE =
+            new SharedInput<>("fileHashCache", context -> {
+                FileHashCache cache = new FileHashCache(
+                        new File(context.getFilesDir(), DeviceFingerprintService.FILE_HASH_CACHE_FILE));
+                cache.load();
+                return cache;
+            });
+
+    /**
+     * 输入加载器
+     */
+    public interface Loader<T> {
+        T load(Context context) throws Exception;
+    }
+
+    private final String name;
+    private final Loader<T> loader;
+
+    public SharedInput(String name, Loader<T> loader) {
+        this.name = name;
+        this.loader = loader;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    T load(Context context) throws Exception {
+        return loader.load(context);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kaze.devicefp.service.collector;
+
+import android.content.Context;
+import android.content.pm.FeatureInfo;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.SettingsSettings;
+import com.kaze.devicefp.util.DigestUtils;
+import com.kaze.devicefp.util.FileHelper;
+import com.kaze.devicefp.util.StreamingDigest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 系统特征收集器（系统签名、字体、硬件功能、传感器、服务列表、boot id 等）
+ * 这些字段在重启或系统升级前不变，结果可跨启动缓存
+ */
+public class SystemFeatureCollector extends AbstractCollector {
+
+    public SystemFeatureCollector() {
+        super("其他信息", 250);
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        List<String> systemFontPaths1 = SettingsSettings.getSystemFontPaths();
+        // 字体列表只用于比较，使用非加密哈希；逐行流式写入，不拼接列表
+        String fontHash = DigestUtils.newStreamingDigest(DigestUtils.Algorithm.MURMUR3_128)
+                .updateLines(systemFontPaths1).digestHex();
+        String boot_id = FileHelper.readFileAsString("/proc/sys/kernel/random/boot_id");
+        String hardwareFeaturesString = SettingsSettings.getHardwareFeaturesString(context);
+        long androidUptime = SettingsSettings.getAndroidUptime();
+        String androidSystemSignatureHash = SettingsSettings.getAndroidSystemSignatureHash(context);
+
+        list.add(new DeviceFingerprint(category, "android包签名", androidSystemSignatureHash, FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "系统启动时间", String.valueOf(androidUptime), FingerprintStatus.COLLECTED));
+//        list.add(new DeviceFingerprint(category, "字体列表", systemFontPaths, (systemFontPaths.isEmpty()) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "字体数量和Murmur3哈希", systemFontPaths1.size() + "个/" + fontHash, (systemFontPaths1.isEmpty()) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "硬件功能", hardwareFeaturesString, FingerprintStatus.COLLECTED));
+
+
+        list.add(new DeviceFingerprint(category, "boot id", boot_id, (boot_id.isEmpty()) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+
+        String bootCount = SettingsSettings.getBootCount(context);
+        list.add(new DeviceFingerprint(category, "开机计数(两种获取)", bootCount, ("/".equals(bootCount)) ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+
+        List<String> serverList1 = SettingsSettings.getServerList();
+        String serverList = StreamingDigest.sha1().updateCollection(serverList1).digestHex();
+        list.add(new DeviceFingerprint(category,  "服务列表哈希", serverList1.size() + "项/" + serverList, FingerprintStatus.COLLECTED));
+
+        String sensorHash = SettingsSettings.getSensorDetailsHash(context);
+        list.add(new DeviceFingerprint(category,  "传感器哈希", sensorHash, FingerprintStatus.COLLECTED));
+
+        FeatureInfo[] systemFeatures = SettingsSettings.getSystemFeatures(context);
+        StreamingDigest featureDigest = StreamingDigest.sha1();
+        assert systemFeatures != null;
+        for (FeatureInfo feature : systemFeatures) {
+            if (feature.name != null && !feature.name.isEmpty()) {
+                featureDigest.update(feature.name).update((byte) '\n');
+            }
+        }
+        list.add(new DeviceFingerprint(category,  "硬件软件列表哈希", featureDigest.digestHex(), FingerprintStatus.COLLECTED));
+
+        return list;
+    }
+}
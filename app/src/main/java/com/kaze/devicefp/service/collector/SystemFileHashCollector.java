@@ -0,0 +1,71 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.SettingsSettings;
+import com.kaze.devicefp.util.FileHashCache;
+import com.kaze.devicefp.util.FileHasher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 系统文件哈希收集器（需要读取 framework.jar 等大文件，各文件并行计算，没有变化的文件使用缓存的摘要）
+ */
+public class SystemFileHashCollector extends AbstractCollector {
+
+    private final List<String> files;
+    private final String algorithm;
+    private final FileHasher hasher;
+
+    public SystemFileHashCollector() {
+        this(SettingsSettings.SYSTEM_FILES, "SHA-1");
+    }
+
+    /**
+     * @param files 参与计算的文件路径
+     * @param algorithm MessageDigest 算法名
+     */
+    public SystemFileHashCollector(List<String> files, String algorithm) {
+        super("其他信息", 600, SharedInput.FILE_HASH_CACHE);
+        this.files = new ArrayList<>(files);
+        this.algorithm = algorithm;
+        this.hasher = new FileHasher(algorithm);
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean isCacheable() {
+        // 由 FileHashCache 按文件大小 / mtime / inode 校验并定期重新计算，不能整体按构建缓存
+        return false;
+    }
+
+    @Override
+    public String getConfigKey() {
+        return algorithm + ':' + String.join(",", files);
+    }
+
+    @Override
+    public long getDeadlineMs() {
+        // framework.jar 等文件较大，低端机上需要更长时间
+        return 10000;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        List<DeviceFingerprint> list = new ArrayList<>();
+        FileHashCache cache = collectorContext.get(SharedInput.FILE_HASH_CACHE);
+        String fileHash = SettingsSettings.getFileHash(files, hasher, cache);
+        if (cache != null) {
+            cache.saveIfDirty();
+        }
+        list.add(new DeviceFingerprint(getCategory(), "系统文件哈希", fileHash, FingerprintStatus.COLLECTED));
+        return list;
+    }
+}
@@ -0,0 +1,68 @@
+package com.kaze.devicefp.service.collector;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * 系统信息收集器（Android 版本、补丁级别、内核、语言时区）
+ */
+public class SystemInfoCollector extends AbstractCollector {
+
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_DEVICE);
+    private static final Set<InvalidationSource> INVALIDATION_SOURCES = Set.of(InvalidationSource.LOCALE_CHANGED);
+
+    public SystemInfoCollector() {
+        super("系统信息", 1, SharedInput.PROPERTIES);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return INVALIDATION_SOURCES;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+        
+        // 使用 Java API 获取系统信息
+        String androidVersion = collectorContext.getProperty("ro.build.version.release");
+        String apiLevel = collectorContext.getProperty("ro.build.version.sdk");
+        String buildVersion = collectorContext.getProperty("ro.build.version.incremental");
+        String securityPatch = collectorContext.getProperty("ro.build.version.security_patch");
+        String kernelVersion = collectorContext.getProperty("ro.kernel.version");
+        
+        // 使用 Java API 获取语言和时区
+        String language = Locale.getDefault().getLanguage();
+        String timezone = TimeZone.getDefault().getID();
+        
+        list.add(new DeviceFingerprint(category, "Android版本", androidVersion, 
+                androidVersion.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "API级别", apiLevel, 
+                apiLevel.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "构建版本", buildVersion, 
+                buildVersion.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "安全补丁级别", securityPatch, 
+                securityPatch.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "内核版本", kernelVersion, 
+                kernelVersion.equals("未获取") ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "系统语言", language, 
+                language.isEmpty() ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "时区", timezone, 
+                timezone.isEmpty() ? FingerprintStatus.MISSING : FingerprintStatus.COLLECTED));
+        
+        return list;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kaze.devicefp.service.collector;
+
+import android.app.Activity;
+import android.content.Context;
+import android.provider.Settings;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.SettingsSettings;
+import com.kaze.devicefp.util.SectionGroupHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 系统监测收集器：adb、代理、Root、Hook 等
+ */
+public class SystemMonitorCollector extends AbstractCollector {
+
+    private static final Set<String> SECTIONS = Set.of(SectionGroupHelper.SECTION_SYSTEM_MONITOR);
+    private static final Set<InvalidationSource> INVALIDATION_SOURCES = Set.of(InvalidationSource.ADB_SETTINGS_CHANGED,
+            InvalidationSource.NETWORK_SETTINGS_CHANGED, InvalidationSource.CONNECTIVITY_CHANGED,
+            InvalidationSource.PACKAGES_CHANGED);
+
+    public SystemMonitorCollector() {
+        super("系统监测", 30);
+    }
+
+    @Override
+    public Set<String> getSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public Set<InvalidationSource> getInvalidationSources() {
+        return INVALIDATION_SOURCES;
+    }
+
+    @Override
+    public List<DeviceFingerprint> collect(CollectorContext collectorContext) {
+        Context context = collectorContext.getContext();
+        List<DeviceFingerprint> list = new ArrayList<>();
+        String category = getCategory();
+
+        int adbEnabled = Settings.Secure.getInt(context.getContentResolver(), "adb_enabled", 0);
+        boolean proxyStatus = SettingsSettings.checkVpnStatus((Activity) context);
+        boolean rootStatus = SettingsSettings.checkRootStatus(context);
+        boolean hookStatus = SettingsSettings.checkHookStatus();
+
+        list.add(new DeviceFingerprint(category, "是否连接adb", adbEnabled == 1 ? "是" : "否", FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "是否开启代理", proxyStatus ? "是" : "否", FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "是否已Root", rootStatus ? "是" : "否", FingerprintStatus.COLLECTED));
+        list.add(new DeviceFingerprint(category, "是否检测到Hook", hookStatus ? "是" : "否", FingerprintStatus.COLLECTED));
+
+        return list;
+    }
+}
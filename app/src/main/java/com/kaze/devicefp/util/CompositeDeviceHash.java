@@ -0,0 +1,346 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.Volatility;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 设备综合哈希
+ *
+ * 每个选中的字段单独流式摘要（字段值按类型规范编码，不拼接字符串），
+ * 综合哈希 = 按字段 id 顺序对 (id, 是否存在, 字段摘要) 再做一次摘要，
+ * 因此结果与字段的收集顺序无关，字段也可以分多次、以任意顺序写入（见 {@link Hasher}）。
+ *
+ * 权重不影响综合哈希本身，用于 {@link Result#similarity} 对两次结果按字段加权比较：
+ * 系统升级只改变少数低权重字段时相似度仍然很高
+ */
+public final class CompositeDeviceHash {
+
+    public static final String ALGORITHM = "SHA-256";
+    /** 规范编码的版本，编码方式变化时递增（旧结果不再可比） */
+    private static final int ENCODING_VERSION = 1;
+    private static final int FIELD_COUNT = FingerprintKey.values().length;
+
+    private final int[] weights = new int[FIELD_COUNT]; // 按 ordinal，0 表示不参与
+
+    /**
+     * 空的字段集合，用 {@link #include} 添加字段
+     */
+    public CompositeDeviceHash() {
+    }
+
+    /**
+     * 默认字段集合：全部构建级字段；硬件相关字段权重 3，随系统升级变化的版本字段权重 1，其余 2
+     */
+    public static CompositeDeviceHash defaultFields() {
+        CompositeDeviceHash hash = new CompositeDeviceHash();
+        for (FingerprintKey key : FingerprintKey.values()) {
+            if (key.getVolatility() == Volatility.STATIC_PER_BUILD) {
+                hash.include(key, 2);
+            }
+        }
+        FingerprintKey[] hardware = {FingerprintKey.MODEL, FingerprintKey.MANUFACTURER, FingerprintKey.HARDWARE,
+                FingerprintKey.CPU_ABI, FingerprintKey.CPU_CORES, FingerprintKey.CAMERA_DETAILS,
+                FingerprintKey.SENSOR_HASH, FingerprintKey.OPENGL};
+        FingerprintKey[] versioned = {FingerprintKey.RADIO_VERSION, FingerprintKey.ANDROID_VERSION,
+                FingerprintKey.API_LEVEL, FingerprintKey.BUILD_VERSION, FingerprintKey.SECURITY_PATCH,
+                FingerprintKey.KERNEL_VERSION, FingerprintKey.SYSTEM_FILE_HASH, FingerprintKey.SYSTEM_SIGNATURE,
+                FingerprintKey.MEDIA_CODEC_HASH_MURMUR3, FingerprintKey.FONT_HASH_MURMUR3, FingerprintKey.FONT_LIST,
+                FingerprintKey.HTTP_AGENT};
+        for (FingerprintKey key : hardware) {
+            hash.include(key, 3);
+        }
+        for (FingerprintKey key : versioned) {
+            hash.include(key, 1);
+        }
+        // 已停止收集的旧字段
+        hash.exclude(FingerprintKey.FONT_HASH).exclude(FingerprintKey.MEDIA_CODEC_HASH);
+        return hash;
+    }
+
+    public CompositeDeviceHash include(FingerprintKey key) {
+        return include(key, 1);
+    }
+
+    /**
+     * @param weight 相似度比较时的权重，0 等同于 {@link #exclude}
+     */
+    public CompositeDeviceHash include(FingerprintKey key, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight < 0: " + weight);
+        }
+        weights[key.ordinal()] = weight;
+        return this;
+    }
+
+    public CompositeDeviceHash exclude(FingerprintKey key) {
+        weights[key.ordinal()] = 0;
+        return this;
+    }
+
+    public boolean isIncluded(FingerprintKey key) {
+        return weights[key.ordinal()] > 0;
+    }
+
+    public int getWeight(FingerprintKey key) {
+        return weights[key.ordinal()];
+    }
+
+    public Hasher newHasher() {
+        return new Hasher(weights.clone());
+    }
+
+    /**
+     * 对指纹列表计算综合哈希（未注册字段和未成功获取的字段按缺失处理）
+     */
+    public Result hash(List<DeviceFingerprint> items) {
+        Hasher hasher = newHasher();
+        for (int i = 0; i < items.size(); i++) {
+            hasher.put(items.get(i));
+        }
+        return hasher.finish();
+    }
+
+    public Result hash(FingerprintSnapshot snapshot) {
+        return hash(snapshot.getItems());
+    }
+
+    /**
+     * 增量写入：每个字段可以直接给出取值（{@link #put}），也可以在 {@link #beginField} 和 {@link #endField}
+     * 之间把原始数据流式写入摘要（如逐个传感器、逐行字体路径）。同一时刻只能有一个字段在写入，
+     * 重复写入同一字段时后一次覆盖前一次。非线程安全
+     */
+    public static final class Hasher {
+        private final int[] weights;
+        private final byte[][] fieldDigests = new byte[FIELD_COUNT][];
+        private final StreamingDigest digest = StreamingDigest.getInstance(ALGORITHM);
+        private FingerprintKey open;
+        private boolean finished;
+
+        Hasher(int[] weights) {
+            this.weights = weights;
+        }
+
+        /**
+         * 开始写入一个字段，返回字段的摘要流；字段不在集合中时返回 null，调用方可以跳过收集
+         */
+        public StreamingDigest beginField(FingerprintKey key) {
+            checkState();
+            if (open != null) {
+                throw new IllegalStateException("Field " + open + " is still open");
+            }
+            if (weights[key.ordinal()] == 0) {
+                return null;
+            }
+            open = key;
+            digest.reset();
+            return digest;
+        }
+
+        public Hasher endField() {
+            if (open == null) {
+                throw new IllegalStateException("No open field");
+            }
+            fieldDigests[open.ordinal()] = digest.digest();
+            open = null;
+            return this;
+        }
+
+        /**
+         * 写入一个已收集的指纹项，未注册或未成功获取时忽略
+         */
+        public Hasher put(DeviceFingerprint item) {
+            FingerprintKey key = item.getKey();
+            if (key != null && item.getStatus() == FingerprintStatus.COLLECTED) {
+                put(key, item.getTypedValue());
+            }
+            return this;
+        }
+
+        public Hasher put(FingerprintKey key, FingerprintValue value) {
+            StreamingDigest field = beginField(key);
+            if (field != null) {
+                writeValue(field, value);
+                endField();
+            }
+            return this;
+        }
+
+        /**
+         * 把字段标记为缺失（撤销之前写入的值）
+         */
+        public Hasher remove(FingerprintKey key) {
+            checkState();
+            fieldDigests[key.ordinal()] = null;
+            return this;
+        }
+
+        public Result finish() {
+            checkState();
+            if (open != null) {
+                throw new IllegalStateException("Field " + open + " is still open");
+            }
+            finished = true;
+            digest.reset();
+            digest.update((byte) 'D').update((byte) 'F').update((byte) 'C').update((byte) 'H')
+                    .update((byte) ENCODING_VERSION);
+            FingerprintKey[] keys = FingerprintKey.values();
+            // 枚举按 id 升序声明，ordinal 顺序即规范顺序
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                if (weights[i] == 0) {
+                    continue;
+                }
+                digest.updateVarInt(keys[i].getId());
+                if (fieldDigests[i] != null) {
+                    digest.update((byte) 1).update(fieldDigests[i]);
+                } else {
+                    digest.update((byte) 0);
+                }
+            }
+            return new Result(digest.digest(), weights, fieldDigests);
+        }
+
+        private void checkState() {
+            if (finished) {
+                throw new IllegalStateException("Hasher already finished");
+            }
+        }
+    }
+
+    // 规范编码：类型标签 + 按类型编码的取值；文本以 UTF-16 长度为前缀，列表和映射以元素个数为前缀
+    static void writeValue(StreamingDigest out, FingerprintValue value) {
+        out.update((byte) value.getType().ordinal());
+        switch (value.getType()) {
+            case LONG:
+                out.updateLong(value.asLong());
+                break;
+            case DOUBLE:
+                out.updateLong(Double.doubleToLongBits(value.asDouble()));
+                break;
+            case BOOLEAN:
+                out.update((byte) (value.asBoolean() ? 1 : 0));
+                break;
+            case STRING_LIST:
+                List<String> list = value.asList();
+                out.updateVarInt(list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    writeText(out, list.get(i));
+                }
+                break;
+            case BYTES:
+                byte[] bytes = value.asBytes();
+                out.updateVarInt(bytes.length).update(bytes);
+                break;
+            case MAP:
+                Map<String, FingerprintValue> map = value.asMap();
+                out.updateVarInt(map.size());
+                for (Map.Entry<String, FingerprintValue> entry : map.entrySet()) {
+                    writeText(out, entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+                break;
+            default:
+                writeText(out, value.asText());
+                break;
+        }
+    }
+
+    private static void writeText(StreamingDigest out, String text) {
+        String s = text != null ? text : "";
+        out.updateVarInt(s.length()).update(s);
+    }
+
+    /**
+     * 综合哈希结果，保留每个字段的摘要用于加权比较
+     */
+    public static final class Result {
+        private final byte[] digest;
+        private final int[] weights;
+        private final byte[][] fieldDigests;
+
+        Result(byte[] digest, int[] weights, byte[][] fieldDigests) {
+            this.digest = digest;
+            this.weights = weights;
+            this.fieldDigests = fieldDigests;
+        }
+
+        public byte[] getDigest() {
+            return digest.clone();
+        }
+
+        public String getHex() {
+            return DigestUtils.toHex(digest);
+        }
+
+        /**
+         * 参与计算且成功写入的字段数
+         */
+        public int getFieldCount() {
+            int n = 0;
+            for (int i = 0; i < fieldDigests.length; i++) {
+                if (weights[i] > 0 && fieldDigests[i] != null) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        /**
+         * 字段摘要的前 8 字节，字段缺失或不在集合中时返回 0
+         */
+        public long getFieldHash(FingerprintKey key) {
+            byte[] field = fieldDigests[key.ordinal()];
+            if (field == null || weights[key.ordinal()] == 0) {
+                return 0;
+            }
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (field[i] & 0xff);
+            }
+            return h;
+        }
+
+        /**
+         * 按本结果的字段集合和权重加权比较：相同字段的权重之和 / 两边任一存在的字段的权重之和，
+         * 取值 0 ~ 1，两边都没有字段时返回 1
+         */
+        public double similarity(Result other) {
+            long total = 0;
+            long matched = 0;
+            for (int i = 0; i < weights.length; i++) {
+                byte[] a = weights[i] > 0 ? fieldDigests[i] : null;
+                byte[] b = weights[i] > 0 ? other.fieldDigests[i] : null;
+                if (a == null && b == null) {
+                    continue;
+                }
+                total += weights[i];
+                if (a != null && b != null && Arrays.equals(a, b)) {
+                    matched += weights[i];
+                }
+            }
+            return total == 0 ? 1.0 : (double) matched / total;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Result && Arrays.equals(digest, ((Result) o).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(digest);
+        }
+
+        @Override
+        public String toString() {
+            return getHex();
+        }
+    }
+}
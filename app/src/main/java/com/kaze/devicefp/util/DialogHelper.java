@@ -4,6 +4,9 @@ import android.content.Context;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.kaze.devicefp.R;
+import com.kaze.devicefp.service.collector.CollectorMetrics;
+
+import java.util.List;
 
 /**
  * 弹窗工具类。所有通过此类创建的 AlertDialog 会默认使用应用图标（paojie）。
@@ -23,4 +26,27 @@ public final class DialogHelper {
         return new MaterialAlertDialogBuilder(context)
                 .setIcon(R.drawable.paojie);
     }
+
+    /**
+     * 调试弹窗：列出耗时最长的收集器（墙钟时间、线程 CPU 时间、分配字节数）
+     *
+     * @param context 上下文，一般为 Activity
+     * @param metrics 已按耗时排序的收集器指标
+     */
+    public static void showCollectorMetrics(Context context, List<CollectorMetrics> metrics) {
+        StringBuilder message = new StringBuilder();
+        if (metrics.isEmpty()) {
+            message.append("暂无数据，请先收集一次");
+        }
+        for (int i = 0; i < metrics.size(); i++) {
+            CollectorMetrics m = metrics.get(i);
+            message.append(i + 1).append(". ").append(m.getCollectorName()).append('\n')
+                    .append("    ").append(m.getTier()).append(" · ").append(m.formatCost()).append('\n');
+        }
+        newAlertDialog(context)
+                .setTitle("收集耗时排行")
+                .setMessage(message.toString().trim())
+                .setPositiveButton("确定", null)
+                .show();
+    }
 }
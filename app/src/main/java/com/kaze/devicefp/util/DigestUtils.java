@@ -0,0 +1,158 @@
+package com.kaze.devicefp.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 摘要工具：可选算法、查表十六进制编码
+ * 十六进制编码一次写入预分配的 char 数组，不再按字节调用 Integer.toHexString 再补零；
+ * 字符串摘要通过 {@link StreamingDigest} 逐字符编码，不调用 getBytes 生成整段字节数组
+ */
+public final class DigestUtils {
+
+    /**
+     * 摘要算法；MURMUR3_* 为非加密哈希，只用于不涉及安全的去重 / 比较
+     */
+    public enum Algorithm {
+        MD5("MD5"),
+        SHA_1("SHA-1"),
+        SHA_256("SHA-256"),
+        SHA_512("SHA-512"),
+        MURMUR3_64("MURMUR3-64"),
+        MURMUR3_128("MURMUR3-128");
+
+        private final String name;
+
+        Algorithm(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 算法名（MessageDigest 的名称）
+         */
+        public String getName() {
+            return name;
+        }
+
+        public boolean isCryptographic() {
+            return this != MURMUR3_64 && this != MURMUR3_128;
+        }
+
+        public MessageDigest newMessageDigest() {
+            switch (this) {
+                case MURMUR3_64:
+                    return new Murmur3Digest(64);
+                case MURMUR3_128:
+                    return new Murmur3Digest(128);
+                default:
+                    try {
+                        return MessageDigest.getInstance(name);
+                    } catch (NoSuchAlgorithmException e) {
+                        // Android 上这几个算法总是可用
+                        throw new IllegalStateException(name, e);
+                    }
+            }
+        }
+
+        /**
+         * 按名称查找，兼容 MessageDigest 的写法（"SHA-1"、"sha1"、"SHA_1"）
+         * @return 未知名称时返回 null
+         */
+        public static Algorithm fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            String normalized = name.replace("-", "").replace("_", "");
+            for (Algorithm algorithm : values()) {
+                if (algorithm.name.replace("-", "").equalsIgnoreCase(normalized)) {
+                    return algorithm;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private DigestUtils() {
+    }
+
+    /**
+     * 按名称创建 MessageDigest，支持 {@link Algorithm} 中的非加密算法
+     * @throws IllegalArgumentException 不支持的算法
+     */
+    public static MessageDigest newMessageDigest(String name) {
+        Algorithm algorithm = Algorithm.fromName(name);
+        if (algorithm != null) {
+            return algorithm.newMessageDigest();
+        }
+        try {
+            return MessageDigest.getInstance(name);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(name, e);
+        }
+    }
+
+    public static StreamingDigest newStreamingDigest(Algorithm algorithm) {
+        return new StreamingDigest(algorithm.newMessageDigest());
+    }
+
+    /**
+     * 小写十六进制
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        toHex(bytes, 0, bytes.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 把 bytes[offset, offset + length) 编码到 out[outOffset, outOffset + 2 * length)
+     */
+    public static void toHex(byte[] bytes, int offset, int length, char[] out, int outOffset) {
+        for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i];
+            out[outOffset++] = HEX[(b >> 4) & 0xf];
+            out[outOffset++] = HEX[b & 0xf];
+        }
+    }
+
+    /**
+     * 16 位小写十六进制（高位在前）
+     */
+    public static String toHex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 文本（UTF-8）摘要的十六进制，空字符串和 null 返回空字符串
+     */
+    public static String hashHex(CharSequence text, Algorithm algorithm) {
+        if (text == null || text.length() == 0) {
+            return "";
+        }
+        return newStreamingDigest(algorithm).update(text).digestHex();
+    }
+
+    public static String sha1Hex(CharSequence text) {
+        return hashHex(text, Algorithm.SHA_1);
+    }
+
+    public static String hashHex(byte[] bytes, Algorithm algorithm) {
+        return toHex(algorithm.newMessageDigest().digest(bytes));
+    }
+
+    /**
+     * 文本（UTF-8）的 64 位非加密哈希
+     */
+    public static long fastHash64(CharSequence text) {
+        Murmur3Digest digest = new Murmur3Digest(64);
+        new StreamingDigest(digest).update(text).flush();
+        return digest.digestLong();
+    }
+}
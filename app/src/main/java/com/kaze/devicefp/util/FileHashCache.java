@@ -0,0 +1,211 @@
+package com.kaze.devicefp.util;
+
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.StructStat;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 以文件标识为键的持久化摘要缓存
+ * 文件标识为 (路径, 大小, 修改时间, inode, 设备号)，标识不变时直接返回上次的摘要，不再读取文件内容；
+ * 即使标识不变，每个条目也会在 {@link #verifyIntervalMs} 左右重新计算一次，用于发现绕过 mtime 的修改。
+ * 各条目的校验时间按路径错开，不会在同一次收集中集中重新计算
+ *
+ * 写入的标识取自计算前的 stat，计算结束时标识已经变化（计算期间文件被替换）的结果不保存
+ * 线程安全
+ */
+public final class FileHashCache implements FileHasher.Cache {
+
+    private static final String TAG = "FileHashCache";
+    private static final int FORMAT_VERSION = 1;
+    public static final long DEFAULT_VERIFY_INTERVAL_MS = 24L * 60 * 60 * 1000;
+
+    private final File file;
+    private final long verifyIntervalMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // lookup 未命中时记录的计算前标识，store 时取出
+    private final Map<String, Identity> pending = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    /** 文件标识 */
+    private static final class Identity {
+        final long size;
+        final long mtimeNs;
+        final long inode;
+        final long device;
+
+        Identity(long size, long mtimeNs, long inode, long device) {
+            this.size = size;
+            this.mtimeNs = mtimeNs;
+            this.inode = inode;
+            this.device = device;
+        }
+
+        boolean sameAs(Identity other) {
+            return other != null && size == other.size && mtimeNs == other.mtimeNs
+                    && inode == other.inode && device == other.device;
+        }
+    }
+
+    private static final class Entry {
+        final Identity identity;
+        final String digest;
+        final long verifiedAtMs; // 上次完整计算的墙钟时间
+
+        Entry(Identity identity, String digest, long verifiedAtMs) {
+            this.identity = identity;
+            this.digest = digest;
+            this.verifiedAtMs = verifiedAtMs;
+        }
+    }
+
+    public FileHashCache(File file) {
+        this(file, DEFAULT_VERIFY_INTERVAL_MS);
+    }
+
+    /**
+     * @param file 缓存文件（位于应用私有目录）
+     * @param verifyIntervalMs 标识不变时重新计算的间隔
+     */
+    public FileHashCache(File file, long verifyIntervalMs) {
+        this.file = file;
+        this.verifyIntervalMs = verifyIntervalMs;
+    }
+
+    private static String keyOf(File file, String algorithm) {
+        return algorithm + ':' + file.getPath();
+    }
+
+    @Override
+    public String lookup(File file, String algorithm) {
+        Identity identity = stat(file);
+        if (identity == null) {
+            return null;
+        }
+        String key = keyOf(file, algorithm);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.identity.sameAs(identity) && !isVerificationDue(key, entry)) {
+            return entry.digest;
+        }
+        pending.put(key, identity);
+        return null;
+    }
+
+    @Override
+    public void store(File file, String algorithm, String digest) {
+        String key = keyOf(file, algorithm);
+        Identity before = pending.remove(key);
+        if (before == null || digest == null) {
+            return;
+        }
+        if (!before.sameAs(stat(file))) {
+            Log.d(TAG, file + " changed while hashing, not cached");
+            return;
+        }
+        Entry old = entries.get(key);
+        if (old != null && old.identity.sameAs(before) && !old.digest.equals(digest)) {
+            // 标识没变但内容变了：文件被原地修改并恢复了修改时间
+            Log.w(TAG, file + " content changed without identity change");
+        }
+        entries.put(key, new Entry(before, digest, System.currentTimeMillis()));
+        dirty = true;
+    }
+
+    // 校验时间按路径错开最多四分之一个间隔
+    private boolean isVerificationDue(String key, Entry entry) {
+        long jitter = Math.floorMod(key.hashCode(), Math.max(1, verifyIntervalMs / 4));
+        return System.currentTimeMillis() - entry.verifiedAtMs >= verifyIntervalMs - jitter;
+    }
+
+    private static Identity stat(File file) {
+        try {
+            StructStat st = Os.stat(file.getPath());
+            long mtimeNs = st.st_mtim.tv_sec * 1_000_000_000L + st.st_mtim.tv_nsec;
+            return new Identity(st.st_size, mtimeNs, st.st_ino, st.st_dev);
+        } catch (ErrnoException e) {
+            return null;
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        dirty = true;
+    }
+
+    /**
+     * 从磁盘读取
+     */
+    public synchronized void load() {
+        entries.clear();
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                Identity identity = new Identity(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+                String digest = in.readUTF();
+                entries.put(key, new Entry(identity, digest, in.readLong()));
+            }
+            Log.d(TAG, "Loaded " + entries.size() + " cached file hashes");
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Failed to read cache, ignored", e);
+            entries.clear();
+            dirty = true;
+        }
+    }
+
+    /**
+     * 有变化时写回磁盘（先写临时文件再重命名）
+     */
+    public synchronized void saveIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FORMAT_VERSION);
+            // 先取快照，并行计算的其他文件可能同时写入条目
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> e : snapshot) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.identity.size);
+                out.writeLong(entry.identity.mtimeNs);
+                out.writeLong(entry.identity.inode);
+                out.writeLong(entry.identity.device);
+                out.writeUTF(entry.digest);
+                out.writeLong(entry.verifiedAtMs);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write cache", e);
+            tmp.delete();
+            dirty = true;
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.w(TAG, "Failed to replace cache file");
+            tmp.delete();
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.kaze.devicefp.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文件哈希
+ * 文件通过 FileChannel.map 分段映射后直接交给 MessageDigest，不经过 FileInputStream 的小缓冲区拷贝；
+ * 多个文件按大小从大到小提交到线程池并行计算，总耗时接近最大的单个文件（framework.jar）的耗时。
+ * 无法映射的文件（部分 /apex 挂载点、设备节点）回退为流式读取
+ *
+ * 单个文件的结果与对整个文件内容做一次摘要相同，与旧的实现兼容
+ * 可以配合 {@link Cache} 跳过自上次计算以来没有变化的文件
+ */
+public final class FileHasher {
+
+    /**
+     * 摘要缓存：文件没有变化时直接返回上次的结果
+     */
+    public interface Cache {
+        /**
+         * @return 缓存的摘要，未命中或需要重新校验时返回 null
+         */
+        String lookup(File file, String algorithm);
+
+        /**
+         * 保存 lookup 未命中后重新计算的摘要
+         */
+        void store(File file, String algorithm, String digest);
+    }
+
+    /** 单次映射的窗口大小，避免在 32 位进程中占用过大的连续地址空间 */
+    static final long MAP_WINDOW = 32L * 1024 * 1024;
+    /** 小于此大小的文件直接读取，映射的系统调用开销比读取更大 */
+    static final long MAP_THRESHOLD = 64L * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private final String algorithm;
+    private final Executor executor;
+
+    /**
+     * @param algorithm MessageDigest 算法名或 {@link DigestUtils.Algorithm} 中的名称
+     * @param executor 并行计算使用的线程池
+     * @throws IllegalArgumentException 不支持的算法
+     */
+    public FileHasher(String algorithm, Executor executor) {
+        DigestUtils.newMessageDigest(algorithm); // 尽早暴露不支持的算法
+        this.algorithm = algorithm;
+        this.executor = executor;
+    }
+
+    /**
+     * 使用共享线程池（线程数等于 CPU 核心数）
+     */
+    public FileHasher(String algorithm) {
+        this(algorithm, defaultExecutor());
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 计算单个文件的摘要（在调用线程中执行）
+     * @return 小写十六进制，文件不存在或读取失败时返回 null
+     */
+    public String hash(File file) {
+        return hash(file, null);
+    }
+
+    /**
+     * 先查缓存，未命中时计算并写回缓存
+     * @param cache 可为 null
+     */
+    public String hash(File file, Cache cache) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        if (cache != null) {
+            String cached = cache.lookup(file, algorithm);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String result;
+        try {
+            result = DigestUtils.toHex(digest(file));
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+        if (cache != null) {
+            cache.store(file, algorithm, result);
+        }
+        return result;
+    }
+
+    /**
+     * 并行计算多个文件的摘要，阻塞直到全部完成
+     * @return 路径 -> 摘要（与 {@link #hash} 相同，失败时为 null），顺序与参数一致
+     */
+    public Map<String, String> hashAll(List<String> paths) {
+        return hashAll(paths, null);
+    }
+
+    /**
+     * 同 {@link #hashAll(List)}，缓存命中的文件不再读取
+     * @param cache 可为 null，需要支持并发调用
+     */
+    public Map<String, String> hashAll(List<String> paths, Cache cache) {
+        List<String> bySize = new ArrayList<>(paths);
+        // 大文件先开始，避免最后只剩一个大文件在单线程上执行
+        Collections.sort(bySize, (a, b) -> Long.compare(new File(b).length(), new File(a).length()));
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        for (String path : bySize) {
+            futures.put(path, CompletableFuture.supplyAsync(() -> hash(new File(path), cache), executor));
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String path : paths) {
+            result.put(path, futures.get(path).join());
+        }
+        return result;
+    }
+
+    private byte[] digest(File file) throws IOException {
+        MessageDigest digest = DigestUtils.newMessageDigest(algorithm);
+        long size = file.length();
+        if (size >= MAP_THRESHOLD) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                 FileChannel channel = raf.getChannel()) {
+                long length = channel.size();
+                for (long position = 0; position < length; position += MAP_WINDOW) {
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(MAP_WINDOW, length - position));
+                    digest.update(window);
+                }
+                return digest.digest();
+            } catch (IOException e) {
+                // 不支持映射，回退为读取
+                digest.reset();
+            }
+        }
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static ExecutorService defaultExecutor() {
+        ExecutorService executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (FileHasher.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    ThreadFactory factory = r -> {
+                        Thread thread = new Thread(r, "fp-hash-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    };
+                    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), factory);
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,178 @@
+package com.kaze.devicefp.util;
+
+import java.security.MessageDigest;
+
+/**
+ * MurmurHash3 x64 128 位（非加密哈希）
+ * 以 MessageDigest 的形式提供，可以直接用于 {@link StreamingDigest} 和 {@link FileHasher}；
+ * 速度是 SHA-1 的数倍，只用于不涉及安全的去重 / 比较（字体列表、解码器列表等）。
+ *
+ * 摘要字节与 Guava Hashing.murmur3_128() 一致（h1、h2 按小端顺序），64 位变体取 h1
+ * 非线程安全
+ */
+public final class Murmur3Digest extends MessageDigest {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final int digestLength;
+    private final int seed;
+    private final byte[] tail = new byte[16];
+    private int tailLength;
+    private long h1;
+    private long h2;
+    private long length;
+
+    /**
+     * @param bits 64 或 128
+     */
+    public Murmur3Digest(int bits, int seed) {
+        super("MURMUR3-" + bits);
+        if (bits != 64 && bits != 128) {
+            throw new IllegalArgumentException("bits must be 64 or 128: " + bits);
+        }
+        this.digestLength = bits / 8;
+        this.seed = seed;
+        engineReset();
+    }
+
+    public Murmur3Digest(int bits) {
+        this(bits, 0);
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return digestLength;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        tail[tailLength++] = input;
+        if (tailLength == 16) {
+            block(tail, 0);
+            tailLength = 0;
+        }
+        length++;
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        length += len;
+        int end = offset + len;
+        if (tailLength > 0) {
+            int n = Math.min(16 - tailLength, len);
+            System.arraycopy(input, offset, tail, tailLength, n);
+            tailLength += n;
+            offset += n;
+            if (tailLength < 16) {
+                return;
+            }
+            block(tail, 0);
+            tailLength = 0;
+        }
+        for (; offset + 16 <= end; offset += 16) {
+            block(input, offset);
+        }
+        tailLength = end - offset;
+        System.arraycopy(input, offset, tail, 0, tailLength);
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        long[] h = finish();
+        byte[] out = new byte[digestLength];
+        putLongLE(out, 0, h[0]);
+        if (digestLength == 16) {
+            putLongLE(out, 8, h[1]);
+        }
+        engineReset();
+        return out;
+    }
+
+    /**
+     * 完成计算并返回 h1（64 位结果），之后重置
+     */
+    public long digestLong() {
+        long result = finish()[0];
+        engineReset();
+        return result;
+    }
+
+    @Override
+    protected void engineReset() {
+        h1 = seed & 0xffffffffL;
+        h2 = seed & 0xffffffffL;
+        tailLength = 0;
+        length = 0;
+    }
+
+    private void block(byte[] b, int offset) {
+        long k1 = getLongLE(b, offset);
+        long k2 = getLongLE(b, offset + 8);
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private long[] finish() {
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = tailLength - 1; i >= 8; i--) {
+            k2 = (k2 << 8) | (tail[i] & 0xff);
+        }
+        for (int i = Math.min(tailLength, 8) - 1; i >= 0; i--) {
+            k1 = (k1 << 8) | (tail[i] & 0xff);
+        }
+        long a = h1 ^ mixK1(k1);
+        long b = h2 ^ mixK2(k2);
+        a ^= length;
+        b ^= length;
+        a += b;
+        b += a;
+        a = fmix64(a);
+        b = fmix64(b);
+        a += b;
+        b += a;
+        return new long[]{a, b};
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long getLongLE(byte[] b, int offset) {
+        long v = 0;
+        for (int i = 7; i >= 0; i--) {
+            v = (v << 8) | (b[offset + i] & 0xff);
+        }
+        return v;
+    }
+
+    private static void putLongLE(byte[] b, int offset, long v) {
+        for (int i = 0; i < 8; i++) {
+            b[offset + i] = (byte) (v >>> (8 * i));
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 指纹快照的二进制编码
+ *
+ * 格式（整数均为无符号 varint，LONG 取值为 zigzag varint）：
+ * <pre>
+ * 头部    "DFPS" 版本(1 字节) 时间戳
+ * 记录    STRING 长度 UTF-8 字节      —— 追加到字符串表，之后按序号引用
+ *         ITEM   字段 分类 状态(1 字节) 取值长度 取值
+ *         END
+ * 字段    注册字段为 id &lt;&lt; 1，未注册字段为 (名称序号 &lt;&lt; 1) | 1
+ * 字符串  引用为序号 + 1，0 表示 null
+ * </pre>
+ * 字符串在第一次使用前以 STRING 记录写出，重复的分类、单位、列表项只占一个 varint；
+ * 取值带长度前缀，解码时可以跳过不认识的类型。编码器逐项写出，解码器直接读取 ByteBuffer，不复制输入
+ */
+public final class SnapshotCodec {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'D', 'F', 'P', 'S'};
+    private static final int RECORD_END = 0;
+    private static final int RECORD_STRING = 1;
+    private static final int RECORD_ITEM = 2;
+    private static final int FLUSH_THRESHOLD = 8 * 1024;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * 编码整个快照
+     */
+    public static byte[] encode(FingerprintSnapshot snapshot) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(snapshot.size() * 16 + 64);
+        try {
+            encode(snapshot, out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream 不会抛出 IOException
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static void encode(FingerprintSnapshot snapshot, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(out, snapshot.getTimestampMs());
+        for (DeviceFingerprint item : snapshot.getItems()) {
+            encoder.write(item);
+        }
+        encoder.finish();
+    }
+
+    /**
+     * 解码整个快照（从 buffer 当前位置开始，不改变 buffer 的位置）
+     */
+    public static FingerprintSnapshot decode(ByteBuffer buffer) {
+        Decoder decoder = new Decoder(buffer);
+        List<DeviceFingerprint> items = new ArrayList<>();
+        while (decoder.hasNext()) {
+            items.add(decoder.next());
+        }
+        return new FingerprintSnapshot(decoder.getTimestampMs(), items);
+    }
+
+    /**
+     * 流式编码器：构造时写出头部，逐项 {@link #write}，最后 {@link #finish}
+     * 非线程安全
+     */
+    public static final class Encoder {
+
+        private final OutputStream out;
+        private final ByteSink records = new ByteSink(FLUSH_THRESHOLD + 256);
+        private final ByteSink value = new ByteSink(256);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private boolean finished;
+
+        public Encoder(OutputStream out, long timestampMs) throws IOException {
+            this.out = out;
+            records.writeBytes(MAGIC, 0, MAGIC.length);
+            records.writeByte(VERSION);
+            records.writeVarLong(timestampMs);
+        }
+
+        public void write(DeviceFingerprint item) throws IOException {
+            if (finished) {
+                throw new IllegalStateException("Encoder already finished");
+            }
+            // 先确定所有字符串引用（新字符串会先于本条记录写出），再写记录本身
+            FingerprintKey key = item.getKey();
+            int keyRef = key != null ? key.getId() << 1 : (stringRef(item.getName()) << 1) | 1;
+            int categoryRef = stringRef(item.getCategory());
+            value.reset();
+            writeValue(item.getTypedValue());
+
+            records.writeByte(RECORD_ITEM);
+            records.writeVarInt(keyRef);
+            records.writeVarInt(categoryRef);
+            records.writeByte(item.getStatus().ordinal());
+            records.writeVarInt(value.size());
+            records.writeBytes(value.array(), 0, value.size());
+            flushIfNeeded();
+        }
+
+        /**
+         * 写出结束标记并 flush（不关闭输出流）
+         */
+        public void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            records.writeByte(RECORD_END);
+            records.writeTo(out);
+            records.reset();
+            out.flush();
+        }
+
+        private void writeValue(FingerprintValue v) throws IOException {
+            value.writeByte(v.getType().ordinal());
+            switch (v.getType()) {
+                case TEXT:
+                    value.writeVarInt(stringRef(v.asText()));
+                    break;
+                case LONG:
+                    value.writeVarLong(zigzag(v.asLong()));
+                    value.writeVarInt(stringRef(v.getUnit()));
+                    break;
+                case DOUBLE:
+                    value.writeFixedLong(Double.doubleToLongBits(v.asDouble()));
+                    value.writeByte(v.getDecimals());
+                    value.writeVarInt(stringRef(v.getUnit()));
+                    break;
+                case BOOLEAN:
+                    value.writeByte(v.asBoolean() ? 1 : 0);
+                    value.writeVarInt(stringRef(v.getTrueLabel()));
+                    value.writeVarInt(stringRef(v.getFalseLabel()));
+                    break;
+                case STRING_LIST: {
+                    List<String> list = v.asList();
+                    value.writeVarInt(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        value.writeVarInt(stringRef(list.get(i)));
+                    }
+                    value.writeVarInt(stringRef(v.getUnit()));
+                    break;
+                }
+                case BYTES: {
+                    byte[] bytes = v.asBytes();
+                    value.writeVarInt(bytes.length);
+                    value.writeBytes(bytes, 0, bytes.length);
+                    break;
+                }
+                case MAP:
+                    value.writeVarInt(v.asMap().size());
+                    for (Map.Entry<String, FingerprintValue> e : v.asMap().entrySet()) {
+                        value.writeVarInt(stringRef(e.getKey()));
+                        writeValue(e.getValue());
+                    }
+                    break;
+            }
+        }
+
+        /**
+         * 字符串引用（序号 + 1，null 为 0），第一次出现时写出 STRING 记录
+         */
+        private int stringRef(String s) throws IOException {
+            if (s == null) {
+                return 0;
+            }
+            Integer index = strings.get(s);
+            if (index == null) {
+                index = strings.size();
+                strings.put(s, index);
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                records.writeByte(RECORD_STRING);
+                records.writeVarInt(bytes.length);
+                records.writeBytes(bytes, 0, bytes.length);
+                flushIfNeeded();
+            }
+            return index + 1;
+        }
+
+        private void flushIfNeeded() throws IOException {
+            if (records.size() >= FLUSH_THRESHOLD) {
+                records.writeTo(out);
+                records.reset();
+            }
+        }
+    }
+
+    /**
+     * 解码器：直接读取 ByteBuffer（不复制），字符串表只记录偏移，第一次引用时才生成 String
+     * 非线程安全
+     */
+    public static final class Decoder {
+
+        private final ByteBuffer buf;
+        private final long timestampMs;
+        private int[] stringOffsets = new int[64];
+        private int[] stringLengths = new int[64];
+        private String[] stringCache = new String[64];
+        private int stringCount;
+        private boolean ended;
+
+        /**
+         * @throws IllegalArgumentException 不是快照数据或版本不受支持
+         */
+        public Decoder(ByteBuffer buffer) {
+            this.buf = buffer.duplicate();
+            for (byte b : MAGIC) {
+                if (buf.get() != b) {
+                    throw new IllegalArgumentException("Not a fingerprint snapshot");
+                }
+            }
+            int version = buf.get() & 0xff;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            }
+            this.timestampMs = readVarLong();
+        }
+
+        public long getTimestampMs() {
+            return timestampMs;
+        }
+
+        public boolean hasNext() {
+            if (ended) {
+                return false;
+            }
+            // 先消化字符串记录，停在下一条指纹记录或结束标记处
+            while (true) {
+                int record = buf.get(buf.position()) & 0xff;
+                if (record == RECORD_STRING) {
+                    buf.get();
+                    defineString();
+                } else if (record == RECORD_END) {
+                    buf.get();
+                    ended = true;
+                    return false;
+                } else if (record == RECORD_ITEM) {
+                    return true;
+                } else {
+                    throw new IllegalArgumentException("Unknown record " + record + " at " + buf.position());
+                }
+            }
+        }
+
+        /**
+         * 下一项的注册字段 id，未注册字段返回 -1（不消耗该项）
+         */
+        public int peekKeyId() {
+            if (!hasNext()) {
+                throw new IllegalStateException("No more items");
+            }
+            int saved = buf.position();
+            buf.get();
+            int keyRef = readVarInt();
+            buf.position(saved);
+            return (keyRef & 1) == 0 ? keyRef >>> 1 : -1;
+        }
+
+        /**
+         * 跳过下一项，不解码取值
+         */
+        public void skip() {
+            if (!hasNext()) {
+                throw new IllegalStateException("No more items");
+            }
+            buf.get();
+            readVarInt();
+            readVarInt();
+            buf.get();
+            int length = readVarInt();
+            buf.position(buf.position() + length);
+        }
+
+        public DeviceFingerprint next() {
+            if (!hasNext()) {
+                throw new IllegalStateException("No more items");
+            }
+            buf.get();
+            int keyRef = readVarInt();
+            String category = string(readVarInt());
+            int statusOrdinal = buf.get() & 0xff;
+            int length = readVarInt();
+            int end = buf.position() + length;
+            FingerprintValue value = readValue();
+            buf.position(end); // 跳过新版本追加的内容
+
+            FingerprintStatus[] statuses = FingerprintStatus.values();
+            FingerprintStatus status = statusOrdinal < statuses.length ? statuses[statusOrdinal]
+                    : FingerprintStatus.MISSING;
+            if ((keyRef & 1) == 0) {
+                FingerprintKey key = FingerprintKey.byId(keyRef >>> 1);
+                if (key != null) {
+                    return new DeviceFingerprint(category, key, value, status);
+                }
+                return new DeviceFingerprint(category, "#" + (keyRef >>> 1), value, status);
+            }
+            return new DeviceFingerprint(category, string(keyRef >>> 1), value, status);
+        }
+
+        private FingerprintValue readValue() {
+            int typeOrdinal = buf.get() & 0xff;
+            FingerprintValue.Type[] types = FingerprintValue.Type.values();
+            if (typeOrdinal >= types.length) {
+                return FingerprintValue.EMPTY;
+            }
+            switch (types[typeOrdinal]) {
+                case TEXT:
+                    return FingerprintValue.text(string(readVarInt()));
+                case LONG: {
+                    long v = unzigzag(readVarLong());
+                    return FingerprintValue.ofLong(v, string(readVarInt()));
+                }
+                case DOUBLE: {
+                    double v = Double.longBitsToDouble(buf.getLong());
+                    int decimals = buf.get() & 0xff;
+                    return FingerprintValue.ofDouble(v, decimals, string(readVarInt()));
+                }
+                case BOOLEAN: {
+                    boolean v = buf.get() != 0;
+                    String trueLabel = string(readVarInt());
+                    return FingerprintValue.ofBoolean(v, trueLabel, string(readVarInt()));
+                }
+                case STRING_LIST: {
+                    int size = readVarInt();
+                    List<String> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(string(readVarInt()));
+                    }
+                    return FingerprintValue.ofList(list, string(readVarInt()));
+                }
+                case BYTES: {
+                    byte[] bytes = new byte[readVarInt()];
+                    buf.get(bytes);
+                    return FingerprintValue.ofBytes(bytes);
+                }
+                case MAP: {
+                    int size = readVarInt();
+                    Map<String, FingerprintValue> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        String key = string(readVarInt());
+                        map.put(key, readValue());
+                    }
+                    return FingerprintValue.ofMap(map);
+                }
+                default:
+                    return FingerprintValue.EMPTY;
+            }
+        }
+
+        private void defineString() {
+            int length = readVarInt();
+            if (stringCount == stringOffsets.length) {
+                int capacity = stringCount * 2;
+                stringOffsets = Arrays.copyOf(stringOffsets, capacity);
+                stringLengths = Arrays.copyOf(stringLengths, capacity);
+                stringCache = Arrays.copyOf(stringCache, capacity);
+            }
+            stringOffsets[stringCount] = buf.position();
+            stringLengths[stringCount] = length;
+            stringCount++;
+            buf.position(buf.position() + length);
+        }
+
+        private String string(int ref) {
+            if (ref == 0) {
+                return null;
+            }
+            int index = ref - 1;
+            if (index >= stringCount) {
+                throw new IllegalArgumentException("Undefined string " + index);
+            }
+            String s = stringCache[index];
+            if (s == null) {
+                int offset = stringOffsets[index];
+                int length = stringLengths[index];
+                if (buf.hasArray()) {
+                    s = new String(buf.array(), buf.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+                } else {
+                    byte[] bytes = new byte[length];
+                    ByteBuffer view = buf.duplicate();
+                    view.position(offset);
+                    view.get(bytes);
+                    s = new String(bytes, StandardCharsets.UTF_8);
+                }
+                stringCache[index] = s;
+            }
+            return s;
+        }
+
+        private int readVarInt() {
+            long v = readVarLong();
+            if (v > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Varint out of range at " + buf.position());
+            }
+            return (int) v;
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = buf.get() & 0xff;
+                result |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at " + buf.position());
+        }
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * 可复用的字节缓冲
+     */
+    private static final class ByteSink {
+        private byte[] bytes;
+        private int size;
+
+        ByteSink(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] src, int offset, int length) {
+            ensure(length);
+            System.arraycopy(src, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeVarInt(int v) {
+            writeVarLong(v & 0xffffffffL);
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7fL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        void writeFixedLong(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (v >>> shift);
+            }
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
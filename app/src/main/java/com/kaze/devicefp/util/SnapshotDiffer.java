@@ -0,0 +1,135 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SnapshotDiff;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 比较两个快照
+ * 两个快照的指纹项按字段排序后做一次归并，耗时与字段数成线性；快照的排序结果会被缓存，
+ * 同一快照参与多次比较（如与历史记录逐个比较）时只排序一次。没有差异时不分配结果列表
+ */
+public final class SnapshotDiffer {
+
+    /** 电压抖动容差（V） */
+    public static final double VOLTAGE_TOLERANCE = 0.05;
+    /** 温度抖动容差（°C） */
+    public static final double TEMPERATURE_TOLERANCE = 1.0;
+
+    private final Map<FingerprintKey, Double> tolerances = new EnumMap<>(FingerprintKey.class);
+    private final Set<FingerprintKey> ignored = EnumSet.noneOf(FingerprintKey.class);
+
+    /**
+     * 精确比较：任何取值或状态变化都算作变化
+     */
+    public SnapshotDiffer() {
+    }
+
+    /**
+     * 忽略电压、温度抖动的比较器
+     */
+    public static SnapshotDiffer withJitterTolerances() {
+        return new SnapshotDiffer()
+                .setTolerance(FingerprintKey.BATTERY_VOLTAGE, VOLTAGE_TOLERANCE)
+                .setTolerance(FingerprintKey.BATTERY_TEMPERATURE, TEMPERATURE_TOLERANCE);
+    }
+
+    /**
+     * 数值字段的绝对容差：新旧值之差不超过容差时不算变化
+     */
+    public SnapshotDiffer setTolerance(FingerprintKey key, double tolerance) {
+        tolerances.put(key, tolerance);
+        return this;
+    }
+
+    /**
+     * 忽略字段的取值变化（新增和移除仍然报告）
+     */
+    public SnapshotDiffer ignore(FingerprintKey key) {
+        ignored.add(key);
+        return this;
+    }
+
+    public SnapshotDiff diff(FingerprintSnapshot oldSnapshot, FingerprintSnapshot newSnapshot) {
+        return diff(oldSnapshot.getItemsByKey(), newSnapshot.getItemsByKey());
+    }
+
+    /**
+     * @param oldItems 按 {@link FingerprintSnapshot#KEY_ORDER} 排序的旧指纹项
+     * @param newItems 按 {@link FingerprintSnapshot#KEY_ORDER} 排序的新指纹项
+     */
+    public SnapshotDiff diff(DeviceFingerprint[] oldItems, DeviceFingerprint[] newItems) {
+        List<SnapshotDiff.FieldChange> changes = null;
+        int i = 0;
+        int j = 0;
+        while (i < oldItems.length && j < newItems.length) {
+            DeviceFingerprint oldItem = oldItems[i];
+            DeviceFingerprint newItem = newItems[j];
+            int c = FingerprintSnapshot.KEY_ORDER.compare(oldItem, newItem);
+            SnapshotDiff.FieldChange change = null;
+            if (c < 0) {
+                change = new SnapshotDiff.FieldChange(SnapshotDiff.ChangeType.REMOVED, oldItem, null);
+                i++;
+            } else if (c > 0) {
+                change = new SnapshotDiff.FieldChange(SnapshotDiff.ChangeType.ADDED, null, newItem);
+                j++;
+            } else {
+                if (!isSame(oldItem, newItem)) {
+                    change = new SnapshotDiff.FieldChange(SnapshotDiff.ChangeType.CHANGED, oldItem, newItem);
+                }
+                i++;
+                j++;
+            }
+            if (change != null) {
+                if (changes == null) {
+                    changes = new ArrayList<>();
+                }
+                changes.add(change);
+            }
+        }
+        for (; i < oldItems.length; i++) {
+            if (changes == null) {
+                changes = new ArrayList<>();
+            }
+            changes.add(new SnapshotDiff.FieldChange(SnapshotDiff.ChangeType.REMOVED, oldItems[i], null));
+        }
+        for (; j < newItems.length; j++) {
+            if (changes == null) {
+                changes = new ArrayList<>();
+            }
+            changes.add(new SnapshotDiff.FieldChange(SnapshotDiff.ChangeType.ADDED, null, newItems[j]));
+        }
+        return changes != null ? new SnapshotDiff(changes) : SnapshotDiff.EMPTY;
+    }
+
+    private boolean isSame(DeviceFingerprint oldItem, DeviceFingerprint newItem) {
+        FingerprintKey key = newItem.getKey();
+        if (key != null && ignored.contains(key)) {
+            return true;
+        }
+        if (oldItem.getStatus() != newItem.getStatus()) {
+            return false;
+        }
+        FingerprintValue oldValue = oldItem.getTypedValue();
+        FingerprintValue newValue = newItem.getTypedValue();
+        if (oldValue.equals(newValue)) {
+            return true;
+        }
+        Double tolerance = key != null ? tolerances.get(key) : null;
+        return tolerance != null && isNumeric(oldValue) && isNumeric(newValue)
+                && Math.abs(oldValue.asDouble() - newValue.asDouble()) <= tolerance;
+    }
+
+    private static boolean isNumeric(FingerprintValue value) {
+        return value.getType() == FingerprintValue.Type.LONG || value.getType() == FingerprintValue.Type.DOUBLE;
+    }
+}
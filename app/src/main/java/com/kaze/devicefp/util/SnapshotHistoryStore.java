@@ -0,0 +1,616 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SnapshotDiff;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 只追加的快照历史
+ *
+ * 日志文件逐条追加记录：每 {@link #KEYFRAME_INTERVAL} 条写一次完整快照（关键帧），其余只写与上一条相比
+ * 新增 / 变化的字段和移除的字段名（增量），编码见 {@link SnapshotCodec}。
+ * 索引文件通过内存映射读写，每条记录一个定长条目（时间戳、日志偏移、长度、距关键帧的条数），
+ * 按序号查找是数组下标，按时间查找是对索引的二分查找，都不需要读日志。
+ * 超过容量或保存时长时，从最早的关键帧开始整段丢弃旧记录，序号保持不变。
+ *
+ * 写入顺序是先日志后索引，打开时丢弃索引之外的日志尾部，进程中途被杀不会留下损坏的记录。
+ * 丢弃旧记录时新日志和新索引先写到临时文件，依次替换日志、索引，打开时根据残留的临时文件回滚或补完。
+ * 索引中的时间戳单调不减（墙钟回拨时沿用上一条的时间），按时间的二分查找依赖这一点。
+ * 线程安全（所有方法同步）
+ */
+public final class SnapshotHistoryStore implements Closeable {
+
+    /** 关键帧间隔：还原任意一条最多解码一个完整快照和这么多条增量 */
+    public static final int KEYFRAME_INTERVAL = 32;
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    public static final long DEFAULT_MAX_AGE_MS = 30L * 24 * 60 * 60 * 1000;
+
+    private static final String LOG_FILE = "history.log";
+    private static final String INDEX_FILE = "history.idx";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private static final int INDEX_MAGIC = 0x44465049; // "DFPI"
+    private static final int INDEX_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_SIZE = 24;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte RECORD_FULL = 0;
+    private static final byte RECORD_DELTA = 1;
+
+    /**
+     * 字段在某一时刻的取值（{@link #getFieldHistory} 只返回取值变化的时刻）
+     */
+    public static final class FieldPoint {
+        private final long sequence;
+        private final long timestampMs;
+        private final FingerprintValue value;
+        private final FingerprintStatus status;
+
+        FieldPoint(long sequence, long timestampMs, FingerprintValue value, FingerprintStatus status) {
+            this.sequence = sequence;
+            this.timestampMs = timestampMs;
+            this.value = value;
+            this.status = status;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getTimestampMs() {
+            return timestampMs;
+        }
+
+        /**
+         * 字段的取值，快照中没有该字段时为 null
+         */
+        public FingerprintValue getValue() {
+            return value;
+        }
+
+        public FingerprintStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + sequence + " " + timestampMs + " " + (value != null ? value.format() : "<absent>");
+        }
+    }
+
+    private final File dir;
+    private final long maxBytes;
+    private final long maxAgeMs;
+    private final SnapshotDiffer differ = new SnapshotDiffer();
+
+    private RandomAccessFile logFile;
+    private FileChannel log;
+    private RandomAccessFile indexFile;
+    private MappedByteBuffer index;
+    private int capacity;
+    private long firstSequence;
+    private int count;
+    private FingerprintSnapshot last; // 最后一条的完整快照（用于计算下一条增量），延迟还原
+
+    public SnapshotHistoryStore(File dir) {
+        this(dir, DEFAULT_MAX_BYTES, DEFAULT_MAX_AGE_MS);
+    }
+
+    /**
+     * @param maxBytes 日志文件上限
+     * @param maxAgeMs 保存时长，早于 (最新时间 - maxAgeMs) 的记录会被丢弃
+     */
+    public SnapshotHistoryStore(File dir, long maxBytes, long maxAgeMs) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * 打开（不存在时创建）日志和索引
+     */
+    public synchronized void open() throws IOException {
+        if (log != null) {
+            return;
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        finishPendingTrim();
+        openLog();
+        indexFile = new RandomAccessFile(new File(dir, INDEX_FILE), "rw");
+        boolean fresh = indexFile.length() < HEADER_SIZE;
+        capacity = fresh ? INITIAL_CAPACITY
+                : Math.max(INITIAL_CAPACITY, (int) ((indexFile.length() - HEADER_SIZE) / ENTRY_SIZE));
+        mapIndex();
+        if (fresh || index.getInt(0) != INDEX_MAGIC || index.getInt(4) != INDEX_VERSION) {
+            resetFiles();
+        } else {
+            firstSequence = index.getLong(8);
+            count = index.getInt(16);
+            recover();
+        }
+    }
+
+    // 上次丢弃旧记录时中途被杀：日志临时文件还在说明日志尚未替换，旧日志和旧索引仍然一致，删除临时文件即可；
+    // 只剩索引临时文件说明日志已替换，补完索引替换
+    private void finishPendingTrim() throws IOException {
+        File logTmp = new File(dir, LOG_FILE + TMP_SUFFIX);
+        File indexTmp = new File(dir, INDEX_FILE + TMP_SUFFIX);
+        if (logTmp.exists()) {
+            logTmp.delete();
+            indexTmp.delete();
+        } else if (indexTmp.exists() && !indexTmp.renameTo(new File(dir, INDEX_FILE))) {
+            throw new IOException("Failed to replace " + INDEX_FILE);
+        }
+    }
+
+    private void openLog() throws IOException {
+        logFile = new RandomAccessFile(new File(dir, LOG_FILE), "rw");
+        log = logFile.getChannel();
+    }
+
+    // 丢弃越界的索引条目和索引之外的日志尾部
+    private void recover() throws IOException {
+        long logLength = log.size();
+        int valid = 0;
+        while (valid < count && valid < capacity) {
+            long end = entryOffset(valid) + entryLength(valid);
+            if (end > logLength) {
+                break;
+            }
+            valid++;
+        }
+        if (valid != count) {
+            count = valid;
+            writeHeader();
+        }
+        long end = count > 0 ? entryOffset(count - 1) + entryLength(count - 1) : 0;
+        if (logLength > end) {
+            log.truncate(end);
+        }
+        // 最后一条之前的关键帧已丢失（不应发生）时从头开始
+        if (count > 0 && entryKeyframeDistance(0) != 0) {
+            resetFiles();
+        }
+    }
+
+    private void resetFiles() throws IOException {
+        log.truncate(0);
+        firstSequence = 0;
+        count = 0;
+        last = null;
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, INDEX_VERSION);
+        writeHeader();
+    }
+
+    private void mapIndex() throws IOException {
+        index = indexFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_SIZE + (long) capacity * ENTRY_SIZE);
+    }
+
+    private void writeHeader() {
+        index.putLong(8, firstSequence);
+        index.putInt(16, count);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (log == null) {
+            return;
+        }
+        index.force();
+        log.force(false);
+        log.close();
+        logFile.close();
+        indexFile.close();
+        log = null;
+        index = null;
+        last = null;
+    }
+
+    /**
+     * 追加一条快照
+     * @return 序号
+     */
+    public synchronized long append(FingerprintSnapshot snapshot) throws IOException {
+        ensureOpen();
+        long sequence = firstSequence + count;
+        long timestamp = snapshot.getTimestampMs();
+        if (count > 0 && timestamp < entryTimestamp(count - 1)) {
+            timestamp = entryTimestamp(count - 1);
+            snapshot = new FingerprintSnapshot(timestamp, snapshot.getItems());
+        }
+        int distance = count > 0 ? entryKeyframeDistance(count - 1) + 1 : 0;
+        byte[] payload;
+        byte kind;
+        if (count == 0 || distance >= KEYFRAME_INTERVAL) {
+            distance = 0;
+            kind = RECORD_FULL;
+            payload = SnapshotCodec.encode(snapshot);
+        } else {
+            kind = RECORD_DELTA;
+            payload = encodeDelta(lastSnapshot(), snapshot);
+        }
+
+        long offset = log.size();
+        ByteBuffer record = ByteBuffer.allocate(1 + payload.length);
+        record.put(kind).put(payload).flip();
+        while (record.hasRemaining()) {
+            log.write(record, offset + record.position());
+        }
+
+        if (count == capacity) {
+            capacity *= 2;
+            mapIndex();
+        }
+        int pos = HEADER_SIZE + count * ENTRY_SIZE;
+        index.putLong(pos, timestamp);
+        index.putLong(pos + 8, offset);
+        index.putInt(pos + 16, 1 + payload.length);
+        index.putInt(pos + 20, distance);
+        count++;
+        writeHeader();
+        last = snapshot;
+
+        trimIfNeeded(timestamp);
+        return sequence;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * 最早一条的序号（没有记录时为下一条的序号）
+     */
+    public synchronized long getFirstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * 最后一条的序号，没有记录时返回 -1
+     */
+    public synchronized long getLastSequence() {
+        return count > 0 ? firstSequence + count - 1 : -1;
+    }
+
+    public synchronized long getTimestamp(long sequence) {
+        return entryTimestamp(slot(sequence));
+    }
+
+    /**
+     * 不晚于指定时间的最后一条的序号，没有时返回 -1
+     */
+    public synchronized long findSequence(long timestampMs) {
+        int lo = 0;
+        int hi = count - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entryTimestamp(mid) <= timestampMs) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found >= 0 ? firstSequence + found : -1;
+    }
+
+    /**
+     * 还原指定序号的完整快照：从最近的关键帧开始依次应用增量
+     */
+    public synchronized FingerprintSnapshot get(long sequence) throws IOException {
+        ensureOpen();
+        int slot = slot(sequence);
+        if (slot == count - 1 && last != null) {
+            return last;
+        }
+        int keyframe = slot - entryKeyframeDistance(slot);
+        Map<String, DeviceFingerprint> items = new LinkedHashMap<>();
+        for (int i = keyframe; i <= slot; i++) {
+            ByteBuffer record = readRecord(i);
+            byte kind = record.get();
+            if (kind == RECORD_FULL) {
+                items.clear();
+            } else {
+                int removed = readVarInt(record);
+                for (int r = 0; r < removed; r++) {
+                    items.remove(readName(record));
+                }
+            }
+            SnapshotCodec.Decoder decoder = new SnapshotCodec.Decoder(record);
+            while (decoder.hasNext()) {
+                DeviceFingerprint item = decoder.next();
+                items.put(item.getName(), item);
+            }
+        }
+        return new FingerprintSnapshot(entryTimestamp(slot), new ArrayList<>(items.values()));
+    }
+
+    /**
+     * 字段随时间的变化：只返回取值、状态或有无发生变化的时刻（首条总是返回）
+     * 只解码该字段，其他字段按长度跳过
+     * @param fromMs 起始时间（含）
+     * @param toMs 结束时间（含）
+     */
+    public synchronized List<FieldPoint> getFieldHistory(FingerprintKey key, long fromMs, long toMs)
+            throws IOException {
+        ensureOpen();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        long startSequence = findSequence(fromMs);
+        int start = startSequence >= 0 ? (int) (startSequence - firstSequence) : 0;
+        start -= entryKeyframeDistance(start);
+
+        List<FieldPoint> points = new ArrayList<>();
+        DeviceFingerprint current = null;
+        FieldPoint previous = null;
+        String name = key.getDisplayName();
+        for (int i = start; i < count; i++) {
+            long timestamp = entryTimestamp(i);
+            if (timestamp > toMs) {
+                break;
+            }
+            ByteBuffer record = readRecord(i);
+            byte kind = record.get();
+            if (kind == RECORD_FULL) {
+                current = null;
+            } else {
+                int removed = readVarInt(record);
+                for (int r = 0; r < removed; r++) {
+                    if (name.equals(readName(record))) {
+                        current = null;
+                    }
+                }
+            }
+            SnapshotCodec.Decoder decoder = new SnapshotCodec.Decoder(record);
+            while (decoder.hasNext()) {
+                if (decoder.peekKeyId() == key.getId()) {
+                    current = decoder.next();
+                } else {
+                    decoder.skip();
+                }
+            }
+            if (timestamp < fromMs) {
+                continue;
+            }
+            FingerprintValue value = current != null ? current.getTypedValue() : null;
+            FingerprintStatus status = current != null ? current.getStatus() : null;
+            if (previous == null || !sameValue(previous.value, value) || previous.status != status) {
+                previous = new FieldPoint(firstSequence + i, timestamp, value, status);
+                points.add(previous);
+            }
+        }
+        return points;
+    }
+
+    private static boolean sameValue(FingerprintValue a, FingerprintValue b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // ========== 增量编码 ==========
+
+    private byte[] encodeDelta(FingerprintSnapshot previous, FingerprintSnapshot current) {
+        SnapshotDiff diff = differ.diff(previous, current);
+        List<DeviceFingerprint> upserts = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (SnapshotDiff.FieldChange change : diff.getChanges()) {
+            if (change.getType() == SnapshotDiff.ChangeType.REMOVED) {
+                removed.add(change.getName());
+            } else {
+                upserts.add(change.getNewItem());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarInt(out, removed.size());
+        for (String name : removed) {
+            FingerprintKey key = FingerprintKey.byName(name);
+            if (key != null) {
+                writeVarInt(out, key.getId() << 1);
+            } else {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, (bytes.length << 1) | 1);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        byte[] items = SnapshotCodec.encode(new FingerprintSnapshot(current.getTimestampMs(), upserts));
+        out.write(items, 0, items.length);
+        return out.toByteArray();
+    }
+
+    // 注册字段为 id << 1，未注册字段为 (长度 << 1) | 1 加 UTF-8 名称
+    private static String readName(ByteBuffer buf) {
+        int ref = readVarInt(buf);
+        if ((ref & 1) == 0) {
+            FingerprintKey key = FingerprintKey.byId(ref >>> 1);
+            return key != null ? key.getDisplayName() : "#" + (ref >>> 1);
+        }
+        byte[] bytes = new byte[ref >>> 1];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buf) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = buf.get() & 0xff;
+            result |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // ========== 容量控制 ==========
+
+    // 超过容量或保存时长时，丢弃最早的若干段关键帧（丢到容量的 3/4 以下，避免每次追加都重写）
+    private void trimIfNeeded(long now) throws IOException {
+        boolean tooLarge = log.size() > maxBytes;
+        boolean tooOld = count > 0 && now - entryTimestamp(0) > maxAgeMs;
+        if (!tooLarge && !tooOld) {
+            return;
+        }
+        long targetBytes = maxBytes * 3 / 4;
+        long logEnd = log.size();
+        int cut = 0;
+        for (int i = 1; i < count; i++) {
+            if (entryKeyframeDistance(i) != 0) {
+                continue;
+            }
+            // 最后一段始终保留
+            boolean sizeOk = logEnd - entryOffset(i) <= targetBytes;
+            boolean ageOk = now - entryTimestamp(i) <= maxAgeMs;
+            cut = i;
+            if (sizeOk && ageOk) {
+                break;
+            }
+        }
+        if (cut > 0) {
+            dropBefore(cut);
+        }
+    }
+
+    private void dropBefore(int cut) throws IOException {
+        long base = entryOffset(cut);
+        long remaining = log.size() - base;
+        int kept = count - cut;
+        File logTmp = new File(dir, LOG_FILE + TMP_SUFFIX);
+        File indexTmp = new File(dir, INDEX_FILE + TMP_SUFFIX);
+        try (RandomAccessFile out = new RandomAccessFile(logTmp, "rw")) {
+            out.setLength(0);
+            FileChannel channel = out.getChannel();
+            long copied = 0;
+            while (copied < remaining) {
+                copied += log.transferTo(base + copied, remaining - copied, channel);
+            }
+            channel.force(false);
+        }
+
+        // 新索引：序号前移，日志偏移减去丢弃的长度；文件长度与当前容量一致
+        ByteBuffer rebased = ByteBuffer.allocate(HEADER_SIZE + kept * ENTRY_SIZE);
+        rebased.putInt(INDEX_MAGIC).putInt(INDEX_VERSION).putLong(firstSequence + cut).putInt(kept);
+        rebased.position(HEADER_SIZE);
+        for (int i = cut; i < count; i++) {
+            rebased.putLong(entryTimestamp(i))
+                    .putLong(entryOffset(i) - base)
+                    .putInt(entryLength(i))
+                    .putInt(entryKeyframeDistance(i));
+        }
+        rebased.flip();
+        try (RandomAccessFile out = new RandomAccessFile(indexTmp, "rw")) {
+            out.setLength(HEADER_SIZE + (long) capacity * ENTRY_SIZE);
+            FileChannel channel = out.getChannel();
+            while (rebased.hasRemaining()) {
+                channel.write(rebased, rebased.position());
+            }
+            channel.force(false);
+        }
+
+        // 先替换日志再替换索引，中途被杀时由 finishPendingTrim() 回滚或补完
+        log.close();
+        logFile.close();
+        if (!logTmp.renameTo(new File(dir, LOG_FILE))) {
+            logTmp.delete();
+            indexTmp.delete();
+            openLog();
+            throw new IOException("Failed to replace " + LOG_FILE);
+        }
+        indexFile.close();
+        if (!indexTmp.renameTo(new File(dir, INDEX_FILE))) {
+            // 日志已替换而索引没有，不能继续使用；下次打开时补完
+            log = null;
+            index = null;
+            last = null;
+            throw new IOException("Failed to replace " + INDEX_FILE);
+        }
+        openLog();
+        indexFile = new RandomAccessFile(new File(dir, INDEX_FILE), "rw");
+        mapIndex();
+        firstSequence += cut;
+        count = kept;
+    }
+
+    // ========== 索引访问 ==========
+
+    private void ensureOpen() throws IOException {
+        if (log == null) {
+            throw new IOException("History store is not open");
+        }
+    }
+
+    private int slot(long sequence) {
+        long slot = sequence - firstSequence;
+        if (slot < 0 || slot >= count) {
+            throw new IndexOutOfBoundsException("Sequence " + sequence + " not in [" + firstSequence + ", "
+                    + (firstSequence + count) + ")");
+        }
+        return (int) slot;
+    }
+
+    private long entryTimestamp(int slot) {
+        return index.getLong(HEADER_SIZE + slot * ENTRY_SIZE);
+    }
+
+    private long entryOffset(int slot) {
+        return index.getLong(HEADER_SIZE + slot * ENTRY_SIZE + 8);
+    }
+
+    private int entryLength(int slot) {
+        return index.getInt(HEADER_SIZE + slot * ENTRY_SIZE + 16);
+    }
+
+    private int entryKeyframeDistance(int slot) {
+        return index.getInt(HEADER_SIZE + slot * ENTRY_SIZE + 20);
+    }
+
+    private ByteBuffer readRecord(int slot) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(entryLength(slot));
+        long offset = entryOffset(slot);
+        while (buf.hasRemaining()) {
+            if (log.read(buf, offset + buf.position()) < 0) {
+                throw new IOException("Unexpected end of history log");
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private FingerprintSnapshot lastSnapshot() throws IOException {
+        if (last == null) {
+            last = get(firstSequence + count - 1);
+        }
+        return last;
+    }
+}
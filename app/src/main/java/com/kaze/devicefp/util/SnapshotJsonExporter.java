@@ -0,0 +1,192 @@
+package com.kaze.devicefp.util;
+
+import android.util.JsonWriter;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SectionType;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 以 JSON 流式导出完整快照
+ * 按板块顺序逐项写入 Writer，不构建 JSONObject 树或整段字符串；数值、布尔、列表、嵌套表保留原始类型，
+ * 字节数组写成十六进制字符串的数组（每段最多 {@link #HEX_CHUNK_BYTES} 字节，依次拼接即完整的十六进制）
+ *
+ * <pre>
+ * {"version":2,"timestamp":...,"sections":[
+ *   {"title":"设备信息","items":[
+ *     {"id":101,"key":"BRAND","name":"设备品牌","category":"设备信息","status":"COLLECTED",
+ *      "type":"TEXT","value":"Google"}, ...]}, ...]}
+ * </pre>
+ */
+public final class SnapshotJsonExporter {
+
+    /** 2: BYTES 的值由单个十六进制字符串改为分段数组 */
+    public static final int VERSION = 2;
+    /** BYTES 每段的字节数 */
+    public static final int HEX_CHUNK_BYTES = 2048;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private SnapshotJsonExporter() {
+    }
+
+    /**
+     * 写入文件（先写临时文件再重命名，导出中断时不留下半个文件）
+     */
+    public static void export(FingerprintSnapshot snapshot, File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            export(snapshot, out);
+        } catch (IOException e) {
+            tmp.delete();
+            throw e;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Failed to rename " + tmp + " to " + file);
+        }
+    }
+
+    /**
+     * 以 UTF-8 写入输出流，完成后 flush，不关闭输出流
+     */
+    public static void export(FingerprintSnapshot snapshot, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        export(snapshot, writer);
+        writer.flush();
+    }
+
+    public static void export(FingerprintSnapshot snapshot, Writer writer) throws IOException {
+        // 不关闭 JsonWriter，否则会连带关闭调用方的输出流
+        JsonWriter json = new JsonWriter(writer);
+        char[] hex = new char[HEX_CHUNK_BYTES * 2];
+        json.beginObject();
+        json.name("version").value(VERSION);
+        json.name("timestamp").value(snapshot.getTimestampMs());
+        json.name("sections").beginArray();
+        List<DeviceFingerprint> items = snapshot.getItems();
+        for (SectionType section : SectionType.values()) {
+            writeSection(json, section, items, hex);
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    private static void writeSection(JsonWriter json, SectionType section, List<DeviceFingerprint> items,
+                                     char[] hex) throws IOException {
+        boolean started = false;
+        for (int i = 0; i < items.size(); i++) {
+            DeviceFingerprint item = items.get(i);
+            if (item.getSection() != section) {
+                continue;
+            }
+            if (!started) {
+                json.beginObject();
+                json.name("title").value(section.getTitle());
+                json.name("items").beginArray();
+                started = true;
+            }
+            writeItem(json, item, hex);
+        }
+        if (started) {
+            json.endArray();
+            json.endObject();
+        }
+    }
+
+    private static void writeItem(JsonWriter json, DeviceFingerprint item, char[] hex) throws IOException {
+        json.beginObject();
+        FingerprintKey key = item.getKey();
+        if (key != null) {
+            json.name("id").value(key.getId());
+            json.name("key").value(key.name());
+        }
+        json.name("name").value(item.getName());
+        if (item.getCategory() != null) {
+            json.name("category").value(item.getCategory());
+        }
+        json.name("status").value(item.getStatus().name());
+        FingerprintValue value = item.getTypedValue();
+        json.name("type").value(value.getType().name());
+        json.name("value");
+        writeValue(json, value, hex);
+        if (!value.getUnit().isEmpty() && (value.getType() == FingerprintValue.Type.LONG
+                || value.getType() == FingerprintValue.Type.DOUBLE)) {
+            json.name("unit").value(value.getUnit());
+        }
+        // 数值和布尔附带界面上的显示文字
+        if (value.getType() == FingerprintValue.Type.LONG || value.getType() == FingerprintValue.Type.DOUBLE
+                || value.getType() == FingerprintValue.Type.BOOLEAN) {
+            json.name("display").value(value.format());
+        }
+        json.endObject();
+    }
+
+    private static void writeValue(JsonWriter json, FingerprintValue value, char[] hex) throws IOException {
+        switch (value.getType()) {
+            case LONG:
+                json.value(value.asLong());
+                break;
+            case DOUBLE: {
+                double d = value.asDouble();
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    json.value(Double.toString(d));
+                } else {
+                    json.value(d);
+                }
+                break;
+            }
+            case BOOLEAN:
+                json.value(value.asBoolean());
+                break;
+            case STRING_LIST: {
+                json.beginArray();
+                List<String> list = value.asList();
+                for (int i = 0; i < list.size(); i++) {
+                    json.value(list.get(i));
+                }
+                json.endArray();
+                break;
+            }
+            case BYTES:
+                writeHexChunks(json, value.asBytes(), hex);
+                break;
+            case MAP:
+                json.beginObject();
+                for (Map.Entry<String, FingerprintValue> e : value.asMap().entrySet()) {
+                    json.name(e.getKey());
+                    writeValue(json, e.getValue(), hex);
+                }
+                json.endObject();
+                break;
+            default:
+                json.value(value.asText());
+                break;
+        }
+    }
+
+    // 分段编码到复用的字符缓冲区，不生成整段十六进制字符串（也不缓存到 FingerprintValue 的显示文字中）
+    private static void writeHexChunks(JsonWriter json, byte[] bytes, char[] hex) throws IOException {
+        json.beginArray();
+        for (int offset = 0; offset < bytes.length; offset += HEX_CHUNK_BYTES) {
+            int length = Math.min(HEX_CHUNK_BYTES, bytes.length - offset);
+            DigestUtils.toHex(bytes, offset, length, hex, 0);
+            json.value(new String(hex, 0, length * 2));
+        }
+        json.endArray();
+    }
+}
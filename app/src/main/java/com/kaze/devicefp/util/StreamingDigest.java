@@ -0,0 +1,299 @@
+package com.kaze.devicefp.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 流式摘要：字符串分块拷贝到字符缓冲区，由 CharsetEncoder 整块编码为 UTF-8 写入内部缓冲区，
+ * 缓冲区满时整块交给 MessageDigest；哈希大段文本（字体列表、传感器详情等）时不需要先拼接成完整字符串再 getBytes
+ *
+ * 结果与对拼接后的字符串调用 getBytes("UTF-8") 再摘要完全一致（孤立的代理字符同样编码为 '?'）
+ * 实现了 Appendable，原本向 StringBuilder 追加文本的代码可以直接改为写入摘要
+ * 非线程安全
+ */
+public final class StreamingDigest implements Appendable {
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final int CHUNK_SIZE = 1024;
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer bytes = ByteBuffer.wrap(buffer);
+    private final char[] chars = new char[CHUNK_SIZE];
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+    // 孤立的代理字符替换为 '?'（UTF-8 编码器的默认替换字节），与 String.getBytes 一致
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private int count;
+    private long length; // 已写入的字节数
+    private char pendingHigh; // append(char) 写入的高位代理字符，等待下一个低位代理
+
+    public StreamingDigest(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    /**
+     * @param algorithm MessageDigest 算法名或 {@link DigestUtils.Algorithm} 中的名称
+     * @throws IllegalArgumentException 不支持的算法
+     */
+    public static StreamingDigest getInstance(String algorithm) {
+        return new StreamingDigest(DigestUtils.newMessageDigest(algorithm));
+    }
+
+    public static StreamingDigest sha1() {
+        return DigestUtils.newStreamingDigest(DigestUtils.Algorithm.SHA_1);
+    }
+
+    public StreamingDigest update(byte b) {
+        if (count == BUFFER_SIZE) {
+            drain();
+        }
+        buffer[count++] = b;
+        length++;
+        return this;
+    }
+
+    public StreamingDigest update(byte[] bytes, int offset, int len) {
+        if (len >= BUFFER_SIZE) {
+            drain();
+            digest.update(bytes, offset, len);
+        } else {
+            if (len > BUFFER_SIZE - count) {
+                drain();
+            }
+            System.arraycopy(bytes, offset, buffer, count, len);
+            count += len;
+        }
+        length += len;
+        return this;
+    }
+
+    public StreamingDigest update(byte[] bytes) {
+        return update(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 8 字节大端
+     */
+    public StreamingDigest updateLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            update((byte) (value >>> shift));
+        }
+        return this;
+    }
+
+    /**
+     * 无符号 varint，用作长度 / 计数前缀
+     */
+    public StreamingDigest updateVarInt(int value) {
+        while ((value & ~0x7f) != 0) {
+            update((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        return update((byte) value);
+    }
+
+    /**
+     * 按 UTF-8 写入字符串，null 按 "null" 写入（与 StringBuilder.append 一致）
+     */
+    public StreamingDigest update(CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        return update(text, 0, text.length());
+    }
+
+    private StreamingDigest update(CharSequence text, int start, int end) {
+        if (pendingHigh != 0 && start < end) {
+            append(text.charAt(start++));
+        }
+        if (start >= end) {
+            return this;
+        }
+        // 每块末尾未配对的高位代理留在字符缓冲区开头，与下一块一起编码
+        encoder.reset();
+        int carry = 0;
+        while (true) {
+            int n = Math.min(end - start, CHUNK_SIZE - carry);
+            copyChars(text, start, start + n, carry);
+            start += n;
+            boolean last = start == end;
+            charBuffer.limit(carry + n).position(0);
+            encode(last);
+            if (last) {
+                break;
+            }
+            carry = charBuffer.remaining();
+            if (carry > 0) {
+                System.arraycopy(chars, charBuffer.position(), chars, 0, carry);
+            }
+        }
+        encoder.flush(bytes);
+        return this;
+    }
+
+    private void copyChars(CharSequence text, int start, int end, int dst) {
+        if (text instanceof String) {
+            ((String) text).getChars(start, end, chars, dst);
+        } else if (text instanceof StringBuilder) {
+            ((StringBuilder) text).getChars(start, end, chars, dst);
+        } else {
+            for (int i = start; i < end; i++) {
+                chars[dst++] = text.charAt(i);
+            }
+        }
+    }
+
+    // 编码字符缓冲区中的内容，输出缓冲区满时交给摘要后继续
+    private void encode(boolean endOfInput) {
+        while (true) {
+            bytes.limit(BUFFER_SIZE).position(count);
+            CoderResult result = encoder.encode(charBuffer, bytes, endOfInput);
+            length += bytes.position() - count;
+            count = bytes.position();
+            if (!result.isOverflow()) {
+                return;
+            }
+            drain();
+        }
+    }
+
+    @Override
+    public StreamingDigest append(CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        return append(text, 0, text.length());
+    }
+
+    /**
+     * 与 {@link #append(char)} 一样，末尾的高位代理等待下一段开头的低位代理，分段追加的结果与一次写入相同
+     */
+    @Override
+    public StreamingDigest append(CharSequence text, int start, int end) {
+        if (text == null) {
+            text = "null";
+        }
+        if (end > start && Character.isHighSurrogate(text.charAt(end - 1))) {
+            update(text, start, end - 1);
+            return append(text.charAt(end - 1));
+        }
+        return update(text, start, end);
+    }
+
+    @Override
+    public StreamingDigest append(char c) {
+        if (pendingHigh != 0) {
+            char high = pendingHigh;
+            pendingHigh = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                update((byte) (0xf0 | (cp >> 18)));
+                update((byte) (0x80 | ((cp >> 12) & 0x3f)));
+                update((byte) (0x80 | ((cp >> 6) & 0x3f)));
+                return update((byte) (0x80 | (cp & 0x3f)));
+            }
+            update((byte) '?');
+        }
+        if (Character.isHighSurrogate(c)) {
+            pendingHigh = c;
+            return this;
+        }
+        return c < 0x80 ? update((byte) c) : update(String.valueOf(c));
+    }
+
+    /**
+     * 写入 String.valueOf(value) 的文本
+     */
+    public StreamingDigest update(Object value) {
+        return update(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+    }
+
+    /**
+     * 逐行写入，每行后追加换行（与 SettingsSettings.list2String 的结果一致）
+     */
+    public StreamingDigest updateLines(Iterable<?> lines) {
+        for (Object line : lines) {
+            update(line).update((byte) '\n');
+        }
+        return this;
+    }
+
+    /**
+     * 按 AbstractCollection.toString 的格式写入集合："[a, b, c]"
+     */
+    public StreamingDigest updateCollection(Iterable<?> values) {
+        update((byte) '[');
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                update((byte) ',').update((byte) ' ');
+            }
+            update(value);
+            first = false;
+        }
+        return update((byte) ']');
+    }
+
+    /**
+     * 自上次 reset / digest 以来写入的字节数
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * 完成摘要并重置，可以继续复用
+     */
+    public byte[] digest() {
+        flushPendingHigh();
+        drain();
+        length = 0;
+        return digest.digest();
+    }
+
+    /**
+     * 完成摘要并返回小写十六进制；没有写入任何内容时返回空字符串（与 calculateSHA1 对空输入的处理一致）
+     */
+    public String digestHex() {
+        boolean empty = length == 0;
+        byte[] hash = digest();
+        return empty ? "" : DigestUtils.toHex(hash);
+    }
+
+    public void reset() {
+        pendingHigh = 0;
+        count = 0;
+        length = 0;
+        digest.reset();
+    }
+
+    /**
+     * 把缓冲区中的内容交给底层 MessageDigest（直接读取底层摘要结果前调用）
+     */
+    public StreamingDigest flush() {
+        flushPendingHigh();
+        drain();
+        return this;
+    }
+
+    private void flushPendingHigh() {
+        if (pendingHigh != 0) {
+            pendingHigh = 0;
+            update((byte) '?');
+        }
+    }
+
+    private void drain() {
+        if (count > 0) {
+            digest.update(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
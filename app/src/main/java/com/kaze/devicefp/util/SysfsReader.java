@@ -0,0 +1,156 @@
+package com.kaze.devicefp.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+
+/**
+ * 可重复读取的 sysfs / procfs 小文件
+ * 文件只打开一次，每次从偏移 0 定位读取到预分配的直接缓冲区（内核会重新生成内容），
+ * 数字直接从 ASCII 字节解析，稳定状态下读取不分配任何对象，适合高频轮询（CPU 频率等）
+ *
+ * 文件不存在或无法打开时 {@link #isOpen()} 为 false，读取返回默认值。
+ * 读取出错（如策略未激活时 cpufreq 属性返回 EBUSY）只让本次读取失败，文件保持打开；
+ * 通道被关闭（如读取线程被中断）时下次读取重新打开。非线程安全
+ */
+public final class SysfsReader implements Closeable {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final String path;
+    private final ByteBuffer buffer;
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private boolean reopenable; // 曾经成功打开且未调用 close()，通道失效后可以重新打开
+
+    public SysfsReader(String path) {
+        this(path, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 缓冲区大小，超出部分不读取
+     */
+    public SysfsReader(String path, int capacity) {
+        this.path = path;
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+        reopenable = open();
+    }
+
+    private boolean open() {
+        try {
+            file = new RandomAccessFile(path, "r");
+            channel = file.getChannel();
+            return true;
+        } catch (IOException | SecurityException e) {
+            file = null;
+            channel = null;
+            return false;
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * 重新读取文件内容到内部缓冲区
+     * @return 读取的字节数，失败时返回 -1
+     */
+    public int read() {
+        if (channel == null && !(reopenable && open())) {
+            return -1;
+        }
+        buffer.clear();
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) <= 0) {
+                    break;
+                }
+            }
+        } catch (ClosedChannelException e) {
+            // 通道被中断关闭，文件描述符已失效：释放后下次读取重新打开
+            release();
+            return -1;
+        } catch (IOException e) {
+            // 暂时性错误（EBUSY 等），保留文件描述符，下次照常读取
+            return -1;
+        }
+        buffer.flip();
+        return buffer.limit();
+    }
+
+    /**
+     * 最近一次 {@link #read()} 的内容，有效范围 [0, limit)，下次读取时被覆盖
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * 读取并解析开头的十进制整数（跳过前导空白，可带负号）
+     * @return 解析结果，读取失败或没有数字时返回 defaultValue
+     */
+    public long readLong(long defaultValue) {
+        if (read() <= 0) {
+            return defaultValue;
+        }
+        return parseLong(buffer, 0, buffer.limit(), defaultValue);
+    }
+
+    /**
+     * 从 buf[start, end) 解析十进制整数，不分配对象
+     */
+    public static long parseLong(ByteBuffer buf, int start, int end, long defaultValue) {
+        int i = start;
+        while (i < end && isSpace(buf.get(i))) {
+            i++;
+        }
+        boolean negative = false;
+        if (i < end && buf.get(i) == '-') {
+            negative = true;
+            i++;
+        }
+        int digitsStart = i;
+        long value = 0;
+        while (i < end) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) {
+                break;
+            }
+            value = value * 10 + d;
+            i++;
+        }
+        if (i == digitsStart) {
+            return defaultValue;
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    @Override
+    public void close() {
+        reopenable = false;
+        release();
+    }
+
+    private void release() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException ignored) {
+            }
+        }
+        file = null;
+        channel = null;
+    }
+}
@@ -9,7 +9,9 @@ import android.view.View;
 import androidx.core.content.ContextCompat;
 import com.kaze.devicefp.R;
 import com.kaze.devicefp.model.CpuInfoReader;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * CPU频率表格视图
@@ -33,6 +35,12 @@ public class CpuFrequencyTableView extends View {
     private float[] columnWidths; // 动态列宽数组
     
     private String[] rowHeaders = {"最大频率", "最小频率", "实时频率"};
+    private static final String LOAD_ROW_HEADER = "CPU负载";
+    private float[] loadData; // 每核心负载百分比，-1 表示未知；为 null 时不显示负载行
+    private static final String[] LOAD_LABELS = new String[101]; // 0% ~ 100%，按需生成
+    // 单元格文本缓存：[行 * 核心数 + 核心]，取值未变时重绘不再格式化
+    private long[] labelKeys;
+    private String[] labelCache;
     
     public CpuFrequencyTableView(Context context) {
         super(context);
@@ -77,13 +85,37 @@ public class CpuFrequencyTableView extends View {
      * 设置频率数据并刷新视图
      */
     public void setFrequencyData(List<CpuInfoReader.CpuFrequencyData> dataList) {
+        if (dataList != null && dataList == frequencyDataList && columnWidths != null) {
+            // 同一列表原地更新（CpuFrequencyPoller），核心数不变，只需重绘
+            invalidate();
+            return;
+        }
         this.frequencyDataList = dataList;
+        labelKeys = null;
+        labelCache = null;
         // 重置列宽数组，让onMeasure重新计算
         columnWidths = null;
         requestLayout(); // 请求重新测量和布局
         invalidate(); // 触发重绘
     }
     
+    /**
+     * 设置每核心负载（CpuLoadSampler），显示为额外一行；传 null 隐藏该行
+     * 数组会被直接引用，调用方原地更新后再次调用即可重绘
+     */
+    public void setLoadData(float[] loads) {
+        boolean rowChanged = (loads == null) != (loadData == null);
+        this.loadData = loads;
+        if (rowChanged) {
+            requestLayout();
+        }
+        invalidate();
+    }
+    
+    private int getRowCount() {
+        return rowHeaders.length + (loadData != null ? 1 : 0);
+    }
+    
     /**
      * 更新频率数据（用于动态刷新）
      */
@@ -96,7 +128,7 @@ public class CpuFrequencyTableView extends View {
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         // 计算高度：表头 + 数据行 + 最小padding
-        int height = (int)(headerHeight + rowHeaders.length * rowHeight + 2);
+        int height = (int)(headerHeight + getRowCount() * rowHeight + 2);
         
         int width;
         if (frequencyDataList != null && !frequencyDataList.isEmpty()) {
@@ -191,7 +223,7 @@ public class CpuFrequencyTableView extends View {
         currentY += headerHeight;
         
         // 绘制数据行
-        for (int row = 0; row < rowHeaders.length; row++) {
+        for (int row = 0; row < getRowCount(); row++) {
             drawDataRow(canvas, currentX, currentY, coreCount, row);
             currentY += rowHeight;
         }
@@ -267,7 +299,7 @@ public class CpuFrequencyTableView extends View {
         textPaint.setColor(ContextCompat.getColor(getContext(), R.color.text_primary));
         textPaint.setFakeBoldText(true);
         textPaint.setTextAlign(Paint.Align.CENTER);
-        String rowHeader = rowHeaders[rowIndex];
+        String rowHeader = rowIndex < rowHeaders.length ? rowHeaders[rowIndex] : LOAD_ROW_HEADER;
         float centerX = x + rowHeaderWidth / 2;
         float centerY = y + rowHeight / 2;
         float textY = centerY - (textPaint.descent() + textPaint.ascent()) / 2;
@@ -294,27 +326,36 @@ public class CpuFrequencyTableView extends View {
             if (rowIndex == 0) {
                 // 最大频率
                 if (data != null && data.isValid()) {
-                    cellText = formatFrequency(data.maxFreq);
+                    cellText = frequencyLabel(rowIndex, i, coreCount, data.maxFreq);
                 } else {
                     cellText = "-";
                 }
             } else if (rowIndex == 1) {
                 // 最小频率
                 if (data != null && data.isValid()) {
-                    cellText = formatFrequency(data.minFreq);
+                    cellText = frequencyLabel(rowIndex, i, coreCount, data.minFreq);
                 } else {
                     cellText = "-";
                 }
             } else if (rowIndex == 2) {
                 // 实时频率（动态更新）
                 if (data != null && data.isValid()) {
-                    cellText = formatFrequency(data.curFreq);
+                    cellText = frequencyLabel(rowIndex, i, coreCount, data.curFreq);
                     // 实时频率用不同颜色突出显示
                     textPaint.setColor(ContextCompat.getColor(getContext(), R.color.primary_blue));
                 } else {
                     cellText = "-";
                     textPaint.setColor(ContextCompat.getColor(getContext(), R.color.text_secondary));
                 }
+            } else if (rowIndex == 3) {
+                // CPU负载（动态更新）
+                float load = loadData != null && i < loadData.length ? loadData[i] : -1f;
+                if (load >= 0) {
+                    cellText = loadLabel(load);
+                    textPaint.setColor(ContextCompat.getColor(getContext(), R.color.primary_blue));
+                } else {
+                    cellText = "-";
+                }
             }
             
             // 绘制单元格文本 - 水平和垂直居中
@@ -334,7 +375,7 @@ public class CpuFrequencyTableView extends View {
             
             // 恢复字体大小和颜色
             textPaint.setTextSize(16f);
-            if (rowIndex == 2) {
+            if (rowIndex >= 2) {
                 textPaint.setColor(ContextCompat.getColor(getContext(), R.color.text_secondary));
             }
             
@@ -363,16 +404,43 @@ public class CpuFrequencyTableView extends View {
         canvas.drawText("暂无CPU频率数据", getWidth() / 2, getHeight() / 2, textPaint);
     }
     
+    /**
+     * 频率文本，同一单元格取值不变时复用上次的字符串
+     */
+    private String frequencyLabel(int rowIndex, int core, int coreCount, long freqKhz) {
+        if (labelCache == null || labelCache.length != rowHeaders.length * coreCount) {
+            labelKeys = new long[rowHeaders.length * coreCount];
+            labelCache = new String[labelKeys.length];
+            Arrays.fill(labelKeys, -1);
+        }
+        int index = rowIndex * coreCount + core;
+        if (labelKeys[index] != freqKhz || labelCache[index] == null) {
+            labelKeys[index] = freqKhz;
+            labelCache[index] = formatFrequency(freqKhz);
+        }
+        return labelCache[index];
+    }
+    
+    private static String loadLabel(float load) {
+        int percent = Math.min(100, Math.round(load));
+        String label = LOAD_LABELS[percent];
+        if (label == null) {
+            label = percent + "%";
+            LOAD_LABELS[percent] = label;
+        }
+        return label;
+    }
+    
     /**
      * 格式化频率
      */
     private String formatFrequency(long freqKhz) {
         if (freqKhz >= 1000000) {
             double freqGhz = freqKhz / 1000000.0;
-            return String.format("%.2fG", freqGhz);
+            return String.format(Locale.US, "%.2fG", freqGhz);
         } else if (freqKhz >= 1000) {
             double freqMhz = freqKhz / 1000.0;
-            return String.format("%.0fM", freqMhz);
+            return String.format(Locale.US, "%.0fM", freqMhz);
         } else {
             return freqKhz + "K";
         }
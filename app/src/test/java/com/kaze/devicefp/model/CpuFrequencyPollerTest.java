@@ -0,0 +1,251 @@
+package com.kaze.devicefp.model;
+
+import com.kaze.devicefp.util.SysfsReader;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 用临时目录模拟 /sys/devices/system/cpu（两个簇：cpu0-1、cpu2-3），
+ * 验证拓扑解析、按策略读取的结果和稳定状态下的零分配
+ */
+public class CpuFrequencyPollerTest {
+
+    private static final int CORES = 4;
+
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("cpufreq").toFile();
+        writePolicy(0, "0 1", 1804800, 300000, "1804800 300000 1200000");
+        writePolicy(2, "2 3", 2400000, 710400, "710400 2400000");
+    }
+
+    @After
+    public void tearDown() {
+        deleteRecursively(root);
+    }
+
+    @Test
+    public void topologyGroupsCoresByRelatedCpus() {
+        CpuTopology topology = CpuTopology.read(root.getPath(), CORES);
+        assertEquals(CORES, topology.getCoreCount());
+        assertEquals(2, topology.getPolicies().size());
+
+        CpuTopology.Policy little = topology.getPolicies().get(0);
+        assertArrayEquals(new int[] {0, 1}, little.getCpus());
+        assertEquals(1804800, little.getMaxFreq());
+        assertEquals(300000, little.getMinFreq());
+        assertArrayEquals(new long[] {300000, 1200000, 1804800}, little.getAvailableFrequencies());
+
+        assertSame(topology.getPolicies().get(1), topology.getPolicyOfCore(3));
+        assertEquals(2, topology.getPolicyOfCore(3).getFirstCpu());
+        assertNull(topology.getPolicyOfCore(CORES));
+    }
+
+    @Test
+    public void missingRelatedCpusMeansSingleCorePolicy() throws IOException {
+        new File(root, "cpu2/cpufreq/related_cpus").delete();
+        writePolicy(3, "", 2400000, 710400, "");
+        CpuTopology topology = CpuTopology.read(root.getPath(), CORES);
+        assertEquals(3, topology.getPolicies().size());
+        assertArrayEquals(new int[] {2}, topology.getPolicyOfCore(2).getCpus());
+        assertEquals(0, topology.getPolicyOfCore(3).getAvailableFrequencies().length);
+    }
+
+    @Test
+    public void parseCpuListAcceptsRangesAndSpaces() {
+        assertArrayEquals(new int[] {0, 1, 2, 3, 6}, CpuTopology.parseCpuList("0-3,6"));
+        assertArrayEquals(new int[] {4, 5, 6}, CpuTopology.parseCpuList("4 5 6\n"));
+        assertArrayEquals(new int[0], CpuTopology.parseCpuList(""));
+    }
+
+    @Test
+    public void markCpuListMatchesParseCpuList() {
+        for (String list : new String[] {"0-3,6\n", "4 5 6\n", "7\n", "\n", "2-3,9"}) {
+            byte[] bytes = list.getBytes(StandardCharsets.US_ASCII);
+            boolean[] mask = new boolean[8];
+            CpuTopology.markCpuList(ByteBuffer.wrap(bytes), bytes.length, mask);
+            boolean[] expected = new boolean[8];
+            for (int cpu : CpuTopology.parseCpuList(list)) {
+                if (cpu < expected.length) {
+                    expected[cpu] = true;
+                }
+            }
+            assertEquals(list, Arrays.toString(expected), Arrays.toString(mask));
+        }
+    }
+
+    @Test
+    public void pollSharesFrequencyWithinPolicy() throws IOException {
+        write(0, "scaling_cur_freq", "1200000\n");
+        write(2, "scaling_cur_freq", "1996800\n");
+        try (CpuFrequencyPoller poller = new CpuFrequencyPoller(CpuTopology.read(root.getPath(), CORES))) {
+            List<CpuInfoReader.CpuFrequencyData> data = poller.poll();
+            assertEquals(CORES, data.size());
+            assertEquals(1200000, data.get(0).curFreq);
+            assertEquals(1200000, data.get(1).curFreq);
+            assertEquals(1996800, data.get(3).curFreq);
+            assertEquals(2400000, data.get(3).maxFreq);
+            assertEquals(300000, data.get(1).minFreq);
+        }
+    }
+
+    @Test
+    public void pollSeesUpdatedValuesInSameList() throws IOException {
+        try (CpuFrequencyPoller poller = new CpuFrequencyPoller(CpuTopology.read(root.getPath(), CORES))) {
+            List<CpuInfoReader.CpuFrequencyData> first = poller.poll();
+            write(2, "scaling_cur_freq", "1804800\n");
+            List<CpuInfoReader.CpuFrequencyData> second = poller.poll();
+            assertSame(first, second);
+            assertEquals(1804800, second.get(2).curFreq);
+            assertEquals(1804800, second.get(3).curFreq);
+        }
+    }
+
+    @Test
+    public void offlineCoreReportsZero() throws IOException {
+        write(2, "scaling_cur_freq", "1996800\n");
+        write(2, "affected_cpus", "2\n");
+        try (CpuFrequencyPoller poller = new CpuFrequencyPoller(CpuTopology.read(root.getPath(), CORES))) {
+            List<CpuInfoReader.CpuFrequencyData> data = poller.poll();
+            assertEquals(1996800, data.get(2).curFreq);
+            assertEquals(0, data.get(3).curFreq);
+            assertEquals(2400000, data.get(3).maxFreq);
+
+            // 重新上线
+            write(2, "affected_cpus", "2-3\n");
+            assertEquals(1996800, poller.poll().get(3).curFreq);
+
+            // 整簇下线
+            write(2, "affected_cpus", "\n");
+            data = poller.poll();
+            assertEquals(0, data.get(2).curFreq);
+            assertEquals(0, data.get(3).curFreq);
+        }
+    }
+
+    @Test
+    public void fallsBackToSecondaryFiles() throws IOException {
+        new File(root, "cpu2/cpufreq/scaling_cur_freq").delete();
+        write(2, "cpuinfo_cur_freq", "998400\n");
+        new File(root, "cpu0/cpufreq/cpuinfo_min_freq").delete();
+        write(0, "scaling_min_freq", "576000\n");
+        try (CpuFrequencyPoller poller = new CpuFrequencyPoller(CpuTopology.read(root.getPath(), CORES))) {
+            List<CpuInfoReader.CpuFrequencyData> data = poller.poll();
+            assertEquals(998400, data.get(3).curFreq);
+            assertEquals(576000, data.get(1).minFreq);
+        }
+    }
+
+    @Test
+    public void missingCoreIsInvalid() {
+        try (CpuFrequencyPoller poller = new CpuFrequencyPoller(CpuTopology.read(root.getPath(), CORES + 1))) {
+            CpuInfoReader.CpuFrequencyData data = poller.poll().get(CORES);
+            assertFalse(data.isValid());
+            assertEquals(0, data.maxFreq);
+        }
+    }
+
+    @Test
+    public void parseLongHandlesWhitespaceAndGarbage() {
+        assertEquals(1200000, parse(" 1200000\n"));
+        assertEquals(-42, parse("-42"));
+        assertEquals(7, parse("7 kHz"));
+        assertEquals(-1, parse("abc"));
+        assertEquals(-1, parse(""));
+    }
+
+    @Test
+    public void readerReopensAfterInterrupt() throws IOException {
+        write(0, "scaling_cur_freq", "1200000\n");
+        try (SysfsReader reader = new SysfsReader(root.getPath() + "/cpu0/cpufreq/scaling_cur_freq")) {
+            assertEquals(1200000, reader.readLong(-1));
+            // 中断会关闭可中断通道，之后的读取应重新打开文件而不是永久失败
+            Thread.currentThread().interrupt();
+            assertEquals(-1, reader.readLong(-1));
+            assertTrue(Thread.interrupted());
+            write(0, "scaling_cur_freq", "300000\n");
+            assertEquals(300000, reader.readLong(-1));
+            assertTrue(reader.isOpen());
+        }
+    }
+
+    @Test
+    public void steadyStatePollingDoesNotAllocate() throws IOException {
+        write(0, "affected_cpus", "0 1\n");
+        write(2, "affected_cpus", "2-3\n");
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        try (CpuFrequencyPoller poller = new CpuFrequencyPoller(CpuTopology.read(root.getPath(), CORES))) {
+            long sink = 0;
+            // 预热：让 JIT 编译、通道内部的惰性初始化在计数之前完成
+            for (int i = 0; i < 20000; i++) {
+                sink += poller.poll().get(0).curFreq;
+            }
+            // 测量本身的开销（getThreadAllocatedBytes 可能分配）
+            long baselineStart = threads.getThreadAllocatedBytes(thread);
+            long baseline = threads.getThreadAllocatedBytes(thread) - baselineStart;
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 1000; i++) {
+                sink += poller.poll().get(i % CORES).curFreq;
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before - baseline;
+            assertTrue(sink > 0);
+            assertEquals("bytes allocated by 1000 polls", 0, Math.max(0, allocated));
+        }
+    }
+
+    private static long parse(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return SysfsReader.parseLong(ByteBuffer.wrap(bytes), 0, bytes.length, -1);
+    }
+
+    private void writePolicy(int cpu, String related, long max, long min, String available) throws IOException {
+        write(cpu, "related_cpus", related + "\n");
+        write(cpu, "cpuinfo_max_freq", max + "\n");
+        write(cpu, "cpuinfo_min_freq", min + "\n");
+        write(cpu, "scaling_cur_freq", min + "\n");
+        write(cpu, "scaling_available_frequencies", available + "\n");
+    }
+
+    private void write(int core, String name, String content) throws IOException {
+        File dir = new File(root, "cpu" + core + "/cpufreq");
+        dir.mkdirs();
+        // 原地覆盖（不替换文件），与 sysfs 属性文件被内核更新的方式一致
+        try (FileOutputStream out = new FileOutputStream(new File(dir, name))) {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
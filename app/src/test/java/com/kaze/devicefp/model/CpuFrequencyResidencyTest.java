@@ -0,0 +1,129 @@
+package com.kaze.devicefp.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 用临时目录模拟两个簇的 cpufreq/stats，验证首次累计值和之后的窗口差值
+ */
+public class CpuFrequencyResidencyTest {
+
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("cpufreq-stats").toFile();
+        write(0, "related_cpus", "0 1\n");
+        write(0, "cpuinfo_max_freq", "1804800\n");
+        write(0, "cpuinfo_min_freq", "300000\n");
+        write(2, "related_cpus", "2 3\n");
+        write(2, "cpuinfo_max_freq", "2400000\n");
+        write(2, "cpuinfo_min_freq", "710400\n");
+    }
+
+    @After
+    public void tearDown() {
+        deleteRecursively(root);
+    }
+
+    @Test
+    public void firstSampleIsSinceBootThenDeltas() throws IOException {
+        write(0, "stats/time_in_state", "300000 100\n1200000 50\n1804800 50\n");
+        write(0, "stats/total_trans", "40\n");
+        write(2, "stats/time_in_state", "710400 10\n2400000 0\n");
+        try (CpuFrequencyResidency residency = new CpuFrequencyResidency(CpuTopology.read(root.getPath(), 4))) {
+            List<CpuFrequencyResidency.Histogram> first = residency.sample();
+            assertEquals(2, first.size());
+            CpuFrequencyResidency.Histogram little = first.get(0);
+            assertTrue(little.isSinceBoot());
+            assertEquals(3, little.getStateCount());
+            assertEquals(1000, little.getTimeMs(0));
+            assertEquals(2000, little.getTotalTimeMs());
+            assertEquals(0.5, little.getFraction(0), 1e-9);
+            assertEquals(40, little.getTransitions());
+            assertEquals(-1, first.get(1).getTransitions());
+
+            // 窗口内：小核只在 1.2 GHz 停留 300ms，大核被限制在最低频点
+            write(0, "stats/time_in_state", "300000 100\n1200000 80\n1804800 50\n");
+            write(0, "stats/total_trans", "43\n");
+            write(2, "stats/time_in_state", "710400 60\n2400000 0\n");
+            List<CpuFrequencyResidency.Histogram> second = residency.sample();
+            little = second.get(0);
+            assertFalse(little.isSinceBoot());
+            assertTrue(little.getWindowMs() >= 0);
+            assertEquals(0, little.getTimeMs(0));
+            assertEquals(300, little.getTimeMs(1));
+            assertEquals(1.0, little.getFraction(1), 1e-9);
+            assertEquals(3, little.getTransitions());
+            assertEquals(1200000, little.getPeakFrequency());
+            assertEquals(710400, second.get(1).getPeakFrequency());
+            assertEquals(2400000, second.get(1).getPolicy().getMaxFreq());
+        }
+    }
+
+    @Test
+    public void windowDiffsAgainstClosestBaseline() throws IOException {
+        long second = 1_000_000_000L;
+        write(0, "stats/time_in_state", "300000 0\n1804800 0\n");
+        write(0, "stats/total_trans", "0\n");
+        try (CpuFrequencyResidency residency =
+                     new CpuFrequencyResidency(CpuTopology.read(root.getPath(), 4), 10_000, 3)) {
+            assertEquals(10_000, residency.getWindowMs());
+            CpuFrequencyResidency.Histogram little = null;
+            for (int t = 0; t <= 15; t += 5) {
+                write(0, "stats/time_in_state", "300000 " + t * 100 + "\n1804800 " + t * t + "\n");
+                write(0, "stats/total_trans", t + "\n");
+                little = residency.sample(t * second).get(0);
+                assertEquals(t == 0, little.isSinceBoot());
+            }
+            // t=15 时最接近 10 秒前的基准是 t=5
+            assertEquals(10_000, little.getWindowMs());
+            assertEquals(10_000, little.getTimeMs(0));
+            assertEquals((225 - 25) * 10, little.getTimeMs(1));
+            assertEquals(10, little.getTransitions());
+
+            // 间隔不足 windowMs / 2 的采样不记录为基准：t=16 未入环，t=21 与 t=10 做差
+            residency.sample(16 * second);
+            little = residency.sample(21 * second).get(0);
+            assertEquals(11_000, little.getWindowMs());
+        }
+    }
+
+    @Test
+    public void missingStatsSkipsPolicy() throws IOException {
+        write(2, "stats/time_in_state", "710400 10\n2400000 5\n");
+        try (CpuFrequencyResidency residency = new CpuFrequencyResidency(CpuTopology.read(root.getPath(), 4))) {
+            List<CpuFrequencyResidency.Histogram> histograms = residency.sample();
+            assertEquals(1, histograms.size());
+            assertEquals(2, histograms.get(0).getPolicy().getFirstCpu());
+        }
+    }
+
+    private void write(int cpu, String name, String content) throws IOException {
+        File file = new File(root, "cpu" + cpu + "/cpufreq/" + name);
+        file.getParentFile().mkdirs();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
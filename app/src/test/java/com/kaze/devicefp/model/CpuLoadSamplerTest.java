@@ -0,0 +1,199 @@
+package com.kaze.devicefp.model;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * 用临时文件模拟 /proc/stat，验证负载计算、环形历史和采样时零分配
+ */
+public class CpuLoadSamplerTest {
+
+    private File stat;
+
+    @Before
+    public void setUp() throws IOException {
+        stat = File.createTempFile("stat", null);
+    }
+
+    @After
+    public void tearDown() {
+        stat.delete();
+    }
+
+    @Test
+    public void computesLoadFromDeltas() throws IOException {
+        writeStat(new long[] {100, 1000}, new long[] {200, 1000});
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), 2, 4)) {
+            assertFalse(sampler.sample());
+            assertEquals(0, sampler.getSampleCount());
+
+            // cpu0：忙碌 +30、空闲 +70；cpu1：忙碌 +90、空闲 +10
+            writeStat(new long[] {130, 1070}, new long[] {290, 1010});
+            assertTrue(sampler.sample());
+
+            float[] loads = new float[2];
+            assertTrue(sampler.copyLatest(loads) > 0);
+            assertEquals(30f, loads[0], 0.01f);
+            assertEquals(90f, loads[1], 0.01f);
+        }
+    }
+
+    @Test
+    public void offlineCoreIsUnknown() throws IOException {
+        writeStat(new long[] {100, 1000}, null, new long[] {50, 50});
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), 3, 4)) {
+            sampler.sample();
+            writeStat(new long[] {150, 1050}, null, new long[] {100, 100});
+            sampler.sample();
+            float[] loads = new float[3];
+            sampler.copyLatest(loads);
+            assertEquals(50f, loads[0], 0.01f);
+            assertEquals(-1f, loads[1], 0f);
+            assertEquals(50f, loads[2], 0.01f);
+        }
+    }
+
+    @Test
+    public void historyWrapsAround() throws IOException {
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), 1, 3)) {
+            long busy = 0;
+            long idle = 0;
+            writeStat(new long[] {busy, idle});
+            sampler.sample();
+            // 负载依次为 10%、20%、...、50%
+            for (int i = 1; i <= 5; i++) {
+                busy += i * 10;
+                idle += 100 - i * 10;
+                writeStat(new long[] {busy, idle});
+                sampler.sample();
+            }
+            float[] history = new float[3];
+            assertEquals(3, sampler.copyHistory(0, history));
+            assertArrayEquals(new float[] {30f, 40f, 50f}, history, 0.01f);
+        }
+    }
+
+    @Test
+    public void coreBackOnlineRebaselines() throws IOException {
+        writeStat(new long[] {100, 1000}, new long[] {100, 1000});
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), 2, 4)) {
+            sampler.sample();
+            writeStat(new long[] {200, 1100}, null);
+            sampler.sample();
+            // 离线期间计数不清零，重新上线后的第一次不能和离线前的基准相减
+            writeStat(new long[] {300, 1200}, new long[] {900, 1000});
+            sampler.sample();
+            float[] loads = new float[2];
+            sampler.copyLatest(loads);
+            assertEquals(50f, loads[0], 0.01f);
+            assertEquals(-1f, loads[1], 0f);
+            writeStat(new long[] {400, 1300}, new long[] {930, 1070});
+            sampler.sample();
+            sampler.copyLatest(loads);
+            assertEquals(30f, loads[1], 0.01f);
+        }
+    }
+
+    @Test
+    public void emptyFirstReadIsUnavailable() throws IOException {
+        new FileOutputStream(stat).close();
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), 2, 4)) {
+            assertTrue(sampler.isAvailable());
+            assertFalse(sampler.sample());
+            assertFalse(sampler.isAvailable());
+        }
+    }
+
+    @Test
+    public void missingFileIsUnavailable() {
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath() + ".missing", 2, 4)) {
+            assertFalse(sampler.isAvailable());
+            assertFalse(sampler.sample());
+            float[] loads = new float[2];
+            assertEquals(0, sampler.copyLatest(loads));
+            assertEquals(-1f, loads[0], 0f);
+        }
+    }
+
+    @Test
+    public void backgroundThreadSamples() throws Exception {
+        writeStat(new long[] {0, 0});
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), 1, 8)) {
+            sampler.start(10);
+            assertTrue(sampler.isRunning());
+            long deadline = System.currentTimeMillis() + 2000;
+            while (sampler.getSampleCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(sampler.getSampleCount() > 0);
+            sampler.stop();
+            assertFalse(sampler.isRunning());
+        }
+    }
+
+    @Test
+    public void steadyStateSamplingDoesNotAllocate() throws IOException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        long[][] cores = new long[8][];
+        for (int i = 0; i < cores.length; i++) {
+            cores[i] = new long[] {123456789L + i, 987654321L};
+        }
+        writeStat(cores);
+        try (CpuLoadSampler sampler = new CpuLoadSampler(stat.getPath(), cores.length, 16)) {
+            float[] loads = new float[cores.length];
+            for (int i = 0; i < 20000; i++) {
+                sampler.sample();
+                sampler.copyLatest(loads);
+            }
+            long baselineStart = threads.getThreadAllocatedBytes(thread);
+            long baseline = threads.getThreadAllocatedBytes(thread) - baselineStart;
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 1000; i++) {
+                sampler.sample();
+                sampler.copyLatest(loads);
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before - baseline;
+            assertEquals("bytes allocated by 1000 samples", 0, Math.max(0, allocated));
+        }
+    }
+
+    /**
+     * 每个核心给出 {忙碌, 空闲}，null 表示离线；忙碌拆成 user/system，空闲拆成 idle/iowait
+     */
+    private void writeStat(long[]... cores) throws IOException {
+        StringBuilder sb = new StringBuilder("cpu  1 2 3 4 5 6 7 8 0 0\n");
+        for (int i = 0; i < cores.length; i++) {
+            if (cores[i] == null) {
+                continue;
+            }
+            long busy = cores[i][0];
+            long idle = cores[i][1];
+            sb.append("cpu").append(i).append(' ')
+                    .append(busy - busy / 3).append(" 0 ").append(busy / 3).append(' ')
+                    .append(idle - idle / 10).append(' ').append(idle / 10)
+                    .append(" 0 0 0 0 0\n");
+        }
+        sb.append("intr 12345 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0\n");
+        sb.append("ctxt 67890\n");
+        try (FileOutputStream out = new FileOutputStream(stat)) {
+            out.write(sb.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.kaze.devicefp.model;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * /proc/meminfo 字节解析、变化监控和检查时零分配
+ */
+public class MemoryInfoReaderTest {
+
+    private static final String MEMINFO = "MemTotal:        7825124 kB\n"
+            + "MemFree:          214736 kB\n"
+            + "MemAvailable:    2871940 kB\n"
+            + "Buffers:            4352 kB\n"
+            + "Cached:          2737000 kB\n"
+            + "Active(anon):     806580 kB\n"
+            + "SwapTotal:       4194300 kB\n"
+            + "SwapFree:        2011340 kB\n"
+            + "HugePages_Total:       0\n"
+            + "Hugepagesize:       2048 kB\n"
+            + "GPUTotalUsed:      91532 kB\n";
+
+    private File meminfo;
+
+    @Before
+    public void setUp() throws IOException {
+        meminfo = File.createTempFile("meminfo", null);
+        write(MEMINFO);
+    }
+
+    @After
+    public void tearDown() {
+        meminfo.delete();
+    }
+
+    @Test
+    public void parsesKnownFieldsAndSkipsOthers() {
+        byte[] bytes = MEMINFO.getBytes(StandardCharsets.US_ASCII);
+        long[] values = new long[MeminfoField.COUNT];
+        values[MeminfoField.SLAB.ordinal()] = 99;
+        assertEquals(9, MemoryInfoReader.parse(ByteBuffer.wrap(bytes), bytes.length, values));
+        assertEquals(7825124, values[MeminfoField.MEM_TOTAL.ordinal()]);
+        assertEquals(806580, values[MeminfoField.ACTIVE_ANON.ordinal()]);
+        assertEquals(91532, values[MeminfoField.GPU_TOTAL_USED.ordinal()]);
+        assertEquals(0, values[MeminfoField.ACTIVE.ordinal()]);
+        assertEquals(0, values[MeminfoField.SLAB.ordinal()]);
+    }
+
+    @Test
+    public void lookupMatchesEveryKey() {
+        for (MeminfoField field : MeminfoField.values()) {
+            byte[] key = field.getKey().getBytes(StandardCharsets.US_ASCII);
+            assertSame(field, MeminfoField.lookup(ByteBuffer.wrap(key), 0, key.length));
+        }
+        byte[] unknown = "MemTotals".getBytes(StandardCharsets.US_ASCII);
+        assertNull(MeminfoField.lookup(ByteBuffer.wrap(unknown), 0, unknown.length));
+    }
+
+    @Test
+    public void readerExposesDerivedValues() {
+        try (MemoryInfoReader reader = new MemoryInfoReader(meminfo.getPath())) {
+            assertTrue(reader.readMemoryInfo());
+            assertEquals(2871940, reader.getAvailableMemory());
+            assertEquals(7825124 - 214736 - 4352 - 2737000, reader.getUsedMemory());
+            assertEquals(4194300, reader.getSwapTotal());
+        }
+    }
+
+    @Test
+    public void monitorReportsOnlyLargeChanges() throws IOException {
+        try (MemoryInfoReader.MemoryMonitor monitor =
+                     new MemoryInfoReader.MemoryMonitor(new MemoryInfoReader(meminfo.getPath()))) {
+            assertTrue(monitor.checkMemoryChanges());
+            assertFalse(monitor.checkMemoryChanges());
+
+            write(MEMINFO.replace("214736", "215000"));
+            assertFalse(monitor.checkMemoryChanges());
+
+            write(MEMINFO.replace("2871940", "1871940"));
+            assertTrue(monitor.checkMemoryChanges());
+            assertEquals(1871940, monitor.getValue(MeminfoField.MEM_AVAILABLE));
+        }
+    }
+
+    @Test
+    public void steadyStateCheckDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        try (MemoryInfoReader.MemoryMonitor monitor =
+                     new MemoryInfoReader.MemoryMonitor(new MemoryInfoReader(meminfo.getPath()))) {
+            for (int i = 0; i < 20000; i++) {
+                monitor.checkMemoryChanges();
+            }
+            long baselineStart = threads.getThreadAllocatedBytes(thread);
+            long baseline = threads.getThreadAllocatedBytes(thread) - baselineStart;
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 1000; i++) {
+                monitor.checkMemoryChanges();
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before - baseline;
+            assertEquals("bytes allocated by 1000 checks", 0, Math.max(0, allocated));
+        }
+    }
+
+    private void write(String content) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(meminfo)) {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
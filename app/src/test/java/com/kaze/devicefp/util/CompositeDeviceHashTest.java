@@ -0,0 +1,147 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 综合哈希：与收集顺序无关、字段集合和权重的作用、增量写入与一次性计算一致
+ */
+public class CompositeDeviceHashTest {
+
+    private static DeviceFingerprint item(FingerprintKey key, FingerprintValue value) {
+        return new DeviceFingerprint("其他信息", key, value, FingerprintStatus.COLLECTED);
+    }
+
+    private static List<DeviceFingerprint> items() {
+        return Arrays.asList(
+                item(FingerprintKey.BRAND, FingerprintValue.text("google")),
+                item(FingerprintKey.MODEL, FingerprintValue.text("Pixel 7")),
+                item(FingerprintKey.MANUFACTURER, FingerprintValue.text("Google")),
+                item(FingerprintKey.CPU_CORES, FingerprintValue.ofLong(8)),
+                item(FingerprintKey.FONT_LIST, FingerprintValue.ofList(Arrays.asList("Roboto", "NotoSans"))),
+                new DeviceFingerprint("其他信息", "自定义", "x", FingerprintStatus.COLLECTED));
+    }
+
+    private static CompositeDeviceHash fields() {
+        return new CompositeDeviceHash()
+                .include(FingerprintKey.BRAND, 1)
+                .include(FingerprintKey.MODEL, 3)
+                .include(FingerprintKey.MANUFACTURER, 2)
+                .include(FingerprintKey.CPU_CORES, 3)
+                .include(FingerprintKey.FONT_LIST, 1);
+    }
+
+    @Test
+    public void shuffledInputGivesSameHash() {
+        CompositeDeviceHash hash = fields();
+        CompositeDeviceHash.Result expected = hash.hash(items());
+        assertEquals(5, expected.getFieldCount());
+        Random random = new Random(7);
+        for (int n = 0; n < 20; n++) {
+            List<DeviceFingerprint> shuffled = new ArrayList<>(items());
+            Collections.shuffle(shuffled, random);
+            CompositeDeviceHash.Result result = hash.hash(shuffled);
+            assertEquals(expected, result);
+            assertEquals(expected.getHex(), result.getHex());
+        }
+        // 默认字段集合同样与顺序无关
+        List<DeviceFingerprint> reversed = new ArrayList<>(items());
+        Collections.reverse(reversed);
+        assertEquals(CompositeDeviceHash.defaultFields().hash(items()),
+                CompositeDeviceHash.defaultFields().hash(reversed));
+    }
+
+    @Test
+    public void fieldSetChangesHashButWeightsDoNot() {
+        CompositeDeviceHash.Result base = fields().hash(items());
+        // 权重只影响相似度
+        CompositeDeviceHash.Result reweighted = fields().include(FingerprintKey.BRAND, 5).hash(items());
+        assertEquals(base, reweighted);
+
+        // 排除字段后哈希变化，排除的字段取值不再影响结果
+        CompositeDeviceHash withoutFonts = fields().exclude(FingerprintKey.FONT_LIST);
+        CompositeDeviceHash.Result excluded = withoutFonts.hash(items());
+        assertNotEquals(base, excluded);
+        assertEquals(4, excluded.getFieldCount());
+        assertEquals(0, excluded.getFieldHash(FingerprintKey.FONT_LIST));
+        List<DeviceFingerprint> otherFonts = new ArrayList<>(items());
+        otherFonts.set(4, item(FingerprintKey.FONT_LIST, FingerprintValue.ofList(Arrays.asList("Roboto"))));
+        assertEquals(excluded, withoutFonts.hash(otherFonts));
+        assertNotEquals(base, fields().hash(otherFonts));
+
+        // 集合中的字段缺失与存在时不同
+        assertNotEquals(base, fields().hash(items().subList(0, 4)));
+    }
+
+    @Test
+    public void similarityIsWeighted() {
+        CompositeDeviceHash hash = fields();
+        CompositeDeviceHash.Result base = hash.hash(items());
+        assertEquals(1.0, base.similarity(base), 0);
+
+        // 改变权重 1 的字段：1 - 1/10
+        List<DeviceFingerprint> changed = new ArrayList<>(items());
+        changed.set(0, item(FingerprintKey.BRAND, FingerprintValue.text("other")));
+        assertEquals(0.9, base.similarity(hash.hash(changed)), 1e-9);
+
+        // 改变权重 3 的字段：1 - 3/10
+        changed = new ArrayList<>(items());
+        changed.set(1, item(FingerprintKey.MODEL, FingerprintValue.text("Pixel 8")));
+        assertEquals(0.7, base.similarity(hash.hash(changed)), 1e-9);
+
+        // 提高权重后同样的变化影响更大
+        CompositeDeviceHash heavy = fields().include(FingerprintKey.MODEL, 10);
+        assertEquals(1.0 - 10.0 / 17, heavy.hash(items()).similarity(heavy.hash(changed)), 1e-9);
+    }
+
+    @Test
+    public void incrementalUpdateMatchesOneShot() {
+        CompositeDeviceHash hash = fields();
+        CompositeDeviceHash.Result oneShot = hash.hash(items());
+
+        // 逆序分批写入，中间写入过又被覆盖、被撤销的值
+        CompositeDeviceHash.Hasher hasher = hash.newHasher();
+        hasher.put(FingerprintKey.MODEL, FingerprintValue.text("stale"));
+        hasher.put(FingerprintKey.FONT_LIST, FingerprintValue.ofList(Arrays.asList("Roboto", "NotoSans")));
+        hasher.put(FingerprintKey.CPU_CORES, FingerprintValue.ofLong(8));
+        hasher.put(FingerprintKey.BRAND, FingerprintValue.text("stale"));
+        hasher.remove(FingerprintKey.BRAND);
+        hasher.put(FingerprintKey.MANUFACTURER, FingerprintValue.text("Google"));
+        hasher.put(FingerprintKey.MODEL, FingerprintValue.text("Pixel 7"));
+        // 流式写入与直接给出取值相同
+        StreamingDigest field = hasher.beginField(FingerprintKey.BRAND);
+        assertNotNull(field);
+        CompositeDeviceHash.writeValue(field, FingerprintValue.text("google"));
+        hasher.endField();
+        // 不在集合中的字段不需要收集
+        assertNull(hasher.beginField(FingerprintKey.BATTERY_LEVEL));
+
+        CompositeDeviceHash.Result incremental = hasher.finish();
+        assertEquals(oneShot, incremental);
+        assertEquals(1.0, oneShot.similarity(incremental), 0);
+        for (DeviceFingerprint item : items()) {
+            if (item.getKey() != null) {
+                assertEquals(oneShot.getFieldHash(item.getKey()), incremental.getFieldHash(item.getKey()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void finishedHasherRejectsWrites() {
+        CompositeDeviceHash.Hasher hasher = fields().newHasher();
+        hasher.finish();
+        hasher.put(FingerprintKey.BRAND, FingerprintValue.text("google"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.kaze.devicefp.util;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * DigestUtils 的正确性测试和与旧实现（Integer.toHexString 逐字节编码、getBytes 后摘要）的耗时对比
+ * 耗时对比默认跳过，用 -Ddevicefp.benchmark=true 运行
+ */
+public class DigestUtilsTest {
+
+    private static final int BENCHMARK_ROUNDS = 5;
+    private static final int WARMUP_ROUNDS = 3;
+
+    @Test
+    public void hexMatchesLegacyEncoding() {
+        Random random = new Random(1);
+        for (int n = 0; n < 100; n++) {
+            byte[] bytes = new byte[random.nextInt(64)];
+            random.nextBytes(bytes);
+            assertEquals(legacyHex(bytes), DigestUtils.toHex(bytes));
+        }
+        assertEquals("00000000000000ff", DigestUtils.toHex(0xffL));
+        assertEquals("ffffffffffffffff", DigestUtils.toHex(-1L));
+    }
+
+    @Test
+    public void sha1MatchesLegacy() throws Exception {
+        String text = largeText(2000);
+        assertEquals(legacySha1(text), DigestUtils.sha1Hex(text));
+        assertEquals("", DigestUtils.sha1Hex(""));
+        assertEquals("", DigestUtils.sha1Hex(null));
+    }
+
+    @Test
+    public void streamingMatchesGetBytes() throws Exception {
+        StringBuilder sb = new StringBuilder(largeText(200));
+        // 跨越字符缓冲区边界的代理对、孤立的高位 / 低位代理
+        for (int i = 0; i < 1500; i++) {
+            sb.append(i % 7 == 0 ? "\uD83D\uDE00" : "a");
+        }
+        sb.append('\uDC00').append("x\uD800").append("é中").append('\uD83D');
+        String text = sb.toString();
+        MessageDigest expected = MessageDigest.getInstance("SHA-1");
+        String want = DigestUtils.toHex(expected.digest(text.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(want, StreamingDigest.sha1().update(text).digestHex());
+        assertEquals(want, StreamingDigest.sha1().update(sb).digestHex());
+        StreamingDigest split = StreamingDigest.sha1();
+        for (int i = 0; i < text.length(); i += 1023) {
+            split.append(text, i, Math.min(text.length(), i + 1023));
+        }
+        assertEquals(want, split.digestHex());
+        StreamingDigest perChar = StreamingDigest.sha1();
+        for (int i = 0; i < text.length(); i++) {
+            perChar.append(text.charAt(i));
+        }
+        assertEquals(want, perChar.digestHex());
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length,
+                StreamingDigest.sha1().update(text).length());
+    }
+
+    @Test
+    public void murmur3MatchesReferenceVectors() {
+        // Guava Hashing.murmur3_128() 的测试向量
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a",
+                DigestUtils.hashHex("The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8),
+                        DigestUtils.Algorithm.MURMUR3_128));
+        assertEquals(0x629942693e10f867L, fastHash64Bytes("hell".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("00000000000000000000000000000000",
+                DigestUtils.hashHex(new byte[0], DigestUtils.Algorithm.MURMUR3_128));
+        assertEquals(0xe34bbc7bbc071b6cL, DigestUtils.fastHash64("The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    public void murmur3IsIndependentOfChunking() {
+        byte[] data = new byte[1000];
+        new Random(2).nextBytes(data);
+        byte[] expected = new Murmur3Digest(128).digest(data);
+        for (int chunk = 1; chunk <= 40; chunk += 3) {
+            MessageDigest digest = new Murmur3Digest(128);
+            for (int offset = 0; offset < data.length; offset += chunk) {
+                digest.update(data, offset, Math.min(chunk, data.length - offset));
+            }
+            assertArrayEquals("chunk " + chunk, expected, digest.digest());
+        }
+    }
+
+    @Test
+    public void algorithmLookupAcceptsMessageDigestNames() {
+        assertEquals(DigestUtils.Algorithm.SHA_1, DigestUtils.Algorithm.fromName("SHA-1"));
+        assertEquals(DigestUtils.Algorithm.SHA_256, DigestUtils.Algorithm.fromName("sha256"));
+        assertEquals(DigestUtils.Algorithm.MURMUR3_128, DigestUtils.Algorithm.fromName("MURMUR3_128"));
+        assertEquals(null, DigestUtils.Algorithm.fromName("CRC32"));
+    }
+
+    @Test
+    public void benchmarkAgainstLegacy() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("devicefp.benchmark"));
+        // 模拟字体列表（约 300 行路径）和传感器详情大小的输入
+        String text = largeText(300);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int hexIterations = 300;
+        int textIterations = 200;
+
+        long legacyHex = 0;
+        long tableHex = 0;
+        long legacySha1 = 0;
+        long streamingSha1 = 0;
+        long murmur = 0;
+        int sink = 0;
+        for (int round = -WARMUP_ROUNDS; round < BENCHMARK_ROUNDS; round++) {
+            if (round == 0) {
+                legacyHex = tableHex = legacySha1 = streamingSha1 = murmur = 0;
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < hexIterations; i++) {
+                sink += legacyHex(bytes).length();
+            }
+            legacyHex += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < hexIterations; i++) {
+                sink += DigestUtils.toHex(bytes).length();
+            }
+            tableHex += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < textIterations; i++) {
+                sink += legacySha1(text).length();
+            }
+            legacySha1 += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < textIterations; i++) {
+                sink += DigestUtils.sha1Hex(text).length();
+            }
+            streamingSha1 += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < textIterations; i++) {
+                sink += DigestUtils.hashHex(text, DigestUtils.Algorithm.MURMUR3_128).length();
+            }
+            murmur += System.nanoTime() - start;
+        }
+        System.out.println("hex:  legacy " + ms(legacyHex) + " ms, table " + ms(tableHex) + " ms ("
+                + ratio(legacyHex, tableHex) + "x)");
+        System.out.println("text: legacy sha1 " + ms(legacySha1) + " ms, streaming sha1 " + ms(streamingSha1)
+                + " ms (" + ratio(legacySha1, streamingSha1) + "x), murmur3 " + ms(murmur) + " ms ("
+                + ratio(legacySha1, murmur) + "x) [" + sink + "]");
+        // 流式摘要的收益主要是不分配整段字节数组，耗时与 getBytes 持平即可；留出余量避免抖动误报
+        assertTrue("table hex should be at least 2x faster", tableHex * 2 < legacyHex);
+        assertTrue("streaming sha1 should be on par with getBytes", streamingSha1 < legacySha1 * 3 / 2);
+    }
+
+    private static long fastHash64Bytes(byte[] bytes) {
+        Murmur3Digest digest = new Murmur3Digest(64);
+        digest.update(bytes);
+        return digest.digestLong();
+    }
+
+    private static String largeText(int lines) {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            paths.add("/system/fonts/NotoSansCJK-Regular-" + i + ".ttc 字体");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String path : paths) {
+            sb.append(path).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // 旧的 SettingsSettings.calculateSHA1
+    private static String legacySha1(String input) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        return legacyHex(digest.digest(input.getBytes("UTF-8")));
+    }
+
+    // 旧的 SettingsSettings.bytesToHexString
+    private static String legacyHex(byte[] bytes) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : bytes) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    private static long ms(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static String ratio(long legacy, long current) {
+        return String.format(Locale.US, "%.1f", (double) legacy / Math.max(1, current));
+    }
+}
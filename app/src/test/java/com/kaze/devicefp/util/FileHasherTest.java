@@ -0,0 +1,101 @@
+package com.kaze.devicefp.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * 分段映射的摘要与对整个文件做一次 MessageDigest 的结果一致，hashAll 按参数顺序返回
+ */
+public class FileHasherTest {
+
+    private File dir;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("filehasher").toFile();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void mappedWindowsMatchSingleDigest() throws Exception {
+        FileHasher hasher = new FileHasher("SHA-256", executor);
+        // 小于阈值（读取）、刚好等于阈值（单个窗口）、跨过一个窗口边界（两个窗口，第二个不满）
+        long[] sizes = {FileHasher.MAP_THRESHOLD - 1, FileHasher.MAP_THRESHOLD, FileHasher.MAP_WINDOW + 12345};
+        for (long size : sizes) {
+            File file = writeRandom("f" + size, size, size);
+            assertEquals("size " + size, expectedHex(file), hasher.hash(file));
+        }
+    }
+
+    @Test
+    public void hashAllKeepsArgumentOrder() throws Exception {
+        FileHasher hasher = new FileHasher("SHA-1", executor);
+        // 参数从小到大排列，内部按大小倒序提交，结果仍按参数顺序
+        List<String> paths = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (long size : new long[] {10, FileHasher.MAP_THRESHOLD + 1, 3 * FileHasher.MAP_THRESHOLD}) {
+            File file = writeRandom("g" + size, size, size + 1);
+            paths.add(file.getPath());
+            expected.add(expectedHex(file, "SHA-1"));
+        }
+        String missing = new File(dir, "missing").getPath();
+        paths.add(1, missing);
+        expected.add(1, null);
+
+        Map<String, String> result = hasher.hashAll(paths);
+        assertEquals(paths, new ArrayList<>(result.keySet()));
+        assertEquals(expected, new ArrayList<>(result.values()));
+    }
+
+    private File writeRandom(String name, long size, long seed) throws IOException {
+        File file = new File(dir, name);
+        Random random = new Random(seed);
+        byte[] chunk = new byte[64 * 1024];
+        try (OutputStream out = new FileOutputStream(file)) {
+            for (long written = 0; written < size; written += chunk.length) {
+                random.nextBytes(chunk);
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+        assertEquals(size, file.length());
+        return file;
+    }
+
+    private static String expectedHex(File file) throws Exception {
+        return expectedHex(file, "SHA-256");
+    }
+
+    private static String expectedHex(File file, String algorithm) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        return DigestUtils.toHex(digest.digest(Files.readAllBytes(file.toPath())));
+    }
+}
@@ -0,0 +1,137 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 快照二进制编码的往返测试
+ */
+public class SnapshotCodecTest {
+
+    private static FingerprintSnapshot sampleSnapshot() {
+        Map<String, FingerprintValue> nested = new LinkedHashMap<>();
+        nested.put("cpu0", FingerprintValue.ofLong(1804800, " kHz"));
+        nested.put("online", FingerprintValue.ofBoolean(true));
+
+        List<DeviceFingerprint> items = new ArrayList<>();
+        items.add(new DeviceFingerprint("设备信息", FingerprintKey.BRAND, FingerprintValue.text("Google"),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("硬件信息", FingerprintKey.BATTERY_LEVEL, FingerprintValue.ofLong(87, "%"),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("硬件信息", FingerprintKey.BATTERY_VOLTAGE,
+                FingerprintValue.ofDouble(3.857, 2, "V"), FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("网络信息", FingerprintKey.MOBILE_DATA,
+                FingerprintValue.ofBoolean(false, "开启", "关闭/异常"), FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("屏幕信息", FingerprintKey.SUPPORTED_REFRESH_RATES,
+                FingerprintValue.ofList(Arrays.asList("60 Hz", "90 Hz", "120 Hz"), ", "), FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("其他信息", FingerprintKey.SYSTEM_FILE_HASH,
+                FingerprintValue.ofBytes(new byte[]{0, 1, (byte) 0x7f, (byte) 0x80, (byte) 0xff}),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("硬件信息", FingerprintKey.CPU_FREQUENCY, FingerprintValue.ofMap(nested),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("其他信息", FingerprintKey.UPTIME, FingerprintValue.ofLong(-42),
+                FingerprintStatus.MISSING));
+        // 未注册的字段（如超时占位项）按名称编码
+        items.add(new DeviceFingerprint("其他信息", "其他信息", "收集超时（2000 ms）", FingerprintStatus.TIMED_OUT));
+        items.add(new DeviceFingerprint(null, FingerprintKey.HTTP_AGENT, FingerprintValue.text(""),
+                FingerprintStatus.MISSING));
+        return new FingerprintSnapshot(1_700_000_000_123L, items);
+    }
+
+    private static void assertSameItems(FingerprintSnapshot expected, FingerprintSnapshot actual) {
+        assertEquals(expected.getTimestampMs(), actual.getTimestampMs());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            DeviceFingerprint e = expected.getItems().get(i);
+            DeviceFingerprint a = actual.getItems().get(i);
+            assertEquals(e.getCategory(), a.getCategory());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getKey(), a.getKey());
+            assertEquals(e.getStatus(), a.getStatus());
+            assertEquals(e.getTypedValue(), a.getTypedValue());
+            // 显示提示也要保留
+            assertEquals(e.getValue(), a.getValue());
+        }
+    }
+
+    @Test
+    public void roundTrip_preservesAllValueTypes() {
+        FingerprintSnapshot snapshot = sampleSnapshot();
+        byte[] encoded = SnapshotCodec.encode(snapshot);
+        assertSameItems(snapshot, SnapshotCodec.decode(ByteBuffer.wrap(encoded)));
+    }
+
+    @Test
+    public void roundTrip_directBuffer() {
+        FingerprintSnapshot snapshot = sampleSnapshot();
+        byte[] encoded = SnapshotCodec.encode(snapshot);
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+        direct.put(encoded).flip();
+        assertSameItems(snapshot, SnapshotCodec.decode(direct));
+    }
+
+    @Test
+    public void decode_doesNotMoveSourceBuffer() {
+        byte[] encoded = SnapshotCodec.encode(sampleSnapshot());
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        SnapshotCodec.decode(buffer);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void roundTrip_emptySnapshot() {
+        FingerprintSnapshot snapshot = new FingerprintSnapshot(0, null);
+        FingerprintSnapshot decoded = SnapshotCodec.decode(ByteBuffer.wrap(SnapshotCodec.encode(snapshot)));
+        assertEquals(0, decoded.size());
+    }
+
+    @Test
+    public void repeatedStrings_areStoredOnce() {
+        String category = "其他信息";
+        String longValue = "/system/framework/framework.jar";
+        List<DeviceFingerprint> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new DeviceFingerprint(category, FingerprintKey.DEX_CLASS_LOADER_PATH,
+                    FingerprintValue.text(longValue), FingerprintStatus.COLLECTED));
+        }
+        byte[] encoded = SnapshotCodec.encode(new FingerprintSnapshot(0, items));
+        int stringBytes = category.getBytes(StandardCharsets.UTF_8).length
+                + longValue.getBytes(StandardCharsets.UTF_8).length;
+        // 每项只剩下几个字节的引用
+        assertTrue("encoded " + encoded.length + " bytes", encoded.length < stringBytes + 100 * 10);
+        assertEquals(100, SnapshotCodec.decode(ByteBuffer.wrap(encoded)).size());
+    }
+
+    @Test
+    public void largeValue_roundTrips() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            sb.append("service").append(i).append('\n');
+        }
+        List<DeviceFingerprint> items = new ArrayList<>();
+        items.add(new DeviceFingerprint("其他信息", FingerprintKey.SERVICE_LIST_HASH,
+                FingerprintValue.text(sb.toString()), FingerprintStatus.COLLECTED));
+        FingerprintSnapshot snapshot = new FingerprintSnapshot(5, items);
+        assertSameItems(snapshot, SnapshotCodec.decode(ByteBuffer.wrap(SnapshotCodec.encode(snapshot))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_rejectsForeignData() {
+        SnapshotCodec.decode(ByteBuffer.wrap("{\"json\":true}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+import com.kaze.devicefp.model.SnapshotDiff;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 归并比较：变化类型和顺序、未注册字段、容差边界和忽略字段
+ */
+public class SnapshotDifferTest {
+
+    private static DeviceFingerprint item(FingerprintKey key, FingerprintValue value) {
+        return new DeviceFingerprint("其他信息", key, value, FingerprintStatus.COLLECTED);
+    }
+
+    private static DeviceFingerprint custom(String name, String value) {
+        return new DeviceFingerprint("其他信息", name, value, FingerprintStatus.COLLECTED);
+    }
+
+    private static FingerprintSnapshot snapshot(DeviceFingerprint... items) {
+        return new FingerprintSnapshot(0, Arrays.asList(items));
+    }
+
+    @Test
+    public void changesFollowKeyOrderWithUnregisteredLast() {
+        // 输入顺序打乱，结果按字段 id 排列，未注册字段按名称排在最后
+        FingerprintSnapshot oldSnapshot = snapshot(
+                custom("b", "1"),
+                item(FingerprintKey.BATTERY_LEVEL, FingerprintValue.ofLong(50, "%")),
+                item(FingerprintKey.MODEL, FingerprintValue.text("A")),
+                item(FingerprintKey.BRAND, FingerprintValue.text("x")),
+                custom("c", "1"));
+        FingerprintSnapshot newSnapshot = snapshot(
+                custom("a", "1"),
+                item(FingerprintKey.MANUFACTURER, FingerprintValue.text("m")),
+                item(FingerprintKey.BRAND, FingerprintValue.text("x")),
+                item(FingerprintKey.BATTERY_LEVEL, FingerprintValue.ofLong(49, "%")),
+                custom("c", "2"),
+                custom("b", "1"));
+
+        List<SnapshotDiff.FieldChange> changes = new SnapshotDiffer().diff(oldSnapshot, newSnapshot).getChanges();
+        assertEquals(5, changes.size());
+        assertChange(changes.get(0), SnapshotDiff.ChangeType.REMOVED, FingerprintKey.MODEL.getDisplayName());
+        assertNull(changes.get(0).getNewItem());
+        assertChange(changes.get(1), SnapshotDiff.ChangeType.ADDED, FingerprintKey.MANUFACTURER.getDisplayName());
+        assertNull(changes.get(1).getOldItem());
+        assertChange(changes.get(2), SnapshotDiff.ChangeType.CHANGED, FingerprintKey.BATTERY_LEVEL.getDisplayName());
+        assertEquals(FingerprintValue.ofLong(50, "%"), changes.get(2).getOldValue());
+        assertChange(changes.get(3), SnapshotDiff.ChangeType.ADDED, "a");
+        assertNull(changes.get(3).getKey());
+        assertChange(changes.get(4), SnapshotDiff.ChangeType.CHANGED, "c");
+    }
+
+    @Test
+    public void trailingItemsOnEitherSide() {
+        FingerprintSnapshot oldSnapshot = snapshot(item(FingerprintKey.BRAND, FingerprintValue.text("x")),
+                item(FingerprintKey.MODEL, FingerprintValue.text("A")));
+        FingerprintSnapshot newSnapshot = snapshot(item(FingerprintKey.BRAND, FingerprintValue.text("x")),
+                custom("z", "1"));
+        SnapshotDiff diff = new SnapshotDiffer().diff(oldSnapshot, newSnapshot);
+        assertEquals(1, diff.getRemoved().size());
+        assertEquals(1, diff.getAdded().size());
+        assertChange(diff.getChanges().get(0), SnapshotDiff.ChangeType.REMOVED, FingerprintKey.MODEL.getDisplayName());
+        assertChange(diff.getChanges().get(1), SnapshotDiff.ChangeType.ADDED, "z");
+
+        SnapshotDiff reverse = new SnapshotDiffer().diff(newSnapshot, oldSnapshot);
+        assertChange(reverse.getChanges().get(0), SnapshotDiff.ChangeType.ADDED, FingerprintKey.MODEL.getDisplayName());
+        assertChange(reverse.getChanges().get(1), SnapshotDiff.ChangeType.REMOVED, "z");
+    }
+
+    @Test
+    public void identicalSnapshotsReturnEmpty() {
+        FingerprintSnapshot a = snapshot(item(FingerprintKey.BRAND, FingerprintValue.text("x")), custom("a", "1"));
+        FingerprintSnapshot b = snapshot(custom("a", "1"), item(FingerprintKey.BRAND, FingerprintValue.text("x")));
+        assertSame(SnapshotDiff.EMPTY, new SnapshotDiffer().diff(a, b));
+    }
+
+    @Test
+    public void toleranceIsInclusive() {
+        SnapshotDiffer differ = SnapshotDiffer.withJitterTolerances();
+        FingerprintSnapshot base = snapshot(
+                item(FingerprintKey.BATTERY_TEMPERATURE, FingerprintValue.ofDouble(30.0, 1, "°C")));
+        assertTrue(differ.diff(base, snapshot(
+                item(FingerprintKey.BATTERY_TEMPERATURE, FingerprintValue.ofDouble(31.0, 1, "°C")))).isEmpty());
+        assertTrue(differ.diff(base, snapshot(
+                item(FingerprintKey.BATTERY_TEMPERATURE, FingerprintValue.ofDouble(29.0, 1, "°C")))).isEmpty());
+        assertEquals(1, differ.diff(base, snapshot(
+                item(FingerprintKey.BATTERY_TEMPERATURE, FingerprintValue.ofDouble(31.5, 1, "°C"))))
+                .getChanged().size());
+        // 精确比较时任何变化都报告
+        assertFalse(new SnapshotDiffer().diff(base, snapshot(
+                item(FingerprintKey.BATTERY_TEMPERATURE, FingerprintValue.ofDouble(30.5, 1, "°C")))).isEmpty());
+        // 容差只用于数值，状态变化照常报告
+        DeviceFingerprint missing = new DeviceFingerprint("其他信息", FingerprintKey.BATTERY_TEMPERATURE,
+                FingerprintValue.ofDouble(30.0, 1, "°C"), FingerprintStatus.MISSING);
+        assertEquals(1, differ.diff(base, snapshot(missing)).getChanged().size());
+    }
+
+    @Test
+    public void ignoredKeyStillReportsAddedAndRemoved() {
+        SnapshotDiffer differ = new SnapshotDiffer().ignore(FingerprintKey.BATTERY_LEVEL);
+        FingerprintSnapshot a = snapshot(item(FingerprintKey.BATTERY_LEVEL, FingerprintValue.ofLong(50, "%")));
+        FingerprintSnapshot b = snapshot(item(FingerprintKey.BATTERY_LEVEL, FingerprintValue.ofLong(10, "%")));
+        FingerprintSnapshot none = snapshot();
+        assertTrue(differ.diff(a, b).isEmpty());
+        assertEquals(SnapshotDiff.ChangeType.REMOVED, differ.diff(a, none).getChanges().get(0).getType());
+        assertEquals(SnapshotDiff.ChangeType.ADDED, differ.diff(none, b).getChanges().get(0).getType());
+    }
+
+    private static void assertChange(SnapshotDiff.FieldChange change, SnapshotDiff.ChangeType type, String name) {
+        assertEquals(type, change.getType());
+        assertEquals(name, change.getName());
+    }
+}
@@ -0,0 +1,220 @@
+package com.kaze.devicefp.util;
+
+import com.kaze.devicefp.model.DeviceFingerprint;
+import com.kaze.devicefp.model.FingerprintKey;
+import com.kaze.devicefp.model.FingerprintSnapshot;
+import com.kaze.devicefp.model.FingerprintStatus;
+import com.kaze.devicefp.model.FingerprintValue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 快照历史的追加 / 还原、容量裁剪、异常退出后的恢复和单字段历史
+ */
+public class SnapshotHistoryStoreTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("history").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] children = dir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                child.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    // 电量每条都变，品牌每 10 条变一次，第 5 条起多出一个未注册字段
+    private static FingerprintSnapshot snapshot(int i) {
+        List<DeviceFingerprint> items = new ArrayList<>();
+        items.add(new DeviceFingerprint("设备信息", FingerprintKey.BRAND, FingerprintValue.text("brand" + i / 10),
+                FingerprintStatus.COLLECTED));
+        items.add(new DeviceFingerprint("硬件信息", FingerprintKey.BATTERY_LEVEL, FingerprintValue.ofLong(i % 100, "%"),
+                FingerprintStatus.COLLECTED));
+        if (i >= 5) {
+            items.add(new DeviceFingerprint("其他信息", "自定义", "v" + i, FingerprintStatus.COLLECTED));
+        }
+        return new FingerprintSnapshot(T0 + i * 1000L, items);
+    }
+
+    private static void assertSameItems(FingerprintSnapshot expected, FingerprintSnapshot actual) {
+        assertEquals(expected.getTimestampMs(), actual.getTimestampMs());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            DeviceFingerprint e = expected.getItems().get(i);
+            DeviceFingerprint a = actual.getItems().get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getStatus(), a.getStatus());
+            assertEquals(e.getTypedValue(), a.getTypedValue());
+        }
+    }
+
+    @Test
+    public void roundTripAcrossKeyframesAndReopen() throws IOException {
+        int total = SnapshotHistoryStore.KEYFRAME_INTERVAL * 2 + 3;
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            for (int i = 0; i < total; i++) {
+                assertEquals(i, store.append(snapshot(i)));
+            }
+        }
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            assertEquals(total, store.size());
+            for (int i = 0; i < total; i++) {
+                assertSameItems(snapshot(i), store.get(i));
+            }
+            assertEquals(10, store.findSequence(T0 + 10_500));
+            assertEquals(-1, store.findSequence(T0 - 1));
+            // 重新打开后的第一条增量基于还原出的最后一条
+            store.append(snapshot(total));
+            assertSameItems(snapshot(total), store.get(total));
+        }
+    }
+
+    @Test
+    public void trimKeepsSequenceNumbersAndSurvivesReopen() throws IOException {
+        int total = SnapshotHistoryStore.KEYFRAME_INTERVAL * 6;
+        long firstSequence;
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir, 4096, Long.MAX_VALUE)) {
+            store.open();
+            for (int i = 0; i < total; i++) {
+                store.append(snapshot(i));
+            }
+            firstSequence = store.getFirstSequence();
+            assertTrue(firstSequence > 0);
+            assertEquals(0, firstSequence % SnapshotHistoryStore.KEYFRAME_INTERVAL);
+            assertEquals(total - 1, store.getLastSequence());
+            assertSameItems(snapshot((int) firstSequence), store.get(firstSequence));
+            assertSameItems(snapshot(total - 1), store.get(total - 1));
+        }
+        assertFalse(new File(dir, "history.log.tmp").exists());
+        assertFalse(new File(dir, "history.idx.tmp").exists());
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir, 4096, Long.MAX_VALUE)) {
+            store.open();
+            assertEquals(firstSequence, store.getFirstSequence());
+            for (long s = firstSequence; s < total; s++) {
+                assertSameItems(snapshot((int) s), store.get(s));
+            }
+        }
+    }
+
+    @Test
+    public void trimByAge() throws IOException {
+        int total = SnapshotHistoryStore.KEYFRAME_INTERVAL * 3;
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir, Long.MAX_VALUE, 10_000)) {
+            store.open();
+            for (int i = 0; i < total; i++) {
+                store.append(snapshot(i));
+            }
+            // 最后一段始终保留
+            assertEquals(SnapshotHistoryStore.KEYFRAME_INTERVAL * 2, store.getFirstSequence());
+        }
+    }
+
+    @Test
+    public void reopenDropsTruncatedTail() throws IOException {
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            for (int i = 0; i < 5; i++) {
+                store.append(snapshot(i));
+            }
+        }
+        // 最后一条只写了一半
+        try (RandomAccessFile log = new RandomAccessFile(new File(dir, "history.log"), "rw")) {
+            log.setLength(log.length() - 3);
+        }
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            assertEquals(4, store.size());
+            assertSameItems(snapshot(3), store.get(3));
+            assertEquals(4, store.append(snapshot(4)));
+            assertSameItems(snapshot(4), store.get(4));
+        }
+    }
+
+    @Test
+    public void leftoverLogTmpIsDiscarded() throws IOException {
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            store.append(snapshot(0));
+            store.append(snapshot(1));
+        }
+        // 模拟裁剪时在替换日志前被杀
+        try (RandomAccessFile tmp = new RandomAccessFile(new File(dir, "history.log.tmp"), "rw")) {
+            tmp.write(new byte[]{1, 2, 3});
+        }
+        try (RandomAccessFile tmp = new RandomAccessFile(new File(dir, "history.idx.tmp"), "rw")) {
+            tmp.write(new byte[]{4, 5, 6});
+        }
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            assertEquals(2, store.size());
+            assertSameItems(snapshot(1), store.get(1));
+        }
+        assertFalse(new File(dir, "history.log.tmp").exists());
+        assertFalse(new File(dir, "history.idx.tmp").exists());
+    }
+
+    @Test
+    public void timestampsNeverGoBackwards() throws IOException {
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            store.append(snapshot(10));
+            store.append(snapshot(3)); // 墙钟回拨
+            store.append(snapshot(12));
+            assertEquals(T0 + 10_000, store.getTimestamp(1));
+            assertEquals(T0 + 10_000, store.get(1).getTimestampMs());
+            assertEquals(1, store.findSequence(T0 + 11_000));
+            assertEquals(-1, store.findSequence(T0 + 5_000));
+        }
+    }
+
+    @Test
+    public void fieldHistoryReportsOnlyChanges() throws IOException {
+        int total = SnapshotHistoryStore.KEYFRAME_INTERVAL + 10;
+        try (SnapshotHistoryStore store = new SnapshotHistoryStore(dir)) {
+            store.open();
+            for (int i = 0; i < total; i++) {
+                store.append(snapshot(i));
+            }
+            List<SnapshotHistoryStore.FieldPoint> brand =
+                    store.getFieldHistory(FingerprintKey.BRAND, T0, Long.MAX_VALUE);
+            assertEquals((total - 1) / 10 + 1, brand.size());
+            for (int i = 0; i < brand.size(); i++) {
+                assertEquals(i * 10, brand.get(i).getSequence());
+                assertEquals(FingerprintValue.text("brand" + i), brand.get(i).getValue());
+            }
+
+            // 起点落在增量记录上时从前一个关键帧开始还原
+            long from = T0 + (SnapshotHistoryStore.KEYFRAME_INTERVAL + 5) * 1000L;
+            List<SnapshotHistoryStore.FieldPoint> level =
+                    store.getFieldHistory(FingerprintKey.BATTERY_LEVEL, from, from + 2000);
+            assertEquals(3, level.size());
+            assertEquals(SnapshotHistoryStore.KEYFRAME_INTERVAL + 5, level.get(0).getSequence());
+            assertEquals(FingerprintValue.ofLong(SnapshotHistoryStore.KEYFRAME_INTERVAL + 5, "%"),
+                    level.get(0).getValue());
+            assertEquals(FingerprintStatus.COLLECTED, level.get(2).getStatus());
+        }
+    }
+}